@@ -0,0 +1,35 @@
+package l.y.z.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-18 19:40 <br>
+ * <p>
+ * 基准测试的入口，参数与JMH的命令行相同，如
+ * <pre>
+ *     java -jar benchmarks/target/benchmarks.jar CacheBenchmark -p readPercent=75
+ * </pre>
+ * 未指定-rf/-rff时，结果以JSON格式写入jmh-result.json，便于在两次构建之间比较，发现性能回退。
+ * </p>
+ */
+public class BenchmarkRunner {
+
+    private static final String RESULT_FILE = "jmh-result.json";
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        ChainedOptionsBuilder builder = new OptionsBuilder().parent(commandLine);
+        if (!commandLine.getResultFormat().hasValue()) {
+            builder.resultFormat(ResultFormatType.JSON);
+        }
+        if (!commandLine.getResult().hasValue()) {
+            builder.result(RESULT_FILE);
+        }
+        new Runner(builder.build()).run();
+    }
+}
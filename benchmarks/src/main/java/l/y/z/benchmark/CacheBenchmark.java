@@ -0,0 +1,157 @@
+package l.y.z.benchmark;
+
+import l.y.z.LruCache;
+import l.y.z.cache.Cache;
+import l.y.z.cache.CacheBuilder;
+import l.y.z.cache.WindowTinyLfuPolicy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-18 20:05 <br>
+ * <p>
+ * 缓存在不同读写比例、不同线程数下的吞吐量。
+ * <p>
+ * 参与比较的有：加了同步的{@link LruCache}、使用LRU策略的ConcurrentLruCache、使用W-TinyLFU策略的ConcurrentLruCache。
+ * key按幂律分布，容量为key空间的一半，读操作有命中也有未命中。
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CacheBenchmark {
+
+    private static final int SIZE = 1 << 16;
+    private static final int MASK = SIZE - 1;
+
+    @Param({"lruCache", "concurrentLru", "concurrentTinyLfu"})
+    public String cache;
+
+    /**
+     * 读操作所占的百分比，其余为写
+     */
+    @Param({"100", "75", "50"})
+    public int readPercent;
+
+    private Cache<Integer, Integer> instance;
+    private Integer[] keys;
+    private boolean[] reads;
+
+    @Setup
+    public void setup() {
+        int maxKeyCount = SIZE >> 1;
+        switch (cache) {
+            case "lruCache":
+                instance = new SynchronizedLruCache<>(maxKeyCount);
+                break;
+            case "concurrentLru":
+                instance = CacheBuilder.<Integer, Integer>newBuilder().maxKeyCount(maxKeyCount).build();
+                break;
+            case "concurrentTinyLfu":
+                instance = CacheBuilder.<Integer, Integer>newBuilder()
+                        .evictionPolicy(new WindowTinyLfuPolicy<>(maxKeyCount))
+                        .build();
+                break;
+            default:
+                throw new IllegalArgumentException(cache);
+        }
+        Random random = new Random(1);
+        keys = new Integer[SIZE];
+        reads = new boolean[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            keys[i] = (int) Math.pow(SIZE, random.nextDouble());
+            reads[i] = random.nextInt(100) < readPercent;
+        }
+        for (int i = 0; i < maxKeyCount; i++) {
+            instance.put(keys[i], i);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadState {
+        int index = new Random().nextInt();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Integer getPut_01(ThreadState state) {
+        return operate(state.index++ & MASK);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Integer getPut_04(ThreadState state) {
+        return operate(state.index++ & MASK);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public Integer getPut_16(ThreadState state) {
+        return operate(state.index++ & MASK);
+    }
+
+    private Integer operate(int i) {
+        Integer key = keys[i];
+        return reads[i] ? instance.get(key) : instance.put(key, key);
+    }
+
+    /**
+     * 用一把锁保护的{@link LruCache}，LinkedHashMap按访问排序，读操作也会修改链表
+     */
+    private static class SynchronizedLruCache<K, V> implements Cache<K, V> {
+
+        private final Map<K, V> map;
+
+        SynchronizedLruCache(int maxKeyCount) {
+            this.map = Collections.synchronizedMap(new LruCache<>(maxKeyCount));
+        }
+
+        @Override
+        public V get(K key) {
+            return map.get(key);
+        }
+
+        @Override
+        public V put(K key, V value) {
+            return map.put(key, value);
+        }
+
+        @Override
+        public V remove(K key) {
+            return map.remove(key);
+        }
+
+        @Override
+        public int size() {
+            return map.size();
+        }
+
+        @Override
+        public void clear() {
+            map.clear();
+        }
+
+        @Override
+        public void cleanUp() {
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package l.y.z.benchmark;
+
+import l.y.z.cache.CacheBuilder;
+import l.y.z.cache.ConcurrentLruCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-18 18:00 <br>
+ * <p>
+ * 比较开启与关闭统计时的读吞吐量，开启统计的额外开销应在几个百分点以内。
+ * 读的key按幂律分布，命中与未命中都有。
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CacheStatsBenchmark {
+
+    private static final int SIZE = 1 << 16;
+    private static final int MASK = SIZE - 1;
+
+    @Param({"false", "true"})
+    public boolean recordStats;
+
+    private ConcurrentLruCache<Integer, Integer> cache;
+    private Integer[] keys;
+
+    @Setup
+    public void setup() {
+        CacheBuilder<Integer, Integer> builder = CacheBuilder.<Integer, Integer>newBuilder().maxKeyCount(SIZE >> 1);
+        if (recordStats) {
+            builder.recordStats();
+        }
+        cache = builder.build();
+        Random random = new Random(1);
+        keys = new Integer[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            keys[i] = (int) Math.pow(SIZE, random.nextDouble());
+        }
+        for (int i = 0; i < SIZE >> 1; i++) {
+            cache.put(i, i);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadState {
+        int index = new Random().nextInt();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Integer get(ThreadState state) {
+        return cache.get(keys[state.index++ & MASK]);
+    }
+}
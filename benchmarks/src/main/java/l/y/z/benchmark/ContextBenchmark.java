@@ -0,0 +1,117 @@
+package l.y.z.benchmark;
+
+import l.y.z.context.Context;
+import l.y.z.context.ContextKey;
+import l.y.z.context.Scope;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-20 14:00 <br>
+ * <p>
+ * 4个请求级的值（如用户、租户、traceId、语言）分别放在4个ThreadLocal中与放在一个{@link Context}中的开销：
+ * <ul>
+ *     <li>read：读4个值，threadLocal是4次ThreadLocalMap查找，context是1次查找加4次数组下标访问</li>
+ *     <li>scopedTask：一个任务的完整生命周期，绑定4个值、读取2个、任务结束时清除</li>
+ * </ul>
+ * JMH的工作线程不是{@link l.y.z.context.ContextThread}，context走的是ThreadLocal兜底，是较慢的那条路径。
+ * </p>
+ */
+@State(org.openjdk.jmh.annotations.Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContextBenchmark {
+
+    private static final ThreadLocal<String> USER_LOCAL = new ThreadLocal<>();
+    private static final ThreadLocal<String> TENANT_LOCAL = new ThreadLocal<>();
+    private static final ThreadLocal<String> TRACE_LOCAL = new ThreadLocal<>();
+    private static final ThreadLocal<String> LOCALE_LOCAL = new ThreadLocal<>();
+
+    private static final ContextKey<String> USER = ContextKey.named("user");
+    private static final ContextKey<String> TENANT = ContextKey.named("tenant");
+    private static final ContextKey<String> TRACE = ContextKey.named("trace");
+    private static final ContextKey<String> LOCALE = ContextKey.named("locale");
+
+    private final Context context = Context.ROOT.with(USER, "user").with(TENANT, "tenant").with(TRACE, "trace").with(LOCALE, "zh_CN");
+
+    private Scope scope;
+
+    /**
+     * Scope.Thread的状态由使用它的工作线程初始化，值绑定在工作线程上
+     */
+    @Setup
+    public void setup() {
+        USER_LOCAL.set("user");
+        TENANT_LOCAL.set("tenant");
+        TRACE_LOCAL.set("trace");
+        LOCALE_LOCAL.set("zh_CN");
+        scope = context.attach();
+    }
+
+    @TearDown
+    public void tearDown() {
+        scope.close();
+        USER_LOCAL.remove();
+        TENANT_LOCAL.remove();
+        TRACE_LOCAL.remove();
+        LOCALE_LOCAL.remove();
+    }
+
+    @Benchmark
+    public void threadLocalRead(Blackhole blackhole) {
+        blackhole.consume(USER_LOCAL.get());
+        blackhole.consume(TENANT_LOCAL.get());
+        blackhole.consume(TRACE_LOCAL.get());
+        blackhole.consume(LOCALE_LOCAL.get());
+    }
+
+    @Benchmark
+    public void contextRead(Blackhole blackhole) {
+        Context current = Context.current();
+        blackhole.consume(current.get(USER));
+        blackhole.consume(current.get(TENANT));
+        blackhole.consume(current.get(TRACE));
+        blackhole.consume(current.get(LOCALE));
+    }
+
+    @Benchmark
+    public void threadLocalScopedTask(Blackhole blackhole) {
+        USER_LOCAL.set("user");
+        TENANT_LOCAL.set("tenant");
+        TRACE_LOCAL.set("trace");
+        LOCALE_LOCAL.set("zh_CN");
+        try {
+            blackhole.consume(USER_LOCAL.get());
+            blackhole.consume(TRACE_LOCAL.get());
+        } finally {
+            USER_LOCAL.remove();
+            TENANT_LOCAL.remove();
+            TRACE_LOCAL.remove();
+            LOCALE_LOCAL.remove();
+        }
+    }
+
+    @Benchmark
+    public void contextScopedTask(Blackhole blackhole) {
+        Context bound = Context.ROOT.with(USER, "user").with(TENANT, "tenant").with(TRACE, "trace").with(LOCALE, "zh_CN");
+        try (Scope ignored = bound.attach()) {
+            blackhole.consume(USER.get());
+            blackhole.consume(TRACE.get());
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package l.y.z.benchmark;
+
+import l.y.z.counter.BackoffCounter;
+import l.y.z.counter.BatchedCounter;
+import l.y.z.counter.StripedCounter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-18 19:52 <br>
+ * <p>
+ * 计数器在不同竞争程度下的自增吞吐量：Unsafe CAS循环、AtomicInteger、LongAdder、synchronized，
+ * 以及java-cas-aqs中l.y.z.counter的三种计数器（退避CAS、分段、按线程攒批）。
+ * 所有线程共享同一个计数器，线程越多竞争越激烈；increment_max的线程数等于CPU数。
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CounterBenchmark {
+
+    @Param({"unsafe", "atomicInteger", "longAdder", "synchronized", "backoff", "striped", "batched"})
+    public String counter;
+
+    private Runnable increment;
+
+    @Setup
+    public void setup() {
+        switch (counter) {
+            case "unsafe":
+                UnsafeCounter unsafeCounter = new UnsafeCounter();
+                increment = unsafeCounter::increment;
+                break;
+            case "atomicInteger":
+                AtomicInteger atomicInteger = new AtomicInteger();
+                increment = atomicInteger::incrementAndGet;
+                break;
+            case "longAdder":
+                LongAdder longAdder = new LongAdder();
+                increment = longAdder::increment;
+                break;
+            case "synchronized":
+                int[] value = new int[1];
+                increment = () -> {
+                    synchronized (value) {
+                        value[0]++;
+                    }
+                };
+                break;
+            case "backoff":
+                BackoffCounter backoffCounter = new BackoffCounter();
+                increment = backoffCounter::increment;
+                break;
+            case "striped":
+                StripedCounter stripedCounter = new StripedCounter();
+                increment = stripedCounter::increment;
+                break;
+            case "batched":
+                BatchedCounter batchedCounter = new BatchedCounter();
+                increment = batchedCounter::increment;
+                break;
+            default:
+                throw new IllegalArgumentException(counter);
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void increment_01() {
+        increment.run();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void increment_04() {
+        increment.run();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public void increment_16() {
+        increment.run();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public void increment_max() {
+        increment.run();
+    }
+}
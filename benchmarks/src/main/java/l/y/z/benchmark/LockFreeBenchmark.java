@@ -0,0 +1,139 @@
+package l.y.z.benchmark;
+
+import l.y.z.lockfree.LockFreeQueue;
+import l.y.z.lockfree.LockFreeStack;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-19 21:30 <br>
+ * <p>
+ * 无锁队列与栈的吞吐量：每次操作放入一个元素再取出一个元素，所有线程共享同一个容器。
+ * <p>
+ * concurrentLinkedQueue、lockFreeQueue：FIFO，前者每次offer分配一个结点，后者复用预先分配的结点；
+ * concurrentLinkedDeque、lockFreeStack：LIFO，前者用push/pop。
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LockFreeBenchmark {
+
+    private static final Object ELEMENT = new Object();
+
+    @Param({"concurrentLinkedQueue", "lockFreeQueue", "concurrentLinkedDeque", "lockFreeStack"})
+    public String container;
+
+    private Container<Object> target;
+
+    @Setup
+    public void setup() {
+        switch (container) {
+            case "concurrentLinkedQueue":
+                ConcurrentLinkedQueue<Object> concurrentLinkedQueue = new ConcurrentLinkedQueue<>();
+                target = new Container<Object>() {
+                    @Override
+                    public boolean put(Object e) {
+                        return concurrentLinkedQueue.offer(e);
+                    }
+
+                    @Override
+                    public Object take() {
+                        return concurrentLinkedQueue.poll();
+                    }
+                };
+                break;
+            case "lockFreeQueue":
+                LockFreeQueue<Object> lockFreeQueue = new LockFreeQueue<>(1024);
+                target = new Container<Object>() {
+                    @Override
+                    public boolean put(Object e) {
+                        return lockFreeQueue.offer(e);
+                    }
+
+                    @Override
+                    public Object take() {
+                        return lockFreeQueue.poll();
+                    }
+                };
+                break;
+            case "concurrentLinkedDeque":
+                ConcurrentLinkedDeque<Object> concurrentLinkedDeque = new ConcurrentLinkedDeque<>();
+                target = new Container<Object>() {
+                    @Override
+                    public boolean put(Object e) {
+                        concurrentLinkedDeque.push(e);
+                        return true;
+                    }
+
+                    @Override
+                    public Object take() {
+                        return concurrentLinkedDeque.pollFirst();
+                    }
+                };
+                break;
+            case "lockFreeStack":
+                LockFreeStack<Object> lockFreeStack = new LockFreeStack<>(1024);
+                target = new Container<Object>() {
+                    @Override
+                    public boolean put(Object e) {
+                        return lockFreeStack.push(e);
+                    }
+
+                    @Override
+                    public Object take() {
+                        return lockFreeStack.pop();
+                    }
+                };
+                break;
+            default:
+                throw new IllegalArgumentException(container);
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Object putTake_01() {
+        target.put(ELEMENT);
+        return target.take();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Object putTake_04() {
+        target.put(ELEMENT);
+        return target.take();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Object putTake_max() {
+        target.put(ELEMENT);
+        return target.take();
+    }
+
+    private interface Container<E> {
+
+        boolean put(E e);
+
+        E take();
+    }
+}
@@ -0,0 +1,136 @@
+package l.y.z.benchmark;
+
+import l.y.z.merge.KWayMerger;
+import l.y.z.merge.Order;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-18 20:20 <br>
+ * <p>
+ * k个有序数列合并的耗时，按k与每个数列的长度变化。
+ * <p>
+ * readme：sorted-array-merge/readme.md中的算法，每输出一个元素都把k个头元素装箱放入List再求最小值；
+ * priorityQueue：k个头元素放在最小堆中，每输出一个元素做一次O(log k)的调整；
+ * loserTree：{@link KWayMerger}，败者树，不装箱。
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MergeBenchmark {
+
+    @Param({"2", "8", "64"})
+    public int k;
+
+    /**
+     * 每个数列的长度
+     */
+    @Param({"1000", "100000"})
+    public int size;
+
+    private int[][] arrays;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(1);
+        arrays = new int[k][];
+        for (int i = 0; i < k; i++) {
+            arrays[i] = random.ints(size).toArray();
+            Arrays.sort(arrays[i]);
+        }
+    }
+
+    @Benchmark
+    public int[] readme() {
+        return readme(arrays);
+    }
+
+    @Benchmark
+    public int[] priorityQueue() {
+        return priorityQueue(arrays);
+    }
+
+    @Benchmark
+    public int[] loserTree() {
+        return KWayMerger.merge(Order.ASC, arrays);
+    }
+
+    /**
+     * readme中的算法，推广到k个数列
+     */
+    static int[] readme(int[][] arrays) {
+        int[] heads = new int[arrays.length];
+        int[] result = new int[totalLength(arrays)];
+        for (int i = 0; i < result.length; i++) {
+            // 找出指针处的最小值
+            List<Integer> t = new ArrayList<>(arrays.length);
+            for (int j = 0; j < arrays.length; j++) {
+                if (heads[j] < arrays[j].length) {
+                    t.add(arrays[j][heads[j]]);
+                }
+            }
+            Integer min = Collections.min(t);
+
+            // 指针后移
+            for (int j = 0; j < arrays.length; j++) {
+                if (heads[j] < arrays[j].length && min == arrays[j][heads[j]]) {
+                    heads[j]++;
+                    break;
+                }
+            }
+            result[i] = min;
+        }
+        return result;
+    }
+
+    static int[] priorityQueue(int[][] arrays) {
+        int[] heads = new int[arrays.length];
+        // 堆中存放数列的下标，按头元素排序
+        PriorityQueue<Integer> queue = new PriorityQueue<>(arrays.length,
+                (a, b) -> Integer.compare(arrays[a][heads[a]], arrays[b][heads[b]]));
+        for (int j = 0; j < arrays.length; j++) {
+            if (arrays[j].length > 0) {
+                queue.add(j);
+            }
+        }
+        int[] result = new int[totalLength(arrays)];
+        for (int i = 0; i < result.length; i++) {
+            int j = queue.poll();
+            result[i] = arrays[j][heads[j]++];
+            if (heads[j] < arrays[j].length) {
+                queue.add(j);
+            }
+        }
+        return result;
+    }
+
+    private static int totalLength(int[][] arrays) {
+        int length = 0;
+        for (int[] array : arrays) {
+            length += array.length;
+        }
+        return length;
+    }
+}
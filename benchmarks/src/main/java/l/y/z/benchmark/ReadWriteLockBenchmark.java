@@ -0,0 +1,177 @@
+package l.y.z.benchmark;
+
+import l.y.z.sync.OptimisticReadLock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-19 23:30 <br>
+ * <p>
+ * 读写锁保护的配置表（64个key的HashMap）在1~64个线程下的吞吐量，readPercent为读操作的比例。
+ * <p>
+ * reentrantReadWriteLock：每次读都CAS读锁计数，读者之间争抢同一个缓存行；
+ * stampedLock、optimisticReadLock：先乐观读，只有读的过程中有写才加读锁。
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReadWriteLockBenchmark {
+
+    private static final int KEYS = 64;
+
+    @Param({"reentrantReadWriteLock", "stampedLock", "optimisticReadLock"})
+    public String lock;
+
+    @Param({"90", "99"})
+    public int readPercent;
+
+    private final Map<Integer, Integer> config = new HashMap<>();
+    private ConfigAccess access;
+
+    @Setup
+    public void setup() {
+        for (int i = 0; i < KEYS; i++) {
+            config.put(i, i);
+        }
+        switch (lock) {
+            case "reentrantReadWriteLock":
+                ReentrantReadWriteLock readWriteLock = new ReentrantReadWriteLock();
+                access = new ConfigAccess() {
+                    @Override
+                    public Integer get(Integer key) {
+                        readWriteLock.readLock().lock();
+                        try {
+                            return config.get(key);
+                        } finally {
+                            readWriteLock.readLock().unlock();
+                        }
+                    }
+
+                    @Override
+                    public void put(Integer key, Integer value) {
+                        readWriteLock.writeLock().lock();
+                        try {
+                            config.put(key, value);
+                        } finally {
+                            readWriteLock.writeLock().unlock();
+                        }
+                    }
+                };
+                break;
+            case "stampedLock":
+                StampedLock stampedLock = new StampedLock();
+                access = new ConfigAccess() {
+                    @Override
+                    public Integer get(Integer key) {
+                        long stamp = stampedLock.tryOptimisticRead();
+                        Integer value = config.get(key);
+                        if (stampedLock.validate(stamp)) {
+                            return value;
+                        }
+                        stamp = stampedLock.readLock();
+                        try {
+                            return config.get(key);
+                        } finally {
+                            stampedLock.unlockRead(stamp);
+                        }
+                    }
+
+                    @Override
+                    public void put(Integer key, Integer value) {
+                        long stamp = stampedLock.writeLock();
+                        try {
+                            config.put(key, value);
+                        } finally {
+                            stampedLock.unlockWrite(stamp);
+                        }
+                    }
+                };
+                break;
+            case "optimisticReadLock":
+                OptimisticReadLock optimisticReadLock = new OptimisticReadLock();
+                access = new ConfigAccess() {
+                    @Override
+                    public Integer get(Integer key) {
+                        return optimisticReadLock.read(() -> config.get(key));
+                    }
+
+                    @Override
+                    public void put(Integer key, Integer value) {
+                        optimisticReadLock.writeLock();
+                        try {
+                            config.put(key, value);
+                        } finally {
+                            optimisticReadLock.writeUnlock();
+                        }
+                    }
+                };
+                break;
+            default:
+                throw new IllegalArgumentException(lock);
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Integer readWrite_01() {
+        return readWrite();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Integer readWrite_04() {
+        return readWrite();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public Integer readWrite_16() {
+        return readWrite();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public Integer readWrite_64() {
+        return readWrite();
+    }
+
+    private Integer readWrite() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        // 0 ~ 63都在Integer缓存中，不分配对象
+        Integer key = random.nextInt(KEYS);
+        if (random.nextInt(100) < readPercent) {
+            return access.get(key);
+        }
+        access.put(key, key);
+        return key;
+    }
+
+    private interface ConfigAccess {
+
+        Integer get(Integer key);
+
+        void put(Integer key, Integer value);
+    }
+}
@@ -0,0 +1,166 @@
+package l.y.z.benchmark;
+
+import l.y.z.ring.BatchEventProcessor;
+import l.y.z.ring.BlockingWaitStrategy;
+import l.y.z.ring.BusySpinWaitStrategy;
+import l.y.z.ring.ParkingWaitStrategy;
+import l.y.z.ring.RingBuffer;
+import l.y.z.ring.WaitStrategy;
+import l.y.z.ring.YieldingWaitStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-20 10:30 <br>
+ * <p>
+ * 单生产者向一个消费者线程传递事件的延迟分布（SampleTime模式，结果中有p50/p90/p99/p99.9等分位数）：
+ * 生产者发布事件后等待消费者确认处理完，测得的是一次交接加一次确认的往返时间。
+ * <p>
+ * arrayBlockingQueue：消费者take()；busySpin、yielding、parking、blocking：RingBuffer使用对应的等待策略。
+ * handoff每次传递一个事件；burst_64一次传递64个，RingBuffer用next(64)一次申请，ArrayBlockingQueue逐个put。
+ * 生产者只能有一个线程，所有方法都是@Threads(1)；消费者空转的策略需要至少两个空闲的核才有意义。
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RingBufferBenchmark {
+
+    private static final int BUFFER_SIZE = 1024;
+    private static final int BURST = 64;
+
+    @Param({"arrayBlockingQueue", "busySpin", "yielding", "parking", "blocking"})
+    public String channel;
+
+    /**
+     * 消费者已处理的最大序号
+     */
+    private final AtomicLong processed = new AtomicLong(-1);
+
+    private Channel target;
+    private Runnable stop;
+    private long sequence = -1;
+
+    @Setup
+    public void setup() {
+        switch (channel) {
+            case "arrayBlockingQueue":
+                setupQueue();
+                break;
+            case "busySpin":
+                setupRingBuffer(new BusySpinWaitStrategy());
+                break;
+            case "yielding":
+                setupRingBuffer(new YieldingWaitStrategy());
+                break;
+            case "parking":
+                setupRingBuffer(new ParkingWaitStrategy());
+                break;
+            case "blocking":
+                setupRingBuffer(new BlockingWaitStrategy());
+                break;
+            default:
+                throw new IllegalArgumentException(channel);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        stop.run();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public long handoff() {
+        target.send(++sequence, 1);
+        awaitProcessed(sequence);
+        return sequence;
+    }
+
+    @Benchmark
+    @Threads(1)
+    public long burst_64() {
+        sequence += BURST;
+        target.send(sequence, BURST);
+        awaitProcessed(sequence);
+        return sequence;
+    }
+
+    private void awaitProcessed(long sequence) {
+        while (processed.get() < sequence) {
+            Thread.yield();
+        }
+    }
+
+    private void setupQueue() {
+        ArrayBlockingQueue<Long> queue = new ArrayBlockingQueue<>(BUFFER_SIZE);
+        Thread consumer = new Thread(() -> {
+            try {
+                while (true) {
+                    processed.lazySet(queue.take());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, "queue-consumer");
+        consumer.setDaemon(true);
+        consumer.start();
+        target = (hi, n) -> {
+            try {
+                for (long s = hi - n + 1; s <= hi; s++) {
+                    queue.put(s);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        stop = consumer::interrupt;
+    }
+
+    private void setupRingBuffer(WaitStrategy waitStrategy) {
+        RingBuffer<long[]> ringBuffer = new RingBuffer<>(() -> new long[1], BUFFER_SIZE, waitStrategy);
+        BatchEventProcessor<long[]> processor = new BatchEventProcessor<>(ringBuffer, (event, sequence, endOfBatch) -> {
+            if (endOfBatch) {
+                processed.lazySet(event[0]);
+            }
+        });
+        Thread consumer = new Thread(processor, "ring-consumer");
+        consumer.setDaemon(true);
+        consumer.start();
+        target = (hi, n) -> {
+            long claimed = ringBuffer.next(n);
+            for (long s = claimed - n + 1; s <= claimed; s++) {
+                ringBuffer.get(s)[0] = hi - (claimed - s);
+            }
+            ringBuffer.publish(claimed - n + 1, claimed);
+        };
+        stop = processor::halt;
+    }
+
+    private interface Channel {
+
+        /**
+         * 发送序号为[hi - n + 1, hi]的n个事件
+         */
+        void send(long hi, int n);
+    }
+}
@@ -0,0 +1,90 @@
+package l.y.z.benchmark;
+
+import l.y.z.set.SetOps;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-19 12:10 <br>
+ * <p>
+ * 两个int[]求交集的耗时。长数组长度为size，短数组长度为size / ratio，值域为size的两倍，约一半的元素相交。
+ * <p>
+ * hashSet：sorted-array-merge中App原来的做法，装箱放入HashSet&lt;Integer&gt;；
+ * primitiveHash：{@link SetOps#intersection(int[], int[])}，开放寻址的原始类型哈希集合；
+ * sortedMerge：{@link SetOps#sortedIntersection(int[], int[])}，输入已排序，ratio较大时走倍增查找。
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SetOpsBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    /**
+     * 长数组与短数组的长度之比
+     */
+    @Param({"1", "100"})
+    public int ratio;
+
+    private int[] small;
+    private int[] large;
+    private int[] sortedSmall;
+    private int[] sortedLarge;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(1);
+        small = random.ints(Math.max(1, size / ratio), 0, size << 1).toArray();
+        large = random.ints(size, 0, size << 1).toArray();
+        sortedSmall = small.clone();
+        Arrays.sort(sortedSmall);
+        sortedLarge = large.clone();
+        Arrays.sort(sortedLarge);
+    }
+
+    @Benchmark
+    public int[] hashSet() {
+        Set<Integer> set = new HashSet<>();
+        for (int x : large) {
+            set.add(x);
+        }
+        Set<Integer> result = new HashSet<>();
+        for (int x : small) {
+            if (set.contains(x)) {
+                result.add(x);
+            }
+        }
+        return result.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    @Benchmark
+    public int[] primitiveHash() {
+        return SetOps.intersection(small, large);
+    }
+
+    @Benchmark
+    public int[] sortedMerge() {
+        return SetOps.sortedIntersection(sortedSmall, sortedLarge);
+    }
+}
@@ -0,0 +1,110 @@
+package l.y.z.benchmark;
+
+import l.y.z.sort.ParallelQuickSort;
+import l.y.z.sort.QuickSort;
+import l.y.z.sort.RadixSort;
+import l.y.z.sort.Sorts;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-19 15:40 <br>
+ * <p>
+ * int[]排序的耗时，按数据分布与数组长度变化。每次排序前复制一份输入，复制的耗时计入结果，各方法相同。
+ * <p>
+ * random：均匀分布；sorted：正序；reversed：倒序；fewDistinct：只有16个不同的值。
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SortBenchmark {
+
+    @Param({"random", "sorted", "reversed", "fewDistinct"})
+    public String distribution;
+
+    @Param({"10000", "1000000"})
+    public int size;
+
+    private int[] input;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(1);
+        switch (distribution) {
+            case "random":
+                input = random.ints(size).toArray();
+                break;
+            case "sorted":
+                input = random.ints(size).sorted().toArray();
+                break;
+            case "reversed":
+                input = random.ints(size).map(x -> ~x).sorted().map(x -> ~x).toArray();
+                break;
+            case "fewDistinct":
+                input = random.ints(size, 0, 16).toArray();
+                break;
+            default:
+                throw new IllegalArgumentException(distribution);
+        }
+    }
+
+    @Benchmark
+    public int[] arraysSort() {
+        int[] a = input.clone();
+        Arrays.sort(a);
+        return a;
+    }
+
+    @Benchmark
+    public int[] arraysParallelSort() {
+        int[] a = input.clone();
+        Arrays.parallelSort(a);
+        return a;
+    }
+
+    @Benchmark
+    public int[] quickSort() {
+        int[] a = input.clone();
+        QuickSort.sort(a);
+        return a;
+    }
+
+    @Benchmark
+    public int[] parallelQuickSort() {
+        int[] a = input.clone();
+        ParallelQuickSort.sort(a);
+        return a;
+    }
+
+    @Benchmark
+    public int[] radixSort() {
+        int[] a = input.clone();
+        RadixSort.sort(a);
+        return a;
+    }
+
+    @Benchmark
+    public int[] sorts() {
+        int[] a = input.clone();
+        Sorts.sort(a);
+        return a;
+    }
+}
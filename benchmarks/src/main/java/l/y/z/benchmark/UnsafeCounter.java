@@ -0,0 +1,44 @@
+package l.y.z.benchmark;
+
+import sun.misc.Unsafe;
+
+import java.lang.reflect.Field;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-18 19:46 <br>
+ * <p>
+ * 与java-cas-aqs模块UnsafeTest.Counter相同的实现：读取volatile值后用Unsafe CAS自增，失败则重试。
+ * 原实现在测试代码中，这里复制一份用于基准测试。
+ * </p>
+ */
+public class UnsafeCounter {
+
+    private static final Unsafe UNSAFE;
+    private static final long VALUE_OFFSET;
+
+    static {
+        try {
+            Field theUnsafeField = Unsafe.class.getDeclaredField("theUnsafe");
+            theUnsafeField.setAccessible(true);
+            UNSAFE = (Unsafe) theUnsafeField.get(null);
+            VALUE_OFFSET = UNSAFE.objectFieldOffset(UnsafeCounter.class.getDeclaredField("value"));
+        } catch (Exception e) {
+            throw new Error(e);
+        }
+    }
+
+    private volatile int value;
+
+    public int increment() {
+        int t;
+        do {
+            t = UNSAFE.getIntVolatile(this, VALUE_OFFSET);
+        } while (!UNSAFE.compareAndSwapInt(this, VALUE_OFFSET, t, t + 1));
+        return t;
+    }
+
+    public int get() {
+        return value;
+    }
+}
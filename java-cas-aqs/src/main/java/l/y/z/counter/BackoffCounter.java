@@ -0,0 +1,86 @@
+package l.y.z.counter;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-19 18:10 <br>
+ * <p>
+ * 单个值的CAS计数器，CAS失败后指数退避。
+ * <p>
+ * UnsafeTest.Counter在CAS失败后立刻重试，线程越多失败越多，缓存行在核之间来回传递，吞吐量反而下降。
+ * 这里失败后先空转[1, limit]次（随机，避免多个线程同时醒来再次冲突），每失败一次limit翻倍，
+ * 达到maxSpins后改为{@link Thread#yield()}。竞争不激烈时与直接重试相同。
+ * </p>
+ */
+public class BackoffCounter implements Counter {
+
+    public static final int DEFAULT_MIN_SPINS = 4;
+    public static final int DEFAULT_MAX_SPINS = 1 << 10;
+
+    private final PaddedLong value = new PaddedLong();
+    private final int minSpins;
+    private final int maxSpins;
+
+    public BackoffCounter() {
+        this(DEFAULT_MIN_SPINS, DEFAULT_MAX_SPINS);
+    }
+
+    public BackoffCounter(int minSpins, int maxSpins) {
+        if (minSpins <= 0 || maxSpins < minSpins) {
+            throw new IllegalArgumentException("0 < minSpins <= maxSpins required: " + minSpins + ", " + maxSpins);
+        }
+        this.minSpins = minSpins;
+        this.maxSpins = maxSpins;
+    }
+
+    @Override
+    public void add(long x) {
+        getAndAdd(x);
+    }
+
+    /**
+     * 返回更新前的值，与UnsafeTest.Counter#increment相同
+     */
+    public long getAndAdd(long x) {
+        PaddedLong value = this.value;
+        long v = value.value;
+        if (value.cas(v, v + x)) {
+            return v;
+        }
+        int limit = minSpins;
+        int seed = 0;
+        for (; ; ) {
+            if (limit < maxSpins) {
+                if (seed == 0) {
+                    seed = ThreadLocalRandom.current().nextInt() | 1;
+                }
+                seed = spin(seed, 1 + (seed >>> 1) % limit);
+                limit <<= 1;
+            } else {
+                Thread.yield();
+            }
+            v = value.value;
+            if (value.cas(v, v + x)) {
+                return v;
+            }
+        }
+    }
+
+    @Override
+    public long sum() {
+        return value.value;
+    }
+
+    /**
+     * 空转spins次。Java 8没有Thread.onSpinWait，用xorshift产生依赖链，JIT不能把循环消除
+     */
+    private static int spin(int seed, int spins) {
+        for (int i = 0; i < spins; i++) {
+            seed ^= seed << 13;
+            seed ^= seed >>> 17;
+            seed ^= seed << 5;
+        }
+        return seed;
+    }
+}
@@ -0,0 +1,84 @@
+package l.y.z.counter;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-19 18:40 <br>
+ * <p>
+ * 按线程攒批的计数器。
+ * <p>
+ * 每个线程第一次更新时分配一个{@link PaddedLong}作为自己的槽，之后的更新只由这个线程写：
+ * 普通读加上lazySet，没有CAS也没有StoreLoad屏障。槽里的绝对值达到batchSize时一次性加到共享的flushed上。
+ * <ul>
+ *     <li>{@link #sum()}：flushed加上所有线程的槽，准确但需要遍历所有用过这个计数器的线程</li>
+ *     <li>{@link #approximateSum()}：只读flushed，O(1)，与准确值最多相差线程数 * batchSize</li>
+ * </ul>
+ * 线程结束后它的槽仍保留在计数器中（未加到flushed上的值不会丢失），
+ * 计数器的内存占用与用过它的线程数成正比，适合线程池中的长生命周期线程。
+ * </p>
+ */
+public class BatchedCounter implements Counter {
+
+    public static final int DEFAULT_BATCH_SIZE = 1 << 10;
+
+    private final PaddedLong flushed = new PaddedLong();
+    private final ConcurrentLinkedQueue<PaddedLong> slots = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<PaddedLong> slot = ThreadLocal.withInitial(this::register);
+    private final long batchSize;
+
+    public BatchedCounter() {
+        this(DEFAULT_BATCH_SIZE);
+    }
+
+    public BatchedCounter(int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be positive: " + batchSize);
+        }
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void add(long x) {
+        PaddedLong s = slot.get();
+        long pending = s.value + x;
+        if (pending >= batchSize || pending <= -batchSize) {
+            // 先清零再加到flushed上，并发的sum()可能暂时少算，但不会多算
+            s.lazySet(0L);
+            flushed.getAndAdd(pending);
+        } else {
+            s.lazySet(pending);
+        }
+    }
+
+    /**
+     * 把当前线程槽里的值加到flushed上，之后{@link #approximateSum()}包含当前线程的所有更新
+     */
+    public void flush() {
+        PaddedLong s = slot.get();
+        long pending = s.value;
+        if (pending != 0L) {
+            s.lazySet(0L);
+            flushed.getAndAdd(pending);
+        }
+    }
+
+    @Override
+    public long sum() {
+        long sum = flushed.value;
+        for (PaddedLong s : slots) {
+            sum += s.value;
+        }
+        return sum;
+    }
+
+    public long approximateSum() {
+        return flushed.value;
+    }
+
+    private PaddedLong register() {
+        PaddedLong s = new PaddedLong();
+        slots.add(s);
+        return s;
+    }
+}
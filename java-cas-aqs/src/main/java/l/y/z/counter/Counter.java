@@ -0,0 +1,29 @@
+package l.y.z.counter;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-19 18:00 <br>
+ * <p>
+ * 可并发更新的long计数器。
+ * <p>
+ * 实现：
+ * <ul>
+ *     <li>{@link BackoffCounter}：单个值的CAS，失败后随机退避，sum()最便宜</li>
+ *     <li>{@link StripedCounter}：竞争时分散到多个cell上，与{@link java.util.concurrent.atomic.LongAdder}相同的思路</li>
+ *     <li>{@link BatchedCounter}：每个线程先在自己的槽里累加，攒够一批再加到共享的值上</li>
+ * </ul>
+ * </p>
+ */
+public interface Counter {
+
+    void add(long x);
+
+    default void increment() {
+        add(1L);
+    }
+
+    /**
+     * 当前的和。有并发更新时不是原子的快照，没有并发更新时是准确的
+     */
+    long sum();
+}
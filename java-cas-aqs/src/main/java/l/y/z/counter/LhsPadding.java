@@ -0,0 +1,13 @@
+package l.y.z.counter;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-19 18:05 <br>
+ * <p>
+ * {@link PaddedLong}左侧的填充。
+ * 父类的字段排在子类的字段之前，这7个long保证value与它前面的对象不在同一个缓存行上
+ * </p>
+ */
+abstract class LhsPadding {
+    long p01, p02, p03, p04, p05, p06, p07;
+}
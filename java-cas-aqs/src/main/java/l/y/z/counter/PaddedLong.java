@@ -0,0 +1,44 @@
+package l.y.z.counter;
+
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-19 18:05 <br>
+ * <p>
+ * 独占一个缓存行（64字节）的volatile long，避免与相邻对象伪共享。
+ * <p>
+ * 效果与@sun.misc.Contended相同，但后者在JDK之外的类上需要-XX:-RestrictContended才生效，这里手工填充。
+ * value前后各7个long；同样大小的字段按声明顺序排列，p09~p15排在value之后。
+ * 读写通过{@link AtomicLongFieldUpdater}，不直接使用Unsafe。
+ * </p>
+ */
+class PaddedLong extends LhsPadding {
+
+    private static final AtomicLongFieldUpdater<PaddedLong> VALUE = AtomicLongFieldUpdater.newUpdater(PaddedLong.class, "value");
+
+    volatile long value;
+    long p09, p10, p11, p12, p13, p14, p15;
+
+    PaddedLong() {
+    }
+
+    PaddedLong(long value) {
+        this.value = value;
+    }
+
+    final boolean cas(long expect, long update) {
+        return VALUE.compareAndSet(this, expect, update);
+    }
+
+    final long getAndAdd(long x) {
+        return VALUE.getAndAdd(this, x);
+    }
+
+    /**
+     * 只有一个线程写时使用，不需要StoreLoad屏障
+     */
+    final void lazySet(long newValue) {
+        VALUE.lazySet(this, newValue);
+    }
+}
@@ -0,0 +1,174 @@
+package l.y.z.counter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-19 18:20 <br>
+ * <p>
+ * 分段计数器，与{@link java.util.concurrent.atomic.LongAdder}相同的思路：
+ * <ol>
+ *     <li>没有竞争时只CAS base</li>
+ *     <li>base的CAS失败后创建cell数组，每个线程按自己的探针值选一个cell做CAS</li>
+ *     <li>cell上的CAS仍然失败说明两个线程选中了同一个cell：先给当前线程换一个探针值；
+ *     连续冲突且cell数小于CPU数时数组扩容为两倍</li>
+ * </ol>
+ * 每个cell是一个{@link PaddedLong}，独占缓存行，不同线程更新不同的cell不会互相使缓存失效。
+ * sum()需要遍历所有cell，适合写多读少的场景，如请求计数。
+ * <p>
+ * LongAdder的探针值保存在Thread的一个包内可见字段中，这里用{@link ThreadLocal}代替，所有StripedCounter共用。
+ * </p>
+ */
+public class StripedCounter implements Counter {
+
+    private static final int NCPU = Runtime.getRuntime().availableProcessors();
+
+    private static final AtomicIntegerFieldUpdater<StripedCounter> BUSY = AtomicIntegerFieldUpdater.newUpdater(StripedCounter.class, "busy");
+
+    private static final AtomicInteger PROBE_SEED = new AtomicInteger();
+
+    /**
+     * 每个线程的探针值，非0
+     */
+    private static final ThreadLocal<int[]> PROBE = ThreadLocal.withInitial(() -> new int[]{PROBE_SEED.addAndGet(0x9E3779B9) | 1});
+
+    private final PaddedLong base = new PaddedLong();
+
+    /**
+     * 长度为2的幂，元素在第一次使用时创建
+     */
+    private volatile PaddedLong[] cells;
+
+    /**
+     * 创建、扩容cells与填充cell时持有的自旋锁
+     */
+    private volatile int busy;
+
+    @Override
+    public void add(long x) {
+        PaddedLong[] cs = cells;
+        if (cs == null) {
+            long b = base.value;
+            if (base.cas(b, b + x)) {
+                return;
+            }
+        } else {
+            int[] probe = PROBE.get();
+            PaddedLong c = cs[probe[0] & (cs.length - 1)];
+            if (c != null) {
+                long v = c.value;
+                if (c.cas(v, v + x)) {
+                    return;
+                }
+            }
+            slowAdd(x, probe, c != null);
+            return;
+        }
+        slowAdd(x, PROBE.get(), true);
+    }
+
+    @Override
+    public long sum() {
+        long sum = base.value;
+        PaddedLong[] cs = cells;
+        if (cs != null) {
+            for (PaddedLong c : cs) {
+                if (c != null) {
+                    sum += c.value;
+                }
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * 当前cell的个数，用于观察扩容
+     */
+    int cellCount() {
+        PaddedLong[] cs = cells;
+        return cs == null ? 0 : cs.length;
+    }
+
+    /**
+     * @param contended 上一次CAS是否因竞争而失败
+     */
+    private void slowAdd(long x, int[] probe, boolean contended) {
+        int h = probe[0];
+        boolean collided = false;
+        for (; ; ) {
+            PaddedLong[] cs = cells;
+            if (cs != null) {
+                int n = cs.length;
+                PaddedLong c = cs[h & (n - 1)];
+                if (c == null) {
+                    // 槽为空，加锁后填入一个新的cell，初值就是x
+                    if (busy == 0 && BUSY.compareAndSet(this, 0, 1)) {
+                        try {
+                            if (cells == cs && cs[h & (n - 1)] == null) {
+                                cs[h & (n - 1)] = new PaddedLong(x);
+                                return;
+                            }
+                        } finally {
+                            busy = 0;
+                        }
+                        continue;
+                    }
+                    collided = false;
+                } else if (contended) {
+                    // 调用者刚在这个cell上失败过，先换探针再试
+                    contended = false;
+                } else {
+                    long v = c.value;
+                    if (c.cas(v, v + x)) {
+                        return;
+                    }
+                    if (n >= NCPU || cells != cs) {
+                        collided = false;
+                    } else if (!collided) {
+                        collided = true;
+                    } else if (busy == 0 && BUSY.compareAndSet(this, 0, 1)) {
+                        // 换过探针仍然冲突，扩容
+                        try {
+                            if (cells == cs) {
+                                PaddedLong[] grown = new PaddedLong[n << 1];
+                                System.arraycopy(cs, 0, grown, 0, n);
+                                cells = grown;
+                            }
+                        } finally {
+                            busy = 0;
+                        }
+                        collided = false;
+                        continue;
+                    }
+                }
+                h = rehash(h);
+                probe[0] = h;
+            } else if (busy == 0 && BUSY.compareAndSet(this, 0, 1)) {
+                try {
+                    if (cells == null) {
+                        PaddedLong[] created = new PaddedLong[2];
+                        created[h & 1] = new PaddedLong(x);
+                        cells = created;
+                        return;
+                    }
+                } finally {
+                    busy = 0;
+                }
+            } else {
+                // 其它线程正在创建cells，回到base上重试
+                long b = base.value;
+                if (base.cas(b, b + x)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private static int rehash(int h) {
+        h ^= h << 13;
+        h ^= h >>> 17;
+        h ^= h << 5;
+        return h;
+    }
+}
@@ -0,0 +1,69 @@
+package l.y.z.lockfree;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-19 20:05 <br>
+ * <p>
+ * 结点下标的Treiber栈，栈顶是{@link StampedIndex}。
+ * 结点之间的链接保存在外部传入的next数组中，多个IndexStack可以共用同一个数组，一个结点同一时刻只在其中一个栈里。
+ * {@link LockFreeStack}用两个IndexStack分别保存已用与空闲的结点，{@link LockFreeQueue}用它管理空闲结点。
+ * </p>
+ */
+final class IndexStack {
+
+    private final AtomicLong top = new AtomicLong(StampedIndex.pack(0, StampedIndex.NIL));
+    private final AtomicIntegerArray next;
+
+    IndexStack(AtomicIntegerArray next) {
+        this.next = next;
+    }
+
+    void push(int index) {
+        for (; ; ) {
+            long t = top.get();
+            next.set(index, StampedIndex.index(t));
+            if (top.compareAndSet(t, StampedIndex.next(t, index))) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return 栈为空时返回{@link StampedIndex#NIL}
+     */
+    int pop() {
+        for (; ; ) {
+            long t = top.get();
+            int index = StampedIndex.index(t);
+            if (index == StampedIndex.NIL) {
+                return StampedIndex.NIL;
+            }
+            // 读到next之后结点可能已被其它线程弹出并复用，next是错的，但这时版本号也变了，CAS会失败
+            if (top.compareAndSet(t, StampedIndex.next(t, next.get(index)))) {
+                return index;
+            }
+        }
+    }
+
+    boolean isEmpty() {
+        return StampedIndex.index(top.get()) == StampedIndex.NIL;
+    }
+
+    long top() {
+        return top.get();
+    }
+
+    /**
+     * 以旧快照expect为依据修改栈顶，用于演示版本号如何阻止ABA
+     */
+    boolean compareAndSetTop(long expect, int index) {
+        return top.compareAndSet(expect, StampedIndex.next(expect, index));
+    }
+
+    int next(int index) {
+        return next.get(index);
+    }
+}
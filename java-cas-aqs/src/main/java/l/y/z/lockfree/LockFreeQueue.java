@@ -0,0 +1,128 @@
+package l.y.z.lockfree;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-19 20:30 <br>
+ * <p>
+ * 有界的无锁队列，Michael-Scott算法，结点预先分配并复用，offer与poll不分配对象。
+ * <p>
+ * head指向哑结点，head.next才是队首元素；tail指向最后一个结点或倒数第二个结点（其它线程的入队还差最后一步），
+ * 遇到落后的tail时任何线程都可以帮它前进一步。出队成功后旧的哑结点回到空闲栈，队首结点成为新的哑结点。
+ * <p>
+ * head、tail与每个结点的next都是{@link StampedIndex}：结点复用后，持有旧快照的线程的CAS会因版本号不同而失败，
+ * 这正是原论文中的counted pointer。
+ * <p>
+ * 最近出队的元素仍被哑结点引用，直到该结点再次被回收。
+ * </p>
+ */
+public class LockFreeQueue<E> {
+
+    private final AtomicReferenceArray<E> items;
+
+    /**
+     * 队列中结点的next，{@link StampedIndex}
+     */
+    private final AtomicLongArray next;
+    private final IndexStack free;
+    private final AtomicLong head;
+    private final AtomicLong tail;
+    private final int capacity;
+
+    public LockFreeQueue(int capacity) {
+        if (capacity <= 0 || capacity == Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("capacity must be in [1, Integer.MAX_VALUE): " + capacity);
+        }
+        this.capacity = capacity;
+        // 多一个哑结点
+        int nodes = capacity + 1;
+        this.items = new AtomicReferenceArray<>(nodes);
+        this.next = new AtomicLongArray(nodes);
+        this.free = new IndexStack(new AtomicIntegerArray(nodes));
+        for (int i = nodes - 1; i > 0; i--) {
+            next.set(i, StampedIndex.pack(0, StampedIndex.NIL));
+            free.push(i);
+        }
+        next.set(0, StampedIndex.pack(0, StampedIndex.NIL));
+        this.head = new AtomicLong(StampedIndex.pack(0, 0));
+        this.tail = new AtomicLong(StampedIndex.pack(0, 0));
+    }
+
+    /**
+     * @return 队列已满时返回false
+     */
+    public boolean offer(E e) {
+        Objects.requireNonNull(e);
+        int node = free.pop();
+        if (node == StampedIndex.NIL) {
+            return false;
+        }
+        items.lazySet(node, e);
+        // 保留版本号，结点上一次使用时的旧快照不会误判
+        next.set(node, StampedIndex.next(next.get(node), StampedIndex.NIL));
+        for (; ; ) {
+            long t = tail.get();
+            int last = StampedIndex.index(t);
+            long n = next.get(last);
+            if (t != tail.get()) {
+                continue;
+            }
+            if (StampedIndex.index(n) == StampedIndex.NIL) {
+                if (next.compareAndSet(last, n, StampedIndex.next(n, node))) {
+                    // 失败说明其它线程已经帮忙推进了tail
+                    tail.compareAndSet(t, StampedIndex.next(t, node));
+                    return true;
+                }
+            } else {
+                // tail落后，帮它前进
+                tail.compareAndSet(t, StampedIndex.next(t, StampedIndex.index(n)));
+            }
+        }
+    }
+
+    /**
+     * @return 队列为空时返回null
+     */
+    public E poll() {
+        for (; ; ) {
+            long h = head.get();
+            long t = tail.get();
+            int dummy = StampedIndex.index(h);
+            long n = next.get(dummy);
+            if (h != head.get()) {
+                continue;
+            }
+            int first = StampedIndex.index(n);
+            if (dummy == StampedIndex.index(t)) {
+                if (first == StampedIndex.NIL) {
+                    return null;
+                }
+                tail.compareAndSet(t, StampedIndex.next(t, first));
+                continue;
+            }
+            // 先读元素再CAS：CAS成功之后first可能立刻被其它线程出队并复用
+            E e = items.get(first);
+            if (head.compareAndSet(h, StampedIndex.next(h, first))) {
+                // first成为新的哑结点，它持有的元素要等它被回收时才清除：
+                // 此刻其它线程可能已经把first出队、回收并写入了新元素，不能再写first。
+                // 旧的哑结点只属于当前线程，清除后回收
+                items.lazySet(dummy, null);
+                free.push(dummy);
+                return e;
+            }
+        }
+    }
+
+    public boolean isEmpty() {
+        return StampedIndex.index(next.get(StampedIndex.index(head.get()))) == StampedIndex.NIL;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+}
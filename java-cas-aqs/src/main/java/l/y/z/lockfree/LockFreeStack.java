@@ -0,0 +1,78 @@
+package l.y.z.lockfree;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-19 20:15 <br>
+ * <p>
+ * 有界的无锁栈（Treiber栈），结点预先分配并复用，push与pop不分配对象。
+ * <p>
+ * capacity个结点的下标分别在两个{@link IndexStack}中：空闲的与已用的。
+ * push从空闲栈取一个结点，写入元素后压入已用栈；pop反过来。
+ * 结点复用使ABA成为真实的问题（见ABATest），两个栈的栈顶都带版本号，见{@link StampedIndex}。
+ * </p>
+ */
+public class LockFreeStack<E> {
+
+    private final AtomicReferenceArray<E> items;
+    private final IndexStack used;
+    private final IndexStack free;
+    private final int capacity;
+
+    public LockFreeStack(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        this.items = new AtomicReferenceArray<>(capacity);
+        AtomicIntegerArray next = new AtomicIntegerArray(capacity);
+        this.used = new IndexStack(next);
+        this.free = new IndexStack(next);
+        for (int i = capacity - 1; i >= 0; i--) {
+            free.push(i);
+        }
+    }
+
+    /**
+     * @return 栈已满时返回false
+     */
+    public boolean push(E e) {
+        Objects.requireNonNull(e);
+        int index = free.pop();
+        if (index == StampedIndex.NIL) {
+            return false;
+        }
+        items.lazySet(index, e);
+        used.push(index);
+        return true;
+    }
+
+    /**
+     * @return 栈为空时返回null
+     */
+    public E pop() {
+        int index = used.pop();
+        if (index == StampedIndex.NIL) {
+            return null;
+        }
+        E e = items.get(index);
+        items.lazySet(index, null);
+        free.push(index);
+        return e;
+    }
+
+    public boolean isEmpty() {
+        return used.isEmpty();
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    IndexStack used() {
+        return used;
+    }
+}
@@ -0,0 +1,40 @@
+package l.y.z.lockfree;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-19 20:00 <br>
+ * <p>
+ * 带版本号的结点下标，打包在一个long中：高32位为版本号，低32位为下标，{@link #NIL}表示空。
+ * <p>
+ * 结点在数组中复用，同一个下标会反复出现在栈顶、队头上，只比较下标就会有ABA问题；
+ * 每次修改都把版本号加1，CAS比较整个long，下标相同而版本号不同的旧快照会失败。
+ * 与{@link java.util.concurrent.atomic.AtomicStampedReference}相比，不需要每次CAS都分配一个Pair对象。
+ * 版本号32位，同一个位置被修改2^32次后回绕，一个线程持有旧快照期间发生这么多次修改才会误判。
+ * </p>
+ */
+final class StampedIndex {
+
+    static final int NIL = -1;
+
+    private StampedIndex() {
+    }
+
+    static long pack(int stamp, int index) {
+        return ((long) stamp << 32) | (index & 0xFFFFFFFFL);
+    }
+
+    static int index(long stamped) {
+        return (int) stamped;
+    }
+
+    static int stamp(long stamped) {
+        return (int) (stamped >>> 32);
+    }
+
+    /**
+     * 版本号加1，下标改为index
+     */
+    static long next(long stamped, int index) {
+        return pack(stamp(stamped) + 1, index);
+    }
+}
@@ -0,0 +1,18 @@
+package l.y.z.ring;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-20 09:05 <br>
+ * <p>
+ * 等待中的消费者被{@link SequenceBarrier#alert()}叫醒，用于停止消费者。
+ * 只作为控制流使用，共用一个实例，不填充栈
+ * </p>
+ */
+public final class AlertException extends Exception {
+
+    static final AlertException INSTANCE = new AlertException();
+
+    private AlertException() {
+        super("alerted", null, false, false);
+    }
+}
@@ -0,0 +1,84 @@
+package l.y.z.ring;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-20 09:50 <br>
+ * <p>
+ * 消费者线程的主循环：等待生产者，一次取到已发布的最大序号，批量调用{@link EventHandler}，
+ * 处理完一批之后才更新自己的序号，生产者读到的消费者序号一批更新一次。
+ * <p>
+ * 构造时把自己的序号加入ringBuffer的gating sequences，{@link #halt()}之后移出。
+ * 回调抛出的异常记录日志后跳过该事件，不中断消费。
+ * </p>
+ */
+@Slf4j
+public class BatchEventProcessor<E> implements Runnable {
+
+    private final RingBuffer<E> ringBuffer;
+    private final SequenceBarrier barrier;
+    private final EventHandler<? super E> handler;
+    private final Sequence sequence;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public BatchEventProcessor(RingBuffer<E> ringBuffer, EventHandler<? super E> handler) {
+        this.ringBuffer = ringBuffer;
+        this.barrier = ringBuffer.newBarrier();
+        this.handler = handler;
+        this.sequence = new Sequence(ringBuffer.getCursor());
+        ringBuffer.addGatingSequences(sequence);
+    }
+
+    /**
+     * 已处理到的序号
+     */
+    public Sequence getSequence() {
+        return sequence;
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    /**
+     * 处理完当前这一批后停止，{@link #run()}返回；在run之前调用则run直接返回。停止后不能再次启动
+     */
+    public void halt() {
+        running.set(false);
+        barrier.alert();
+    }
+
+    @Override
+    public void run() {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("already running");
+        }
+        long next = sequence.get() + 1;
+        try {
+            while (true) {
+                long available;
+                try {
+                    available = barrier.waitFor(next);
+                } catch (AlertException e) {
+                    break;
+                }
+                for (; next <= available; next++) {
+                    try {
+                        handler.onEvent(ringBuffer.get(next), next, next == available);
+                    } catch (Exception e) {
+                        log.error("handle event {} failed", next, e);
+                    }
+                }
+                sequence.set(available);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            running.set(false);
+            ringBuffer.removeGatingSequence(sequence);
+        }
+    }
+}
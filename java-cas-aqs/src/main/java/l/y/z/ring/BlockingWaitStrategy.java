@@ -0,0 +1,44 @@
+package l.y.z.ring;
+
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-20 09:25 <br>
+ * <p>
+ * 消费者在条件变量上等待，生产者每次发布后加锁signalAll。
+ * 空闲时不占CPU，也没有park的定时延迟，但每次发布都要加锁，吞吐量最低
+ * </p>
+ */
+public class BlockingWaitStrategy implements WaitStrategy {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition published = lock.newCondition();
+
+    @Override
+    public long waitFor(long sequence, Sequence cursor, SequenceBarrier barrier) throws AlertException, InterruptedException {
+        if (cursor.get() < sequence) {
+            lock.lock();
+            try {
+                while (cursor.get() < sequence) {
+                    barrier.checkAlert();
+                    published.await();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        return cursor.get();
+    }
+
+    @Override
+    public void signalAllWhenBlocking() {
+        lock.lock();
+        try {
+            published.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
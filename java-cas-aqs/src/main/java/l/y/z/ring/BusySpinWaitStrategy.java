@@ -0,0 +1,20 @@
+package l.y.z.ring;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-20 09:15 <br>
+ * <p>
+ * 一直空转等待，消费者线程数不能超过空闲的核数
+ * </p>
+ */
+public class BusySpinWaitStrategy implements WaitStrategy {
+
+    @Override
+    public long waitFor(long sequence, Sequence cursor, SequenceBarrier barrier) throws AlertException {
+        long available;
+        while ((available = cursor.get()) < sequence) {
+            barrier.checkAlert();
+        }
+        return available;
+    }
+}
@@ -0,0 +1,19 @@
+package l.y.z.ring;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-20 09:35 <br>
+ * <p>
+ * 消费者处理事件的回调
+ * </p>
+ */
+@FunctionalInterface
+public interface EventHandler<E> {
+
+    /**
+     * @param event      环形缓冲区中预先分配的事件对象，回调返回后可能被生产者复用，不能保存引用
+     * @param sequence   事件的序号
+     * @param endOfBatch 是否是本批次的最后一个事件，可以在这里刷新批量写入的数据
+     */
+    void onEvent(E event, long sequence, boolean endOfBatch) throws Exception;
+}
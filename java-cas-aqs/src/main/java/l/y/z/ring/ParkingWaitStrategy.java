@@ -0,0 +1,53 @@
+package l.y.z.ring;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-20 09:20 <br>
+ * <p>
+ * 先空转{@value #SPIN_TRIES}次，再yield {@value #YIELD_TRIES}次，之后每次检查前park parkNanos纳秒。
+ * <p>
+ * 生产者不需要知道消费者在park，发布时没有额外开销；代价是消费者最多晚parkNanos（加上操作系统的定时精度）才看到新数据。
+ * </p>
+ */
+public class ParkingWaitStrategy implements WaitStrategy {
+
+    private static final int SPIN_TRIES = 100;
+    private static final int YIELD_TRIES = 100;
+
+    private final long parkNanos;
+
+    public ParkingWaitStrategy() {
+        this(TimeUnit.MICROSECONDS.toNanos(50));
+    }
+
+    public ParkingWaitStrategy(long parkNanos) {
+        if (parkNanos <= 0) {
+            throw new IllegalArgumentException("parkNanos must be positive: " + parkNanos);
+        }
+        this.parkNanos = parkNanos;
+    }
+
+    @Override
+    public long waitFor(long sequence, Sequence cursor, SequenceBarrier barrier) throws AlertException, InterruptedException {
+        int counter = SPIN_TRIES + YIELD_TRIES;
+        long available;
+        while ((available = cursor.get()) < sequence) {
+            barrier.checkAlert();
+            if (counter > YIELD_TRIES) {
+                counter--;
+            } else if (counter > 0) {
+                counter--;
+                Thread.yield();
+            } else {
+                LockSupport.parkNanos(this, parkNanos);
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+            }
+        }
+        return available;
+    }
+}
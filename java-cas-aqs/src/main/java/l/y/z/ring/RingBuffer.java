@@ -0,0 +1,196 @@
+package l.y.z.ring;
+
+import java.util.Objects;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-20 09:40 <br>
+ * <p>
+ * 单生产者、多消费者的环形缓冲区。
+ * <p>
+ * 容量为2的幂，事件对象在构造时全部预先分配，生产者只修改槽位中对象的字段，不产生垃圾；
+ * 序号是单调递增的long，槽位下标为sequence &amp; mask，不需要取模。
+ * <p>
+ * 生产者的发布流程：
+ * <pre>
+ *     long sequence = ringBuffer.next();      // 或next(n)一次申请n个槽位
+ *     ringBuffer.get(sequence).setValue(v);
+ *     ringBuffer.publish(sequence);           // 或publish(lo, hi)
+ * </pre>
+ * 只有一个生产者，申请槽位不需要CAS：生产者在本地记录已申请到的序号，
+ * 只在可能追上最慢的消费者时才去读各消费者的序号（gating sequences），读到的最小值缓存起来。
+ * 缓冲区满时生产者parkNanos(1)等待。
+ * <p>
+ * 每个消费者都会收到全部事件（广播），各自维护自己的{@link Sequence}，
+ * 通过{@link SequenceBarrier}按{@link WaitStrategy}等待生产者；
+ * 一次等待返回的是已发布的最大序号，消费者可以批量处理，见{@link BatchEventProcessor}。
+ * </p>
+ */
+public class RingBuffer<E> {
+
+    private final Object[] entries;
+    private final int bufferSize;
+    private final int mask;
+    private final WaitStrategy waitStrategy;
+
+    /**
+     * 已发布的最大序号
+     */
+    private final Sequence cursor = new Sequence();
+
+    private volatile Sequence[] gatingSequences = new Sequence[0];
+
+    // 以下两个字段只由生产者线程读写
+
+    /**
+     * 已申请到的最大序号
+     */
+    private long nextValue = Sequence.INITIAL_VALUE;
+
+    /**
+     * 上一次读到的消费者序号的最小值
+     */
+    private long cachedGatingSequence = Sequence.INITIAL_VALUE;
+
+    /**
+     * @param factory    构造时调用bufferSize次，预先分配事件对象
+     * @param bufferSize 2的幂
+     */
+    public RingBuffer(Supplier<E> factory, int bufferSize, WaitStrategy waitStrategy) {
+        if (bufferSize < 1 || Integer.bitCount(bufferSize) != 1) {
+            throw new IllegalArgumentException("bufferSize must be a power of 2: " + bufferSize);
+        }
+        this.bufferSize = bufferSize;
+        this.mask = bufferSize - 1;
+        this.waitStrategy = Objects.requireNonNull(waitStrategy);
+        this.entries = new Object[bufferSize];
+        for (int i = 0; i < bufferSize; i++) {
+            entries[i] = Objects.requireNonNull(factory.get());
+        }
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    /**
+     * 已发布的最大序号，还没有发布过时为-1
+     */
+    public long getCursor() {
+        return cursor.get();
+    }
+
+    @SuppressWarnings("unchecked")
+    public E get(long sequence) {
+        return (E) entries[(int) (sequence & mask)];
+    }
+
+    /**
+     * 为一个消费者创建屏障，每个消费者使用自己的屏障，alert互不影响
+     */
+    public SequenceBarrier newBarrier() {
+        return new SequenceBarrier(cursor, waitStrategy);
+    }
+
+    /**
+     * 添加消费者的序号，生产者不会覆盖这些序号还没有处理的槽位。
+     * 应在生产者开始发布之前添加，新序号的值应不小于当前的cursor
+     */
+    public synchronized void addGatingSequences(Sequence... sequences) {
+        Sequence[] current = gatingSequences;
+        Sequence[] updated = new Sequence[current.length + sequences.length];
+        System.arraycopy(current, 0, updated, 0, current.length);
+        System.arraycopy(sequences, 0, updated, current.length, sequences.length);
+        gatingSequences = updated;
+    }
+
+    public synchronized boolean removeGatingSequence(Sequence sequence) {
+        Sequence[] current = gatingSequences;
+        for (int i = 0; i < current.length; i++) {
+            if (current[i] == sequence) {
+                Sequence[] updated = new Sequence[current.length - 1];
+                System.arraycopy(current, 0, updated, 0, i);
+                System.arraycopy(current, i + 1, updated, i, current.length - i - 1);
+                gatingSequences = updated;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 申请一个槽位，缓冲区满时等待
+     */
+    public long next() {
+        return next(1);
+    }
+
+    /**
+     * 申请n个连续的槽位，缓冲区满时等待
+     *
+     * @return 申请到的最大序号，申请到的是[返回值 - n + 1, 返回值]
+     */
+    public long next(int n) {
+        if (n < 1 || n > bufferSize) {
+            throw new IllegalArgumentException("n must be in [1, " + bufferSize + "]: " + n);
+        }
+        long next = nextValue + n;
+        long wrapPoint = next - bufferSize;
+        if (wrapPoint > cachedGatingSequence) {
+            long minSequence;
+            while (wrapPoint > (minSequence = Sequence.minimum(gatingSequences, nextValue))) {
+                LockSupport.parkNanos(1L);
+            }
+            cachedGatingSequence = minSequence;
+        }
+        nextValue = next;
+        return next;
+    }
+
+    /**
+     * 申请n个连续的槽位，空间不足时不等待
+     *
+     * @return 申请到的最大序号，空间不足时返回-1
+     */
+    public long tryNext(int n) {
+        if (n < 1 || n > bufferSize) {
+            throw new IllegalArgumentException("n must be in [1, " + bufferSize + "]: " + n);
+        }
+        long next = nextValue + n;
+        long wrapPoint = next - bufferSize;
+        if (wrapPoint > cachedGatingSequence) {
+            long minSequence = Sequence.minimum(gatingSequences, nextValue);
+            cachedGatingSequence = minSequence;
+            if (wrapPoint > minSequence) {
+                return -1L;
+            }
+        }
+        nextValue = next;
+        return next;
+    }
+
+    /**
+     * 还能申请的槽位数
+     */
+    public long remainingCapacity() {
+        long consumed = Sequence.minimum(gatingSequences, nextValue);
+        return bufferSize - (nextValue - consumed);
+    }
+
+    /**
+     * 发布sequence及之前申请的所有槽位
+     */
+    public void publish(long sequence) {
+        cursor.set(sequence);
+        waitStrategy.signalAllWhenBlocking();
+    }
+
+    /**
+     * 发布一批槽位，单生产者按顺序申请，发布hi即发布了[lo, hi]
+     */
+    public void publish(long lo, long hi) {
+        publish(hi);
+    }
+}
@@ -0,0 +1,61 @@
+package l.y.z.ring;
+
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-20 09:00 <br>
+ * <p>
+ * 环形缓冲区中的序号：生产者的游标与每个消费者已处理到的位置。
+ * <p>
+ * 序号由一个线程写、多个线程读，写得非常频繁，前后各填充7个long独占一个缓存行，
+ * 避免生产者与消费者的序号落在同一个缓存行上互相使对方的缓存失效（与l.y.z.counter.PaddedLong相同的做法）。
+ * </p>
+ */
+public class Sequence extends SequenceLhsPadding {
+
+    static final long INITIAL_VALUE = -1L;
+
+    private static final AtomicLongFieldUpdater<Sequence> VALUE = AtomicLongFieldUpdater.newUpdater(Sequence.class, "value");
+
+    private volatile long value;
+    long p09, p10, p11, p12, p13, p14, p15;
+
+    public Sequence() {
+        this(INITIAL_VALUE);
+    }
+
+    public Sequence(long initialValue) {
+        this.value = initialValue;
+    }
+
+    public long get() {
+        return value;
+    }
+
+    /**
+     * 只有一个线程写，之前的写入对读到这个值的线程可见即可，不需要StoreLoad屏障
+     */
+    public void set(long value) {
+        VALUE.lazySet(this, value);
+    }
+
+    public void setVolatile(long value) {
+        this.value = value;
+    }
+
+    @Override
+    public String toString() {
+        return Long.toString(value);
+    }
+
+    /**
+     * sequences中的最小值，sequences为空时返回minimum
+     */
+    static long minimum(Sequence[] sequences, long minimum) {
+        for (Sequence sequence : sequences) {
+            minimum = Math.min(minimum, sequence.get());
+        }
+        return minimum;
+    }
+}
@@ -0,0 +1,50 @@
+package l.y.z.ring;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-20 09:30 <br>
+ * <p>
+ * 消费者等待生产者的屏障，由{@link RingBuffer#newBarrier()}创建，每个消费者一个。
+ * {@link #alert()}之后，正在等待或下一次等待的消费者抛出{@link AlertException}
+ * </p>
+ */
+public class SequenceBarrier {
+
+    private final Sequence cursor;
+    private final WaitStrategy waitStrategy;
+    private volatile boolean alerted;
+
+    SequenceBarrier(Sequence cursor, WaitStrategy waitStrategy) {
+        this.cursor = cursor;
+        this.waitStrategy = waitStrategy;
+    }
+
+    /**
+     * 等待sequence被发布
+     *
+     * @return 已发布的最大序号，&gt;= sequence
+     */
+    public long waitFor(long sequence) throws AlertException, InterruptedException {
+        checkAlert();
+        return waitStrategy.waitFor(sequence, cursor, this);
+    }
+
+    public void alert() {
+        alerted = true;
+        waitStrategy.signalAllWhenBlocking();
+    }
+
+    public void clearAlert() {
+        alerted = false;
+    }
+
+    public boolean isAlerted() {
+        return alerted;
+    }
+
+    public void checkAlert() throws AlertException {
+        if (alerted) {
+            throw AlertException.INSTANCE;
+        }
+    }
+}
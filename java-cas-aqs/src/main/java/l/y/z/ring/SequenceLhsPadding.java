@@ -0,0 +1,12 @@
+package l.y.z.ring;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-20 09:00 <br>
+ * <p>
+ * {@link Sequence}左侧的填充，父类的字段排在子类的字段之前
+ * </p>
+ */
+abstract class SequenceLhsPadding {
+    long p01, p02, p03, p04, p05, p06, p07;
+}
@@ -0,0 +1,32 @@
+package l.y.z.ring;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-20 09:10 <br>
+ * <p>
+ * 消费者等待生产者发布的方式，在延迟与CPU占用之间取舍：
+ * <ul>
+ *     <li>{@link BusySpinWaitStrategy}：一直空转，延迟最低，每个消费者独占一个核</li>
+ *     <li>{@link YieldingWaitStrategy}：空转一会儿后{@link Thread#yield()}，把核让给其它就绪的线程</li>
+ *     <li>{@link ParkingWaitStrategy}：空转、yield之后{@link java.util.concurrent.locks.LockSupport#parkNanos(long)}，
+ *     空闲时几乎不占CPU，生产者不需要唤醒</li>
+ *     <li>{@link BlockingWaitStrategy}：锁与条件变量，空闲时不占CPU，每次发布都要加锁唤醒</li>
+ * </ul>
+ * </p>
+ */
+public interface WaitStrategy {
+
+    /**
+     * 等待直到cursor &gt;= sequence
+     *
+     * @return cursor当前的值，可能大于sequence，消费者可以一次处理到这里
+     * @throws AlertException barrier被alert
+     */
+    long waitFor(long sequence, Sequence cursor, SequenceBarrier barrier) throws AlertException, InterruptedException;
+
+    /**
+     * 生产者发布之后调用，唤醒阻塞的消费者
+     */
+    default void signalAllWhenBlocking() {
+    }
+}
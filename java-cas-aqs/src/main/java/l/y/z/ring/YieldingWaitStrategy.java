@@ -0,0 +1,28 @@
+package l.y.z.ring;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-20 09:15 <br>
+ * <p>
+ * 先空转{@value #SPIN_TRIES}次，之后每次检查前{@link Thread#yield()}
+ * </p>
+ */
+public class YieldingWaitStrategy implements WaitStrategy {
+
+    private static final int SPIN_TRIES = 100;
+
+    @Override
+    public long waitFor(long sequence, Sequence cursor, SequenceBarrier barrier) throws AlertException {
+        int counter = SPIN_TRIES;
+        long available;
+        while ((available = cursor.get()) < sequence) {
+            barrier.checkAlert();
+            if (counter > 0) {
+                counter--;
+            } else {
+                Thread.yield();
+            }
+        }
+        return available;
+    }
+}
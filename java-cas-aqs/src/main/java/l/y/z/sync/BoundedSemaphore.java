@@ -0,0 +1,148 @@
+package l.y.z.sync;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.AbstractQueuedSynchronizer;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-19 22:30 <br>
+ * <p>
+ * 有上限的信号量，基于{@link AbstractQueuedSynchronizer}的共享模式，state为可用的许可数。
+ * <p>
+ * 与{@link java.util.concurrent.Semaphore}的区别：
+ * <ul>
+ *     <li>许可数不会超过构造时的maxPermits，多释放的许可抛出{@link IllegalStateException}，而不是悄悄增加容量</li>
+ *     <li>批量获取n个许可是原子的：要么一次拿到n个，要么一个都不拿地等待，不会持有一部分许可再等剩下的，
+ *     多个批量请求之间不会死锁</li>
+ * </ul>
+ * 公平模式下按排队顺序获取，等待中的大批量请求会挡住后来的小请求；
+ * 非公平模式下新来的请求可以插队，吞吐量更高，但大批量请求可能一直拿不到足够的许可。
+ * </p>
+ */
+public class BoundedSemaphore {
+
+    private final Sync sync;
+    private final int maxPermits;
+
+    public BoundedSemaphore(int maxPermits) {
+        this(maxPermits, false);
+    }
+
+    public BoundedSemaphore(int maxPermits, boolean fair) {
+        if (maxPermits <= 0) {
+            throw new IllegalArgumentException("maxPermits must be positive: " + maxPermits);
+        }
+        this.maxPermits = maxPermits;
+        this.sync = new Sync(maxPermits, fair);
+    }
+
+    public void acquire() throws InterruptedException {
+        acquire(1);
+    }
+
+    /**
+     * 等待直到一次拿到permits个许可
+     */
+    public void acquire(int permits) throws InterruptedException {
+        sync.acquireSharedInterruptibly(checkPermits(permits));
+    }
+
+    public boolean tryAcquire() {
+        return tryAcquire(1);
+    }
+
+    /**
+     * 不等待，许可不足时返回false；公平模式下有线程在排队时也返回false
+     */
+    public boolean tryAcquire(int permits) {
+        return sync.tryAcquireShared(checkPermits(permits)) >= 0;
+    }
+
+    public boolean tryAcquire(int permits, long timeout, TimeUnit unit) throws InterruptedException {
+        return sync.tryAcquireSharedNanos(checkPermits(permits), unit.toNanos(timeout));
+    }
+
+    public void release() {
+        release(1);
+    }
+
+    /**
+     * @throws IllegalStateException 释放后许可数会超过maxPermits
+     */
+    public void release(int permits) {
+        sync.releaseShared(checkPermits(permits));
+    }
+
+    public int availablePermits() {
+        return sync.permits();
+    }
+
+    public int getMaxPermits() {
+        return maxPermits;
+    }
+
+    public boolean isFair() {
+        return sync.fair;
+    }
+
+    public int getQueueLength() {
+        return sync.getQueueLength();
+    }
+
+    @Override
+    public String toString() {
+        return super.toString() + "[permits = " + sync.permits() + "/" + maxPermits + (sync.fair ? ", fair]" : "]");
+    }
+
+    private int checkPermits(int permits) {
+        if (permits <= 0 || permits > maxPermits) {
+            throw new IllegalArgumentException("permits must be in [1, " + maxPermits + "]: " + permits);
+        }
+        return permits;
+    }
+
+    private static final class Sync extends AbstractQueuedSynchronizer {
+
+        private final int maxPermits;
+        private final boolean fair;
+
+        Sync(int maxPermits, boolean fair) {
+            this.maxPermits = maxPermits;
+            this.fair = fair;
+            setState(maxPermits);
+        }
+
+        int permits() {
+            return getState();
+        }
+
+        @Override
+        protected int tryAcquireShared(int permits) {
+            for (; ; ) {
+                if (fair && hasQueuedPredecessors()) {
+                    return -1;
+                }
+                int available = getState();
+                int remaining = available - permits;
+                // 不够时不修改state，返回负数后进入队列等待
+                if (remaining < 0 || compareAndSetState(available, remaining)) {
+                    return remaining;
+                }
+            }
+        }
+
+        @Override
+        protected boolean tryReleaseShared(int permits) {
+            for (; ; ) {
+                int available = getState();
+                int next = available + permits;
+                if (next > maxPermits) {
+                    throw new IllegalStateException("release " + permits + " permits, " + available + "/" + maxPermits + " available");
+                }
+                if (compareAndSetState(available, next)) {
+                    return true;
+                }
+            }
+        }
+    }
+}
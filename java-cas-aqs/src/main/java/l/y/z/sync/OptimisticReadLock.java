@@ -0,0 +1,213 @@
+package l.y.z.sync;
+
+import sun.misc.Unsafe;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.AbstractQueuedLongSynchronizer;
+import java.util.function.Supplier;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-19 22:00 <br>
+ * <p>
+ * 支持乐观读的读写锁，与{@link java.util.concurrent.locks.StampedLock}相同的用法，用于读多写少的数据，如配置表。
+ * <p>
+ * 基于{@link AbstractQueuedLongSynchronizer}，64位的state分为三段：
+ * <ul>
+ *     <li>低31位：持有读锁的线程数</li>
+ *     <li>第31位：写锁</li>
+ *     <li>高32位：版本号。加写锁与解写锁都给state加上写锁位，解锁时进位到版本号，每次写版本号加1</li>
+ * </ul>
+ * 乐观读不修改state：先记下版本号，读完数据再检查版本号没有变化且期间没有写锁，读者之间不争抢缓存行。
+ * 检查失败（读的过程中有写）时，{@link #read(Supplier)}退化为加读锁再读一次。
+ * <p>
+ * 有写者在等待时新来的读者也排队，写者不会被源源不断的读者饿死。锁不可重入，也不支持读锁升级为写锁。
+ * </p>
+ */
+public class OptimisticReadLock {
+
+    private static final int READER_BITS = 31;
+    private static final long READER_MASK = (1L << READER_BITS) - 1;
+    private static final long WRITE_BIT = 1L << READER_BITS;
+    private static final long VERSION_MASK = ~(READER_MASK | WRITE_BIT);
+
+    /**
+     * 乐观读的数据读取不能被重排到版本号检查之后。Java 8没有VarHandle.acquireFence，用Unsafe.loadFence
+     */
+    private static final Unsafe UNSAFE;
+
+    static {
+        try {
+            Field theUnsafeField = Unsafe.class.getDeclaredField("theUnsafe");
+            theUnsafeField.setAccessible(true);
+            UNSAFE = (Unsafe) theUnsafeField.get(null);
+        } catch (Exception e) {
+            throw new Error(e);
+        }
+    }
+
+    private final Sync sync = new Sync();
+
+    /**
+     * @return 版本号，写锁被持有时返回0
+     */
+    public long tryOptimisticRead() {
+        long s = sync.state();
+        return (s & WRITE_BIT) == 0 ? (s & VERSION_MASK) | WRITE_BIT : 0L;
+    }
+
+    /**
+     * 从{@link #tryOptimisticRead()}到现在是否没有过写锁。stamp为0时返回false
+     */
+    public boolean validate(long stamp) {
+        UNSAFE.loadFence();
+        return stamp != 0L && (sync.state() & (VERSION_MASK | WRITE_BIT)) == (stamp & VERSION_MASK);
+    }
+
+    /**
+     * 先乐观读，失败时加读锁再读一次。reader可能读到不一致的中间状态，只有验证通过的结果才会返回，
+     * 因此reader不能有副作用，也要能容忍读到的引用为null等异常情况（抛出的异常会被当作验证失败）
+     */
+    public <T> T read(Supplier<T> reader) {
+        long stamp = tryOptimisticRead();
+        if (stamp != 0L) {
+            try {
+                T value = reader.get();
+                if (validate(stamp)) {
+                    return value;
+                }
+            } catch (RuntimeException e) {
+                if (validate(stamp)) {
+                    throw e;
+                }
+            }
+        }
+        readLock();
+        try {
+            return reader.get();
+        } finally {
+            readUnlock();
+        }
+    }
+
+    public void readLock() {
+        sync.acquireShared(1);
+    }
+
+    public boolean tryReadLock() {
+        return sync.tryAcquireShared(1) >= 0;
+    }
+
+    public void readUnlock() {
+        sync.releaseShared(1);
+    }
+
+    public void writeLock() {
+        if (!sync.tryAcquire(1)) {
+            sync.waitingWriters.incrementAndGet();
+            try {
+                sync.acquire(1);
+            } finally {
+                sync.waitingWriters.decrementAndGet();
+            }
+        }
+    }
+
+    public boolean tryWriteLock(long timeout, TimeUnit unit) throws InterruptedException {
+        if (sync.tryAcquire(1)) {
+            return true;
+        }
+        sync.waitingWriters.incrementAndGet();
+        try {
+            return sync.tryAcquireNanos(1, unit.toNanos(timeout));
+        } finally {
+            sync.waitingWriters.decrementAndGet();
+        }
+    }
+
+    public void writeUnlock() {
+        sync.release(1);
+    }
+
+    public boolean isWriteLocked() {
+        return (sync.state() & WRITE_BIT) != 0;
+    }
+
+    public int getReadLockCount() {
+        return (int) (sync.state() & READER_MASK);
+    }
+
+    @Override
+    public String toString() {
+        long s = sync.state();
+        return super.toString() + "[version = " + (s >>> 32) + ", readers = " + (s & READER_MASK)
+                + ((s & WRITE_BIT) != 0 ? ", write locked]" : "]");
+    }
+
+    private static final class Sync extends AbstractQueuedLongSynchronizer {
+
+        /**
+         * 在队列中等待的写者数
+         */
+        final AtomicInteger waitingWriters = new AtomicInteger();
+
+        long state() {
+            return getState();
+        }
+
+        @Override
+        protected boolean tryAcquire(long arg) {
+            long s = getState();
+            return (s & (READER_MASK | WRITE_BIT)) == 0 && compareAndSetState(s, s + WRITE_BIT);
+        }
+
+        @Override
+        protected boolean tryRelease(long arg) {
+            long s = getState();
+            if ((s & WRITE_BIT) == 0) {
+                throw new IllegalMonitorStateException("write lock is not held");
+            }
+            // 写锁位清零并进位，版本号加1
+            setState(s + WRITE_BIT);
+            return true;
+        }
+
+        @Override
+        protected long tryAcquireShared(long arg) {
+            for (; ; ) {
+                long s = getState();
+                // 有写者在等待时，新来的读者排在它后面；已经排到队首的读者可以获取
+                if ((s & WRITE_BIT) != 0 || (waitingWriters.get() > 0 && hasQueuedPredecessors())) {
+                    return -1;
+                }
+                if ((s & READER_MASK) == READER_MASK) {
+                    throw new Error("maximum read lock count exceeded");
+                }
+                if (compareAndSetState(s, s + 1)) {
+                    return 1;
+                }
+            }
+        }
+
+        @Override
+        protected boolean tryReleaseShared(long arg) {
+            for (; ; ) {
+                long s = getState();
+                if ((s & READER_MASK) == 0) {
+                    throw new IllegalMonitorStateException("read lock is not held");
+                }
+                if (compareAndSetState(s, s - 1)) {
+                    // 最后一个读者离开时唤醒等待的写者
+                    return ((s - 1) & READER_MASK) == 0;
+                }
+            }
+        }
+
+        @Override
+        protected boolean isHeldExclusively() {
+            return (getState() & WRITE_BIT) != 0;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package l.y.z.counter;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-19 19:00 <br>
+ * <p></p>
+ */
+@Slf4j
+public class CounterTest {
+
+    private static final int THREADS = Runtime.getRuntime().availableProcessors() << 1;
+    private static final int INCREMENTS = 100_000;
+
+    @Test
+    public void backoff() throws Exception {
+        BackoffCounter counter = new BackoffCounter(1, 8);
+        run(counter::increment);
+        assertEquals((long) THREADS * INCREMENTS, counter.sum());
+        assertEquals((long) THREADS * INCREMENTS, counter.getAndAdd(-1));
+    }
+
+    @Test
+    public void striped() throws Exception {
+        StripedCounter counter = new StripedCounter();
+        run(counter::increment);
+        log.info("cells: {}", counter.cellCount());
+        assertEquals((long) THREADS * INCREMENTS, counter.sum());
+    }
+
+    @Test
+    public void batched() throws Exception {
+        BatchedCounter counter = new BatchedCounter(100);
+        run(() -> {
+            counter.add(3);
+            counter.add(-2);
+        });
+        assertEquals((long) THREADS * INCREMENTS, counter.sum());
+        log.info("approximate: {}", counter.approximateSum());
+
+        // 每个线程flush之后approximateSum也是准确的
+        run(counter::increment, counter::flush);
+        assertEquals((long) THREADS * INCREMENTS * 2, counter.approximateSum());
+        assertEquals((long) THREADS * INCREMENTS * 2, counter.sum());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidBatchSize() {
+        new BatchedCounter(0);
+    }
+
+    private void run(Runnable increment) throws Exception {
+        run(increment, () -> {
+        });
+    }
+
+    private void run(Runnable increment, Runnable after) throws Exception {
+        ExecutorService executorService = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executorService.submit(() -> {
+                for (int i = 0; i < INCREMENTS; i++) {
+                    increment.run();
+                }
+                after.run();
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executorService.shutdown();
+    }
+}
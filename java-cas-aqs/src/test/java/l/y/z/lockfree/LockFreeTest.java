@@ -0,0 +1,182 @@
+package l.y.z.lockfree;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-19 21:00 <br>
+ * <p>
+ * 多个生产者、多个消费者并发读写，检查每个元素恰好被取出一次；
+ * 队列还检查每个消费者看到的同一生产者的元素是按生产顺序的（FIFO）。
+ * </p>
+ */
+@Slf4j
+public class LockFreeTest {
+
+    private static final int PRODUCERS = 4;
+    private static final int CONSUMERS = 4;
+    private static final int PER_PRODUCER = 200_000;
+
+    @Test
+    public void stackLifo() {
+        LockFreeStack<Integer> stack = new LockFreeStack<>(3);
+        assertTrue(stack.push(1));
+        assertTrue(stack.push(2));
+        assertTrue(stack.push(3));
+        assertFalse(stack.push(4));
+        assertEquals(Integer.valueOf(3), stack.pop());
+        assertTrue(stack.push(5));
+        assertEquals(Integer.valueOf(5), stack.pop());
+        assertEquals(Integer.valueOf(2), stack.pop());
+        assertEquals(Integer.valueOf(1), stack.pop());
+        assertNull(stack.pop());
+        assertTrue(stack.isEmpty());
+    }
+
+    @Test
+    public void queueFifo() {
+        LockFreeQueue<Integer> queue = new LockFreeQueue<>(3);
+        assertTrue(queue.isEmpty());
+        assertTrue(queue.offer(1));
+        assertTrue(queue.offer(2));
+        assertTrue(queue.offer(3));
+        assertFalse(queue.offer(4));
+        assertEquals(Integer.valueOf(1), queue.poll());
+        assertTrue(queue.offer(5));
+        assertEquals(Integer.valueOf(2), queue.poll());
+        assertEquals(Integer.valueOf(3), queue.poll());
+        assertEquals(Integer.valueOf(5), queue.poll());
+        assertNull(queue.poll());
+        assertTrue(queue.isEmpty());
+    }
+
+    /**
+     * ABATest中的场景：线程1读到栈顶A与A.next = B之后暂停，其它线程弹出A、B，压入D（复用B的结点）与A2（复用A的结点）。
+     * 只比较下标的话线程1的CAS会成功，栈顶变为B的结点，A2丢失
+     */
+    @Test
+    public void stampPreventsAba() {
+        LockFreeStack<String> stack = new LockFreeStack<>(4);
+        stack.push("c");
+        stack.push("b");
+        stack.push("a");
+        IndexStack used = stack.used();
+        long snapshot = used.top();
+        int a = StampedIndex.index(snapshot);
+        int b = used.next(a);
+
+        assertEquals("a", stack.pop());
+        assertEquals("b", stack.pop());
+        // 空闲栈是LIFO，先复用b的结点，再复用a的结点
+        stack.push("d");
+        stack.push("a2");
+        assertEquals(a, StampedIndex.index(used.top()));
+        assertEquals(b, used.next(a));
+
+        assertFalse(used.compareAndSetTop(snapshot, b));
+        assertEquals("a2", stack.pop());
+        assertEquals("d", stack.pop());
+        assertEquals("c", stack.pop());
+        assertNull(stack.pop());
+    }
+
+    @Test
+    public void stackStress() throws Exception {
+        LockFreeStack<Long> stack = new LockFreeStack<>(64);
+        stress(stack::push, stack::pop, false);
+    }
+
+    @Test
+    public void queueStress() throws Exception {
+        LockFreeQueue<Long> queue = new LockFreeQueue<>(64);
+        stress(queue::offer, queue::poll, true);
+    }
+
+    /**
+     * 元素为producer << 32 | seq
+     */
+    private void stress(Function<Long, Boolean> offer, Supplier<Long> poll, boolean fifo) throws Exception {
+        ExecutorService executorService = Executors.newFixedThreadPool(PRODUCERS + CONSUMERS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger remaining = new AtomicInteger(PRODUCERS * PER_PRODUCER);
+        List<Future<?>> producers = new ArrayList<>();
+        for (int p = 0; p < PRODUCERS; p++) {
+            long producer = p;
+            producers.add(executorService.submit(() -> {
+                start.await();
+                for (int seq = 0; seq < PER_PRODUCER; seq++) {
+                    Long e = producer << 32 | seq;
+                    while (!offer.apply(e)) {
+                        Thread.yield();
+                    }
+                }
+                return null;
+            }));
+        }
+        List<Future<List<Long>>> consumers = new ArrayList<>();
+        for (int c = 0; c < CONSUMERS; c++) {
+            consumers.add(executorService.submit(() -> {
+                start.await();
+                List<Long> taken = new ArrayList<>();
+                long[] last = new long[PRODUCERS];
+                Arrays.fill(last, -1);
+                while (remaining.get() > 0) {
+                    Long e = poll.get();
+                    if (e == null) {
+                        Thread.yield();
+                        continue;
+                    }
+                    remaining.decrementAndGet();
+                    taken.add(e);
+                    int producer = (int) (e >>> 32);
+                    long seq = e & 0xFFFFFFFFL;
+                    if (fifo) {
+                        assertTrue("producer " + producer + ": " + seq + " after " + last[producer], seq > last[producer]);
+                    }
+                    last[producer] = seq;
+                }
+                return taken;
+            }));
+        }
+        start.countDown();
+        for (Future<?> producer : producers) {
+            producer.get();
+        }
+        BitSet[] seen = new BitSet[PRODUCERS];
+        for (int p = 0; p < PRODUCERS; p++) {
+            seen[p] = new BitSet(PER_PRODUCER);
+        }
+        int total = 0;
+        for (Future<List<Long>> consumer : consumers) {
+            for (Long e : consumer.get()) {
+                int producer = (int) (e >>> 32);
+                int seq = (int) (e & 0xFFFFFFFFL);
+                assertFalse("duplicate " + producer + ":" + seq, seen[producer].get(seq));
+                seen[producer].set(seq);
+                total++;
+            }
+        }
+        executorService.shutdown();
+        assertEquals(PRODUCERS * PER_PRODUCER, total);
+        assertNull(poll.get());
+        log.info("{} elements", total);
+    }
+}
@@ -0,0 +1,189 @@
+package l.y.z.ring;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-20 10:00 <br>
+ * <p>
+ * 每种等待策略下，生产者随机批量申请槽位，检查每个消费者都按顺序收到了全部事件
+ * </p>
+ */
+@Slf4j
+public class RingBufferTest {
+
+    private static final int CONSUMERS = 3;
+    private static final int EVENTS = 100_000;
+
+    static class LongEvent {
+        long value;
+    }
+
+    @Test
+    public void busySpin() throws Exception {
+        broadcast(new BusySpinWaitStrategy());
+    }
+
+    @Test
+    public void yielding() throws Exception {
+        broadcast(new YieldingWaitStrategy());
+    }
+
+    @Test
+    public void parking() throws Exception {
+        broadcast(new ParkingWaitStrategy());
+    }
+
+    @Test
+    public void blocking() throws Exception {
+        broadcast(new BlockingWaitStrategy());
+    }
+
+    @Test
+    public void gating() throws Exception {
+        RingBuffer<LongEvent> ringBuffer = new RingBuffer<>(LongEvent::new, 4, new BlockingWaitStrategy());
+        List<Long> seen = new CopyOnWriteArrayList<>();
+        BatchEventProcessor<LongEvent> processor = new BatchEventProcessor<>(ringBuffer, (event, sequence, endOfBatch) -> seen.add(event.value));
+
+        // 消费者还没有启动，生产者最多领先一圈
+        long hi = ringBuffer.tryNext(3);
+        assertEquals(2, hi);
+        assertEquals(1, ringBuffer.remainingCapacity());
+        assertEquals(3, ringBuffer.tryNext(1));
+        assertEquals(-1, ringBuffer.tryNext(1));
+        for (long s = 0; s <= 3; s++) {
+            ringBuffer.get(s).value = s * 10;
+        }
+        ringBuffer.publish(0, 3);
+
+        Thread thread = new Thread(processor);
+        thread.start();
+        // 缓冲区满，next等待消费者让出槽位
+        long sequence = ringBuffer.next();
+        assertEquals(4, sequence);
+        ringBuffer.get(sequence).value = 40;
+        ringBuffer.publish(sequence);
+        while (processor.getSequence().get() < sequence) {
+            Thread.yield();
+        }
+        processor.halt();
+        thread.join(TimeUnit.SECONDS.toMillis(5));
+        assertFalse(thread.isAlive());
+        assertEquals(5, seen.size());
+        for (int i = 0; i < seen.size(); i++) {
+            assertEquals(i * 10L, seen.get(i).longValue());
+        }
+    }
+
+    @Test
+    public void endOfBatch() throws Exception {
+        RingBuffer<LongEvent> ringBuffer = new RingBuffer<>(LongEvent::new, 16, new BlockingWaitStrategy());
+        List<Long> batchEnds = new CopyOnWriteArrayList<>();
+        BatchEventProcessor<LongEvent> processor = new BatchEventProcessor<>(ringBuffer, (event, sequence, endOfBatch) -> {
+            if (endOfBatch) {
+                batchEnds.add(sequence);
+            }
+        });
+        Thread thread = new Thread(processor);
+        thread.start();
+
+        // 一次发布8个，消费者一次等待就拿到全部
+        long hi = ringBuffer.next(8);
+        ringBuffer.publish(hi - 7, hi);
+        while (processor.getSequence().get() < hi) {
+            Thread.yield();
+        }
+        processor.halt();
+        thread.join(TimeUnit.SECONDS.toMillis(5));
+        assertEquals(1, batchEnds.size());
+        assertEquals(7L, batchEnds.get(0).longValue());
+        // 停止后不再阻塞生产者
+        assertEquals(16, ringBuffer.remainingCapacity());
+    }
+
+    @Test
+    public void haltBlockedConsumer() throws Exception {
+        for (WaitStrategy waitStrategy : new WaitStrategy[]{new BlockingWaitStrategy(), new ParkingWaitStrategy(TimeUnit.MILLISECONDS.toNanos(1))}) {
+            RingBuffer<LongEvent> ringBuffer = new RingBuffer<>(LongEvent::new, 8, waitStrategy);
+            BatchEventProcessor<LongEvent> processor = new BatchEventProcessor<>(ringBuffer, (event, sequence, endOfBatch) -> {
+            });
+            Thread thread = new Thread(processor);
+            thread.start();
+            TimeUnit.MILLISECONDS.sleep(50);
+            assertTrue(processor.isRunning());
+            processor.halt();
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+            assertFalse(thread.isAlive());
+        }
+    }
+
+    @Test
+    public void bufferSizeMustBePowerOf2() {
+        try {
+            new RingBuffer<>(LongEvent::new, 12, new BusySpinWaitStrategy());
+            fail();
+        } catch (IllegalArgumentException e) {
+            log.info("{}", e.getMessage());
+        }
+    }
+
+    private void broadcast(WaitStrategy waitStrategy) throws Exception {
+        RingBuffer<LongEvent> ringBuffer = new RingBuffer<>(LongEvent::new, 1024, waitStrategy);
+        List<BatchEventProcessor<LongEvent>> processors = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        long[] sums = new long[CONSUMERS];
+        boolean[] ordered = new boolean[CONSUMERS];
+        for (int i = 0; i < CONSUMERS; i++) {
+            int index = i;
+            ordered[i] = true;
+            BatchEventProcessor<LongEvent> processor = new BatchEventProcessor<>(ringBuffer, (event, sequence, endOfBatch) -> {
+                ordered[index] &= event.value == sequence;
+                sums[index] += event.value;
+            });
+            processors.add(processor);
+            Thread thread = new Thread(processor, "consumer-" + i);
+            thread.start();
+            threads.add(thread);
+        }
+
+        long published = -1;
+        while (published < EVENTS - 1) {
+            int n = (int) Math.min(ThreadLocalRandom.current().nextInt(1, 17), EVENTS - 1 - published);
+            long hi = ringBuffer.next(n);
+            for (long s = hi - n + 1; s <= hi; s++) {
+                ringBuffer.get(s).value = s;
+            }
+            ringBuffer.publish(hi - n + 1, hi);
+            published = hi;
+        }
+        for (BatchEventProcessor<LongEvent> processor : processors) {
+            while (processor.getSequence().get() < published) {
+                Thread.yield();
+            }
+            processor.halt();
+        }
+        for (Thread thread : threads) {
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+            assertFalse(thread.isAlive());
+        }
+        // 消费者线程结束后读，join保证可见
+        long expected = (long) EVENTS * (EVENTS - 1) / 2;
+        for (int i = 0; i < CONSUMERS; i++) {
+            assertTrue(ordered[i]);
+            assertEquals(expected, sums[i]);
+        }
+        log.info("{}: {} events to {} consumers", waitStrategy.getClass().getSimpleName(), EVENTS, CONSUMERS);
+    }
+}
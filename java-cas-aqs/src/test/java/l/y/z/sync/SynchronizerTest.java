@@ -0,0 +1,196 @@
+package l.y.z.sync;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-19 23:00 <br>
+ * <p></p>
+ */
+@Slf4j
+public class SynchronizerTest {
+
+    @Test
+    public void optimisticRead() {
+        OptimisticReadLock lock = new OptimisticReadLock();
+        long stamp = lock.tryOptimisticRead();
+        assertTrue(lock.validate(stamp));
+
+        lock.writeLock();
+        assertTrue(lock.isWriteLocked());
+        assertEquals(0L, lock.tryOptimisticRead());
+        assertFalse(lock.validate(stamp));
+        assertFalse(lock.tryReadLock());
+        lock.writeUnlock();
+
+        // 写过之后旧的stamp失效
+        assertFalse(lock.validate(stamp));
+        stamp = lock.tryOptimisticRead();
+        assertTrue(lock.validate(stamp));
+
+        // 读锁不影响乐观读
+        lock.readLock();
+        lock.readLock();
+        assertEquals(2, lock.getReadLockCount());
+        assertTrue(lock.validate(stamp));
+        lock.readUnlock();
+        lock.readUnlock();
+        log.info("{}", lock);
+    }
+
+    @Test(expected = IllegalMonitorStateException.class)
+    public void unlockWithoutLock() {
+        new OptimisticReadLock().writeUnlock();
+    }
+
+    /**
+     * 写者每次把两个字段改为同一个值，读者无论乐观读还是加锁读，都不能看到两个字段不相等
+     */
+    @Test
+    public void consistentRead() throws Exception {
+        OptimisticReadLock lock = new OptimisticReadLock();
+        long[] pair = new long[2];
+        int readers = 4;
+        int rounds = 200_000;
+        ExecutorService executorService = Executors.newFixedThreadPool(readers + 1);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger writes = new AtomicInteger();
+        Future<?> writer = executorService.submit(() -> {
+            start.await();
+            for (int i = 1; i <= rounds / 10; i++) {
+                lock.writeLock();
+                try {
+                    pair[0] = i;
+                    pair[1] = i;
+                } finally {
+                    lock.writeUnlock();
+                }
+                writes.incrementAndGet();
+            }
+            return null;
+        });
+        List<Future<?>> futures = new ArrayList<>();
+        for (int r = 0; r < readers; r++) {
+            futures.add(executorService.submit(() -> {
+                start.await();
+                for (int i = 0; i < rounds; i++) {
+                    long[] copy = lock.read(() -> new long[]{pair[0], pair[1]});
+                    assertEquals(copy[0], copy[1]);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        writer.get();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executorService.shutdown();
+        assertEquals(rounds / 10, writes.get());
+    }
+
+    @Test
+    public void writerNotStarved() throws Exception {
+        OptimisticReadLock lock = new OptimisticReadLock();
+        lock.readLock();
+        CountDownLatch written = new CountDownLatch(1);
+        Thread writer = new Thread(() -> {
+            lock.writeLock();
+            lock.writeUnlock();
+            written.countDown();
+        });
+        writer.start();
+        while (!writer.getState().equals(Thread.State.WAITING)) {
+            Thread.yield();
+        }
+        // 写者在排队，新的读者不能插队
+        assertFalse(lock.tryReadLock());
+        lock.readUnlock();
+        assertTrue(written.await(5, TimeUnit.SECONDS));
+        assertTrue(lock.tryReadLock());
+        lock.readUnlock();
+    }
+
+    @Test
+    public void semaphoreBatch() throws Exception {
+        BoundedSemaphore semaphore = new BoundedSemaphore(10, true);
+        semaphore.acquire(7);
+        assertEquals(3, semaphore.availablePermits());
+        assertFalse(semaphore.tryAcquire(4));
+        assertTrue(semaphore.tryAcquire(3));
+
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        Future<Boolean> batch = executorService.submit(() -> semaphore.tryAcquire(5, 5, TimeUnit.SECONDS));
+        while (semaphore.getQueueLength() == 0) {
+            Thread.yield();
+        }
+        // 公平模式下排队的批量请求挡住后来的请求
+        semaphore.release(3);
+        assertFalse(semaphore.tryAcquire(1));
+        semaphore.release(2);
+        assertTrue(batch.get());
+        assertEquals(0, semaphore.availablePermits());
+        executorService.shutdown();
+
+        semaphore.release(10);
+        try {
+            semaphore.release(1);
+            fail();
+        } catch (IllegalStateException e) {
+            log.info("{}", e.getMessage());
+        }
+        assertEquals(10, semaphore.availablePermits());
+    }
+
+    @Test
+    public void semaphoreBound() throws Exception {
+        BoundedSemaphore semaphore = new BoundedSemaphore(4);
+        int threads = 8;
+        AtomicInteger inUse = new AtomicInteger();
+        AtomicInteger maxInUse = new AtomicInteger();
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int permits = t % 2 + 1;
+            futures.add(executorService.submit(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    semaphore.acquire(permits);
+                    try {
+                        int n = inUse.addAndGet(permits);
+                        maxInUse.accumulateAndGet(n, Math::max);
+                    } finally {
+                        inUse.addAndGet(-permits);
+                        semaphore.release(permits);
+                    }
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executorService.shutdown();
+        assertTrue(maxInUse.get() <= 4);
+        assertEquals(4, semaphore.availablePermits());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void tooManyPermits() throws Exception {
+        new BoundedSemaphore(2).acquire(3);
+    }
+}
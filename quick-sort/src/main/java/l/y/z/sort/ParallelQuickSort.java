@@ -0,0 +1,190 @@
+package l.y.z.sort;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-19 14:40 <br>
+ * <p>
+ * {@link QuickSort}的多线程版本，在{@link ForkJoinPool}中执行。
+ * <p>
+ * 每个任务用与{@link QuickSort}相同的双轴划分把区间分为三段，三段分别作为子任务fork；
+ * 区间长度不超过cutoff时在当前线程中顺序排序。cutoff越小并行度越高，任务调度的开销也越大，
+ * 默认{@value #DEFAULT_CUTOFF}。
+ * <p>
+ * 数组长度不超过cutoff或公共池的并行度为1时直接顺序排序。
+ * </p>
+ */
+public final class ParallelQuickSort {
+
+    /**
+     * 不再拆分的区间长度
+     */
+    public static final int DEFAULT_CUTOFF = 1 << 13;
+
+    private ParallelQuickSort() {
+    }
+
+    public static void sort(int[] a) {
+        sort(a, DEFAULT_CUTOFF);
+    }
+
+    public static void sort(int[] a, int cutoff) {
+        sort(ForkJoinPool.commonPool(), a, 0, a.length, cutoff);
+    }
+
+    /**
+     * 在pool中排序[fromIndex, toIndex)，区间长度不超过cutoff时不再拆分
+     */
+    public static void sort(ForkJoinPool pool, int[] a, int fromIndex, int toIndex, int cutoff) {
+        QuickSort.rangeCheck(a.length, fromIndex, toIndex);
+        int length = toIndex - fromIndex;
+        if (sequential(pool, length, cutoff)) {
+            QuickSort.sort(a, fromIndex, toIndex);
+            return;
+        }
+        if (!QuickSort.presorted(a, fromIndex, toIndex - 1)) {
+            pool.invoke(new IntTask(a, fromIndex, toIndex - 1, QuickSort.depthLimit(length), cutoff));
+        }
+    }
+
+    public static void sort(long[] a) {
+        sort(a, DEFAULT_CUTOFF);
+    }
+
+    public static void sort(long[] a, int cutoff) {
+        sort(ForkJoinPool.commonPool(), a, 0, a.length, cutoff);
+    }
+
+    public static void sort(ForkJoinPool pool, long[] a, int fromIndex, int toIndex, int cutoff) {
+        QuickSort.rangeCheck(a.length, fromIndex, toIndex);
+        int length = toIndex - fromIndex;
+        if (sequential(pool, length, cutoff)) {
+            QuickSort.sort(a, fromIndex, toIndex);
+            return;
+        }
+        if (!QuickSort.presorted(a, fromIndex, toIndex - 1)) {
+            pool.invoke(new LongTask(a, fromIndex, toIndex - 1, QuickSort.depthLimit(length), cutoff));
+        }
+    }
+
+    public static void sort(double[] a) {
+        sort(a, DEFAULT_CUTOFF);
+    }
+
+    public static void sort(double[] a, int cutoff) {
+        sort(ForkJoinPool.commonPool(), a, 0, a.length, cutoff);
+    }
+
+    public static void sort(ForkJoinPool pool, double[] a, int fromIndex, int toIndex, int cutoff) {
+        QuickSort.rangeCheck(a.length, fromIndex, toIndex);
+        if (sequential(pool, toIndex - fromIndex, cutoff)) {
+            QuickSort.sort(a, fromIndex, toIndex);
+            return;
+        }
+        int end = QuickSort.moveNaNs(a, fromIndex, toIndex);
+        int negativeZeros = QuickSort.replaceNegativeZeros(a, fromIndex, end);
+        if (!QuickSort.presorted(a, fromIndex, end - 1)) {
+            pool.invoke(new DoubleTask(a, fromIndex, end - 1, QuickSort.depthLimit(end - fromIndex), cutoff));
+        }
+        QuickSort.restoreNegativeZeros(a, fromIndex, end, negativeZeros);
+    }
+
+    private static boolean sequential(ForkJoinPool pool, int length, int cutoff) {
+        if (cutoff < QuickSort.INSERTION_SORT_THRESHOLD) {
+            throw new IllegalArgumentException("cutoff must not be less than " + QuickSort.INSERTION_SORT_THRESHOLD + ": " + cutoff);
+        }
+        return length <= cutoff || pool.getParallelism() <= 1;
+    }
+
+    private static final class IntTask extends RecursiveAction {
+
+        private final int[] a;
+        private final int left;
+        private final int right;
+        private final int depth;
+        private final int cutoff;
+
+        IntTask(int[] a, int left, int right, int depth, int cutoff) {
+            this.a = a;
+            this.left = left;
+            this.right = right;
+            this.depth = depth;
+            this.cutoff = cutoff;
+        }
+
+        @Override
+        protected void compute() {
+            int[] bounds = new int[4];
+            if (right - left + 1 <= cutoff || depth == 0) {
+                QuickSort.sort(a, left, right, depth, bounds);
+                return;
+            }
+            QuickSort.partition(a, left, right, bounds);
+            invokeAll(new IntTask(a, left, bounds[0], depth - 1, cutoff),
+                    new IntTask(a, bounds[1], bounds[2], depth - 1, cutoff),
+                    new IntTask(a, bounds[3], right, depth - 1, cutoff));
+        }
+    }
+
+    private static final class LongTask extends RecursiveAction {
+
+        private final long[] a;
+        private final int left;
+        private final int right;
+        private final int depth;
+        private final int cutoff;
+
+        LongTask(long[] a, int left, int right, int depth, int cutoff) {
+            this.a = a;
+            this.left = left;
+            this.right = right;
+            this.depth = depth;
+            this.cutoff = cutoff;
+        }
+
+        @Override
+        protected void compute() {
+            int[] bounds = new int[4];
+            if (right - left + 1 <= cutoff || depth == 0) {
+                QuickSort.sort(a, left, right, depth, bounds);
+                return;
+            }
+            QuickSort.partition(a, left, right, bounds);
+            invokeAll(new LongTask(a, left, bounds[0], depth - 1, cutoff),
+                    new LongTask(a, bounds[1], bounds[2], depth - 1, cutoff),
+                    new LongTask(a, bounds[3], right, depth - 1, cutoff));
+        }
+    }
+
+    private static final class DoubleTask extends RecursiveAction {
+
+        private final double[] a;
+        private final int left;
+        private final int right;
+        private final int depth;
+        private final int cutoff;
+
+        DoubleTask(double[] a, int left, int right, int depth, int cutoff) {
+            this.a = a;
+            this.left = left;
+            this.right = right;
+            this.depth = depth;
+            this.cutoff = cutoff;
+        }
+
+        @Override
+        protected void compute() {
+            int[] bounds = new int[4];
+            if (right - left + 1 <= cutoff || depth == 0) {
+                QuickSort.sort(a, left, right, depth, bounds);
+                return;
+            }
+            QuickSort.partition(a, left, right, bounds);
+            invokeAll(new DoubleTask(a, left, bounds[0], depth - 1, cutoff),
+                    new DoubleTask(a, bounds[1], bounds[2], depth - 1, cutoff),
+                    new DoubleTask(a, bounds[3], right, depth - 1, cutoff));
+        }
+    }
+}
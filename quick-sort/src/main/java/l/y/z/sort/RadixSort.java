@@ -0,0 +1,247 @@
+package l.y.z.sort;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-19 16:30 <br>
+ * <p>
+ * int[]、long[]的LSD基数排序，按有符号数的顺序排列，结果与{@link java.util.Arrays#sort(int[])}相同。
+ * <p>
+ * 每{@value #RADIX_BITS}位为一位数字，int分4趟、long分8趟，从最低位开始，每趟按这一位把元素稳定地分配到256个桶中。
+ * 256个计数器共1KB，常驻L1缓存；一次扫描统计出所有位的计数，之后每趟只需一次读与一次写。
+ * 所有元素在某一位上都相同时（如都是非负的小整数，高位全为0）跳过这一趟。
+ * 最高位翻转符号位，负数排在正数之前。
+ * <p>
+ * 需要与输入等长的临时数组。比较次数为0，耗时与n * 趟数成正比，与数据分布无关；
+ * n较小时分配临时数组与计数的固定开销占主导，不如{@link QuickSort}，见{@link Sorts}。
+ * </p>
+ */
+public final class RadixSort {
+
+    static final int RADIX_BITS = 8;
+    private static final int RADIX_MASK = (1 << RADIX_BITS) - 1;
+    private static final int SIGN_FLIP = 1 << (RADIX_BITS - 1);
+    private static final int INT_DIGITS = Integer.SIZE / RADIX_BITS;
+    private static final int LONG_DIGITS = Long.SIZE / RADIX_BITS;
+
+    private RadixSort() {
+    }
+
+    public static void sort(int[] a) {
+        sort(a, 0, a.length);
+    }
+
+    /**
+     * 排序[fromIndex, toIndex)，需要与区间等长的临时数组
+     */
+    public static void sort(int[] a, int fromIndex, int toIndex) {
+        QuickSort.rangeCheck(a.length, fromIndex, toIndex);
+        int n = toIndex - fromIndex;
+        if (n < 2) {
+            return;
+        }
+        int[] counts = histogram(a, fromIndex, toIndex);
+        int[] src = a;
+        int srcFrom = fromIndex;
+        int[] dst = null;
+        int dstFrom = 0;
+        for (int digit = 0; digit < INT_DIGITS; digit++) {
+            int shift = digit * RADIX_BITS;
+            int flip = digit == INT_DIGITS - 1 ? SIGN_FLIP : 0;
+            int base = digit << RADIX_BITS;
+            if (counts[base + (((int) (src[srcFrom] >>> shift) & RADIX_MASK) ^ flip)] == n) {
+                // 所有元素的这一位都相同
+                continue;
+            }
+            if (dst == null) {
+                dst = new int[n];
+            }
+            toOffsets(counts, base, dstFrom);
+            for (int i = srcFrom, end = srcFrom + n; i < end; i++) {
+                int x = src[i];
+                dst[counts[base + (((int) (x >>> shift) & RADIX_MASK) ^ flip)]++] = x;
+            }
+            int[] t = src;
+            src = dst;
+            dst = t;
+            int f = srcFrom;
+            srcFrom = dstFrom;
+            dstFrom = f;
+        }
+        if (src != a) {
+            System.arraycopy(src, srcFrom, a, fromIndex, n);
+        }
+    }
+
+    /**
+     * 按keys排序，values中的元素随对应的key一起移动。排序是稳定的，key相同的元素保持原来的相对顺序
+     */
+    public static void sort(int[] keys, int[] values) {
+        if (keys.length != values.length) {
+            throw new IllegalArgumentException("keys.length(" + keys.length + ") != values.length(" + values.length + ")");
+        }
+        int n = keys.length;
+        if (n < 2) {
+            return;
+        }
+        int[] counts = histogram(keys, 0, n);
+        int[] srcKeys = keys;
+        int[] srcValues = values;
+        int[] dstKeys = null;
+        int[] dstValues = null;
+        for (int digit = 0; digit < INT_DIGITS; digit++) {
+            int shift = digit * RADIX_BITS;
+            int flip = digit == INT_DIGITS - 1 ? SIGN_FLIP : 0;
+            int base = digit << RADIX_BITS;
+            if (counts[base + (((int) (srcKeys[0] >>> shift) & RADIX_MASK) ^ flip)] == n) {
+                continue;
+            }
+            if (dstKeys == null) {
+                dstKeys = new int[n];
+                dstValues = new int[n];
+            }
+            toOffsets(counts, base, 0);
+            for (int i = 0; i < n; i++) {
+                int x = srcKeys[i];
+                int index = counts[base + (((int) (x >>> shift) & RADIX_MASK) ^ flip)]++;
+                dstKeys[index] = x;
+                dstValues[index] = srcValues[i];
+            }
+            int[] t = srcKeys;
+            srcKeys = dstKeys;
+            dstKeys = t;
+            t = srcValues;
+            srcValues = dstValues;
+            dstValues = t;
+        }
+        if (srcKeys != keys) {
+            System.arraycopy(srcKeys, 0, keys, 0, n);
+            System.arraycopy(srcValues, 0, values, 0, n);
+        }
+    }
+
+    /**
+     * 一次扫描统计每一位上每个值的个数，最高位翻转符号位，负数排在正数之前
+     */
+    private static int[] histogram(int[] a, int from, int to) {
+        int[] counts = new int[INT_DIGITS << RADIX_BITS];
+        for (int i = from; i < to; i++) {
+            int x = a[i];
+            for (int digit = 0; digit < INT_DIGITS - 1; digit++) {
+                counts[(digit << RADIX_BITS) + ((int) (x >>> (digit * RADIX_BITS)) & RADIX_MASK)]++;
+            }
+            counts[((INT_DIGITS - 1) << RADIX_BITS) + (((int) (x >>> ((INT_DIGITS - 1) * RADIX_BITS)) & RADIX_MASK) ^ SIGN_FLIP)]++;
+        }
+        return counts;
+    }
+
+    public static void sort(long[] a) {
+        sort(a, 0, a.length);
+    }
+
+    public static void sort(long[] a, int fromIndex, int toIndex) {
+        QuickSort.rangeCheck(a.length, fromIndex, toIndex);
+        int n = toIndex - fromIndex;
+        if (n < 2) {
+            return;
+        }
+        int[] counts = histogram(a, fromIndex, toIndex);
+        long[] src = a;
+        int srcFrom = fromIndex;
+        long[] dst = null;
+        int dstFrom = 0;
+        for (int digit = 0; digit < LONG_DIGITS; digit++) {
+            int shift = digit * RADIX_BITS;
+            int flip = digit == LONG_DIGITS - 1 ? SIGN_FLIP : 0;
+            int base = digit << RADIX_BITS;
+            if (counts[base + (((int) (src[srcFrom] >>> shift) & RADIX_MASK) ^ flip)] == n) {
+                // 所有元素的这一位都相同
+                continue;
+            }
+            if (dst == null) {
+                dst = new long[n];
+            }
+            toOffsets(counts, base, dstFrom);
+            for (int i = srcFrom, end = srcFrom + n; i < end; i++) {
+                long x = src[i];
+                dst[counts[base + (((int) (x >>> shift) & RADIX_MASK) ^ flip)]++] = x;
+            }
+            long[] t = src;
+            src = dst;
+            dst = t;
+            int f = srcFrom;
+            srcFrom = dstFrom;
+            dstFrom = f;
+        }
+        if (src != a) {
+            System.arraycopy(src, srcFrom, a, fromIndex, n);
+        }
+    }
+
+    public static void sort(long[] keys, long[] values) {
+        if (keys.length != values.length) {
+            throw new IllegalArgumentException("keys.length(" + keys.length + ") != values.length(" + values.length + ")");
+        }
+        int n = keys.length;
+        if (n < 2) {
+            return;
+        }
+        int[] counts = histogram(keys, 0, n);
+        long[] srcKeys = keys;
+        long[] srcValues = values;
+        long[] dstKeys = null;
+        long[] dstValues = null;
+        for (int digit = 0; digit < LONG_DIGITS; digit++) {
+            int shift = digit * RADIX_BITS;
+            int flip = digit == LONG_DIGITS - 1 ? SIGN_FLIP : 0;
+            int base = digit << RADIX_BITS;
+            if (counts[base + (((int) (srcKeys[0] >>> shift) & RADIX_MASK) ^ flip)] == n) {
+                continue;
+            }
+            if (dstKeys == null) {
+                dstKeys = new long[n];
+                dstValues = new long[n];
+            }
+            toOffsets(counts, base, 0);
+            for (int i = 0; i < n; i++) {
+                long x = srcKeys[i];
+                int index = counts[base + (((int) (x >>> shift) & RADIX_MASK) ^ flip)]++;
+                dstKeys[index] = x;
+                dstValues[index] = srcValues[i];
+            }
+            long[] t = srcKeys;
+            srcKeys = dstKeys;
+            dstKeys = t;
+            t = srcValues;
+            srcValues = dstValues;
+            dstValues = t;
+        }
+        if (srcKeys != keys) {
+            System.arraycopy(srcKeys, 0, keys, 0, n);
+            System.arraycopy(srcValues, 0, values, 0, n);
+        }
+    }
+
+    private static int[] histogram(long[] a, int from, int to) {
+        int[] counts = new int[LONG_DIGITS << RADIX_BITS];
+        for (int i = from; i < to; i++) {
+            long x = a[i];
+            for (int digit = 0; digit < LONG_DIGITS - 1; digit++) {
+                counts[(digit << RADIX_BITS) + ((int) (x >>> (digit * RADIX_BITS)) & RADIX_MASK)]++;
+            }
+            counts[((LONG_DIGITS - 1) << RADIX_BITS) + (((int) (x >>> ((LONG_DIGITS - 1) * RADIX_BITS)) & RADIX_MASK) ^ SIGN_FLIP)]++;
+        }
+        return counts;
+    }
+
+    /**
+     * 把第base / 256位的计数转换为每个桶的起始下标
+     */
+    private static void toOffsets(int[] counts, int base, int start) {
+        int sum = start;
+        for (int i = base, end = base + (1 << RADIX_BITS); i < end; i++) {
+            int count = counts[i];
+            counts[i] = sum;
+            sum += count;
+        }
+    }
+}
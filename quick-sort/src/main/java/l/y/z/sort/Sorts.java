@@ -0,0 +1,65 @@
+package l.y.z.sort;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-19 17:10 <br>
+ * <p>
+ * 按数组类型与长度选择排序算法：
+ * <ul>
+ *     <li>int[]长度不小于{@value #INT_RADIX_THRESHOLD}、long[]长度不小于{@value #LONG_RADIX_THRESHOLD}时用{@link RadixSort}，
+ *     否则用{@link QuickSort}；阈值取自benchmarks中SortBenchmark两者耗时相当的长度</li>
+ *     <li>已是正序或倒序的输入O(n)完成，不做基数排序</li>
+ *     <li>double[]用{@link QuickSort}</li>
+ *     <li>key与value成对排序只有{@link RadixSort}支持，与长度无关</li>
+ * </ul>
+ * </p>
+ */
+public final class Sorts {
+
+    static final int INT_RADIX_THRESHOLD = 1 << 10;
+    static final int LONG_RADIX_THRESHOLD = 1 << 11;
+
+    private Sorts() {
+    }
+
+    public static void sort(int[] a) {
+        sort(a, 0, a.length);
+    }
+
+    public static void sort(int[] a, int fromIndex, int toIndex) {
+        QuickSort.rangeCheck(a.length, fromIndex, toIndex);
+        if (toIndex - fromIndex < INT_RADIX_THRESHOLD) {
+            QuickSort.sort(a, fromIndex, toIndex);
+        } else if (!QuickSort.presorted(a, fromIndex, toIndex - 1)) {
+            RadixSort.sort(a, fromIndex, toIndex);
+        }
+    }
+
+    public static void sort(long[] a) {
+        sort(a, 0, a.length);
+    }
+
+    public static void sort(long[] a, int fromIndex, int toIndex) {
+        QuickSort.rangeCheck(a.length, fromIndex, toIndex);
+        if (toIndex - fromIndex < LONG_RADIX_THRESHOLD) {
+            QuickSort.sort(a, fromIndex, toIndex);
+        } else if (!QuickSort.presorted(a, fromIndex, toIndex - 1)) {
+            RadixSort.sort(a, fromIndex, toIndex);
+        }
+    }
+
+    public static void sort(double[] a) {
+        QuickSort.sort(a);
+    }
+
+    /**
+     * 按keys稳定排序，values随key移动
+     */
+    public static void sort(int[] keys, int[] values) {
+        RadixSort.sort(keys, values);
+    }
+
+    public static void sort(long[] keys, long[] values) {
+        RadixSort.sort(keys, values);
+    }
+}
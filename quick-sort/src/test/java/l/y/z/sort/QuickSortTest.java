@@ -0,0 +1,166 @@
+package l.y.z.sort;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-19 15:10 <br>
+ * <p></p>
+ */
+public class QuickSortTest {
+
+    private static final int[] SIZES = {0, 1, 2, 46, 47, 48, 100, 1000, 50_000};
+
+    private final Random random = new Random(1);
+
+    @Test
+    public void sortInt() {
+        for (int size : SIZES) {
+            for (int[] expected : inputs(size)) {
+                int[] actual = expected.clone();
+                Arrays.sort(expected);
+                QuickSort.sort(actual);
+                assertArrayEquals(expected, actual);
+            }
+        }
+    }
+
+    @Test
+    public void sortLong() {
+        for (int size : SIZES) {
+            for (int[] input : inputs(size)) {
+                long[] expected = Arrays.stream(input).asLongStream().map(x -> x * 0x1_0000_0001L).toArray();
+                long[] actual = expected.clone();
+                Arrays.sort(expected);
+                QuickSort.sort(actual);
+                assertArrayEquals(expected, actual);
+            }
+        }
+    }
+
+    @Test
+    public void sortDouble() {
+        for (int size : SIZES) {
+            for (int[] input : inputs(size)) {
+                double[] expected = Arrays.stream(input).asDoubleStream().map(x -> x / 7.0).toArray();
+                // 混入NaN、-0.0与0.0
+                for (int i = 0; i < size; i += 7) {
+                    expected[i] = i % 3 == 0 ? Double.NaN : i % 3 == 1 ? -0.0d : 0.0d;
+                }
+                double[] actual = expected.clone();
+                Arrays.sort(expected);
+                QuickSort.sort(actual);
+                assertArrayEquals(expected, actual, 0.0d);
+                for (int i = 0; i < size; i++) {
+                    assertEquals(Double.doubleToRawLongBits(expected[i]), Double.doubleToRawLongBits(actual[i]));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void sortRange() {
+        int[] expected = random.ints(1000).toArray();
+        int[] actual = expected.clone();
+        Arrays.sort(expected, 100, 900);
+        QuickSort.sort(actual, 100, 900);
+        assertArrayEquals(expected, actual);
+    }
+
+    @Test(expected = ArrayIndexOutOfBoundsException.class)
+    public void sortOutOfRange() {
+        QuickSort.sort(new int[10], 0, 11);
+    }
+
+    @Test
+    public void sortWithoutPrecheck() {
+        // 正序、倒序的输入也走划分
+        for (int size : SIZES) {
+            for (int[] expected : inputs(size)) {
+                int[] actual = expected.clone();
+                Arrays.sort(expected);
+                QuickSort.sort(actual, 0, size - 1, QuickSort.depthLimit(size), new int[4]);
+                assertArrayEquals(expected, actual);
+            }
+        }
+    }
+
+    @Test
+    public void heapSortFallback() {
+        // 递归深度为0时直接堆排序
+        int[] expected = random.ints(10_000, 0, 100).toArray();
+        int[] actual = expected.clone();
+        Arrays.sort(expected);
+        QuickSort.sort(actual, 0, actual.length - 1, 0, new int[4]);
+        assertArrayEquals(expected, actual);
+    }
+
+    @Test
+    public void parallelSort() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int[] expected : inputs(200_000)) {
+                int[] actual = expected.clone();
+                Arrays.sort(expected);
+                ParallelQuickSort.sort(pool, actual, 0, actual.length, 1000);
+                assertArrayEquals(expected, actual);
+
+                long[] longs = Arrays.stream(expected).asLongStream().toArray();
+                long[] shuffled = shuffle(longs.clone());
+                ParallelQuickSort.sort(pool, shuffled, 0, shuffled.length, 1000);
+                assertArrayEquals(longs, shuffled);
+            }
+            double[] expected = random.doubles(200_000).map(x -> x < 0.01 ? Double.NaN : x < 0.02 ? -0.0d : x - 0.5).toArray();
+            double[] actual = expected.clone();
+            Arrays.sort(expected);
+            ParallelQuickSort.sort(pool, actual, 0, actual.length, 1000);
+            for (int i = 0; i < expected.length; i++) {
+                assertEquals(Double.doubleToRawLongBits(expected[i]), Double.doubleToRawLongBits(actual[i]));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void cutoffTooSmall() {
+        ParallelQuickSort.sort(new int[10], 1);
+    }
+
+    /**
+     * 随机、正序、倒序、少量不同值、锯齿、全部相同
+     */
+    private int[][] inputs(int size) {
+        int[] sorted = random.ints(size).sorted().toArray();
+        int[] reversed = new int[size];
+        for (int i = 0; i < size; i++) {
+            reversed[i] = sorted[size - 1 - i];
+        }
+        return new int[][]{
+                random.ints(size).toArray(),
+                sorted,
+                reversed,
+                random.ints(size, 0, 4).toArray(),
+                IntStream.range(0, size).map(i -> i % 64).toArray(),
+                new int[size]
+        };
+    }
+
+    private long[] shuffle(long[] a) {
+        for (int i = a.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            long t = a[i];
+            a[i] = a[j];
+            a[j] = t;
+        }
+        return a;
+    }
+}
@@ -0,0 +1,106 @@
+package l.y.z.sort;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-19 17:30 <br>
+ * <p></p>
+ */
+public class RadixSortTest {
+
+    private static final int[] SIZES = {0, 1, 2, 100, 1023, 1024, 5000, 100_000};
+
+    private final Random random = new Random(1);
+
+    @Test
+    public void sortInt() {
+        for (int size : SIZES) {
+            int[][] inputs = {
+                    random.ints(size).toArray(),
+                    // 高位全为0，跳过高位的三趟
+                    random.ints(size, 0, 256).toArray(),
+                    random.ints(size, -1000, 1000).toArray(),
+                    random.ints(size).sorted().toArray(),
+                    IntStream.range(0, size).map(i -> i % 2 == 0 ? Integer.MIN_VALUE : Integer.MAX_VALUE).toArray()
+            };
+            for (int[] expected : inputs) {
+                int[] radix = expected.clone();
+                int[] sorts = expected.clone();
+                Arrays.sort(expected);
+                RadixSort.sort(radix);
+                Sorts.sort(sorts);
+                assertArrayEquals(expected, radix);
+                assertArrayEquals(expected, sorts);
+            }
+        }
+    }
+
+    @Test
+    public void sortLong() {
+        for (int size : SIZES) {
+            long[][] inputs = {
+                    random.longs(size).toArray(),
+                    random.longs(size, 0, 1 << 20).toArray(),
+                    random.longs(size, -1000, 1000).toArray(),
+                    random.longs(size).map(x -> -Math.abs(x)).sorted().toArray()
+            };
+            for (long[] expected : inputs) {
+                long[] radix = expected.clone();
+                long[] sorts = expected.clone();
+                Arrays.sort(expected);
+                RadixSort.sort(radix);
+                Sorts.sort(sorts);
+                assertArrayEquals(expected, radix);
+                assertArrayEquals(expected, sorts);
+            }
+        }
+    }
+
+    @Test
+    public void sortRange() {
+        int[] expected = random.ints(5000).toArray();
+        int[] actual = expected.clone();
+        Arrays.sort(expected, 1000, 4000);
+        RadixSort.sort(actual, 1000, 4000);
+        assertArrayEquals(expected, actual);
+    }
+
+    @Test
+    public void sortPairs() {
+        int size = 50_000;
+        int[] keys = random.ints(size, -100, 100).toArray();
+        int[] values = IntStream.range(0, size).toArray();
+        // 稳定排序：key相同时按原来的下标
+        Integer[] order = IntStream.range(0, size).boxed().toArray(Integer[]::new);
+        int[] original = keys.clone();
+        Arrays.sort(order, Comparator.comparingInt(i -> original[i]));
+
+        Sorts.sort(keys, values);
+        assertArrayEquals(Arrays.stream(order).mapToInt(Integer::intValue).toArray(), values);
+        for (int i = 0; i < size; i++) {
+            assertEquals(original[values[i]], keys[i]);
+        }
+
+        long[] longKeys = random.longs(size).toArray();
+        long[] longValues = Arrays.stream(longKeys).map(k -> ~k).toArray();
+        long[] expected = longKeys.clone();
+        Arrays.sort(expected);
+        RadixSort.sort(longKeys, longValues);
+        assertArrayEquals(expected, longKeys);
+        assertArrayEquals(Arrays.stream(expected).map(k -> ~k).toArray(), longValues);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void pairsLengthMismatch() {
+        RadixSort.sort(new int[3], new int[2]);
+    }
+}
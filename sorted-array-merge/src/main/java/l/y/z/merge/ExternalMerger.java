@@ -0,0 +1,175 @@
+package l.y.z.merge;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-18 21:55 <br>
+ * <p>
+ * 合并多个有序的大文件，文件格式见{@link TextLongReader}。
+ * <p>
+ * 每个输入文件一个游标，用{@link LoserTree}选出下一个输出的值，写入{@link TextLongWriter}。
+ * 每个文件都是顺序读，输出也是顺序写，磁盘上没有随机访问。
+ * 占用的内存为(k + 1) * bufferSize，与文件大小无关；缓冲区越大，系统调用越少。
+ * <p>
+ * 输入是二进制的run文件时（见{@link #mergeRuns(List, Path, long, long)}），省去了十进制的解析与格式化，
+ * 输入通过内存映射直接解码。
+ * <pre>
+ *     java l.y.z.merge.ExternalMerger merged.txt sorted-1.txt sorted-2.txt ...
+ * </pre>
+ * </p>
+ */
+@Slf4j
+public class ExternalMerger {
+
+    public static final int DEFAULT_BUFFER_SIZE = 1 << 20;
+
+    private final Order order;
+    private final int bufferSize;
+
+    public ExternalMerger(Order order) {
+        this(order, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * @param bufferSize 每个输入文件与输出文件的缓冲区字节数
+     */
+    public ExternalMerger(Order order, int bufferSize) {
+        if (bufferSize < 64) {
+            throw new IllegalArgumentException("bufferSize too small: " + bufferSize);
+        }
+        this.order = order;
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * 合并inputs写入output，output已存在时被覆盖
+     *
+     * @return 写入的数字个数
+     */
+    public long merge(List<Path> inputs, Path output) throws IOException {
+        List<LongCursor> cursors = new ArrayList<>(inputs.size());
+        try (TextLongWriter writer = new TextLongWriter(output, bufferSize)) {
+            for (Path input : inputs) {
+                cursors.add(new TextLongReader(input, bufferSize));
+            }
+            return merge(cursors, writer);
+        } finally {
+            closeAll(cursors);
+        }
+    }
+
+    /**
+     * 合并run文件（见{@link RunFormat}），只保留min &lt;= 值 &lt;= max的部分，结果写入run文件output。
+     * 输入通过内存映射读取，范围之外的block被跳过
+     *
+     * @return 写入的值个数
+     */
+    public long mergeRuns(List<Path> inputs, Path output, long min, long max) throws IOException {
+        List<RunReader> readers = new ArrayList<>(inputs.size());
+        try (RunWriter writer = new RunWriter(output, order, RunFormat.DEFAULT_BLOCK_SIZE, bufferSize)) {
+            for (Path input : inputs) {
+                RunReader reader = new RunReader(input, min, max);
+                readers.add(reader);
+                if (reader.order() != order) {
+                    throw new IllegalArgumentException(input + " is in " + reader.order() + " order, expected " + order);
+                }
+            }
+            return merge(readers, writer);
+        } finally {
+            closeAll(readers);
+        }
+    }
+
+    public long mergeRuns(List<Path> inputs, Path output) throws IOException {
+        return mergeRuns(inputs, output, Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    /**
+     * 合并cursors写入writer，不关闭cursors与writer
+     *
+     * @return 写入的数字个数
+     */
+    public long merge(List<? extends LongCursor> cursors, LongWriter writer) throws IOException {
+        int k = cursors.size();
+        if (k == 0) {
+            return 0;
+        }
+        LoserTree tree = new LoserTree(k, order);
+        long[] last = new long[k];
+        for (int i = 0; i < k; i++) {
+            LongCursor cursor = cursors.get(i);
+            if (cursor.next()) {
+                last[i] = cursor.value();
+                tree.set(i, last[i]);
+            } else {
+                tree.exhaust(i);
+            }
+        }
+        tree.build();
+
+        long count = 0;
+        for (int source; (source = tree.winner()) >= 0; ) {
+            writer.write(last[source]);
+            count++;
+            LongCursor cursor = cursors.get(source);
+            if (cursor.next()) {
+                long next = cursor.value();
+                if (order == Order.ASC ? next < last[source] : next > last[source]) {
+                    throw new IllegalArgumentException("input " + source + " is not in " + order + " order: " + last[source] + " then " + next);
+                }
+                last[source] = next;
+                tree.replaceWinner(next);
+            } else {
+                tree.exhaustWinner();
+            }
+        }
+        return count;
+    }
+
+    private static void closeAll(List<? extends LongCursor> cursors) throws IOException {
+        IOException exception = null;
+        for (LongCursor cursor : cursors) {
+            try {
+                cursor.close();
+            } catch (IOException e) {
+                if (exception == null) {
+                    exception = e;
+                } else {
+                    exception.addSuppressed(e);
+                }
+            }
+        }
+        if (exception != null) {
+            throw exception;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("usage: ExternalMerger <output> <input>...");
+            return;
+        }
+        Path output = Paths.get(args[0]);
+        List<Path> inputs = new ArrayList<>();
+        long bytes = 0;
+        for (int i = 1; i < args.length; i++) {
+            Path input = Paths.get(args[i]);
+            inputs.add(input);
+            bytes += Files.size(input);
+        }
+        long start = System.nanoTime();
+        long count = new ExternalMerger(Order.ASC).merge(inputs, output);
+        long millis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        log.info("merged {} numbers from {} files, {} MB in {} ms, {} MB/s",
+                count, inputs.size(), bytes >> 20, millis, (bytes >> 20) * 1000 / millis);
+    }
+}
@@ -0,0 +1,467 @@
+package l.y.z.merge;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-19 09:30 <br>
+ * <p>
+ * 外部排序：把无序的大文件（格式见{@link TextLongReader}）排序后写入输出文件。
+ * <ol>
+ *     <li>调用线程顺序读取输入，填满一个chunk后交给{@link ForkJoinPool}排序，并写成一个run文件（见{@link RunFormat}）</li>
+ *     <li>chunk来自一个固定大小的池，池空时读取线程阻塞，读取、排序、写run组成一条有界的流水线</li>
+ *     <li>同一层的run攒够fanIn个，就由合并线程合并为上一层的一个run，与run的生成同时进行</li>
+ *     <li>输入读完后，继续按fanIn合并最小的run，直到剩下不超过fanIn个，最后一次合并直接写入输出文件</li>
+ * </ol>
+ * 堆内存的占用不超过memoryBudget：chunk池占去其中的大部分，其余留给读写缓冲区。
+ * run文件通过内存映射读取，只占用页缓存。
+ * <pre>
+ *     long count = ExternalSorter.newBuilder()
+ *             .memoryBudget(512L &lt;&lt; 20)
+ *             .fanIn(64)
+ *             .build()
+ *             .sort(Paths.get("unsorted.txt"), Paths.get("sorted.txt"));
+ * </pre>
+ * </p>
+ */
+@Slf4j
+public class ExternalSorter {
+
+    private static final int MIN_CHUNK_VALUES = 1024;
+
+    private final Order order;
+    private final long memoryBudget;
+    private final int fanIn;
+    private final int parallelism;
+    private final int bufferSize;
+    private final Path tempDirectory;
+
+    private ExternalSorter(Builder builder) {
+        this.order = builder.order;
+        this.memoryBudget = builder.memoryBudget;
+        this.fanIn = builder.fanIn;
+        this.parallelism = builder.parallelism;
+        this.bufferSize = builder.bufferSize;
+        this.tempDirectory = builder.tempDirectory;
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * 排序input写入output，output已存在时被覆盖
+     *
+     * @return 值的个数
+     */
+    public long sort(Path input, Path output) throws IOException {
+        Path directory = tempDirectory == null
+                ? Files.createTempDirectory("external-sort")
+                : Files.createTempDirectory(tempDirectory, "external-sort");
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        ExecutorService mergeExecutor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "external-sort-merge");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Throwable failure = null;
+        try {
+            Job job = new Job(directory, pool, mergeExecutor);
+            return job.run(input, output);
+        } catch (Throwable e) {
+            failure = e;
+            throw e;
+        } finally {
+            cleanUp(directory, pool, mergeExecutor, failure);
+        }
+    }
+
+    /**
+     * 失败时可能还有排序、合并任务在写run文件，等它们结束后再删除临时目录。
+     * 清理中的异常附加到排序的异常上，不覆盖它
+     */
+    private static void cleanUp(Path directory, ExecutorService pool, ExecutorService mergeExecutor,
+                                Throwable failure) throws IOException {
+        pool.shutdownNow();
+        mergeExecutor.shutdownNow();
+        try {
+            awaitTermination(pool);
+            awaitTermination(mergeExecutor);
+            deleteDirectory(directory);
+        } catch (IOException | RuntimeException e) {
+            if (failure == null) {
+                throw e;
+            }
+            failure.addSuppressed(e);
+        }
+    }
+
+    /**
+     * chunk池中long[]的个数：parallelism个在排序，再多一个给读取线程填充
+     */
+    int chunkCount() {
+        return parallelism + 1;
+    }
+
+    /**
+     * 每个chunk的值个数。除chunk外，每个同时写run的线程、合并线程、输入与输出各需要一个缓冲区
+     */
+    int chunkValues() {
+        long runWriterBytes = Math.max(bufferSize, RunFormat.maxBlockLength(RunFormat.DEFAULT_BLOCK_SIZE))
+                + (long) RunFormat.DEFAULT_BLOCK_SIZE * Long.BYTES;
+        long reserved = (parallelism + 1) * runWriterBytes + 2L * bufferSize;
+        long values = (memoryBudget - reserved) / chunkCount() / Long.BYTES;
+        if (values < MIN_CHUNK_VALUES) {
+            throw new IllegalArgumentException("memoryBudget too small: " + memoryBudget
+                    + ", need at least " + (reserved + (long) MIN_CHUNK_VALUES * Long.BYTES * chunkCount()));
+        }
+        return (int) Math.min(values, Integer.MAX_VALUE - 8);
+    }
+
+    /**
+     * 一次排序的状态
+     */
+    private class Job {
+
+        private final Path directory;
+        private final ForkJoinPool pool;
+        private final ExecutorService mergeExecutor;
+        private final AtomicInteger runIds = new AtomicInteger();
+
+        /**
+         * 每一层的run，第0层由chunk生成，第n层由fanIn个第n-1层的run合并而成；由this保护
+         */
+        private final List<List<Path>> levels = new ArrayList<>();
+        private final List<CompletableFuture<Void>> merges = new ArrayList<>();
+
+        Job(Path directory, ForkJoinPool pool, ExecutorService mergeExecutor) {
+            this.directory = directory;
+            this.pool = pool;
+            this.mergeExecutor = mergeExecutor;
+        }
+
+        long run(Path input, Path output) throws IOException {
+            long start = System.nanoTime();
+            int chunkValues = chunkValues();
+            BlockingQueue<long[]> chunks = new ArrayBlockingQueue<>(chunkCount());
+            for (int i = 0; i < chunkCount(); i++) {
+                chunks.add(new long[chunkValues]);
+            }
+
+            // 读取输入，生成第0层的run
+            List<CompletableFuture<Void>> sorts = new ArrayList<>();
+            long count = 0;
+            try (TextLongReader reader = new TextLongReader(input, bufferSize)) {
+                boolean more = true;
+                while (more) {
+                    long[] chunk = take(chunks);
+                    int n = 0;
+                    while (n < chunk.length && (more = reader.next())) {
+                        chunk[n++] = reader.value();
+                    }
+                    if (n == 0) {
+                        chunks.add(chunk);
+                        break;
+                    }
+                    count += n;
+                    int length = n;
+                    sorts.add(CompletableFuture.runAsync(() -> {
+                        try {
+                            addRun(0, spill(chunk, length));
+                        } finally {
+                            chunks.add(chunk);
+                        }
+                    }, pool));
+                    // 移除已完成的任务，有失败的任务时尽早结束
+                    for (Iterator<CompletableFuture<Void>> iterator = sorts.iterator(); iterator.hasNext(); ) {
+                        CompletableFuture<Void> sort = iterator.next();
+                        if (sort.isDone()) {
+                            join(sort);
+                            iterator.remove();
+                        }
+                    }
+                }
+            }
+            for (CompletableFuture<Void> sort : sorts) {
+                join(sort);
+            }
+            // 之后只有合并，chunk不再需要
+            chunks.clear();
+            long generated = System.nanoTime();
+
+            // 等待进行中的合并，合并完成时可能又触发上一层的合并
+            while (true) {
+                CompletableFuture<Void> merge;
+                synchronized (this) {
+                    if (merges.isEmpty()) {
+                        break;
+                    }
+                    merge = merges.remove(0);
+                }
+                join(merge);
+            }
+
+            // 按大小从小到大合并，直到剩下不超过fanIn个
+            List<Path> runs;
+            synchronized (this) {
+                runs = levels.stream().flatMap(List::stream).collect(Collectors.toList());
+            }
+            int passes = 0;
+            while (runs.size() > fanIn) {
+                runs.sort(Comparator.comparingLong(ExternalSorter::size));
+                List<Path> group = new ArrayList<>(runs.subList(0, fanIn));
+                runs.subList(0, fanIn).clear();
+                runs.add(merge(group));
+                passes++;
+            }
+
+            ExternalMerger merger = new ExternalMerger(order, bufferSize);
+            List<RunReader> readers = new ArrayList<>(runs.size());
+            try (TextLongWriter writer = new TextLongWriter(output, bufferSize)) {
+                for (Path run : runs) {
+                    readers.add(new RunReader(run));
+                }
+                merger.merge(readers, writer);
+            } finally {
+                for (RunReader reader : readers) {
+                    reader.close();
+                }
+            }
+            log.debug("sorted {} values, {} runs, {} extra passes, run generation {} ms, total {} ms",
+                    count, runIds.get(), passes,
+                    TimeUnit.NANOSECONDS.toMillis(generated - start), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            return count;
+        }
+
+        /**
+         * 在ForkJoinPool中执行：排序chunk并写成run
+         */
+        private Path spill(long[] chunk, int length) {
+            Arrays.sort(chunk, 0, length);
+            Path run = newRun();
+            try (RunWriter writer = new RunWriter(run, order, RunFormat.DEFAULT_BLOCK_SIZE, bufferSize)) {
+                if (order == Order.ASC) {
+                    for (int i = 0; i < length; i++) {
+                        writer.write(chunk[i]);
+                    }
+                } else {
+                    for (int i = length - 1; i >= 0; i--) {
+                        writer.write(chunk[i]);
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return run;
+        }
+
+        /**
+         * 加入第level层的run，这一层攒够fanIn个时交给合并线程
+         */
+        private synchronized void addRun(int level, Path run) {
+            while (levels.size() <= level) {
+                levels.add(new ArrayList<>());
+            }
+            List<Path> runs = levels.get(level);
+            runs.add(run);
+            if (runs.size() == fanIn) {
+                List<Path> group = new ArrayList<>(runs);
+                runs.clear();
+                merges.add(CompletableFuture.runAsync(() -> {
+                    try {
+                        addRun(level + 1, merge(group));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }, mergeExecutor));
+            }
+        }
+
+        /**
+         * 合并group为一个新的run，并删除group
+         */
+        private Path merge(List<Path> group) throws IOException {
+            Path run = newRun();
+            new ExternalMerger(order, bufferSize).mergeRuns(group, run);
+            for (Path path : group) {
+                Files.delete(path);
+            }
+            return run;
+        }
+
+        private Path newRun() {
+            return directory.resolve(runIds.incrementAndGet() + ".run");
+        }
+    }
+
+    private static long size(Path path) {
+        try {
+            return Files.size(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static long[] take(BlockingQueue<long[]> chunks) throws IOException {
+        try {
+            return chunks.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("interrupted", e);
+        }
+    }
+
+    private static void join(CompletableFuture<Void> future) throws IOException {
+        try {
+            future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 任务被中断后，写run的FileChannel随之关闭，任务很快结束
+     */
+    private static void awaitTermination(ExecutorService executor) throws IOException {
+        try {
+            if (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                throw new IOException("tasks still running after 1 minute: " + executor);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("interrupted while waiting for " + executor, e);
+        }
+    }
+
+    private static void deleteDirectory(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.deleteIfExists(file);
+            }
+        }
+        Files.deleteIfExists(directory);
+    }
+
+    public static final class Builder {
+
+        private Order order = Order.ASC;
+        private long memoryBudget = 256L << 20;
+        private int fanIn = 64;
+        private int parallelism = Runtime.getRuntime().availableProcessors();
+        private int bufferSize = ExternalMerger.DEFAULT_BUFFER_SIZE;
+        private Path tempDirectory;
+
+        private Builder() {
+        }
+
+        /**
+         * 输出的顺序，默认正序
+         */
+        public Builder order(Order order) {
+            this.order = Objects.requireNonNull(order);
+            return this;
+        }
+
+        /**
+         * 堆内存的上限，默认256MB；chunk越大，run越少，合并的层数越少
+         */
+        public Builder memoryBudget(long bytes) {
+            if (bytes <= 0) {
+                throw new IllegalArgumentException("memoryBudget must be positive: " + bytes);
+            }
+            this.memoryBudget = bytes;
+            return this;
+        }
+
+        /**
+         * 一次最多合并多少个run，默认64
+         */
+        public Builder fanIn(int fanIn) {
+            if (fanIn < 2) {
+                throw new IllegalArgumentException("fanIn must be at least 2: " + fanIn);
+            }
+            this.fanIn = fanIn;
+            return this;
+        }
+
+        /**
+         * 同时排序的chunk数，默认为CPU核数
+         */
+        public Builder parallelism(int parallelism) {
+            if (parallelism <= 0) {
+                throw new IllegalArgumentException("parallelism must be positive: " + parallelism);
+            }
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        /**
+         * 读写缓冲区的字节数，默认1MB
+         */
+        public Builder bufferSize(int bufferSize) {
+            if (bufferSize < 64) {
+                throw new IllegalArgumentException("bufferSize too small: " + bufferSize);
+            }
+            this.bufferSize = bufferSize;
+            return this;
+        }
+
+        /**
+         * 存放run文件的目录，默认为系统的临时目录
+         */
+        public Builder tempDirectory(Path tempDirectory) {
+            this.tempDirectory = Objects.requireNonNull(tempDirectory);
+            return this;
+        }
+
+        public ExternalSorter build() {
+            ExternalSorter sorter = new ExternalSorter(this);
+            // 提前校验内存预算
+            sorter.chunkValues();
+            return sorter;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("usage: ExternalSorter <input> <output> [memoryBudgetMB] [fanIn]");
+            return;
+        }
+        Builder builder = newBuilder();
+        if (args.length > 2) {
+            builder.memoryBudget(Long.parseLong(args[2]) << 20);
+        }
+        if (args.length > 3) {
+            builder.fanIn(Integer.parseInt(args[3]));
+        }
+        long start = System.nanoTime();
+        long count = builder.build().sort(Paths.get(args[0]), Paths.get(args[1]));
+        log.info("sorted {} numbers in {} ms", count, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+}
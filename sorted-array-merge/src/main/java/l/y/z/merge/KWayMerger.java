@@ -0,0 +1,144 @@
+package l.y.z.merge;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-18 20:55 <br>
+ * <p>
+ * 把任意多个有序的int[]或long[]合并为一个有序数列。
+ * <p>
+ * 用{@link LoserTree}选出最小（倒序时为最大）的头元素，每输出一个元素比较log(k)次，不装箱、不分配对象，
+ * 结果直接写入调用方提供的基本类型数组。
+ * <pre>
+ *     int[] result = KWayMerger.merge(Order.ASC, arr1, arr2, arr3);
+ * </pre>
+ * 输入必须与order同序，否则抛出{@link IllegalArgumentException}。
+ * </p>
+ */
+public final class KWayMerger {
+
+    private KWayMerger() {
+    }
+
+    public static int[] merge(Order order, int[]... inputs) {
+        int[] output = new int[totalLength(inputs)];
+        merge(inputs, order, output, 0);
+        return output;
+    }
+
+    public static long[] merge(Order order, long[]... inputs) {
+        long[] output = new long[totalLength(inputs)];
+        merge(inputs, order, output, 0);
+        return output;
+    }
+
+    /**
+     * 合并结果从output[offset]开始写入
+     *
+     * @return 写入的元素个数
+     */
+    public static int merge(int[][] inputs, Order order, int[] output, int offset) {
+        int total = totalLength(inputs);
+        checkOutput(output.length, offset, total);
+        if (inputs.length == 0) {
+            return 0;
+        }
+        int[] heads = new int[inputs.length];
+        LoserTree tree = new LoserTree(inputs.length, order);
+        for (int i = 0; i < inputs.length; i++) {
+            if (inputs[i].length > 0) {
+                tree.set(i, inputs[i][0]);
+            } else {
+                tree.exhaust(i);
+            }
+        }
+        tree.build();
+
+        int position = offset;
+        for (int source; (source = tree.winner()) >= 0; ) {
+            int[] input = inputs[source];
+            int value = input[heads[source]];
+            output[position++] = value;
+            int head = ++heads[source];
+            if (head == input.length) {
+                tree.exhaustWinner();
+            } else {
+                int next = input[head];
+                if (order == Order.ASC ? next < value : next > value) {
+                    throw new IllegalArgumentException("inputs[" + source + "] is not in " + order + " order at index " + head);
+                }
+                tree.replaceWinner(next);
+            }
+        }
+        return total;
+    }
+
+    /**
+     * 合并结果从output[offset]开始写入
+     *
+     * @return 写入的元素个数
+     */
+    public static int merge(long[][] inputs, Order order, long[] output, int offset) {
+        int total = totalLength(inputs);
+        checkOutput(output.length, offset, total);
+        if (inputs.length == 0) {
+            return 0;
+        }
+        int[] heads = new int[inputs.length];
+        LoserTree tree = new LoserTree(inputs.length, order);
+        for (int i = 0; i < inputs.length; i++) {
+            if (inputs[i].length > 0) {
+                tree.set(i, inputs[i][0]);
+            } else {
+                tree.exhaust(i);
+            }
+        }
+        tree.build();
+
+        int position = offset;
+        for (int source; (source = tree.winner()) >= 0; ) {
+            long[] input = inputs[source];
+            long value = input[heads[source]];
+            output[position++] = value;
+            int head = ++heads[source];
+            if (head == input.length) {
+                tree.exhaustWinner();
+            } else {
+                long next = input[head];
+                if (order == Order.ASC ? next < value : next > value) {
+                    throw new IllegalArgumentException("inputs[" + source + "] is not in " + order + " order at index " + head);
+                }
+                tree.replaceWinner(next);
+            }
+        }
+        return total;
+    }
+
+    private static void checkOutput(int length, int offset, int total) {
+        if (offset < 0 || length - offset < total) {
+            throw new IllegalArgumentException("output too small: " + length + ", offset " + offset + ", need " + total);
+        }
+    }
+
+    private static int totalLength(int[][] inputs) {
+        long total = 0;
+        for (int[] input : inputs) {
+            total += input.length;
+        }
+        return checkTotal(total);
+    }
+
+    private static int totalLength(long[][] inputs) {
+        long total = 0;
+        for (long[] input : inputs) {
+            total += input.length;
+        }
+        return checkTotal(total);
+    }
+
+    private static int checkTotal(long total) {
+        if (total > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("too many elements to merge in memory: " + total);
+        }
+        return (int) total;
+    }
+}
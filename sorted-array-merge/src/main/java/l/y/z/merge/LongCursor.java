@@ -0,0 +1,25 @@
+package l.y.z.merge;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-18 21:30 <br>
+ * <p>
+ * 逐个读取long的游标，用于{@link ExternalMerger}。
+ * 先调用{@link #next()}，返回true时{@link #value()}为当前值
+ * </p>
+ */
+public interface LongCursor extends Closeable {
+
+    /**
+     * 前进到下一个值，没有更多的值时返回false
+     */
+    boolean next() throws IOException;
+
+    /**
+     * 当前值
+     */
+    long value();
+}
@@ -0,0 +1,19 @@
+package l.y.z.merge;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-18 22:40 <br>
+ * <p>{@link ExternalMerger}的输出，按顺序逐个写入long</p>
+ */
+public interface LongWriter extends Closeable {
+
+    void write(long value) throws IOException;
+
+    /**
+     * 已写入的个数
+     */
+    long count();
+}
@@ -0,0 +1,139 @@
+package l.y.z.merge;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-18 20:45 <br>
+ * <p>
+ * k路归并的败者树，key为long。
+ * <p>
+ * 内部结点保存本次比赛的败者，tree[0]保存最终的胜者。
+ * 胜者所在的数列前进一个元素后，只需沿着它的叶子到根的路径与败者重赛一遍，比较log(k)次，
+ * 不需要像二叉堆那样同时和左右两个孩子比较；整个过程不分配对象。
+ * <p>
+ * 使用方式：{@link #set(int, long)}或{@link #exhaust(int)}初始化每个数列的头元素，{@link #build()}，
+ * 然后循环{@link #winner()}，处理胜者后调用{@link #replaceWinner(long)}或{@link #exhaustWinner()}。
+ * key相同时下标小的数列胜出，合并是稳定的。
+ * </p>
+ */
+public final class LoserTree {
+
+    private final int k;
+    private final Order order;
+
+    /**
+     * tree[1..k-1]为败者，tree[0]为胜者；数列i对应的叶子为结点k + i
+     */
+    private final int[] tree;
+    private final long[] keys;
+    private final boolean[] exhausted;
+
+    public LoserTree(int k, Order order) {
+        if (k <= 0) {
+            throw new IllegalArgumentException("k must be positive: " + k);
+        }
+        this.k = k;
+        this.order = order;
+        this.tree = new int[k];
+        this.keys = new long[k];
+        this.exhausted = new boolean[k];
+    }
+
+    public int size() {
+        return k;
+    }
+
+    /**
+     * 设置数列source的头元素，只能在{@link #build()}之前调用
+     */
+    public void set(int source, long value) {
+        keys[source] = order.key(value);
+        exhausted[source] = false;
+    }
+
+    /**
+     * 数列source没有元素，只能在{@link #build()}之前调用
+     */
+    public void exhaust(int source) {
+        exhausted[source] = true;
+    }
+
+    /**
+     * 自底向上比赛一遍，O(k)
+     */
+    public void build() {
+        if (k == 1) {
+            tree[0] = 0;
+            return;
+        }
+        // 每个内部结点的胜者，只在构建时使用
+        int[] winners = new int[k];
+        for (int node = k - 1; node > 0; node--) {
+            int left = winnerOf(node << 1, winners);
+            int right = winnerOf((node << 1) + 1, winners);
+            if (beats(left, right)) {
+                winners[node] = left;
+                tree[node] = right;
+            } else {
+                winners[node] = right;
+                tree[node] = left;
+            }
+        }
+        tree[0] = winners[1];
+    }
+
+    /**
+     * 当前胜者的数列下标，所有数列都已耗尽时返回-1
+     */
+    public int winner() {
+        int winner = tree[0];
+        return exhausted[winner] ? -1 : winner;
+    }
+
+    /**
+     * 胜者的数列前进到下一个元素value
+     */
+    public void replaceWinner(long value) {
+        int winner = tree[0];
+        keys[winner] = order.key(value);
+        replay(winner);
+    }
+
+    /**
+     * 胜者的数列已耗尽
+     */
+    public void exhaustWinner() {
+        int winner = tree[0];
+        exhausted[winner] = true;
+        replay(winner);
+    }
+
+    private int winnerOf(int node, int[] winners) {
+        return node >= k ? node - k : winners[node];
+    }
+
+    private void replay(int winner) {
+        for (int node = (winner + k) >> 1; node > 0; node >>= 1) {
+            int loser = tree[node];
+            if (beats(loser, winner)) {
+                tree[node] = winner;
+                winner = loser;
+            }
+        }
+        tree[0] = winner;
+    }
+
+    /**
+     * a是否胜过b：已耗尽的数列总是输，key小的胜，key相同下标小的胜
+     */
+    private boolean beats(int a, int b) {
+        if (exhausted[a]) {
+            return false;
+        }
+        if (exhausted[b]) {
+            return true;
+        }
+        long ka = keys[a];
+        long kb = keys[b];
+        return ka < kb || (ka == kb && a < b);
+    }
+}
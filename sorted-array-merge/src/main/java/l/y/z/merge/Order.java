@@ -0,0 +1,26 @@
+package l.y.z.merge;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-18 20:40 <br>
+ * <p>输入数列的顺序，合并结果与输入同序</p>
+ */
+public enum Order {
+
+    /**
+     * 正序，从小到大
+     */
+    ASC,
+
+    /**
+     * 倒序，从大到小
+     */
+    DESC;
+
+    /**
+     * 把key映射为按正序比较即可的值。倒序取按位取反，~x = -x - 1，对所有long都单调递减，不会溢出
+     */
+    long key(long value) {
+        return this == ASC ? value : ~value;
+    }
+}
@@ -0,0 +1,71 @@
+package l.y.z.merge;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-18 23:30 <br>
+ * <p>
+ * 文本文件（见{@link TextLongReader}）与run文件（见{@link RunFormat}）的相互转换
+ * <pre>
+ *     java l.y.z.merge.RunFiles to-run  ASC sorted.txt sorted.run
+ *     java l.y.z.merge.RunFiles to-text sorted.run sorted.txt
+ * </pre>
+ * </p>
+ */
+@Slf4j
+public final class RunFiles {
+
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private RunFiles() {
+    }
+
+    /**
+     * 有序的文本文件转换为run文件
+     *
+     * @return 值的个数
+     */
+    public static long toRun(Path text, Path run, Order order) throws IOException {
+        try (TextLongReader reader = new TextLongReader(text, BUFFER_SIZE);
+             RunWriter writer = new RunWriter(run, order)) {
+            return copy(reader, writer);
+        }
+    }
+
+    /**
+     * run文件转换为文本文件
+     *
+     * @return 值的个数
+     */
+    public static long toText(Path run, Path text) throws IOException {
+        try (RunReader reader = new RunReader(run);
+             TextLongWriter writer = new TextLongWriter(text, BUFFER_SIZE)) {
+            return copy(reader, writer);
+        }
+    }
+
+    static long copy(LongCursor cursor, LongWriter writer) throws IOException {
+        while (cursor.next()) {
+            writer.write(cursor.value());
+        }
+        return writer.count();
+    }
+
+    public static void main(String[] args) throws IOException {
+        long count;
+        if (args.length == 4 && "to-run".equals(args[0])) {
+            count = toRun(Paths.get(args[2]), Paths.get(args[3]), Order.valueOf(args[1]));
+        } else if (args.length == 3 && "to-text".equals(args[0])) {
+            count = toText(Paths.get(args[1]), Paths.get(args[2]));
+        } else {
+            System.err.println("usage: RunFiles to-run <ASC|DESC> <text> <run> | to-text <run> <text>");
+            return;
+        }
+        log.info("converted {} numbers", count);
+    }
+}
@@ -0,0 +1,75 @@
+package l.y.z.merge;
+
+import java.nio.ByteBuffer;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-18 22:50 <br>
+ * <p>
+ * 有序数列的二进制文件（run）格式，由{@link RunWriter}写入、{@link RunReader}读取。
+ * <pre>
+ * +--------------------+---------+---------+-----+---------------------+
+ * | header (32 bytes)  | block 0 | block 1 | ... | index (32 bytes * n) |
+ * +--------------------+---------+---------+-----+---------------------+
+ *
+ * header: magic int | version short | order byte | reserved byte | blockSize int | blockCount int | count long | indexOffset long
+ * block:  第一个值 long | 其余每个值与前一个值的差，zigzag + varint编码
+ * index:  每个block一项，offset long | length int | count int | first long | last long
+ * </pre>
+ * 有序数列相邻值的差通常很小，varint编码后每个值只占1~2个字节，解码只需移位与加法，比解析十进制文本快得多。
+ * 每个block的第一个值以定长保存，block可以独立解码；索引记录了每个block首尾的值，按范围读取时可以跳过整个block。
+ * 差值按2^64取模计算，任意两个long之间的差都能正确还原，int数列同样按long保存。
+ * 所有多字节整数都是大端序。
+ * </p>
+ */
+final class RunFormat {
+
+    static final int MAGIC = 0x4C52554E;
+    static final short VERSION = 1;
+    static final int HEADER_SIZE = 32;
+    static final int INDEX_ENTRY_SIZE = 32;
+    static final int DEFAULT_BLOCK_SIZE = 4096;
+
+    /**
+     * 一个long的varint编码最多10个字节
+     */
+    static final int MAX_VARINT_SIZE = 10;
+
+    private RunFormat() {
+    }
+
+    /**
+     * blockSize个值编码后的最大字节数
+     */
+    static int maxBlockLength(int blockSize) {
+        return Long.BYTES + (blockSize - 1) * MAX_VARINT_SIZE;
+    }
+
+    static long zigzag(long n) {
+        return (n << 1) ^ (n >> 63);
+    }
+
+    static long unzigzag(long z) {
+        return (z >>> 1) ^ -(z & 1);
+    }
+
+    static void putVarint(ByteBuffer buffer, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    static long getVarint(ByteBuffer buffer) {
+        long result = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buffer.get();
+            result |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return result;
+    }
+}
@@ -0,0 +1,246 @@
+package l.y.z.merge;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-18 23:15 <br>
+ * <p>
+ * 读取{@link RunFormat}格式的有序数列文件。
+ * <p>
+ * 数据区通过{@link MappedByteBuffer}按窗口映射，直接从页缓存解码，不经过read系统调用与用户态的拷贝；
+ * 文件可以超过2GB，窗口按block边界滑动，每个窗口默认64MB。
+ * <p>
+ * 可以只读取min &lt;= 值 &lt;= max的部分，见{@link #RunReader(Path, long, long)}：
+ * 根据索引中每个block首尾的值二分查找，范围之外的block不会被映射与解码。
+ * </p>
+ */
+public class RunReader implements LongCursor {
+
+    static final long DEFAULT_WINDOW_SIZE = 64L << 20;
+
+    private final FileChannel channel;
+    private final Order order;
+    private final int blockSize;
+    private final long count;
+    private final long windowSize;
+
+    private final long[] offsets;
+    private final int[] lengths;
+    private final int[] counts;
+    private final long[] firsts;
+    private final long[] lasts;
+
+    /**
+     * 范围在order.key空间中的上下界
+     */
+    private final long lowKey;
+    private final long highKey;
+
+    /**
+     * 下一个要打开的block，与不再读取的第一个block
+     */
+    private int nextBlock;
+    private final int endBlock;
+
+    private MappedByteBuffer window;
+    private long windowStart;
+    private long windowEnd;
+
+    /**
+     * 当前block中还未解码的值个数
+     */
+    private int remaining;
+    private long value;
+    private boolean done;
+
+    public RunReader(Path path) throws IOException {
+        this(path, Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    /**
+     * 只读取min &lt;= 值 &lt;= max的部分，与文件的顺序无关
+     */
+    public RunReader(Path path, long min, long max) throws IOException {
+        this(path, min, max, DEFAULT_WINDOW_SIZE);
+    }
+
+    RunReader(Path path, long min, long max, long windowSize) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            ByteBuffer header = read(0, RunFormat.HEADER_SIZE);
+            if (header.getInt() != RunFormat.MAGIC) {
+                throw new IOException("not a run file: " + path);
+            }
+            short version = header.getShort();
+            if (version != RunFormat.VERSION) {
+                throw new IOException("unsupported version " + version + ": " + path);
+            }
+            this.order = Order.values()[header.get()];
+            header.get();
+            this.blockSize = header.getInt();
+            int blocks = header.getInt();
+            this.count = header.getLong();
+            long indexOffset = header.getLong();
+
+            this.offsets = new long[blocks];
+            this.lengths = new int[blocks];
+            this.counts = new int[blocks];
+            this.firsts = new long[blocks];
+            this.lasts = new long[blocks];
+            ByteBuffer index = read(indexOffset, blocks * RunFormat.INDEX_ENTRY_SIZE);
+            for (int i = 0; i < blocks; i++) {
+                offsets[i] = index.getLong();
+                lengths[i] = index.getInt();
+                counts[i] = index.getInt();
+                firsts[i] = index.getLong();
+                lasts[i] = index.getLong();
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+
+        this.windowSize = windowSize;
+        if (order == Order.ASC) {
+            this.lowKey = order.key(min);
+            this.highKey = order.key(max);
+        } else {
+            this.lowKey = order.key(max);
+            this.highKey = order.key(min);
+        }
+        this.nextBlock = firstBlock();
+        this.endBlock = endBlock();
+        this.done = min > max;
+    }
+
+    public Order order() {
+        return order;
+    }
+
+    public int blockSize() {
+        return blockSize;
+    }
+
+    /**
+     * 文件中值的总数
+     */
+    public long count() {
+        return count;
+    }
+
+    public int blockCount() {
+        return offsets.length;
+    }
+
+    @Override
+    public boolean next() throws IOException {
+        if (done) {
+            return false;
+        }
+        while (true) {
+            long v;
+            if (remaining > 0) {
+                v = value + RunFormat.unzigzag(RunFormat.getVarint(window));
+                remaining--;
+            } else if (nextBlock < endBlock) {
+                v = openBlock(nextBlock++);
+            } else {
+                done = true;
+                return false;
+            }
+            value = v;
+            long key = order.key(v);
+            if (key > highKey) {
+                done = true;
+                return false;
+            }
+            if (key >= lowKey) {
+                return true;
+            }
+        }
+    }
+
+    @Override
+    public long value() {
+        return value;
+    }
+
+    @Override
+    public void close() throws IOException {
+        window = null;
+        channel.close();
+    }
+
+    /**
+     * 第一个last &gt;= lowKey的block
+     */
+    private int firstBlock() {
+        int low = 0;
+        int high = offsets.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (order.key(lasts[mid]) < lowKey) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * 第一个first &gt; highKey的block
+     */
+    private int endBlock() {
+        int low = 0;
+        int high = offsets.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (order.key(firsts[mid]) <= highKey) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * 定位到block的开头，返回它的第一个值
+     */
+    private long openBlock(int block) throws IOException {
+        long offset = offsets[block];
+        long end = offset + lengths[block];
+        if (window == null || offset < windowStart || end > windowEnd) {
+            // 从这个block开始映射，尽量多包含后续的block，但不超过windowSize，也不超过endBlock
+            long limit = offset + Math.max(windowSize, lengths[block]);
+            int last = block;
+            while (last + 1 < endBlock && offsets[last + 1] + lengths[last + 1] <= limit) {
+                last++;
+            }
+            windowStart = offset;
+            windowEnd = offsets[last] + lengths[last];
+            window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, windowEnd - windowStart);
+        }
+        window.position((int) (offset - windowStart));
+        remaining = counts[block] - 1;
+        return window.getLong();
+    }
+
+    private ByteBuffer read(long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("unexpected end of file");
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+}
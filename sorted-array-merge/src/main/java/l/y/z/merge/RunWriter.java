@@ -0,0 +1,164 @@
+package l.y.z.merge;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-18 23:00 <br>
+ * <p>
+ * 写入{@link RunFormat}格式的有序数列文件。
+ * <p>
+ * 值先攒满一个block再编码，编码结果放入输出缓冲区，缓冲区满时一次写入{@link FileChannel}；
+ * 关闭时写入索引，最后回到文件开头写入header。未正常关闭的文件header不完整，无法被{@link RunReader}打开。
+ * </p>
+ */
+public class RunWriter implements LongWriter {
+
+    private static final int DEFAULT_BUFFER_SIZE = 1 << 20;
+
+    private final FileChannel channel;
+    private final Order order;
+    private final int blockSize;
+    private final ByteBuffer buffer;
+
+    /**
+     * 当前block中的值
+     */
+    private final long[] block;
+    private int blockCount;
+
+    /**
+     * 索引，每个block一项
+     */
+    private long[] offsets = new long[16];
+    private int[] lengths = new int[16];
+    private int[] counts = new int[16];
+    private long[] firsts = new long[16];
+    private long[] lasts = new long[16];
+    private int blocks;
+
+    /**
+     * buffer中第一个字节在文件中的偏移
+     */
+    private long bufferOffset = RunFormat.HEADER_SIZE;
+    private long count;
+    private boolean hasLast;
+    private long last;
+
+    public RunWriter(Path path, Order order) throws IOException {
+        this(path, order, RunFormat.DEFAULT_BLOCK_SIZE, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * @param blockSize  每个block的值个数
+     * @param bufferSize 输出缓冲区的字节数，不小于一个block编码后的最大长度
+     */
+    public RunWriter(Path path, Order order, int blockSize, int bufferSize) throws IOException {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("blockSize must be positive: " + blockSize);
+        }
+        this.order = order;
+        this.blockSize = blockSize;
+        this.block = new long[blockSize];
+        this.buffer = ByteBuffer.allocate(Math.max(bufferSize, RunFormat.maxBlockLength(blockSize)));
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    /**
+     * 写入下一个值，必须与order同序，否则抛出{@link IllegalArgumentException}
+     */
+    @Override
+    public void write(long value) throws IOException {
+        if (hasLast && (order == Order.ASC ? value < last : value > last)) {
+            throw new IllegalArgumentException("not in " + order + " order: " + last + " then " + value);
+        }
+        hasLast = true;
+        last = value;
+        block[blockCount++] = value;
+        count++;
+        if (blockCount == blockSize) {
+            writeBlock();
+        }
+    }
+
+    @Override
+    public long count() {
+        return count;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (blockCount > 0) {
+                writeBlock();
+            }
+            long indexOffset = bufferOffset + buffer.position();
+            for (int i = 0; i < blocks; i++) {
+                if (buffer.remaining() < RunFormat.INDEX_ENTRY_SIZE) {
+                    flush();
+                }
+                buffer.putLong(offsets[i]).putInt(lengths[i]).putInt(counts[i]).putLong(firsts[i]).putLong(lasts[i]);
+            }
+            flush();
+
+            ByteBuffer header = ByteBuffer.allocate(RunFormat.HEADER_SIZE);
+            header.putInt(RunFormat.MAGIC)
+                    .putShort(RunFormat.VERSION)
+                    .put((byte) order.ordinal())
+                    .put((byte) 0)
+                    .putInt(blockSize)
+                    .putInt(blocks)
+                    .putLong(count)
+                    .putLong(indexOffset)
+                    .flip();
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void writeBlock() throws IOException {
+        if (buffer.remaining() < RunFormat.maxBlockLength(blockSize)) {
+            flush();
+        }
+        long offset = bufferOffset + buffer.position();
+        long previous = block[0];
+        buffer.putLong(previous);
+        for (int i = 1; i < blockCount; i++) {
+            long value = block[i];
+            RunFormat.putVarint(buffer, RunFormat.zigzag(value - previous));
+            previous = value;
+        }
+
+        if (blocks == offsets.length) {
+            int capacity = blocks << 1;
+            offsets = Arrays.copyOf(offsets, capacity);
+            lengths = Arrays.copyOf(lengths, capacity);
+            counts = Arrays.copyOf(counts, capacity);
+            firsts = Arrays.copyOf(firsts, capacity);
+            lasts = Arrays.copyOf(lasts, capacity);
+        }
+        offsets[blocks] = offset;
+        lengths[blocks] = (int) (bufferOffset + buffer.position() - offset);
+        counts[blocks] = blockCount;
+        firsts[blocks] = block[0];
+        lasts[blocks] = block[blockCount - 1];
+        blocks++;
+        blockCount = 0;
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            bufferOffset += channel.write(buffer, bufferOffset);
+        }
+        buffer.clear();
+    }
+}
@@ -0,0 +1,202 @@
+package l.y.z.merge;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-18 21:35 <br>
+ * <p>
+ * 读取每行一个十进制整数的文本文件。
+ * <p>
+ * 通过{@link FileChannel}把文件顺序读入一块缓冲区，直接从byte[]解析数字，
+ * 不经过{@link java.io.Reader}的字符解码，也不为每行创建String。占用的内存只有这一块缓冲区。
+ * 缓冲区用堆内存而不是直接内存：解析时按下标访问数组，比逐个调用{@link ByteBuffer#get()}快得多，多一次内存拷贝的代价很小。
+ * 空行被跳过，行尾可以是\n或\r\n；其它字符或超出long范围的数字抛出{@link NumberFormatException}。
+ * </p>
+ */
+public class TextLongReader implements LongCursor {
+
+    /**
+     * "-9223372036854775808\r\n"，更长的行只可能是带前导0的数字
+     */
+    private static final int MIN_BUFFER_SIZE = 22;
+    private static final long MULTMIN_NEGATIVE = Long.MIN_VALUE / 10;
+    private static final long MULTMIN_POSITIVE = -Long.MAX_VALUE / 10;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private final byte[] bytes;
+
+    /**
+     * bytes[position, limit)为未解析的数据
+     */
+    private int position;
+    private int limit;
+    private boolean eof;
+
+    /**
+     * bytes[0]在文件中的偏移
+     */
+    private long bufferOffset;
+    private long value;
+
+    public TextLongReader(Path path, int bufferSize) throws IOException {
+        this(path, ByteBuffer.allocate(bufferSize));
+    }
+
+    /**
+     * 使用调用方提供的堆内缓冲区，关闭后缓冲区可以复用
+     */
+    public TextLongReader(Path path, ByteBuffer buffer) throws IOException {
+        if (!buffer.hasArray() || buffer.capacity() < MIN_BUFFER_SIZE) {
+            throw new IllegalArgumentException("need a heap buffer of at least " + MIN_BUFFER_SIZE + " bytes");
+        }
+        this.path = path;
+        this.buffer = buffer;
+        this.bytes = buffer.array();
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+    }
+
+    @Override
+    public boolean next() throws IOException {
+        while (true) {
+            int p = skipLineSeparators();
+            if (p < 0) {
+                return false;
+            }
+            int end = parse(p);
+            if (end >= 0) {
+                position = end;
+                return true;
+            }
+            // 数字跨越了缓冲区的末尾，把这部分移到缓冲区开头，读入更多数据后重新解析
+            position = p;
+            if (!fill()) {
+                // 文件结尾，数字后面没有换行
+                end = parse(position);
+                position = end;
+                return true;
+            }
+        }
+    }
+
+    @Override
+    public long value() {
+        return value;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * 跳过空行，返回下一个数字的起始位置，文件结尾时返回-1
+     */
+    private int skipLineSeparators() throws IOException {
+        while (true) {
+            int p = position;
+            while (p < limit && (bytes[p] == '\n' || bytes[p] == '\r')) {
+                p++;
+            }
+            position = p;
+            if (p < limit) {
+                return p;
+            }
+            if (!fill()) {
+                return -1;
+            }
+        }
+    }
+
+    /**
+     * 从start开始解析一个数字，成功时返回行尾之后的位置；数字到达limit且文件未结束时返回-1
+     */
+    private int parse(int start) {
+        byte[] bytes = this.bytes;
+        int limit = this.limit;
+        int p = start;
+
+        // 与Long.parseLong相同，按负数累加，才能表示Long.MIN_VALUE
+        boolean negative = bytes[p] == '-';
+        if (negative) {
+            p++;
+        }
+        long min = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        long multmin = negative ? MULTMIN_NEGATIVE : MULTMIN_POSITIVE;
+        long result = 0;
+        int digitStart = p;
+        int b = -1;
+        while (p < limit) {
+            b = bytes[p];
+            if (b < '0' || b > '9') {
+                break;
+            }
+            int digit = b - '0';
+            if (result < multmin) {
+                throw error("out of range", start);
+            }
+            result *= 10;
+            if (result < min + digit) {
+                throw error("out of range", start);
+            }
+            result -= digit;
+            p++;
+        }
+        if (p == digitStart) {
+            if (p == limit && !eof) {
+                return -1;
+            }
+            throw error("number expected", start);
+        }
+        if (p == limit) {
+            if (!eof) {
+                return -1;
+            }
+        } else if (b == '\r' || b == '\n') {
+            p++;
+        } else {
+            throw error("illegal character 0x" + Integer.toHexString(b & 0xFF), p);
+        }
+        value = negative ? result : -result;
+        return p;
+    }
+
+    /**
+     * 把未解析的数据移到缓冲区开头，从文件读入更多数据，文件结尾时返回false
+     */
+    private boolean fill() throws IOException {
+        if (eof) {
+            return false;
+        }
+        int remaining = limit - position;
+        if (remaining == bytes.length) {
+            throw error("line too long", position);
+        }
+        System.arraycopy(bytes, position, bytes, 0, remaining);
+        bufferOffset += position;
+        position = 0;
+        limit = remaining;
+
+        buffer.clear().position(remaining);
+        int n;
+        do {
+            n = channel.read(buffer);
+        } while (n == 0);
+        if (n < 0) {
+            eof = true;
+            return false;
+        }
+        limit += n;
+        return true;
+    }
+
+    private NumberFormatException error(String message, int index) {
+        return new NumberFormatException(message + " at byte " + (bufferOffset + index) + " of " + path);
+    }
+}
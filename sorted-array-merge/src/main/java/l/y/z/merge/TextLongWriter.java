@@ -0,0 +1,107 @@
+package l.y.z.merge;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-18 21:45 <br>
+ * <p>
+ * 把long以十进制文本写入文件，每行一个。
+ * 数字直接格式化为ASCII字节写入缓冲区的byte[]，缓冲区满时一次写入{@link FileChannel}。
+ * </p>
+ */
+public class TextLongWriter implements LongWriter {
+
+    /**
+     * "-9223372036854775808\n"
+     */
+    private static final int MAX_LENGTH = 21;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private final byte[] bytes;
+    private int position;
+    private long count;
+
+    public TextLongWriter(Path path, int bufferSize) throws IOException {
+        this(path, ByteBuffer.allocate(bufferSize));
+    }
+
+    /**
+     * 使用调用方提供的堆内缓冲区，关闭后缓冲区可以复用
+     */
+    public TextLongWriter(Path path, ByteBuffer buffer) throws IOException {
+        if (!buffer.hasArray() || buffer.capacity() < MAX_LENGTH) {
+            throw new IllegalArgumentException("need a heap buffer of at least " + MAX_LENGTH + " bytes");
+        }
+        this.buffer = buffer;
+        this.bytes = buffer.array();
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    @Override
+    public void write(long value) throws IOException {
+        if (bytes.length - position < MAX_LENGTH) {
+            flush();
+        }
+        byte[] bytes = this.bytes;
+        int length = length(value);
+        int end = position + length;
+        int p = end;
+        // 按负数取各位数字，Long.MIN_VALUE不需要特殊处理；能用int表示后改用int运算，除法更快
+        long v = value < 0 ? value : -value;
+        while (v < Integer.MIN_VALUE) {
+            bytes[--p] = (byte) ('0' - v % 10);
+            v /= 10;
+        }
+        int i = (int) v;
+        do {
+            bytes[--p] = (byte) ('0' - i % 10);
+            i /= 10;
+        } while (i != 0);
+        if (value < 0) {
+            bytes[--p] = '-';
+        }
+        bytes[end] = '\n';
+        position = end + 1;
+        count++;
+    }
+
+    @Override
+    public long count() {
+        return count;
+    }
+
+    public void flush() throws IOException {
+        buffer.clear().limit(position);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        position = 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * value的十进制字符数，含负号
+     */
+    private static int length(long value) {
+        long v = value < 0 ? value : -value;
+        int digits = 1;
+        for (long bound = -10; digits < 19 && v <= bound; bound *= 10) {
+            digits++;
+        }
+        return value < 0 ? digits + 1 : digits;
+    }
+}
@@ -0,0 +1,150 @@
+package l.y.z.set;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-19 10:40 <br>
+ * <p>
+ * int的哈希集合，开放寻址、线性探测，key直接保存在int[]中，不装箱。
+ * <p>
+ * 0作为空槽的标记，集合中的0单独用一个boolean记录。
+ * 容量为2的幂，元素数超过容量的一半时扩容为两倍；不支持删除，用于一次性的集合运算。
+ * </p>
+ */
+public final class IntHashSet {
+
+    private int[] keys;
+    private int mask;
+    private int size;
+    private int resizeAt;
+    private boolean hasZero;
+
+    public IntHashSet() {
+        this(16);
+    }
+
+    /**
+     * @param expectedSize 预计的元素个数，不超过这个数时不会扩容
+     */
+    public IntHashSet(int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    /**
+     * @return key不在集合中时返回true
+     */
+    public boolean add(int key) {
+        if (key == 0) {
+            if (hasZero) {
+                return false;
+            }
+            hasZero = true;
+            size++;
+            return true;
+        }
+        int[] keys = this.keys;
+        int mask = this.mask;
+        int i = SetOps.mix(key) & mask;
+        for (int k; (k = keys[i]) != 0; i = (i + 1) & mask) {
+            if (k == key) {
+                return false;
+            }
+        }
+        keys[i] = key;
+        if (++size > resizeAt) {
+            rehash();
+        }
+        return true;
+    }
+
+    public boolean contains(int key) {
+        if (key == 0) {
+            return hasZero;
+        }
+        int[] keys = this.keys;
+        int mask = this.mask;
+        int i = SetOps.mix(key) & mask;
+        for (int k; (k = keys[i]) != 0; i = (i + 1) & mask) {
+            if (k == key) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, 0);
+        hasZero = false;
+        size = 0;
+    }
+
+    /**
+     * 按槽的顺序遍历，与插入顺序无关
+     */
+    public void forEach(IntConsumer action) {
+        if (hasZero) {
+            action.accept(0);
+        }
+        for (int key : keys) {
+            if (key != 0) {
+                action.accept(key);
+            }
+        }
+    }
+
+    public int[] toArray() {
+        int[] result = new int[size];
+        int n = 0;
+        if (hasZero) {
+            result[n++] = 0;
+        }
+        for (int key : keys) {
+            if (key != 0) {
+                result[n++] = key;
+            }
+        }
+        return result;
+    }
+
+    private void rehash() {
+        int[] old = keys;
+        allocate(old.length << 1);
+        for (int key : old) {
+            if (key != 0) {
+                int i = SetOps.mix(key) & mask;
+                while (keys[i] != 0) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = key;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        mask = capacity - 1;
+        resizeAt = capacity >>> 1;
+    }
+
+    static int capacityFor(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("expectedSize must not be negative: " + expectedSize);
+        }
+        // 负载因子0.5
+        long capacity = Math.max(16, Long.highestOneBit(Math.max(1L, (long) expectedSize * 2 - 1)) << 1);
+        if (capacity > 1 << 30) {
+            throw new IllegalArgumentException("expectedSize too large: " + expectedSize);
+        }
+        return (int) capacity;
+    }
+}
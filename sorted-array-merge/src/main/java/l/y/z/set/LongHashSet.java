@@ -0,0 +1,138 @@
+package l.y.z.set;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-19 10:40 <br>
+ * <p>
+ * long的哈希集合，开放寻址、线性探测，key直接保存在long[]中，不装箱。
+ * <p>
+ * 0作为空槽的标记，集合中的0单独用一个boolean记录。
+ * 容量为2的幂，元素数超过容量的一半时扩容为两倍；不支持删除，用于一次性的集合运算。
+ * </p>
+ */
+public final class LongHashSet {
+
+    private long[] keys;
+    private int mask;
+    private int size;
+    private int resizeAt;
+    private boolean hasZero;
+
+    public LongHashSet() {
+        this(16);
+    }
+
+    /**
+     * @param expectedSize 预计的元素个数，不超过这个数时不会扩容
+     */
+    public LongHashSet(int expectedSize) {
+        allocate(IntHashSet.capacityFor(expectedSize));
+    }
+
+    /**
+     * @return key不在集合中时返回true
+     */
+    public boolean add(long key) {
+        if (key == 0) {
+            if (hasZero) {
+                return false;
+            }
+            hasZero = true;
+            size++;
+            return true;
+        }
+        long[] keys = this.keys;
+        int mask = this.mask;
+        int i = SetOps.mix(key) & mask;
+        for (long k; (k = keys[i]) != 0; i = (i + 1) & mask) {
+            if (k == key) {
+                return false;
+            }
+        }
+        keys[i] = key;
+        if (++size > resizeAt) {
+            rehash();
+        }
+        return true;
+    }
+
+    public boolean contains(long key) {
+        if (key == 0) {
+            return hasZero;
+        }
+        long[] keys = this.keys;
+        int mask = this.mask;
+        int i = SetOps.mix(key) & mask;
+        for (long k; (k = keys[i]) != 0; i = (i + 1) & mask) {
+            if (k == key) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, 0);
+        hasZero = false;
+        size = 0;
+    }
+
+    /**
+     * 按槽的顺序遍历，与插入顺序无关
+     */
+    public void forEach(LongConsumer action) {
+        if (hasZero) {
+            action.accept(0);
+        }
+        for (long key : keys) {
+            if (key != 0) {
+                action.accept(key);
+            }
+        }
+    }
+
+    public long[] toArray() {
+        long[] result = new long[size];
+        int n = 0;
+        if (hasZero) {
+            result[n++] = 0;
+        }
+        for (long key : keys) {
+            if (key != 0) {
+                result[n++] = key;
+            }
+        }
+        return result;
+    }
+
+    private void rehash() {
+        long[] old = keys;
+        allocate(old.length << 1);
+        for (long key : old) {
+            if (key != 0) {
+                int i = SetOps.mix(key) & mask;
+                while (keys[i] != 0) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = key;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        mask = capacity - 1;
+        resizeAt = capacity >>> 1;
+    }
+}
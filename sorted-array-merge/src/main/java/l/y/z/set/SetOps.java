@@ -0,0 +1,426 @@
+package l.y.z.set;
+
+import java.util.Arrays;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-19 11:00 <br>
+ * <p>
+ * int[]、long[]的集合运算：交集、并集、差集、去重。结果都不含重复元素，全程不装箱。
+ * <p>
+ * 无序的输入用{@link IntHashSet}/{@link LongHashSet}，结果按元素在输入中第一次出现的顺序排列：
+ * <ul>
+ *     <li>intersection(a, b)：a中且在b中的元素，按a的顺序</li>
+ *     <li>union(a, b)：先是a中的元素，再是只在b中的元素</li>
+ *     <li>difference(a, b)：a中且不在b中的元素，按a的顺序</li>
+ * </ul>
+ * 已按正序排好的输入用sorted*方法，不需要哈希集合，结果也是正序的：
+ * 两个数组长度相近时逐个归并；相差悬殊时对短数组中的每个元素在长数组中倍增查找（galloping），
+ * 比较次数为O(m * log(n / m))。输入未排序时sorted*方法的结果是不确定的。
+ * </p>
+ */
+public final class SetOps {
+
+    /**
+     * 长数组的长度超过短数组的这个倍数时改用倍增查找
+     */
+    static final int GALLOP_RATIO = 16;
+
+    private SetOps() {
+    }
+
+    // ---------------- 无序输入，哈希集合 ----------------
+
+    public static int[] intersection(int[] a, int[] b) {
+        IntHashSet other = b.length <= a.length ? toSet(b) : common(a, b);
+        IntHashSet seen = new IntHashSet(Math.min(a.length, other.size()));
+        int[] result = new int[Math.min(a.length, other.size())];
+        int n = 0;
+        for (int x : a) {
+            if (other.contains(x) && seen.add(x)) {
+                result[n++] = x;
+            }
+        }
+        return Arrays.copyOf(result, n);
+    }
+
+    public static int[] union(int[] a, int[] b) {
+        IntHashSet seen = new IntHashSet(a.length + b.length);
+        int[] result = new int[a.length + b.length];
+        int n = 0;
+        for (int x : a) {
+            if (seen.add(x)) {
+                result[n++] = x;
+            }
+        }
+        for (int x : b) {
+            if (seen.add(x)) {
+                result[n++] = x;
+            }
+        }
+        return Arrays.copyOf(result, n);
+    }
+
+    public static int[] difference(int[] a, int[] b) {
+        IntHashSet other = toSet(b);
+        IntHashSet seen = new IntHashSet(a.length);
+        int[] result = new int[a.length];
+        int n = 0;
+        for (int x : a) {
+            if (!other.contains(x) && seen.add(x)) {
+                result[n++] = x;
+            }
+        }
+        return Arrays.copyOf(result, n);
+    }
+
+    public static int[] distinct(int[] a) {
+        IntHashSet seen = new IntHashSet(a.length);
+        int[] result = new int[a.length];
+        int n = 0;
+        for (int x : a) {
+            if (seen.add(x)) {
+                result[n++] = x;
+            }
+        }
+        return Arrays.copyOf(result, n);
+    }
+
+    public static long[] intersection(long[] a, long[] b) {
+        LongHashSet other = b.length <= a.length ? toSet(b) : common(a, b);
+        LongHashSet seen = new LongHashSet(Math.min(a.length, other.size()));
+        long[] result = new long[Math.min(a.length, other.size())];
+        int n = 0;
+        for (long x : a) {
+            if (other.contains(x) && seen.add(x)) {
+                result[n++] = x;
+            }
+        }
+        return Arrays.copyOf(result, n);
+    }
+
+    public static long[] union(long[] a, long[] b) {
+        LongHashSet seen = new LongHashSet(a.length + b.length);
+        long[] result = new long[a.length + b.length];
+        int n = 0;
+        for (long x : a) {
+            if (seen.add(x)) {
+                result[n++] = x;
+            }
+        }
+        for (long x : b) {
+            if (seen.add(x)) {
+                result[n++] = x;
+            }
+        }
+        return Arrays.copyOf(result, n);
+    }
+
+    public static long[] difference(long[] a, long[] b) {
+        LongHashSet other = toSet(b);
+        LongHashSet seen = new LongHashSet(a.length);
+        long[] result = new long[a.length];
+        int n = 0;
+        for (long x : a) {
+            if (!other.contains(x) && seen.add(x)) {
+                result[n++] = x;
+            }
+        }
+        return Arrays.copyOf(result, n);
+    }
+
+    public static long[] distinct(long[] a) {
+        LongHashSet seen = new LongHashSet(a.length);
+        long[] result = new long[a.length];
+        int n = 0;
+        for (long x : a) {
+            if (seen.add(x)) {
+                result[n++] = x;
+            }
+        }
+        return Arrays.copyOf(result, n);
+    }
+
+    // ---------------- 正序输入，归并与倍增查找 ----------------
+
+    public static int[] sortedIntersection(int[] a, int[] b) {
+        int[] small = a.length <= b.length ? a : b;
+        int[] large = small == a ? b : a;
+        int[] result = new int[small.length];
+        int n = 0;
+        if ((long) small.length * GALLOP_RATIO < large.length) {
+            int from = 0;
+            for (int i = 0; i < small.length && from < large.length; i++) {
+                int x = small[i];
+                if (n > 0 && result[n - 1] == x) {
+                    continue;
+                }
+                from = gallop(large, from, x);
+                if (from < large.length && large[from] == x) {
+                    result[n++] = x;
+                }
+            }
+        } else {
+            int i = 0;
+            int j = 0;
+            while (i < small.length && j < large.length) {
+                int x = small[i];
+                int y = large[j];
+                if (x < y) {
+                    i++;
+                } else if (x > y) {
+                    j++;
+                } else {
+                    if (n == 0 || result[n - 1] != x) {
+                        result[n++] = x;
+                    }
+                    i++;
+                    j++;
+                }
+            }
+        }
+        return Arrays.copyOf(result, n);
+    }
+
+    public static int[] sortedUnion(int[] a, int[] b) {
+        int[] result = new int[a.length + b.length];
+        int n = 0;
+        int i = 0;
+        int j = 0;
+        while (i < a.length || j < b.length) {
+            int x;
+            if (j == b.length || (i < a.length && a[i] <= b[j])) {
+                x = a[i++];
+            } else {
+                x = b[j++];
+            }
+            if (n == 0 || result[n - 1] != x) {
+                result[n++] = x;
+            }
+        }
+        return Arrays.copyOf(result, n);
+    }
+
+    public static int[] sortedDifference(int[] a, int[] b) {
+        int[] result = new int[a.length];
+        int n = 0;
+        boolean gallop = (long) a.length * GALLOP_RATIO < b.length;
+        int j = 0;
+        for (int i = 0; i < a.length; i++) {
+            int x = a[i];
+            if (n > 0 && result[n - 1] == x) {
+                continue;
+            }
+            if (gallop) {
+                j = gallop(b, j, x);
+            } else {
+                while (j < b.length && b[j] < x) {
+                    j++;
+                }
+            }
+            if (j == b.length || b[j] != x) {
+                result[n++] = x;
+            }
+        }
+        return Arrays.copyOf(result, n);
+    }
+
+    public static int[] sortedDistinct(int[] a) {
+        int[] result = new int[a.length];
+        int n = 0;
+        for (int x : a) {
+            if (n == 0 || result[n - 1] != x) {
+                result[n++] = x;
+            }
+        }
+        return Arrays.copyOf(result, n);
+    }
+
+    public static long[] sortedIntersection(long[] a, long[] b) {
+        long[] small = a.length <= b.length ? a : b;
+        long[] large = small == a ? b : a;
+        long[] result = new long[small.length];
+        int n = 0;
+        if ((long) small.length * GALLOP_RATIO < large.length) {
+            int from = 0;
+            for (int i = 0; i < small.length && from < large.length; i++) {
+                long x = small[i];
+                if (n > 0 && result[n - 1] == x) {
+                    continue;
+                }
+                from = gallop(large, from, x);
+                if (from < large.length && large[from] == x) {
+                    result[n++] = x;
+                }
+            }
+        } else {
+            int i = 0;
+            int j = 0;
+            while (i < small.length && j < large.length) {
+                long x = small[i];
+                long y = large[j];
+                if (x < y) {
+                    i++;
+                } else if (x > y) {
+                    j++;
+                } else {
+                    if (n == 0 || result[n - 1] != x) {
+                        result[n++] = x;
+                    }
+                    i++;
+                    j++;
+                }
+            }
+        }
+        return Arrays.copyOf(result, n);
+    }
+
+    public static long[] sortedUnion(long[] a, long[] b) {
+        long[] result = new long[a.length + b.length];
+        int n = 0;
+        int i = 0;
+        int j = 0;
+        while (i < a.length || j < b.length) {
+            long x;
+            if (j == b.length || (i < a.length && a[i] <= b[j])) {
+                x = a[i++];
+            } else {
+                x = b[j++];
+            }
+            if (n == 0 || result[n - 1] != x) {
+                result[n++] = x;
+            }
+        }
+        return Arrays.copyOf(result, n);
+    }
+
+    public static long[] sortedDifference(long[] a, long[] b) {
+        long[] result = new long[a.length];
+        int n = 0;
+        boolean gallop = (long) a.length * GALLOP_RATIO < b.length;
+        int j = 0;
+        for (int i = 0; i < a.length; i++) {
+            long x = a[i];
+            if (n > 0 && result[n - 1] == x) {
+                continue;
+            }
+            if (gallop) {
+                j = gallop(b, j, x);
+            } else {
+                while (j < b.length && b[j] < x) {
+                    j++;
+                }
+            }
+            if (j == b.length || b[j] != x) {
+                result[n++] = x;
+            }
+        }
+        return Arrays.copyOf(result, n);
+    }
+
+    public static long[] sortedDistinct(long[] a) {
+        long[] result = new long[a.length];
+        int n = 0;
+        for (long x : a) {
+            if (n == 0 || result[n - 1] != x) {
+                result[n++] = x;
+            }
+        }
+        return Arrays.copyOf(result, n);
+    }
+
+    /**
+     * 从from开始，返回第一个&gt;= key的下标，不存在时返回array.length。
+     * 先以1、2、4...的步长跳跃找到包含key的区间，再在区间内二分
+     */
+    static int gallop(int[] array, int from, int key) {
+        long bound = 1;
+        int low = from;
+        int high = from;
+        while (high < array.length && array[high] < key) {
+            low = high + 1;
+            high = (int) Math.min(from + bound, array.length);
+            bound <<= 1;
+        }
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (array[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    static int gallop(long[] array, int from, long key) {
+        long bound = 1;
+        int low = from;
+        int high = from;
+        while (high < array.length && array[high] < key) {
+            low = high + 1;
+            high = (int) Math.min(from + bound, array.length);
+            bound <<= 1;
+        }
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (array[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * b比a长时不为b建哈希集合，而是返回a、b共有的元素，集合大小不超过a的长度
+     */
+    private static IntHashSet common(int[] a, int[] b) {
+        IntHashSet candidates = toSet(a);
+        IntHashSet common = new IntHashSet(candidates.size());
+        for (int x : b) {
+            if (candidates.contains(x)) {
+                common.add(x);
+            }
+        }
+        return common;
+    }
+
+    private static LongHashSet common(long[] a, long[] b) {
+        LongHashSet candidates = toSet(a);
+        LongHashSet common = new LongHashSet(candidates.size());
+        for (long x : b) {
+            if (candidates.contains(x)) {
+                common.add(x);
+            }
+        }
+        return common;
+    }
+
+    private static IntHashSet toSet(int[] array) {
+        IntHashSet set = new IntHashSet(array.length);
+        for (int x : array) {
+            set.add(x);
+        }
+        return set;
+    }
+
+    private static LongHashSet toSet(long[] array) {
+        LongHashSet set = new LongHashSet(array.length);
+        for (long x : array) {
+            set.add(x);
+        }
+        return set;
+    }
+}
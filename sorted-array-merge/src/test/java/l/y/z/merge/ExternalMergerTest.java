@@ -0,0 +1,99 @@
+package l.y.z.merge;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.LongStream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-18 22:10 <br>
+ * <p></p>
+ */
+@Slf4j
+public class ExternalMergerTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void merge() throws IOException {
+        Random random = new Random(1);
+        List<Path> inputs = new ArrayList<>();
+        List<long[]> arrays = new ArrayList<>();
+        for (int i = 0; i < 9; i++) {
+            long[] array = random.longs(random.nextInt(5000)).map(v -> v >> random.nextInt(64)).sorted().toArray();
+            arrays.add(array);
+            inputs.add(write(array));
+        }
+        long[] extremes = {Long.MIN_VALUE, -1, 0, 1, Long.MAX_VALUE};
+        arrays.add(extremes);
+        inputs.add(write(extremes));
+        inputs.add(write(new long[0]));
+
+        Path output = folder.newFile().toPath();
+        // 缓冲区很小，数字会跨越缓冲区的边界
+        long count = new ExternalMerger(Order.ASC, 64).merge(inputs, output);
+
+        long[] expected = arrays.stream().flatMapToLong(LongStream::of).sorted().toArray();
+        assertEquals(expected.length, count);
+        assertArrayEquals(expected, read(output));
+    }
+
+    @Test
+    public void descending() throws IOException {
+        Path a = text("30\r\n20\r\n\r\n10\r\n");
+        Path b = text("25\n-5");
+        Path output = folder.newFile().toPath();
+        new ExternalMerger(Order.DESC).merge(Arrays.asList(a, b), output);
+        assertArrayEquals(new long[]{30, 25, 20, 10, -5}, read(output));
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void illegalCharacter() throws IOException {
+        new ExternalMerger(Order.ASC).merge(Collections.singletonList(text("1\n2x\n")), folder.newFile().toPath());
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void outOfRange() throws IOException {
+        new ExternalMerger(Order.ASC).merge(Collections.singletonList(text("9223372036854775808\n")), folder.newFile().toPath());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unsorted() throws IOException {
+        new ExternalMerger(Order.ASC).merge(Arrays.asList(text("1\n3\n2\n"), text("0\n")), folder.newFile().toPath());
+    }
+
+    private Path write(long[] values) throws IOException {
+        Path path = folder.newFile().toPath();
+        try (TextLongWriter writer = new TextLongWriter(path, 64)) {
+            for (long value : values) {
+                writer.write(value);
+            }
+        }
+        return path;
+    }
+
+    private Path text(String content) throws IOException {
+        return Files.write(folder.newFile().toPath(), content.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static long[] read(Path path) throws IOException {
+        List<String> lines = Files.readAllLines(path, StandardCharsets.US_ASCII);
+        return lines.stream().mapToLong(Long::parseLong).toArray();
+    }
+}
@@ -0,0 +1,121 @@
+package l.y.z.merge;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+import java.util.stream.LongStream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-19 10:10 <br>
+ * <p></p>
+ */
+@Slf4j
+public class ExternalSorterTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void sort() throws IOException {
+        long[] values = new Random(1).longs(200_000).map(v -> v >> 20).toArray();
+        Path input = write(values);
+        Path output = folder.newFile().toPath();
+        File temp = folder.newFolder();
+
+        // 每个chunk约3万个值，生成7个run，fanIn为2时需要多层合并
+        ExternalSorter sorter = ExternalSorter.newBuilder()
+                .memoryBudget(1 << 20)
+                .bufferSize(4096)
+                .parallelism(2)
+                .fanIn(2)
+                .tempDirectory(temp.toPath())
+                .build();
+        log.info("chunk values: {}", sorter.chunkValues());
+        assertEquals(values.length, sorter.sort(input, output));
+        assertArrayEquals(LongStream.of(values).sorted().toArray(), read(output));
+
+        // 临时文件已删除
+        assertEquals(0, temp.list().length);
+    }
+
+    @Test
+    public void descending() throws IOException {
+        long[] values = new Random(2).longs(50_000, -1000, 1000).toArray();
+        Path output = folder.newFile().toPath();
+        ExternalSorter.newBuilder()
+                .order(Order.DESC)
+                .memoryBudget(1 << 20)
+                .bufferSize(4096)
+                .fanIn(3)
+                .build()
+                .sort(write(values), output);
+        long[] expected = LongStream.of(values).map(v -> -v).sorted().map(v -> -v).toArray();
+        assertArrayEquals(expected, read(output));
+    }
+
+    @Test
+    public void empty() throws IOException {
+        Path output = folder.newFile().toPath();
+        assertEquals(0, ExternalSorter.newBuilder().memoryBudget(1 << 20).bufferSize(4096).build().sort(write(new long[0]), output));
+        assertEquals(0, Files.size(output));
+    }
+
+    /**
+     * 不合法的行紧跟在第一个chunk之后，读到它时第一个chunk可能还在排序、写run：
+     * 抛出的是原来的异常，没有被清理中的异常覆盖，临时文件在排序任务结束后删除
+     */
+    @Test
+    public void malformedInput() throws IOException {
+        File temp = folder.newFolder();
+        ExternalSorter sorter = ExternalSorter.newBuilder()
+                .memoryBudget(8 << 20)
+                .bufferSize(4096)
+                .parallelism(1)
+                .tempDirectory(temp.toPath())
+                .build();
+        Path input = write(new Random(3).longs(sorter.chunkValues()).toArray());
+        Files.write(input, "12x\n".getBytes(StandardCharsets.US_ASCII), StandardOpenOption.APPEND);
+        try {
+            sorter.sort(input, folder.newFile().toPath());
+            fail();
+        } catch (NumberFormatException e) {
+            assertTrue(e.getMessage(), e.getMessage().startsWith("illegal character"));
+            assertEquals(0, e.getSuppressed().length);
+        }
+        assertEquals(0, temp.list().length);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void budgetTooSmall() {
+        ExternalSorter.newBuilder().memoryBudget(1 << 16).build();
+    }
+
+    private Path write(long[] values) throws IOException {
+        Path path = folder.newFile().toPath();
+        try (TextLongWriter writer = new TextLongWriter(path, 4096)) {
+            for (long value : values) {
+                writer.write(value);
+            }
+        }
+        return path;
+    }
+
+    private static long[] read(Path path) throws IOException {
+        return Files.readAllLines(path, StandardCharsets.US_ASCII).stream().mapToLong(Long::parseLong).toArray();
+    }
+}
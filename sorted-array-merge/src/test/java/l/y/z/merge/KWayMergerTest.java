@@ -0,0 +1,88 @@
+package l.y.z.merge;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-18 21:05 <br>
+ * <p></p>
+ */
+@Slf4j
+public class KWayMergerTest {
+
+    @Test
+    public void readme() {
+        int[] arr1 = new int[]{1, 3, 5, 7, 9, 10, 11, 12, 14, 17, 18};
+        int[] arr2 = new int[]{0, 2, 3, 4, 6, 8, 11, 13, 15, 16, 19};
+        int[] arr3 = new int[]{-20, -1, 0, 1, 20, 20};
+        int[] result = KWayMerger.merge(Order.ASC, arr1, arr2, arr3);
+        log.info("合并后的结果为: {}", Arrays.toString(result));
+        assertArrayEquals(sorted(arr1, arr2, arr3), result);
+    }
+
+    @Test
+    public void random() {
+        Random random = new Random(1);
+        for (int k = 1; k <= 67; k += 3) {
+            int[][] inputs = new int[k][];
+            for (int i = 0; i < k; i++) {
+                // 包含空数列与大量重复值
+                inputs[i] = random.ints(random.nextInt(200), -50, 50).sorted().toArray();
+            }
+            assertArrayEquals(sorted(inputs), KWayMerger.merge(Order.ASC, inputs));
+
+            int[][] reversed = new int[k][];
+            for (int i = 0; i < k; i++) {
+                reversed[i] = reverse(inputs[i]);
+            }
+            assertArrayEquals(reverse(sorted(inputs)), KWayMerger.merge(Order.DESC, reversed));
+        }
+    }
+
+    @Test
+    public void longs() {
+        long[] a = {Long.MIN_VALUE, -1, 0, Long.MAX_VALUE};
+        long[] b = {Long.MIN_VALUE, 1, Long.MAX_VALUE};
+        long[] expected = LongStream.concat(LongStream.of(a), LongStream.of(b)).sorted().toArray();
+        assertArrayEquals(expected, KWayMerger.merge(Order.ASC, a, b));
+
+        long[] c = {Long.MAX_VALUE, 0, Long.MIN_VALUE};
+        long[] d = {Long.MAX_VALUE, -1, Long.MIN_VALUE};
+        assertArrayEquals(new long[]{Long.MAX_VALUE, Long.MAX_VALUE, 0, -1, Long.MIN_VALUE, Long.MIN_VALUE},
+                KWayMerger.merge(Order.DESC, c, d));
+    }
+
+    @Test
+    public void offset() {
+        int[] output = new int[8];
+        int count = KWayMerger.merge(new int[][]{{1, 4}, {2, 3}, {}}, Order.ASC, output, 2);
+        assertEquals(4, count);
+        assertArrayEquals(new int[]{0, 0, 1, 2, 3, 4, 0, 0}, output);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unsorted() {
+        KWayMerger.merge(Order.ASC, new int[]{1, 2}, new int[]{3, 1});
+    }
+
+    private static int[] sorted(int[]... inputs) {
+        return Arrays.stream(inputs).flatMapToInt(IntStream::of).sorted().toArray();
+    }
+
+    private static int[] reverse(int[] array) {
+        int[] result = new int[array.length];
+        for (int i = 0; i < array.length; i++) {
+            result[i] = array[array.length - 1 - i];
+        }
+        return result;
+    }
+}
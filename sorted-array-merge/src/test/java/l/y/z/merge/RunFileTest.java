@@ -0,0 +1,147 @@
+package l.y.z.merge;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.LongStream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-18 23:40 <br>
+ * <p></p>
+ */
+@Slf4j
+public class RunFileTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final Random random = new Random(1);
+
+    @Test
+    public void roundTrip() throws IOException {
+        long[] values = LongStream.concat(LongStream.of(Long.MIN_VALUE, Long.MAX_VALUE, 0),
+                random.longs(10_000).map(v -> v >> random.nextInt(64))).sorted().toArray();
+        Path run = write(values, Order.ASC, 16);
+        // 窗口很小，每个窗口只有几个block
+        try (RunReader reader = new RunReader(run, Long.MIN_VALUE, Long.MAX_VALUE, 100)) {
+            assertEquals(Order.ASC, reader.order());
+            assertEquals(values.length, reader.count());
+            assertEquals((values.length + 15) / 16, reader.blockCount());
+            assertArrayEquals(values, readAll(reader));
+        }
+        log.info("{} values, {} bytes", values.length, Files.size(run));
+
+        long[] descending = reverse(values);
+        try (RunReader reader = new RunReader(write(descending, Order.DESC, 7))) {
+            assertArrayEquals(descending, readAll(reader));
+        }
+        try (RunReader reader = new RunReader(write(new long[0], Order.ASC, 16))) {
+            assertEquals(0, readAll(reader).length);
+        }
+    }
+
+    @Test
+    public void range() throws IOException {
+        long[] values = random.ints(5_000, -1000, 1000).asLongStream().sorted().toArray();
+        Path asc = write(values, Order.ASC, 32);
+        Path desc = write(reverse(values), Order.DESC, 32);
+        long[][] ranges = {{-100, 100}, {-2000, -999}, {999, 2000}, {5, 5}, {1000, 2000}, {10, -10}};
+        for (long[] range : ranges) {
+            long min = range[0];
+            long max = range[1];
+            long[] expected = LongStream.of(values).filter(v -> v >= min && v <= max).toArray();
+            try (RunReader reader = new RunReader(asc, min, max, 256)) {
+                assertArrayEquals(expected, readAll(reader));
+            }
+            try (RunReader reader = new RunReader(desc, min, max, 256)) {
+                assertArrayEquals(reverse(expected), readAll(reader));
+            }
+        }
+    }
+
+    @Test
+    public void convert() throws IOException {
+        Path text = Files.write(folder.newFile().toPath(), "-3\n-1\n-1\n0\n42\n".getBytes(StandardCharsets.US_ASCII));
+        Path run = folder.newFile().toPath();
+        assertEquals(5, RunFiles.toRun(text, run, Order.ASC));
+        Path back = folder.newFile().toPath();
+        assertEquals(5, RunFiles.toText(run, back));
+        assertArrayEquals(Files.readAllBytes(text), Files.readAllBytes(back));
+    }
+
+    @Test
+    public void mergeRuns() throws IOException {
+        List<Path> inputs = new ArrayList<>();
+        List<long[]> arrays = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            long[] values = random.longs(random.nextInt(3000), 0, 100_000).sorted().toArray();
+            arrays.add(values);
+            inputs.add(write(values, Order.ASC, 64));
+        }
+        Path output = folder.newFile().toPath();
+        long count = new ExternalMerger(Order.ASC).mergeRuns(inputs, output, 20_000, 30_000);
+        long[] expected = arrays.stream().flatMapToLong(LongStream::of).filter(v -> v >= 20_000 && v <= 30_000).sorted().toArray();
+        assertEquals(expected.length, count);
+        try (RunReader reader = new RunReader(output)) {
+            assertArrayEquals(expected, readAll(reader));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unsorted() throws IOException {
+        write(new long[]{1, 2, 1}, Order.ASC, 16);
+    }
+
+    @Test
+    public void notARun() throws IOException {
+        Path text = Files.write(folder.newFile().toPath(), Arrays.copyOf("1\n2\n".getBytes(StandardCharsets.US_ASCII), 64));
+        try {
+            new RunReader(text).close();
+        } catch (IOException e) {
+            assertTrue(e.getMessage().startsWith("not a run file"));
+            return;
+        }
+        throw new AssertionError();
+    }
+
+    private Path write(long[] values, Order order, int blockSize) throws IOException {
+        Path path = folder.newFile().toPath();
+        try (RunWriter writer = new RunWriter(path, order, blockSize, 256)) {
+            for (long value : values) {
+                writer.write(value);
+            }
+        }
+        return path;
+    }
+
+    private static long[] readAll(LongCursor cursor) throws IOException {
+        LongStream.Builder builder = LongStream.builder();
+        while (cursor.next()) {
+            builder.add(cursor.value());
+        }
+        return builder.build().toArray();
+    }
+
+    private static long[] reverse(long[] array) {
+        long[] result = new long[array.length];
+        for (int i = 0; i < array.length; i++) {
+            result[i] = array[array.length - 1 - i];
+        }
+        return result;
+    }
+}
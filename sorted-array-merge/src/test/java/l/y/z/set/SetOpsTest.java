@@ -0,0 +1,132 @@
+package l.y.z.set;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-19 11:30 <br>
+ * <p></p>
+ */
+public class SetOpsTest {
+
+    private final Random random = new Random(1);
+
+    @Test
+    public void app() {
+        int[] nums1 = {4, 9, 5}, nums2 = {9, 4, 9, 8, 4};
+        assertArrayEquals(new int[]{4, 9}, SetOps.intersection(nums1, nums2));
+        assertArrayEquals(new int[]{4, 9, 5, 8}, SetOps.union(nums1, nums2));
+        assertArrayEquals(new int[]{5}, SetOps.difference(nums1, nums2));
+        assertArrayEquals(new int[]{9, 4, 8}, SetOps.distinct(nums2));
+    }
+
+    @Test
+    public void hash() {
+        for (int round = 0; round < 50; round++) {
+            int[] a = random.ints(random.nextInt(300), -100, 100).toArray();
+            int[] b = random.ints(random.nextInt(300), -100, 100).toArray();
+            Set<Integer> setA = new LinkedHashSet<>();
+            IntStream.of(a).forEach(setA::add);
+            Set<Integer> setB = new LinkedHashSet<>();
+            IntStream.of(b).forEach(setB::add);
+
+            Set<Integer> expected = new LinkedHashSet<>(setA);
+            expected.retainAll(setB);
+            assertArrayEquals(toArray(expected), SetOps.intersection(a, b));
+
+            expected = new LinkedHashSet<>(setA);
+            expected.addAll(setB);
+            assertArrayEquals(toArray(expected), SetOps.union(a, b));
+
+            expected = new LinkedHashSet<>(setA);
+            expected.removeAll(setB);
+            assertArrayEquals(toArray(expected), SetOps.difference(a, b));
+
+            assertArrayEquals(toArray(setA), SetOps.distinct(a));
+
+            long[] la = IntStream.of(a).asLongStream().map(x -> x * 0x1_0000_0001L).toArray();
+            long[] lb = IntStream.of(b).asLongStream().map(x -> x * 0x1_0000_0001L).toArray();
+            assertArrayEquals(IntStream.of(SetOps.intersection(a, b)).asLongStream().map(x -> x * 0x1_0000_0001L).toArray(),
+                    SetOps.intersection(la, lb));
+            assertArrayEquals(IntStream.of(SetOps.union(a, b)).asLongStream().map(x -> x * 0x1_0000_0001L).toArray(),
+                    SetOps.union(la, lb));
+        }
+    }
+
+    @Test
+    public void sorted() {
+        for (int round = 0; round < 50; round++) {
+            // 长度相差悬殊时走倍增查找
+            int[] a = random.ints(random.nextInt(50), -1000, 1000).sorted().toArray();
+            int[] b = random.ints(random.nextInt(round % 2 == 0 ? 50 : 5000), -1000, 1000).sorted().toArray();
+            for (int[][] pair : new int[][][]{{a, b}, {b, a}}) {
+                int[] x = pair[0];
+                int[] y = pair[1];
+                assertArrayEquals(sortedCopy(SetOps.intersection(x, y)), SetOps.sortedIntersection(x, y));
+                assertArrayEquals(sortedCopy(SetOps.union(x, y)), SetOps.sortedUnion(x, y));
+                assertArrayEquals(sortedCopy(SetOps.difference(x, y)), SetOps.sortedDifference(x, y));
+                assertArrayEquals(sortedCopy(SetOps.distinct(x)), SetOps.sortedDistinct(x));
+
+                long[] lx = IntStream.of(x).asLongStream().toArray();
+                long[] ly = IntStream.of(y).asLongStream().toArray();
+                assertArrayEquals(IntStream.of(SetOps.sortedIntersection(x, y)).asLongStream().toArray(), SetOps.sortedIntersection(lx, ly));
+                assertArrayEquals(IntStream.of(SetOps.sortedUnion(x, y)).asLongStream().toArray(), SetOps.sortedUnion(lx, ly));
+                assertArrayEquals(IntStream.of(SetOps.sortedDifference(x, y)).asLongStream().toArray(), SetOps.sortedDifference(lx, ly));
+            }
+        }
+    }
+
+    @Test
+    public void gallop() {
+        int[] array = {1, 3, 3, 5, 7, 9, 11};
+        assertEquals(0, SetOps.gallop(array, 0, 0));
+        assertEquals(1, SetOps.gallop(array, 0, 3));
+        assertEquals(3, SetOps.gallop(array, 2, 4));
+        assertEquals(6, SetOps.gallop(array, 0, 11));
+        assertEquals(7, SetOps.gallop(array, 0, 12));
+    }
+
+    @Test
+    public void hashSet() {
+        IntHashSet set = new IntHashSet();
+        for (int i = -5000; i < 5000; i++) {
+            assertTrue(set.add(i * 7));
+        }
+        assertFalse(set.add(0));
+        assertEquals(10_000, set.size());
+        assertTrue(set.contains(-35_000));
+        assertFalse(set.contains(1));
+        int[] keys = set.toArray();
+        Arrays.sort(keys);
+        assertArrayEquals(IntStream.range(-5000, 5000).map(i -> i * 7).toArray(), keys);
+
+        LongHashSet longs = new LongHashSet(4);
+        assertTrue(longs.add(Long.MIN_VALUE));
+        assertTrue(longs.add(0));
+        assertTrue(longs.add(1L << 32));
+        assertFalse(longs.add(Long.MIN_VALUE));
+        assertFalse(longs.contains(1));
+        assertEquals(3, longs.size());
+    }
+
+    private static int[] toArray(Set<Integer> set) {
+        return set.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static int[] sortedCopy(int[] array) {
+        int[] copy = array.clone();
+        Arrays.sort(copy);
+        return copy;
+    }
+}
@@ -0,0 +1,97 @@
+package l.y.z.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-18 09:20 <br>
+ * <p>以结点自身的prev、next指针实现的双向链表，头部是最久未被访问的结点。非线程安全，由淘汰锁保护</p>
+ */
+final class AccessOrderDeque<K, V> {
+
+    private Node<K, V> head;
+    private Node<K, V> tail;
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    Node<K, V> peekFirst() {
+        return head;
+    }
+
+    boolean contains(Node<K, V> node) {
+        return node.prev != null || node.next != null || head == node;
+    }
+
+    /**
+     * 加入到尾部
+     */
+    void addLast(Node<K, V> node) {
+        node.prev = tail;
+        node.next = null;
+        if (tail == null) {
+            head = node;
+        } else {
+            tail.next = node;
+        }
+        tail = node;
+        size++;
+    }
+
+    /**
+     * 移动到尾部，结点必须已在链表中
+     */
+    void moveToLast(Node<K, V> node) {
+        if (node == tail) {
+            return;
+        }
+        unlink(node);
+        addLast(node);
+    }
+
+    /**
+     * 从链表中摘除，不在链表中则什么也不做
+     */
+    void remove(Node<K, V> node) {
+        if (contains(node)) {
+            unlink(node);
+        }
+    }
+
+    Node<K, V> pollFirst() {
+        Node<K, V> first = head;
+        if (first != null) {
+            unlink(first);
+        }
+        return first;
+    }
+
+    /**
+     * 从头到尾遍历
+     */
+    void forEach(Consumer<Node<K, V>> action) {
+        for (Node<K, V> n = head; n != null; n = n.next) {
+            action.accept(n);
+        }
+    }
+
+    private void unlink(Node<K, V> node) {
+        Node<K, V> prev = node.prev;
+        Node<K, V> next = node.next;
+        if (prev == null) {
+            head = next;
+        } else {
+            prev.next = next;
+        }
+        if (next == null) {
+            tail = prev;
+        } else {
+            next.prev = prev;
+        }
+        node.prev = null;
+        node.next = null;
+        size--;
+    }
+}
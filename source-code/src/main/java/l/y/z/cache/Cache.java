@@ -0,0 +1,46 @@
+package l.y.z.cache;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-18 09:12 <br>
+ * <p>线程安全的缓存接口，key与value均不能为null</p>
+ */
+public interface Cache<K, V> {
+
+    /**
+     * 返回key对应的值，不存在则返回null
+     */
+    V get(K key);
+
+    /**
+     * 写入key-value对，返回旧值，不存在旧值则返回null
+     */
+    V put(K key, V value);
+
+    /**
+     * 删除key，返回被删除的值
+     */
+    V remove(K key);
+
+    /**
+     * 当前缓存的key-value对的数量
+     */
+    int size();
+
+    /**
+     * 删除所有的key-value对
+     */
+    void clear();
+
+    /**
+     * 执行积压的维护工作，如处理读缓冲区、淘汰超出容量的结点
+     */
+    void cleanUp();
+
+    /**
+     * 统计数据的快照，未开启统计时计数均为0
+     */
+    default CacheStats stats() {
+        return StatsCounter.disabled().snapshot(size());
+    }
+}
@@ -0,0 +1,147 @@
+package l.y.z.cache;
+
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-18 13:48 <br>
+ * <p>
+ * {@link ConcurrentLruCache}的构造器
+ * <pre>
+ *     ConcurrentLruCache&lt;String, User&gt; cache = CacheBuilder.&lt;String, User&gt;newBuilder()
+ *             .maxKeyCount(10_000)
+ *             .expireAfterWrite(10, TimeUnit.MINUTES)
+ *             .build();
+ * </pre>
+ * </p>
+ */
+public final class CacheBuilder<K, V> {
+
+    int maxKeyCount = -1;
+    EvictionPolicy<K, V> evictionPolicy;
+    long expireAfterWriteNanos;
+    long expireAfterAccessNanos;
+    long refreshAfterWriteNanos;
+    Executor executor = ForkJoinPool.commonPool();
+    Ticker ticker = Ticker.SYSTEM;
+    StatsCounter statsCounter = StatsCounter.disabled();
+
+    private CacheBuilder() {
+    }
+
+    public static <K, V> CacheBuilder<K, V> newBuilder() {
+        return new CacheBuilder<>();
+    }
+
+    /**
+     * key-value对的最大数量，使用LRU淘汰策略，不能与{@link #evictionPolicy(EvictionPolicy)}同时设置
+     */
+    public CacheBuilder<K, V> maxKeyCount(int maxKeyCount) {
+        if (maxKeyCount <= 0) {
+            throw new IllegalArgumentException("maxKeyCount must be positive: " + maxKeyCount);
+        }
+        if (evictionPolicy != null) {
+            throw new IllegalStateException("evictionPolicy is already set, its maximum is the maxKeyCount");
+        }
+        this.maxKeyCount = maxKeyCount;
+        return this;
+    }
+
+    /**
+     * 指定淘汰策略，key-value对的最大数量由策略决定，不能与{@link #maxKeyCount(int)}同时设置。
+     * 策略不是线程安全的，只能用于一个缓存，不要用同一个构造器构造多个缓存
+     */
+    public CacheBuilder<K, V> evictionPolicy(EvictionPolicy<K, V> evictionPolicy) {
+        Objects.requireNonNull(evictionPolicy);
+        if (maxKeyCount > 0) {
+            throw new IllegalStateException("maxKeyCount is already set to " + maxKeyCount);
+        }
+        this.evictionPolicy = evictionPolicy;
+        return this;
+    }
+
+    /**
+     * 写入（新增或更新）duration之后过期，可被{@link ConcurrentLruCache#put(Object, Object, long, TimeUnit)}按结点覆盖
+     */
+    public CacheBuilder<K, V> expireAfterWrite(long duration, TimeUnit unit) {
+        this.expireAfterWriteNanos = positiveNanos(duration, unit);
+        return this;
+    }
+
+    /**
+     * 最后一次读或写duration之后过期
+     */
+    public CacheBuilder<K, V> expireAfterAccess(long duration, TimeUnit unit) {
+        this.expireAfterAccessNanos = positiveNanos(duration, unit);
+        return this;
+    }
+
+    /**
+     * 写入duration之后，下一次读取时在后台重新加载，加载完成前仍返回旧值。
+     * 只对{@link #build(CacheLoader)}构造的{@link LoadingCache}有效，应小于过期时间
+     */
+    public CacheBuilder<K, V> refreshAfterWrite(long duration, TimeUnit unit) {
+        this.refreshAfterWriteNanos = positiveNanos(duration, unit);
+        return this;
+    }
+
+    /**
+     * 异步加载与刷新使用的线程池，默认为{@link ForkJoinPool#commonPool()}
+     */
+    public CacheBuilder<K, V> executor(Executor executor) {
+        this.executor = Objects.requireNonNull(executor);
+        return this;
+    }
+
+    /**
+     * 开启命中、未命中、淘汰等统计，见{@link ConcurrentLruCache#stats()}
+     */
+    public CacheBuilder<K, V> recordStats() {
+        this.statsCounter = new ConcurrentStatsCounter();
+        return this;
+    }
+
+    public CacheBuilder<K, V> ticker(Ticker ticker) {
+        this.ticker = Objects.requireNonNull(ticker);
+        return this;
+    }
+
+    public ConcurrentLruCache<K, V> build() {
+        if (refreshAfterWriteNanos > 0) {
+            throw new IllegalStateException("refreshAfterWrite requires a CacheLoader, see build(CacheLoader)");
+        }
+        return newCache();
+    }
+
+    /**
+     * 构造自动加载的缓存
+     */
+    public LoadingCache<K, V> build(CacheLoader<K, V> loader) {
+        return new LoadingCache<>(newCache(), Objects.requireNonNull(loader), executor, refreshAfterWriteNanos);
+    }
+
+    /**
+     * 默认策略每次新建，同一个构造器多次build时各个缓存不共享淘汰状态
+     */
+    private ConcurrentLruCache<K, V> newCache() {
+        EvictionPolicy<K, V> policy = evictionPolicy;
+        if (policy == null) {
+            if (maxKeyCount <= 0) {
+                throw new IllegalStateException("maxKeyCount or evictionPolicy is required");
+            }
+            policy = new LruPolicy<>(maxKeyCount);
+        }
+        return new ConcurrentLruCache<>(this, policy);
+    }
+
+    static long positiveNanos(long duration, TimeUnit unit) {
+        long nanos = unit.toNanos(duration);
+        if (nanos <= 0) {
+            throw new IllegalArgumentException("duration must be positive: " + duration + " " + unit);
+        }
+        return nanos;
+    }
+}
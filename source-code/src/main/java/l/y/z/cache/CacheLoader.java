@@ -0,0 +1,43 @@
+package l.y.z.cache;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-18 18:20 <br>
+ * <p>
+ * {@link LoadingCache}未命中时加载value，如从数据库查询
+ * <pre>
+ *     LoadingCache&lt;Long, User&gt; cache = CacheBuilder.&lt;Long, User&gt;newBuilder()
+ *             .maxKeyCount(10_000)
+ *             .expireAfterWrite(10, TimeUnit.MINUTES)
+ *             .refreshAfterWrite(5, TimeUnit.MINUTES)
+ *             .build(userDao::select);
+ * </pre>
+ * </p>
+ */
+@FunctionalInterface
+public interface CacheLoader<K, V> {
+
+    /**
+     * 加载key对应的value，返回null表示不存在，不会被缓存
+     */
+    V load(K key) throws Exception;
+
+    /**
+     * 批量加载，返回的map中没有的key视为不存在。
+     * 默认逐个调用{@link #load(Object)}，能批量查询时应覆盖此方法，如一条IN查询
+     */
+    default Map<K, V> loadAll(Set<? extends K> keys) throws Exception {
+        Map<K, V> result = new HashMap<>(keys.size() << 1);
+        for (K key : keys) {
+            V value = load(key);
+            if (value != null) {
+                result.put(key, value);
+            }
+        }
+        return result;
+    }
+}
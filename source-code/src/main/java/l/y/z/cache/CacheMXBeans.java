@@ -0,0 +1,101 @@
+package l.y.z.cache;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-18 17:25 <br>
+ * <p>把缓存统计注册到平台MBeanServer，ObjectName为 l.y.z.cache:type=CacheStatistics,name=缓存名</p>
+ */
+public final class CacheMXBeans {
+
+    private CacheMXBeans() {
+    }
+
+    public static ObjectName register(String name, Cache<?, ?> cache) throws JMException {
+        ObjectName objectName = objectName(name);
+        ManagementFactory.getPlatformMBeanServer().registerMBean(new CacheStatsView(cache), objectName);
+        return objectName;
+    }
+
+    public static void unregister(String name) throws JMException {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName objectName = objectName(name);
+        if (server.isRegistered(objectName)) {
+            server.unregisterMBean(objectName);
+        }
+    }
+
+    static ObjectName objectName(String name) throws JMException {
+        return new ObjectName("l.y.z.cache:type=CacheStatistics,name=" + ObjectName.quote(name));
+    }
+
+    /**
+     * 每次读取属性都取一次快照
+     */
+    private static final class CacheStatsView implements CacheStatsMXBean {
+        private final Cache<?, ?> cache;
+
+        CacheStatsView(Cache<?, ?> cache) {
+            this.cache = cache;
+        }
+
+        @Override
+        public long getHitCount() {
+            return cache.stats().getHitCount();
+        }
+
+        @Override
+        public long getMissCount() {
+            return cache.stats().getMissCount();
+        }
+
+        @Override
+        public double getHitRate() {
+            return cache.stats().hitRate();
+        }
+
+        @Override
+        public long getLoadSuccessCount() {
+            return cache.stats().getLoadSuccessCount();
+        }
+
+        @Override
+        public long getLoadFailureCount() {
+            return cache.stats().getLoadFailureCount();
+        }
+
+        @Override
+        public double getAverageLoadPenalty() {
+            return cache.stats().averageLoadPenalty();
+        }
+
+        @Override
+        public long getEvictionCount() {
+            return cache.stats().getEvictionCount();
+        }
+
+        @Override
+        public long getExpiredCount() {
+            return cache.stats().getExpiredCount();
+        }
+
+        @Override
+        public long getExplicitRemovalCount() {
+            return cache.stats().getExplicitRemovalCount();
+        }
+
+        @Override
+        public long getReplacedCount() {
+            return cache.stats().getReplacedCount();
+        }
+
+        @Override
+        public long getWeight() {
+            return cache.stats().getWeight();
+        }
+    }
+}
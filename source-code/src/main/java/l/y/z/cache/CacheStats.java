@@ -0,0 +1,49 @@
+package l.y.z.cache;
+
+import lombok.Value;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-18 17:15 <br>
+ * <p>缓存统计的不可变快照</p>
+ */
+@Value
+public class CacheStats {
+
+    long hitCount;
+    long missCount;
+    long loadSuccessCount;
+    long loadFailureCount;
+
+    /**
+     * 加载耗时之和，纳秒
+     */
+    long totalLoadTime;
+
+    /**
+     * 超出容量被淘汰的结点数
+     */
+    long evictionCount;
+    long expiredCount;
+    long explicitRemovalCount;
+    long replacedCount;
+
+    /**
+     * 当前的容量占用：ConcurrentLruCache为结点数，OffHeapCache为字节数
+     */
+    long weight;
+
+    public long requestCount() {
+        return hitCount + missCount;
+    }
+
+    public double hitRate() {
+        long requestCount = requestCount();
+        return requestCount == 0 ? 1D : (double) hitCount / requestCount;
+    }
+
+    public double averageLoadPenalty() {
+        long loadCount = loadSuccessCount + loadFailureCount;
+        return loadCount == 0 ? 0D : (double) totalLoadTime / loadCount;
+    }
+}
@@ -0,0 +1,31 @@
+package l.y.z.cache;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-18 17:20 <br>
+ * <p>通过JMX暴露的缓存统计，见{@link CacheMXBeans#register(String, Cache)}</p>
+ */
+public interface CacheStatsMXBean {
+
+    long getHitCount();
+
+    long getMissCount();
+
+    double getHitRate();
+
+    long getLoadSuccessCount();
+
+    long getLoadFailureCount();
+
+    double getAverageLoadPenalty();
+
+    long getEvictionCount();
+
+    long getExpiredCount();
+
+    long getExplicitRemovalCount();
+
+    long getReplacedCount();
+
+    long getWeight();
+}
@@ -0,0 +1,390 @@
+package l.y.z.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-18 09:46 <br>
+ * <p>
+ * 线程安全的LRU缓存。
+ * <p>
+ * 数据存放在{@link ConcurrentHashMap}中，读操作不加锁，只把被访问的结点记录到分段的{@link ReadBuffer}里；
+ * 淘汰策略由一把淘汰锁保护，写操作或读缓冲区满时才去获取这把锁，批量重放读记录并淘汰超出容量的结点。
+ * <p>
+ * 默认使用{@link LruPolicy}，也可以传入其它{@link EvictionPolicy}，如{@link WindowTinyLfuPolicy}。
+ * <p>
+ * 配置了过期时间时，结点按到期时间挂在{@link TimerWheel}上。读操作遇到已过期的结点直接当作未命中；
+ * 过期结点的删除在读写操作顺带执行的维护工作中完成，不需要单独的清理线程。
+ * <p>
+ * 与{@link l.y.z.LruCache}相同，写操作返回后key-value对的数量不会超过maxKeyCount。
+ * </p>
+ */
+public class ConcurrentLruCache<K, V> implements Cache<K, V> {
+
+    private final ConcurrentHashMap<K, Node<K, V>> data;
+    private final ReadBuffer<Node<K, V>> readBuffer = new ReadBuffer<>();
+
+    /**
+     * 保护policy、timerWheel
+     */
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final EvictionPolicy<K, V> policy;
+
+    private final long expireAfterWriteNanos;
+    private final long expireAfterAccessNanos;
+    private final Ticker ticker;
+    private final long origin;
+    private final StatsCounter statsCounter;
+
+    /**
+     * 是否记录写入时间，配置了过期或刷新时为true
+     */
+    private final boolean timed;
+
+    /**
+     * 未配置过期时间时为null
+     */
+    private final TimerWheel<K, V> timerWheel;
+
+    /**
+     * @param maxKeyCount key-value对的最大数量，超出时删除最久未被访问的结点
+     */
+    public ConcurrentLruCache(int maxKeyCount) {
+        this(new LruPolicy<>(maxKeyCount));
+    }
+
+    public ConcurrentLruCache(EvictionPolicy<K, V> policy) {
+        this(CacheBuilder.<K, V>newBuilder(), policy);
+    }
+
+    ConcurrentLruCache(CacheBuilder<K, V> builder, EvictionPolicy<K, V> policy) {
+        this.policy = Objects.requireNonNull(policy);
+        this.data = new ConcurrentHashMap<>(Math.min(policy.maximum(), 1 << 16));
+        this.expireAfterWriteNanos = builder.expireAfterWriteNanos;
+        this.expireAfterAccessNanos = builder.expireAfterAccessNanos;
+        this.ticker = builder.ticker;
+        this.origin = ticker.read();
+        this.statsCounter = builder.statsCounter;
+        this.timerWheel = expiresAfterWrite() || expiresAfterAccess() ? new TimerWheel<>(0L) : null;
+        this.timed = timerWheel != null || builder.refreshAfterWriteNanos > 0;
+    }
+
+    public int getMaxKeyCount() {
+        return policy.maximum();
+    }
+
+    @Override
+    public V get(K key) {
+        Node<K, V> node = getNode(key);
+        return node == null ? null : node.getValue();
+    }
+
+    /**
+     * 返回未过期的结点，并记录本次访问
+     */
+    Node<K, V> getNode(K key) {
+        Node<K, V> node = data.get(key);
+        if (node == null) {
+            statsCounter.recordMisses(1);
+            return null;
+        }
+        if (timerWheel != null) {
+            long now = now();
+            if (node.expiresAt() <= now) {
+                // 已过期，顺带尝试清理
+                statsCounter.recordMisses(1);
+                tryToMaintain();
+                return null;
+            }
+            if (expiresAfterAccess()) {
+                node.setAccessDeadline(deadline(now, expireAfterAccessNanos));
+            }
+        }
+        statsCounter.recordHits(1);
+        afterRead(node);
+        return node;
+    }
+
+    /**
+     * 返回未过期的值，不记录统计，也不记录访问
+     */
+    V peek(K key) {
+        Node<K, V> node = data.get(key);
+        if (node == null || (timerWheel != null && node.expiresAt() <= now())) {
+            return null;
+        }
+        return node.getValue();
+    }
+
+    @Override
+    public V put(K key, V value) {
+        return put(key, value, expireAfterWriteNanos);
+    }
+
+    /**
+     * 写入key-value对，并指定该结点写入后的过期时间，覆盖构造时的expireAfterWrite
+     */
+    public V put(K key, V value, long duration, TimeUnit unit) {
+        if (timerWheel == null) {
+            throw new IllegalStateException("expiration is not enabled, see CacheBuilder#expireAfterWrite");
+        }
+        return put(key, value, CacheBuilder.positiveNanos(duration, unit));
+    }
+
+    private V put(K key, V value, long writeTtlNanos) {
+        Objects.requireNonNull(key);
+        Objects.requireNonNull(value);
+        long now = timed ? now() : 0L;
+
+        // [0]: 新结点，[1]: 被更新的旧结点
+        @SuppressWarnings("unchecked")
+        Node<K, V>[] holder = new Node[2];
+        Object[] oldValue = new Object[1];
+        data.compute(key, (k, n) -> {
+            if (n == null) {
+                n = holder[0] = new Node<>(k, value);
+            } else {
+                if (n.expiresAt() > now) {
+                    oldValue[0] = n.getValue();
+                    statsCounter.recordRemoval(RemovalCause.REPLACED);
+                }
+                n.setValue(value);
+                holder[1] = n;
+            }
+            n.setWriteTime(now);
+            if (timerWheel != null) {
+                n.setWriteDeadline(writeTtlNanos > 0 ? deadline(now, writeTtlNanos) : Long.MAX_VALUE);
+                n.setAccessDeadline(expiresAfterAccess() ? deadline(now, expireAfterAccessNanos) : Long.MAX_VALUE);
+            }
+            return n;
+        });
+
+        evictionLock.lock();
+        try {
+            drainReadBuffer();
+            if (holder[0] != null) {
+                onAdd(holder[0]);
+            } else {
+                onUpdate(holder[1]);
+            }
+            expireEntries();
+            evict();
+        } finally {
+            evictionLock.unlock();
+        }
+
+        @SuppressWarnings("unchecked")
+        V old = (V) oldValue[0];
+        return old;
+    }
+
+    @Override
+    public V remove(K key) {
+        Node<K, V> node = retire(key, null);
+        if (node == null) {
+            return null;
+        }
+        evictionLock.lock();
+        try {
+            onRemove(node);
+        } finally {
+            evictionLock.unlock();
+        }
+        if (timerWheel != null && node.expiresAt() <= now()) {
+            statsCounter.recordRemoval(RemovalCause.EXPIRED);
+            return null;
+        }
+        statsCounter.recordRemoval(RemovalCause.EXPLICIT);
+        return node.getValue();
+    }
+
+    /**
+     * 哈希表中的结点数，可能包含已过期但还未被清理的结点
+     */
+    @Override
+    public int size() {
+        return data.size();
+    }
+
+    @Override
+    public void clear() {
+        for (K key : data.keySet()) {
+            remove(key);
+        }
+    }
+
+    @Override
+    public void cleanUp() {
+        evictionLock.lock();
+        try {
+            maintenance();
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * 统计数据的快照，需要{@link CacheBuilder#recordStats()}开启统计，weight为结点数
+     */
+    @Override
+    public CacheStats stats() {
+        return statsCounter.snapshot(data.size());
+    }
+
+    /**
+     * 按淘汰顺序（LRU即从最久未被访问到最近被访问），返回最多limit个key-value对
+     */
+    public Map<K, V> coldest(int limit) {
+        Map<K, V> result = new LinkedHashMap<>();
+        evictionLock.lock();
+        try {
+            maintenance();
+            policy.forEach(n -> {
+                if (result.size() < limit) {
+                    result.put(n.getKey(), n.getValue());
+                }
+            });
+        } finally {
+            evictionLock.unlock();
+        }
+        return result;
+    }
+
+    private void afterRead(Node<K, V> node) {
+        if (readBuffer.offer(node) == ReadBuffer.FULL) {
+            tryToMaintain();
+        }
+    }
+
+    private void tryToMaintain() {
+        if (evictionLock.tryLock()) {
+            try {
+                maintenance();
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+    }
+
+    private boolean expiresAfterWrite() {
+        return expireAfterWriteNanos > 0;
+    }
+
+    private boolean expiresAfterAccess() {
+        return expireAfterAccessNanos > 0;
+    }
+
+    StatsCounter statsCounter() {
+        return statsCounter;
+    }
+
+    Ticker ticker() {
+        return ticker;
+    }
+
+    /**
+     * 相对于构造时刻的纳秒数，保证非负
+     */
+    long now() {
+        return ticker.read() - origin;
+    }
+
+    private static long deadline(long now, long ttlNanos) {
+        long deadline = now + ttlNanos;
+        return deadline < 0 ? Long.MAX_VALUE : deadline;
+    }
+
+    /**
+     * 从哈希表中删除key对应的结点；expected不为null时，只有当前结点就是expected才删除
+     */
+    private Node<K, V> retire(K key, Node<K, V> expected) {
+        @SuppressWarnings("unchecked")
+        Node<K, V>[] removed = new Node[1];
+        data.computeIfPresent(key, (k, n) -> {
+            if (expected != null && n != expected) {
+                return n;
+            }
+            n.retire();
+            removed[0] = n;
+            return null;
+        });
+        return removed[0];
+    }
+
+    // 以下方法只能在持有淘汰锁时调用
+
+    private void maintenance() {
+        drainReadBuffer();
+        expireEntries();
+        evict();
+    }
+
+    private void drainReadBuffer() {
+        readBuffer.drainTo(this::onAccess);
+    }
+
+    private void onAdd(Node<K, V> node) {
+        // 写线程拿到锁之前，结点可能已经被其它线程删除
+        if (node.isAlive() && !node.inPolicy) {
+            node.inPolicy = true;
+            policy.onAdd(node);
+            if (timerWheel != null) {
+                timerWheel.schedule(node);
+            }
+        }
+    }
+
+    private void onAccess(Node<K, V> node) {
+        if (node.isAlive() && node.inPolicy) {
+            policy.onAccess(node);
+        }
+    }
+
+    private void onUpdate(Node<K, V> node) {
+        if (node.isAlive() && node.inPolicy) {
+            policy.onAccess(node);
+            if (timerWheel != null) {
+                timerWheel.reschedule(node);
+            }
+        }
+    }
+
+    private void onRemove(Node<K, V> node) {
+        if (node.inPolicy) {
+            node.inPolicy = false;
+            policy.onRemove(node);
+        }
+        if (timerWheel != null) {
+            timerWheel.deschedule(node);
+        }
+    }
+
+    private void expireEntries() {
+        if (timerWheel != null) {
+            timerWheel.advance(now(), node -> {
+                if (retire(node.getKey(), node) != null) {
+                    onRemove(node);
+                    statsCounter.recordRemoval(RemovalCause.EXPIRED);
+                }
+            });
+        }
+    }
+
+    private void evict() {
+        while (policy.size() > policy.maximum()) {
+            Node<K, V> victim = policy.victim();
+            victim.inPolicy = false;
+            if (timerWheel != null) {
+                timerWheel.deschedule(victim);
+            }
+            if (retire(victim.getKey(), victim) != null) {
+                statsCounter.recordRemoval(RemovalCause.SIZE);
+            }
+        }
+    }
+}
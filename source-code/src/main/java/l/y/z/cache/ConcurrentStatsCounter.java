@@ -0,0 +1,66 @@
+package l.y.z.cache;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-18 17:10 <br>
+ * <p>基于{@link LongAdder}的计数器，多线程同时计数时各自累加到不同的cell上，互不竞争</p>
+ */
+public class ConcurrentStatsCounter implements StatsCounter {
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder loadSuccessCount = new LongAdder();
+    private final LongAdder loadFailureCount = new LongAdder();
+    private final LongAdder totalLoadTime = new LongAdder();
+    private final LongAdder[] removalCount = new LongAdder[RemovalCause.values().length];
+
+    public ConcurrentStatsCounter() {
+        for (int i = 0; i < removalCount.length; i++) {
+            removalCount[i] = new LongAdder();
+        }
+    }
+
+    @Override
+    public void recordHits(int count) {
+        hitCount.add(count);
+    }
+
+    @Override
+    public void recordMisses(int count) {
+        missCount.add(count);
+    }
+
+    @Override
+    public void recordLoadSuccess(long loadTimeNanos) {
+        loadSuccessCount.increment();
+        totalLoadTime.add(loadTimeNanos);
+    }
+
+    @Override
+    public void recordLoadFailure(long loadTimeNanos) {
+        loadFailureCount.increment();
+        totalLoadTime.add(loadTimeNanos);
+    }
+
+    @Override
+    public void recordRemoval(RemovalCause cause) {
+        removalCount[cause.ordinal()].increment();
+    }
+
+    @Override
+    public CacheStats snapshot(long weight) {
+        return new CacheStats(
+                hitCount.sum(),
+                missCount.sum(),
+                loadSuccessCount.sum(),
+                loadFailureCount.sum(),
+                totalLoadTime.sum(),
+                removalCount[RemovalCause.SIZE.ordinal()].sum(),
+                removalCount[RemovalCause.EXPIRED.ordinal()].sum(),
+                removalCount[RemovalCause.EXPLICIT.ordinal()].sum(),
+                removalCount[RemovalCause.REPLACED.ordinal()].sum(),
+                weight);
+    }
+}
@@ -0,0 +1,35 @@
+package l.y.z.cache;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-18 17:06 <br>
+ * <p>不统计时使用的空实现，调用会被JIT内联后消除</p>
+ */
+enum DisabledStatsCounter implements StatsCounter {
+    INSTANCE;
+
+    @Override
+    public void recordHits(int count) {
+    }
+
+    @Override
+    public void recordMisses(int count) {
+    }
+
+    @Override
+    public void recordLoadSuccess(long loadTimeNanos) {
+    }
+
+    @Override
+    public void recordLoadFailure(long loadTimeNanos) {
+    }
+
+    @Override
+    public void recordRemoval(RemovalCause cause) {
+    }
+
+    @Override
+    public CacheStats snapshot(long weight) {
+        return new CacheStats(0, 0, 0, 0, 0, 0, 0, 0, 0, weight);
+    }
+}
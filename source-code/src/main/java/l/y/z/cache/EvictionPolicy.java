@@ -0,0 +1,49 @@
+package l.y.z.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-18 10:52 <br>
+ * <p>
+ * 淘汰策略。缓存在持有淘汰锁时回调这些方法，实现类无需考虑线程安全。
+ * 传入的结点都是仍在缓存中的结点，同一个结点只会onAdd一次，被victim返回或onRemove之后不会再出现。
+ * </p>
+ */
+public interface EvictionPolicy<K, V> {
+
+    /**
+     * 缓存可以容纳的最大结点数
+     */
+    int maximum();
+
+    /**
+     * 策略中当前的结点数，超过maximum()时缓存会调用victim()进行淘汰
+     */
+    int size();
+
+    /**
+     * 新增结点
+     */
+    void onAdd(Node<K, V> node);
+
+    /**
+     * 结点被读取或被更新
+     */
+    void onAccess(Node<K, V> node);
+
+    /**
+     * 结点被显式删除
+     */
+    void onRemove(Node<K, V> node);
+
+    /**
+     * 选出一个需要淘汰的结点，并将其从策略中移除
+     */
+    Node<K, V> victim();
+
+    /**
+     * 按从最先被淘汰到最后被淘汰的顺序遍历
+     */
+    void forEach(Consumer<Node<K, V>> action);
+}
@@ -0,0 +1,106 @@
+package l.y.z.cache;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-18 11:10 <br>
+ * <p>
+ * Count-Min Sketch，用于估算key最近的访问频率，非线程安全。
+ * <p>
+ * 每个long被划分为16个4 bit计数器，计数上限为15。一个key在4个不同的long中各占一个计数器，
+ * 估算值取4个计数器的最小值。总的递增次数达到样本大小（10倍最大容量）时，所有计数器减半，
+ * 使过去的热点逐渐冷却。
+ * </p>
+ */
+final class FrequencySketch {
+
+    private static final long[] SEED = {
+            0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final long ONE_MASK = 0x1111111111111111L;
+    private static final int MAX_COUNT = 15;
+
+    private final long[] table;
+    private final int tableMask;
+    private final int sampleSize;
+    private int size;
+
+    FrequencySketch(int maximum) {
+        int length = tableSizeFor(Math.max(maximum, 16));
+        table = new long[length];
+        tableMask = length - 1;
+        sampleSize = (int) Math.min(10L * Math.max(maximum, 1), Integer.MAX_VALUE);
+    }
+
+    /**
+     * 估算访问频率，取值范围0 - 15
+     */
+    int frequency(Object key) {
+        int hash = spread(key.hashCode());
+        int start = (hash & 3) << 2;
+        int frequency = MAX_COUNT;
+        for (int i = 0; i < 4; i++) {
+            int index = indexOf(hash, i);
+            int count = (int) ((table[index] >>> ((start + i) << 2)) & 0xfL);
+            frequency = Math.min(frequency, count);
+        }
+        return frequency;
+    }
+
+    /**
+     * 访问频率加1
+     */
+    void increment(Object key) {
+        int hash = spread(key.hashCode());
+        int start = (hash & 3) << 2;
+        boolean added = false;
+        for (int i = 0; i < 4; i++) {
+            added |= incrementAt(indexOf(hash, i), start + i);
+        }
+        if (added && ++size == sampleSize) {
+            reset();
+        }
+    }
+
+    /**
+     * 第i个long的第j个计数器加1，已达上限则返回false
+     */
+    private boolean incrementAt(int i, int j) {
+        int offset = j << 2;
+        long mask = 0xfL << offset;
+        if ((table[i] & mask) != mask) {
+            table[i] += 1L << offset;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 所有计数器减半。奇数减半时丢掉的1按每个key 4个计数器折算后从size中扣除
+     */
+    void reset() {
+        int odd = 0;
+        for (int i = 0; i < table.length; i++) {
+            odd += Long.bitCount(table[i] & ONE_MASK);
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        size = (size - (odd >>> 2)) >>> 1;
+    }
+
+    private int indexOf(int hash, int i) {
+        long h = (hash + SEED[i]) * SEED[i];
+        h += h >>> 32;
+        return (int) h & tableMask;
+    }
+
+    private static int spread(int x) {
+        x = ((x >>> 16) ^ x) * 0x45d9f3b;
+        x = ((x >>> 16) ^ x) * 0x45d9f3b;
+        return (x >>> 16) ^ x;
+    }
+
+    private static int tableSizeFor(int c) {
+        int n = Integer.highestOneBit(Math.min(c, 1 << 30));
+        return n == c ? n : n << 1;
+    }
+}
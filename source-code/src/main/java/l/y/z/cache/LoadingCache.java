@@ -0,0 +1,337 @@
+package l.y.z.cache;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-18 18:32 <br>
+ * <p>
+ * 未命中时自动加载的缓存，由{@link CacheBuilder#build(CacheLoader)}构造。
+ * <p>
+ * 同一个key并发未命中时只加载一次：第一个未命中的线程在{@link #inFlight}中登记一个{@link CompletableFuture}，
+ * 在自己的线程中调用loader，其它线程等待这个future，热点key过期时不会有大量请求同时打到数据库。
+ * 加载失败的结果不缓存，异常抛给所有等待的线程，下一次get重新加载。
+ * <p>
+ * 配置了refreshAfterWrite时，读到写入时间超过refreshAfterWrite的结点会在executor中异步重新加载，
+ * 加载完成前仍返回旧值；重新加载失败则保留旧值，由expireAfterWrite兜底。
+ * <p>
+ * 加载期间调用了{@link #put(Object, Object)}或{@link #remove(Object)}的key，加载结果只返回给等待的线程，不写入缓存，
+ * 避免旧值覆盖新写入的值或刚删除的key被旧值复活。
+ * </p>
+ */
+@Slf4j
+public class LoadingCache<K, V> implements Cache<K, V> {
+
+    private final ConcurrentLruCache<K, V> cache;
+    private final CacheLoader<K, V> loader;
+    private final Executor executor;
+    private final long refreshAfterWriteNanos;
+
+    /**
+     * 正在加载的key
+     */
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * 正在刷新的key
+     */
+    private final ConcurrentHashMap<K, CompletableFuture<V>> refreshing = new ConcurrentHashMap<>();
+
+    LoadingCache(ConcurrentLruCache<K, V> cache, CacheLoader<K, V> loader, Executor executor, long refreshAfterWriteNanos) {
+        this.cache = cache;
+        this.loader = loader;
+        this.executor = executor;
+        this.refreshAfterWriteNanos = refreshAfterWriteNanos;
+    }
+
+    /**
+     * 返回key对应的值，未命中时用构造时的loader加载，loader返回null时返回null
+     */
+    @Override
+    public V get(K key) {
+        return get(key, loader);
+    }
+
+    /**
+     * 返回key对应的值，未命中时用指定的loader加载。
+     * loader抛出的RuntimeException原样抛出，checked异常包装为{@link CompletionException}
+     */
+    public V get(K key, CacheLoader<? super K, V> loader) {
+        Objects.requireNonNull(key);
+        Node<K, V> node = cache.getNode(key);
+        if (node != null) {
+            return refreshIfNeeded(node);
+        }
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            return join(existing);
+        }
+        load(key, loader, future);
+        return join(future);
+    }
+
+    /**
+     * 只查缓存，不加载
+     */
+    public V getIfPresent(K key) {
+        Node<K, V> node = cache.getNode(key);
+        return node == null ? null : refreshIfNeeded(node);
+    }
+
+    /**
+     * 未命中时在executor中加载，不阻塞调用线程
+     */
+    public CompletableFuture<V> getAsync(K key) {
+        Objects.requireNonNull(key);
+        Node<K, V> node = cache.getNode(key);
+        if (node != null) {
+            return CompletableFuture.completedFuture(refreshIfNeeded(node));
+        }
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            return existing;
+        }
+        try {
+            executor.execute(() -> load(key, loader, future));
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(key, future);
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * 批量查询，所有未命中且没有其它线程在加载的key合并为一次{@link CacheLoader#loadAll(Set)}调用，
+     * 正在被其它线程加载的key等待其结果。返回的map按keys的顺序排列，不包含不存在的key
+     */
+    public Map<K, V> getAll(Iterable<? extends K> keys) {
+        Set<K> distinct = new LinkedHashSet<>();
+        for (K key : keys) {
+            distinct.add(Objects.requireNonNull(key));
+        }
+        Map<K, V> found = new LinkedHashMap<>(distinct.size() << 1);
+        Map<K, CompletableFuture<V>> owned = new LinkedHashMap<>();
+        Map<K, CompletableFuture<V>> waiting = new LinkedHashMap<>();
+        for (K key : distinct) {
+            Node<K, V> node = cache.getNode(key);
+            if (node != null) {
+                found.put(key, refreshIfNeeded(node));
+                continue;
+            }
+            CompletableFuture<V> future = new CompletableFuture<>();
+            CompletableFuture<V> existing = inFlight.putIfAbsent(key, future);
+            if (existing == null) {
+                owned.put(key, future);
+            } else {
+                waiting.put(key, existing);
+            }
+        }
+        if (!owned.isEmpty()) {
+            loadAll(owned);
+        }
+        owned.putAll(waiting);
+        for (Map.Entry<K, CompletableFuture<V>> entry : owned.entrySet()) {
+            V value = join(entry.getValue());
+            if (value != null) {
+                found.put(entry.getKey(), value);
+            }
+        }
+
+        Map<K, V> result = new LinkedHashMap<>(found.size() << 1);
+        for (K key : distinct) {
+            V value = found.get(key);
+            if (value != null) {
+                result.put(key, value);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 在executor中重新加载key，加载期间读到的仍是旧值，同一个key同时只有一次刷新。
+     * 加载失败时保留旧值，返回的future以异常结束
+     */
+    public CompletableFuture<V> refresh(K key) {
+        Objects.requireNonNull(key);
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> existing = refreshing.putIfAbsent(key, future);
+        if (existing != null) {
+            return existing;
+        }
+        try {
+            executor.execute(() -> reload(key, future));
+        } catch (RejectedExecutionException e) {
+            refreshing.remove(key, future);
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * 写入key-value对，正在进行的加载与刷新的结果不再写入缓存
+     */
+    @Override
+    public V put(K key, V value) {
+        discardPending(key);
+        return cache.put(key, value);
+    }
+
+    /**
+     * 删除key，正在进行的加载与刷新的结果不再写入缓存
+     */
+    @Override
+    public V remove(K key) {
+        discardPending(key);
+        return cache.remove(key);
+    }
+
+    @Override
+    public int size() {
+        return cache.size();
+    }
+
+    @Override
+    public void clear() {
+        inFlight.clear();
+        refreshing.clear();
+        cache.clear();
+    }
+
+    @Override
+    public void cleanUp() {
+        cache.cleanUp();
+    }
+
+    @Override
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    private void discardPending(K key) {
+        inFlight.remove(key);
+        refreshing.remove(key);
+    }
+
+    private V refreshIfNeeded(Node<K, V> node) {
+        V value = node.getValue();
+        if (refreshAfterWriteNanos > 0 && cache.now() - node.getWriteTime() >= refreshAfterWriteNanos) {
+            refresh(node.getKey());
+        }
+        return value;
+    }
+
+    private void load(K key, CacheLoader<? super K, V> loader, CompletableFuture<V> future) {
+        // 拿到future之前，上一个加载者可能刚把结果写入缓存并移出inFlight
+        V value = cache.peek(key);
+        if (value != null) {
+            inFlight.remove(key, future);
+            future.complete(value);
+            return;
+        }
+        long start = cache.ticker().read();
+        try {
+            value = loader.load(key);
+        } catch (Throwable e) {
+            cache.statsCounter().recordLoadFailure(cache.ticker().read() - start);
+            inFlight.remove(key, future);
+            future.completeExceptionally(e);
+            return;
+        }
+        recordLoad(value, start);
+        complete(inFlight, key, value, future);
+    }
+
+    private void loadAll(Map<K, CompletableFuture<V>> owned) {
+        long start = cache.ticker().read();
+        Map<K, V> loaded;
+        try {
+            loaded = loader.loadAll(Collections.unmodifiableSet(owned.keySet()));
+        } catch (Throwable e) {
+            cache.statsCounter().recordLoadFailure(cache.ticker().read() - start);
+            owned.forEach((key, future) -> {
+                inFlight.remove(key, future);
+                future.completeExceptionally(e);
+            });
+            return;
+        }
+        cache.statsCounter().recordLoadSuccess(cache.ticker().read() - start);
+        owned.forEach((key, future) -> complete(inFlight, key, loaded == null ? null : loaded.get(key), future));
+    }
+
+    private void reload(K key, CompletableFuture<V> future) {
+        long start = cache.ticker().read();
+        V value;
+        try {
+            value = loader.load(key);
+        } catch (Throwable e) {
+            cache.statsCounter().recordLoadFailure(cache.ticker().read() - start);
+            refreshing.remove(key, future);
+            future.completeExceptionally(e);
+            log.warn("refresh {} failed, keep the old value", key, e);
+            return;
+        }
+        recordLoad(value, start);
+        complete(refreshing, key, value, future);
+    }
+
+    private void recordLoad(V value, long start) {
+        long loadTime = cache.ticker().read() - start;
+        if (value == null) {
+            cache.statsCounter().recordLoadFailure(loadTime);
+        } else {
+            cache.statsCounter().recordLoadSuccess(loadTime);
+        }
+    }
+
+    /**
+     * future仍登记在pending中时才写入缓存，写入与移除在同一个compute中完成，
+     * 与{@link #discardPending(Object)}互斥；写入缓存之后再结束future
+     */
+    private void complete(ConcurrentHashMap<K, CompletableFuture<V>> pending, K key, V value, CompletableFuture<V> future) {
+        try {
+            pending.computeIfPresent(key, (k, f) -> {
+                if (f != future) {
+                    return f;
+                }
+                if (value != null) {
+                    cache.put(k, value);
+                }
+                return null;
+            });
+        } catch (Throwable e) {
+            pending.remove(key, future);
+            future.completeExceptionally(e);
+            throw e;
+        }
+        future.complete(value);
+    }
+
+    private static <V> V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package l.y.z.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-18 10:58 <br>
+ * <p>LRU：淘汰最久未被访问的结点</p>
+ */
+public class LruPolicy<K, V> implements EvictionPolicy<K, V> {
+
+    private final int maximum;
+    private final AccessOrderDeque<K, V> accessOrder = new AccessOrderDeque<>();
+
+    public LruPolicy(int maximum) {
+        if (maximum <= 0) {
+            throw new IllegalArgumentException("maximum must be positive: " + maximum);
+        }
+        this.maximum = maximum;
+    }
+
+    @Override
+    public int maximum() {
+        return maximum;
+    }
+
+    @Override
+    public int size() {
+        return accessOrder.size();
+    }
+
+    @Override
+    public void onAdd(Node<K, V> node) {
+        accessOrder.addLast(node);
+    }
+
+    @Override
+    public void onAccess(Node<K, V> node) {
+        accessOrder.moveToLast(node);
+    }
+
+    @Override
+    public void onRemove(Node<K, V> node) {
+        accessOrder.remove(node);
+    }
+
+    @Override
+    public Node<K, V> victim() {
+        return accessOrder.pollFirst();
+    }
+
+    @Override
+    public void forEach(Consumer<Node<K, V>> action) {
+        accessOrder.forEach(action);
+    }
+}
@@ -0,0 +1,91 @@
+package l.y.z.cache;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-18 09:15 <br>
+ * <p>缓存结点。value可被任意线程读写；其余供淘汰策略使用的字段只在持有淘汰锁时访问</p>
+ */
+public final class Node<K, V> {
+
+    private final K key;
+    private volatile V value;
+
+    /**
+     * 结点已从哈希表中删除，不能再加入访问顺序链表
+     */
+    private volatile boolean retired;
+
+    /**
+     * 写入后、访问后的过期时间，缓存内部的相对纳秒数，Long.MAX_VALUE表示不过期
+     */
+    private volatile long writeDeadline = Long.MAX_VALUE;
+    private volatile long accessDeadline = Long.MAX_VALUE;
+
+    /**
+     * 最后一次写入的时间，只在配置了过期或刷新时记录
+     */
+    private volatile long writeTime;
+
+    /**
+     * 结点当前在淘汰策略中
+     */
+    boolean inPolicy;
+
+    /**
+     * 淘汰策略内部使用：所在的队列及其前后结点
+     */
+    int queueType;
+    Node<K, V> prev;
+    Node<K, V> next;
+
+    /**
+     * 时间轮中所在桶的前后结点，不在时间轮中时为null
+     */
+    Node<K, V> prevInTimer;
+    Node<K, V> nextInTimer;
+
+    Node(K key, V value) {
+        this.key = key;
+        this.value = value;
+    }
+
+    public K getKey() {
+        return key;
+    }
+
+    public V getValue() {
+        return value;
+    }
+
+    void setValue(V value) {
+        this.value = value;
+    }
+
+    void setWriteDeadline(long writeDeadline) {
+        this.writeDeadline = writeDeadline;
+    }
+
+    void setAccessDeadline(long accessDeadline) {
+        this.accessDeadline = accessDeadline;
+    }
+
+    long getWriteTime() {
+        return writeTime;
+    }
+
+    void setWriteTime(long writeTime) {
+        this.writeTime = writeTime;
+    }
+
+    long expiresAt() {
+        return Math.min(writeDeadline, accessDeadline);
+    }
+
+    boolean isAlive() {
+        return !retired;
+    }
+
+    void retire() {
+        retired = true;
+    }
+}
@@ -0,0 +1,237 @@
+package l.y.z.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-18 15:52 <br>
+ * <p>
+ * 堆外的byte[]缓存，容量按字节计算。
+ * <p>
+ * key、value、哈希索引与LRU链表都保存在直接内存中，堆上只有固定数量的元数据，
+ * 缓存再大也不会增加GC的扫描与复制负担。get返回value的一份拷贝。
+ * <p>
+ * 数据按key的哈希分到多个{@link OffHeapSegment}，每段一把锁。
+ * 每段按slab class分配内存，LRU顺序在同一个class内维护，淘汰也在同一个class内进行。
+ * 索引按需扩容，占用的直接内存不计入容量。
+ * </p>
+ */
+public class OffHeapCache implements Cache<byte[], byte[]> {
+
+    private static final int MAX_PAGE_SIZE = 1 << 20;
+    private static final int MIN_CHUNK_SIZE = 64;
+    private static final double GROWTH_FACTOR = 1.25D;
+
+    private final OffHeapSegment[] segments;
+    private final int segmentShift;
+    private final int[] chunkSizes;
+    private final long capacityBytes;
+    private final StatsCounter statsCounter;
+
+    public OffHeapCache(long capacityBytes) {
+        this(capacityBytes, Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors())) << 1);
+    }
+
+    public OffHeapCache(long capacityBytes, int segmentCount) {
+        this(capacityBytes, segmentCount, false);
+    }
+
+    /**
+     * @param capacityBytes 数据区的总字节数
+     * @param segmentCount  段的数量，必须是2的幂
+     * @param recordStats   是否开启统计，见{@link #stats()}
+     */
+    public OffHeapCache(long capacityBytes, int segmentCount, boolean recordStats) {
+        if (segmentCount <= 0 || Integer.bitCount(segmentCount) != 1) {
+            throw new IllegalArgumentException("segmentCount must be a power of 2: " + segmentCount);
+        }
+        long perSegment = capacityBytes / segmentCount;
+        if (perSegment < MIN_CHUNK_SIZE || perSegment > Integer.MAX_VALUE >>> 1) {
+            throw new IllegalArgumentException("illegal capacityBytes " + capacityBytes + " for " + segmentCount + " segments");
+        }
+        int pageSize = (int) Math.min(MAX_PAGE_SIZE, perSegment);
+        int segmentCapacity = (int) (perSegment / pageSize * pageSize);
+
+        this.chunkSizes = chunkSizes(pageSize);
+        this.statsCounter = recordStats ? new ConcurrentStatsCounter() : StatsCounter.disabled();
+        this.segments = new OffHeapSegment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new OffHeapSegment(segmentCapacity, pageSize, chunkSizes, statsCounter);
+        }
+        this.segmentShift = 32 - Integer.numberOfTrailingZeros(segmentCount);
+        this.capacityBytes = (long) segmentCapacity * segmentCount;
+    }
+
+    /**
+     * 数据区的总字节数
+     */
+    public long capacityBytes() {
+        return capacityBytes;
+    }
+
+    /**
+     * 结点（头部 + key + value）占用的字节数之和
+     */
+    public long usedBytes() {
+        long used = 0;
+        for (OffHeapSegment segment : segments) {
+            segment.lock.lock();
+            try {
+                used += segment.usedBytes();
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+        return used;
+    }
+
+    /**
+     * 单个结点的最大字节数（key + value）
+     */
+    public int maxEntryBytes() {
+        return chunkSizes[chunkSizes.length - 1] - OffHeapSegment.HEADER;
+    }
+
+    @Override
+    public byte[] get(byte[] key) {
+        int hash = hash(key);
+        OffHeapSegment segment = segmentFor(hash);
+        byte[] value;
+        segment.lock.lock();
+        try {
+            value = segment.get(key, hash);
+        } finally {
+            segment.lock.unlock();
+        }
+        if (value == null) {
+            statsCounter.recordMisses(1);
+        } else {
+            statsCounter.recordHits(1);
+        }
+        return value;
+    }
+
+    @Override
+    public byte[] put(byte[] key, byte[] value) {
+        Objects.requireNonNull(key);
+        Objects.requireNonNull(value);
+        int size = OffHeapSegment.HEADER + key.length + value.length;
+        int cls = classFor(size);
+        if (cls < 0) {
+            throw new IllegalArgumentException("entry too large: " + (key.length + value.length) + " > " + maxEntryBytes());
+        }
+        int hash = hash(key);
+        OffHeapSegment segment = segmentFor(hash);
+        segment.lock.lock();
+        try {
+            return segment.put(key, value, hash, cls);
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    @Override
+    public byte[] remove(byte[] key) {
+        int hash = hash(key);
+        OffHeapSegment segment = segmentFor(hash);
+        segment.lock.lock();
+        try {
+            return segment.remove(key, hash);
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (OffHeapSegment segment : segments) {
+            segment.lock.lock();
+            try {
+                size += segment.count();
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        for (OffHeapSegment segment : segments) {
+            segment.lock.lock();
+            try {
+                segment.reset();
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * 统计数据的快照，weight为已用字节数
+     */
+    @Override
+    public CacheStats stats() {
+        return statsCounter.snapshot(usedBytes());
+    }
+
+    /**
+     * 淘汰在写入时同步完成，没有积压的维护工作
+     */
+    @Override
+    public void cleanUp() {
+    }
+
+    private OffHeapSegment segmentFor(int hash) {
+        return segments.length == 1 ? segments[0] : segments[(hash * 0x9E3779B9) >>> segmentShift];
+    }
+
+    private int classFor(int size) {
+        int low = 0;
+        int high = chunkSizes.length - 1;
+        if (size > chunkSizes[high]) {
+            return -1;
+        }
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (chunkSizes[mid] < size) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * 从64字节开始按1.25倍递增，8字节对齐，最后一个class是整页
+     */
+    private static int[] chunkSizes(int pageSize) {
+        List<Integer> sizes = new ArrayList<>();
+        int size = MIN_CHUNK_SIZE;
+        while (size < pageSize) {
+            sizes.add(size);
+            size = ((int) (size * GROWTH_FACTOR) + 7) & ~7;
+        }
+        sizes.add(pageSize);
+        int[] result = new int[sizes.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = sizes.get(i);
+        }
+        return result;
+    }
+
+    private static int hash(byte[] key) {
+        int h = 0x811c9dc5;
+        for (byte b : key) {
+            h = (h ^ b) * 0x01000193;
+        }
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        return h;
+    }
+}
@@ -0,0 +1,430 @@
+package l.y.z.cache;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-18 15:10 <br>
+ * <p>
+ * {@link OffHeapCache}的一个段，所有方法都在段锁内执行。
+ * <p>
+ * 数据区是一块直接内存，切分为大小相同的页。每页在第一次使用时分配给一个slab class，
+ * 按该class的chunk大小切分为chunk，一个chunk存放一个结点。每个class有自己的空闲链表和LRU链表。
+ * 需要的class既没有空闲chunk也没有空闲页时，淘汰该class最久未被访问的结点；
+ * 该class一个结点也没有时，从占页最多的class中腾出一页重新分配。
+ * <p>
+ * 结点布局（偏移量：内容）：
+ * <pre>
+ *  0: prev        LRU链表或空闲链表的前一个chunk
+ *  4: next        LRU链表或空闲链表的后一个chunk
+ *  8: hash
+ * 12: keyLength
+ * 16: valueLength
+ * 20: hashNext    哈希桶中的下一个结点
+ * 24: meta        slab class &lt;&lt; 1 | 是否在用
+ * 28: key bytes, value bytes
+ * </pre>
+ * 索引是另一块直接内存中的int数组，每个元素是哈希桶中第一个结点的偏移量。
+ * 堆上只保存每个class、每页的几个int，与结点数量无关。
+ * </p>
+ */
+final class OffHeapSegment {
+
+    static final int HEADER = 28;
+    private static final int PREV = 0;
+    private static final int NEXT = 4;
+    private static final int HASH = 8;
+    private static final int KEY_LENGTH = 12;
+    private static final int VALUE_LENGTH = 16;
+    private static final int HASH_NEXT = 20;
+    private static final int META = 24;
+    private static final int NIL = -1;
+
+    private static final int MIN_BUCKETS = 1 << 10;
+    private static final int MAX_BUCKETS = 1 << 28;
+
+    final ReentrantLock lock = new ReentrantLock();
+
+    private final ByteBuffer arena;
+    private final int pageSize;
+    private final int pageCount;
+    private final int[] chunkSizes;
+    private final StatsCounter statsCounter;
+
+    // 每页的class和已切分的字节数
+    private final int[] pageClass;
+    private final int[] pageCarved;
+    private int nextFreePage;
+
+    // 每个class的LRU链表、空闲链表、正在切分的页和占用的页数
+    private final int[] lruHead;
+    private final int[] lruTail;
+    private final int[] freeHead;
+    private final int[] carvePage;
+    private final int[] pagesOf;
+
+    private ByteBuffer index;
+    private int bucketMask;
+
+    private int count;
+    private long usedBytes;
+
+    OffHeapSegment(int capacity, int pageSize, int[] chunkSizes, StatsCounter statsCounter) {
+        this.pageSize = pageSize;
+        this.pageCount = capacity / pageSize;
+        this.chunkSizes = chunkSizes;
+        this.statsCounter = statsCounter;
+        this.arena = ByteBuffer.allocateDirect(pageCount * pageSize);
+        this.pageClass = new int[pageCount];
+        this.pageCarved = new int[pageCount];
+        this.lruHead = new int[chunkSizes.length];
+        this.lruTail = new int[chunkSizes.length];
+        this.freeHead = new int[chunkSizes.length];
+        this.carvePage = new int[chunkSizes.length];
+        this.pagesOf = new int[chunkSizes.length];
+        reset();
+    }
+
+    int count() {
+        return count;
+    }
+
+    long usedBytes() {
+        return usedBytes;
+    }
+
+    long capacity() {
+        return arena.capacity();
+    }
+
+    void reset() {
+        Arrays.fill(pageClass, NIL);
+        Arrays.fill(pageCarved, 0);
+        Arrays.fill(lruHead, NIL);
+        Arrays.fill(lruTail, NIL);
+        Arrays.fill(freeHead, NIL);
+        Arrays.fill(carvePage, NIL);
+        Arrays.fill(pagesOf, 0);
+        nextFreePage = 0;
+        count = 0;
+        usedBytes = 0;
+        index = newIndex(MIN_BUCKETS);
+        bucketMask = MIN_BUCKETS - 1;
+    }
+
+    byte[] get(byte[] key, int hash) {
+        int e = find(key, hash);
+        if (e == NIL) {
+            return null;
+        }
+        int cls = classOf(e);
+        lruUnlink(cls, e);
+        lruAddLast(cls, e);
+        return readValue(e);
+    }
+
+    /**
+     * 写入结点，返回旧值
+     */
+    byte[] put(byte[] key, byte[] value, int hash, int cls) {
+        byte[] old = null;
+        int e = find(key, hash);
+        if (e != NIL) {
+            old = readValue(e);
+            removeEntry(e);
+            statsCounter.recordRemoval(RemovalCause.REPLACED);
+        }
+
+        e = allocate(cls);
+        arena.putInt(e + HASH, hash);
+        arena.putInt(e + KEY_LENGTH, key.length);
+        arena.putInt(e + VALUE_LENGTH, value.length);
+        arena.putInt(e + META, cls << 1 | 1);
+        arena.position(e + HEADER);
+        arena.put(key);
+        arena.put(value);
+
+        int bucket = hash & bucketMask;
+        arena.putInt(e + HASH_NEXT, index.getInt(bucket << 2));
+        index.putInt(bucket << 2, e);
+        lruAddLast(cls, e);
+        count++;
+        usedBytes += HEADER + key.length + value.length;
+
+        if (count > (bucketMask + 1) - ((bucketMask + 1) >>> 2) && bucketMask + 1 < MAX_BUCKETS) {
+            resize();
+        }
+        return old;
+    }
+
+    byte[] remove(byte[] key, int hash) {
+        int e = find(key, hash);
+        if (e == NIL) {
+            return null;
+        }
+        byte[] old = readValue(e);
+        removeEntry(e);
+        statsCounter.recordRemoval(RemovalCause.EXPLICIT);
+        return old;
+    }
+
+    private int find(byte[] key, int hash) {
+        for (int e = index.getInt((hash & bucketMask) << 2); e != NIL; e = arena.getInt(e + HASH_NEXT)) {
+            if (arena.getInt(e + HASH) == hash && keyEquals(e, key)) {
+                return e;
+            }
+        }
+        return NIL;
+    }
+
+    private boolean keyEquals(int e, byte[] key) {
+        if (arena.getInt(e + KEY_LENGTH) != key.length) {
+            return false;
+        }
+        int base = e + HEADER;
+        int i = 0;
+        for (; i + 8 <= key.length; i += 8) {
+            if (arena.getLong(base + i) != longAt(key, i)) {
+                return false;
+            }
+        }
+        for (; i < key.length; i++) {
+            if (arena.get(base + i) != key[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 按ByteBuffer的默认字节序（大端）从数组中读取一个long
+     */
+    private static long longAt(byte[] b, int i) {
+        return ((long) b[i] << 56)
+                | ((long) (b[i + 1] & 0xff) << 48)
+                | ((long) (b[i + 2] & 0xff) << 40)
+                | ((long) (b[i + 3] & 0xff) << 32)
+                | ((long) (b[i + 4] & 0xff) << 24)
+                | ((long) (b[i + 5] & 0xff) << 16)
+                | ((long) (b[i + 6] & 0xff) << 8)
+                | ((long) (b[i + 7] & 0xff));
+    }
+
+    private byte[] readValue(int e) {
+        byte[] value = new byte[arena.getInt(e + VALUE_LENGTH)];
+        arena.position(e + HEADER + arena.getInt(e + KEY_LENGTH));
+        arena.get(value);
+        return value;
+    }
+
+    private int classOf(int e) {
+        return arena.getInt(e + META) >>> 1;
+    }
+
+    private boolean inUse(int e) {
+        return (arena.getInt(e + META) & 1) != 0;
+    }
+
+    private void removeEntry(int e) {
+        int cls = classOf(e);
+        indexUnlink(e);
+        lruUnlink(cls, e);
+        count--;
+        usedBytes -= HEADER + arena.getInt(e + KEY_LENGTH) + arena.getInt(e + VALUE_LENGTH);
+        arena.putInt(e + META, cls << 1);
+        freePush(cls, e);
+    }
+
+    // 分配
+
+    private int allocate(int cls) {
+        // 1. 空闲链表
+        int e = freePop(cls);
+        if (e != NIL) {
+            return e;
+        }
+        // 2. 正在切分的页
+        e = carve(cls);
+        if (e != NIL) {
+            return e;
+        }
+        // 3. 空闲页
+        if (nextFreePage < pageCount) {
+            assignPage(nextFreePage++, cls);
+            return carve(cls);
+        }
+        // 4. 淘汰本class最久未被访问的结点
+        if (lruHead[cls] != NIL) {
+            removeEntry(lruHead[cls]);
+            statsCounter.recordRemoval(RemovalCause.SIZE);
+            return freePop(cls);
+        }
+        // 5. 从占页最多的class腾出一页
+        int victimClass = 0;
+        for (int i = 1; i < pagesOf.length; i++) {
+            if (pagesOf[i] > pagesOf[victimClass]) {
+                victimClass = i;
+            }
+        }
+        int page = pageToRelease(victimClass);
+        evacuate(page);
+        assignPage(page, cls);
+        return carve(cls);
+    }
+
+    private int carve(int cls) {
+        int page = carvePage[cls];
+        if (page == NIL) {
+            return NIL;
+        }
+        int chunkSize = chunkSizes[cls];
+        int carved = pageCarved[page];
+        if (carved + chunkSize > pageSize) {
+            carvePage[cls] = NIL;
+            return NIL;
+        }
+        pageCarved[page] = carved + chunkSize;
+        return page * pageSize + carved;
+    }
+
+    private void assignPage(int page, int cls) {
+        pageClass[page] = cls;
+        pageCarved[page] = 0;
+        carvePage[cls] = page;
+        pagesOf[cls]++;
+    }
+
+    /**
+     * 优先选择最冷结点所在的页
+     */
+    private int pageToRelease(int cls) {
+        if (lruHead[cls] != NIL) {
+            return lruHead[cls] / pageSize;
+        }
+        if (freeHead[cls] != NIL) {
+            return freeHead[cls] / pageSize;
+        }
+        return carvePage[cls];
+    }
+
+    private void evacuate(int page) {
+        int cls = pageClass[page];
+        int chunkSize = chunkSizes[cls];
+        int start = page * pageSize;
+        int end = start + pageCarved[page];
+        for (int e = start; e < end; e += chunkSize) {
+            if (inUse(e)) {
+                removeEntry(e);
+                statsCounter.recordRemoval(RemovalCause.SIZE);
+            }
+            freeUnlink(cls, e);
+        }
+        if (carvePage[cls] == page) {
+            carvePage[cls] = NIL;
+        }
+        pagesOf[cls]--;
+    }
+
+    // LRU链表与空闲链表
+
+    private void lruAddLast(int cls, int e) {
+        int tail = lruTail[cls];
+        arena.putInt(e + PREV, tail);
+        arena.putInt(e + NEXT, NIL);
+        if (tail == NIL) {
+            lruHead[cls] = e;
+        } else {
+            arena.putInt(tail + NEXT, e);
+        }
+        lruTail[cls] = e;
+    }
+
+    private void lruUnlink(int cls, int e) {
+        unlink(e, lruHead, lruTail, cls);
+    }
+
+    private void freePush(int cls, int e) {
+        int head = freeHead[cls];
+        arena.putInt(e + PREV, NIL);
+        arena.putInt(e + NEXT, head);
+        if (head != NIL) {
+            arena.putInt(head + PREV, e);
+        }
+        freeHead[cls] = e;
+    }
+
+    private int freePop(int cls) {
+        int e = freeHead[cls];
+        if (e != NIL) {
+            freeUnlink(cls, e);
+        }
+        return e;
+    }
+
+    private void freeUnlink(int cls, int e) {
+        unlink(e, freeHead, null, cls);
+    }
+
+    private void unlink(int e, int[] heads, int[] tails, int cls) {
+        int prev = arena.getInt(e + PREV);
+        int next = arena.getInt(e + NEXT);
+        if (prev == NIL) {
+            heads[cls] = next;
+        } else {
+            arena.putInt(prev + NEXT, next);
+        }
+        if (next != NIL) {
+            arena.putInt(next + PREV, prev);
+        } else if (tails != null) {
+            tails[cls] = prev;
+        }
+    }
+
+    // 索引
+
+    private void indexUnlink(int e) {
+        int slot = (arena.getInt(e + HASH) & bucketMask) << 2;
+        int next = arena.getInt(e + HASH_NEXT);
+        int cur = index.getInt(slot);
+        if (cur == e) {
+            index.putInt(slot, next);
+            return;
+        }
+        while (cur != NIL) {
+            int n = arena.getInt(cur + HASH_NEXT);
+            if (n == e) {
+                arena.putInt(cur + HASH_NEXT, next);
+                return;
+            }
+            cur = n;
+        }
+    }
+
+    private void resize() {
+        int buckets = (bucketMask + 1) << 1;
+        ByteBuffer newIndex = newIndex(buckets);
+        int newMask = buckets - 1;
+        for (int slot = 0; slot <= bucketMask; slot++) {
+            int e = index.getInt(slot << 2);
+            while (e != NIL) {
+                int next = arena.getInt(e + HASH_NEXT);
+                int bucket = arena.getInt(e + HASH) & newMask;
+                arena.putInt(e + HASH_NEXT, newIndex.getInt(bucket << 2));
+                newIndex.putInt(bucket << 2, e);
+                e = next;
+            }
+        }
+        index = newIndex;
+        bucketMask = newMask;
+    }
+
+    private static ByteBuffer newIndex(int buckets) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(buckets << 2);
+        for (int i = 0; i < buckets; i++) {
+            buffer.putInt(i << 2, NIL);
+        }
+        return buffer;
+    }
+}
@@ -0,0 +1,99 @@
+package l.y.z.cache;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-18 09:31 <br>
+ * <p>
+ * 分段的有损环形缓冲区，用于记录读操作。
+ * 读线程按线程id散列到不同的段，只做一次CAS，不加锁；段满或CAS失败时直接丢弃本次记录（LRU顺序只是近似）。
+ * 消费者只有一个，即持有淘汰锁的线程。
+ * </p>
+ */
+final class ReadBuffer<E> {
+
+    static final int SUCCESS = 0;
+    static final int FAILED = 1;
+    static final int FULL = 2;
+
+    /**
+     * 每个段的容量，必须是2的幂
+     */
+    static final int STRIPE_SIZE = 16;
+    private static final int STRIPE_MASK = STRIPE_SIZE - 1;
+
+    private final Stripe<E>[] stripes;
+    private final int mask;
+
+    @SuppressWarnings("unchecked")
+    ReadBuffer() {
+        int n = tableSizeFor(Runtime.getRuntime().availableProcessors() << 2);
+        stripes = new Stripe[n];
+        for (int i = 0; i < n; i++) {
+            stripes[i] = new Stripe<>();
+        }
+        mask = n - 1;
+    }
+
+    int offer(E e) {
+        return stripes[probe() & mask].offer(e);
+    }
+
+    /**
+     * 只能由持有淘汰锁的线程调用
+     */
+    void drainTo(Consumer<E> consumer) {
+        for (Stripe<E> stripe : stripes) {
+            stripe.drainTo(consumer);
+        }
+    }
+
+    private static int probe() {
+        long id = Thread.currentThread().getId();
+        int h = (int) (id ^ (id >>> 32)) * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static int tableSizeFor(int c) {
+        int n = Integer.highestOneBit(Math.max(c, 1));
+        return n == c ? n : n << 1;
+    }
+
+    private static final class Stripe<E> {
+        private final AtomicLong writeCounter = new AtomicLong();
+        private volatile long readCounter;
+        private final AtomicReferenceArray<E> buffer = new AtomicReferenceArray<>(STRIPE_SIZE);
+
+        int offer(E e) {
+            long head = readCounter;
+            long tail = writeCounter.get();
+            if (tail - head >= STRIPE_SIZE) {
+                return FULL;
+            }
+            if (writeCounter.compareAndSet(tail, tail + 1)) {
+                buffer.lazySet((int) (tail & STRIPE_MASK), e);
+                return SUCCESS;
+            }
+            return FAILED;
+        }
+
+        void drainTo(Consumer<E> consumer) {
+            long head = readCounter;
+            long tail = writeCounter.get();
+            for (; head < tail; head++) {
+                int index = (int) (head & STRIPE_MASK);
+                E e = buffer.get(index);
+                if (e == null) {
+                    // 写线程已占位但还未写入，下次再处理
+                    break;
+                }
+                buffer.lazySet(index, null);
+                consumer.accept(e);
+            }
+            readCounter = head;
+        }
+    }
+}
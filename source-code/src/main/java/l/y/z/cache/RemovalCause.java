@@ -0,0 +1,25 @@
+package l.y.z.cache;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-18 17:02 <br>
+ * <p>结点被删除的原因</p>
+ */
+public enum RemovalCause {
+    /**
+     * 调用remove删除
+     */
+    EXPLICIT,
+    /**
+     * 被put覆盖
+     */
+    REPLACED,
+    /**
+     * 超出容量被淘汰
+     */
+    SIZE,
+    /**
+     * 过期
+     */
+    EXPIRED
+}
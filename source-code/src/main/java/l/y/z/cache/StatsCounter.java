@@ -0,0 +1,31 @@
+package l.y.z.cache;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-18 17:05 <br>
+ * <p>缓存统计的计数器，实现类必须是线程安全的</p>
+ */
+public interface StatsCounter {
+
+    void recordHits(int count);
+
+    void recordMisses(int count);
+
+    void recordLoadSuccess(long loadTimeNanos);
+
+    void recordLoadFailure(long loadTimeNanos);
+
+    void recordRemoval(RemovalCause cause);
+
+    /**
+     * 当前计数的快照，weight由缓存填入
+     */
+    CacheStats snapshot(long weight);
+
+    /**
+     * 不统计，所有方法都是空操作
+     */
+    static StatsCounter disabled() {
+        return DisabledStatsCounter.INSTANCE;
+    }
+}
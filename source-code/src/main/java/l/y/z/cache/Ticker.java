@@ -0,0 +1,14 @@
+package l.y.z.cache;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-18 13:05 <br>
+ * <p>时间源，单位纳秒，只用于计算时间间隔。测试中可以替换为手动推进的实现</p>
+ */
+@FunctionalInterface
+public interface Ticker {
+
+    Ticker SYSTEM = System::nanoTime;
+
+    long read();
+}
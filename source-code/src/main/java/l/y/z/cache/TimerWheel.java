@@ -0,0 +1,154 @@
+package l.y.z.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-18 13:20 <br>
+ * <p>
+ * 分层时间轮，用于调度结点的过期，非线程安全，由淘汰锁保护。
+ * <p>
+ * 共5层，每层的桶跨度分别约为1.07秒、1.14分钟、1.22小时、0.81天、3.26天，
+ * 结点按到期时间与当前时间的差值放入能容纳它的最低一层的桶中，调度、取消都是O(1)的链表操作。
+ * 时间推进时只处理经过的桶：已到期的结点交给回调，未到期的结点（高层桶中的或被访问后延期的）重新调度到更低的层。
+ * <p>
+ * 时间均为缓存内部的相对纳秒数，从0开始递增。
+ * </p>
+ */
+final class TimerWheel<K, V> {
+
+    private static final int[] BUCKETS = {64, 64, 32, 4, 1};
+    private static final long[] SPANS = {
+            1L << 30, // 1.07s
+            1L << 36, // 1.14m
+            1L << 42, // 1.22h
+            1L << 46, // 0.81d
+            1L << 48, // 3.26d
+            1L << 48,
+    };
+    private static final long[] SHIFT = {
+            Long.numberOfTrailingZeros(SPANS[0]),
+            Long.numberOfTrailingZeros(SPANS[1]),
+            Long.numberOfTrailingZeros(SPANS[2]),
+            Long.numberOfTrailingZeros(SPANS[3]),
+            Long.numberOfTrailingZeros(SPANS[4]),
+    };
+
+    /**
+     * 每个桶是一个以哨兵结点为头的双向循环链表
+     */
+    private final Node<K, V>[][] wheel;
+
+    /**
+     * 上次推进到的时间
+     */
+    private long nanos;
+
+    @SuppressWarnings("unchecked")
+    TimerWheel(long nanos) {
+        this.nanos = nanos;
+        wheel = new Node[BUCKETS.length][];
+        for (int i = 0; i < BUCKETS.length; i++) {
+            wheel[i] = new Node[BUCKETS[i]];
+            for (int j = 0; j < BUCKETS[i]; j++) {
+                Node<K, V> sentinel = new Node<>(null, null);
+                sentinel.prevInTimer = sentinel;
+                sentinel.nextInTimer = sentinel;
+                wheel[i][j] = sentinel;
+            }
+        }
+    }
+
+    /**
+     * 按结点的到期时间调度
+     */
+    void schedule(Node<K, V> node) {
+        link(findBucket(node.expiresAt()), node);
+    }
+
+    /**
+     * 结点的到期时间被修改后重新调度
+     */
+    void reschedule(Node<K, V> node) {
+        if (node.nextInTimer != null) {
+            unlink(node);
+        }
+        schedule(node);
+    }
+
+    void deschedule(Node<K, V> node) {
+        if (node.nextInTimer != null) {
+            unlink(node);
+        }
+    }
+
+    /**
+     * 推进到currentTimeNanos，已到期的结点从时间轮中移除后交给onExpired
+     */
+    void advance(long currentTimeNanos, Consumer<Node<K, V>> onExpired) {
+        long previousTimeNanos = nanos;
+        nanos = currentTimeNanos;
+        for (int i = 0; i < SHIFT.length; i++) {
+            long previousTicks = previousTimeNanos >>> SHIFT[i];
+            long currentTicks = currentTimeNanos >>> SHIFT[i];
+            long delta = currentTicks - previousTicks;
+            if (delta <= 0) {
+                break;
+            }
+            expire(i, previousTicks, delta, onExpired);
+        }
+    }
+
+    private void expire(int index, long previousTicks, long delta, Consumer<Node<K, V>> onExpired) {
+        Node<K, V>[] buckets = wheel[index];
+        int mask = buckets.length - 1;
+        int steps = (int) Math.min(delta + 1, buckets.length);
+        int start = (int) (previousTicks & mask);
+        int end = start + steps;
+        for (int i = start; i < end; i++) {
+            Node<K, V> sentinel = buckets[i & mask];
+            Node<K, V> node = sentinel.nextInTimer;
+            sentinel.prevInTimer = sentinel;
+            sentinel.nextInTimer = sentinel;
+
+            while (node != sentinel) {
+                Node<K, V> next = node.nextInTimer;
+                node.prevInTimer = null;
+                node.nextInTimer = null;
+                if (node.expiresAt() <= nanos) {
+                    onExpired.accept(node);
+                } else {
+                    schedule(node);
+                }
+                node = next;
+            }
+        }
+    }
+
+    private Node<K, V> findBucket(long time) {
+        long duration = time - nanos;
+        int length = wheel.length - 1;
+        for (int i = 0; i < length; i++) {
+            if (duration < SPANS[i + 1]) {
+                long ticks = time >>> SHIFT[i];
+                int index = (int) (ticks & (wheel[i].length - 1));
+                return wheel[i][index];
+            }
+        }
+        return wheel[length][0];
+    }
+
+    private static <K, V> void link(Node<K, V> sentinel, Node<K, V> node) {
+        node.prevInTimer = sentinel.prevInTimer;
+        node.nextInTimer = sentinel;
+        sentinel.prevInTimer.nextInTimer = node;
+        sentinel.prevInTimer = node;
+    }
+
+    private static <K, V> void unlink(Node<K, V> node) {
+        node.prevInTimer.nextInTimer = node.nextInTimer;
+        node.nextInTimer.prevInTimer = node.prevInTimer;
+        node.prevInTimer = null;
+        node.nextInTimer = null;
+    }
+}
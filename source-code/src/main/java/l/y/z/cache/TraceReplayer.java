@@ -0,0 +1,147 @@
+package l.y.z.cache;
+
+import l.y.z.LruCache;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-18 12:05 <br>
+ * <p>
+ * 在记录下来的key序列上重放缓存访问，比较不同淘汰策略的命中率。
+ * 对每个key先get，未命中则put，与缓存前置于数据库的用法相同。
+ * <p>
+ * 用法：TraceReplayer maxKeyCount trace-file...，trace文件每行一个key，空行忽略。
+ * </p>
+ */
+@Slf4j
+public class TraceReplayer {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("usage: TraceReplayer maxKeyCount trace-file...");
+            return;
+        }
+        int maxKeyCount = Integer.parseInt(args[0]);
+        for (int i = 1; i < args.length; i++) {
+            Path path = Paths.get(args[i]);
+            List<String> trace = read(path);
+            for (Result result : compare(maxKeyCount, trace).values()) {
+                log.info("{}: {}", path.getFileName(), result);
+            }
+        }
+    }
+
+    /**
+     * 依次用LruCache、ConcurrentLruCache(LRU)、ConcurrentLruCache(W-TinyLFU)重放同一个key序列
+     */
+    public static <K> Map<String, Result> compare(int maxKeyCount, Iterable<K> trace) {
+        Map<String, Supplier<Cache<K, K>>> caches = new LinkedHashMap<>();
+        caches.put("LruCache", () -> new MapCache<>(new LruCache<>(maxKeyCount)));
+        caches.put("ConcurrentLruCache(LRU)", () -> new ConcurrentLruCache<>(new LruPolicy<>(maxKeyCount)));
+        caches.put("ConcurrentLruCache(W-TinyLFU)", () -> new ConcurrentLruCache<>(new WindowTinyLfuPolicy<>(maxKeyCount)));
+
+        Map<String, Result> results = new LinkedHashMap<>();
+        caches.forEach((name, supplier) -> results.put(name, replay(name, supplier.get(), trace)));
+        return results;
+    }
+
+    public static <K> Result replay(String name, Cache<K, K> cache, Iterable<K> trace) {
+        long requests = 0;
+        long hits = 0;
+        for (K key : trace) {
+            requests++;
+            if (cache.get(key) != null) {
+                hits++;
+            } else {
+                cache.put(key, key);
+            }
+        }
+        return new Result(name, requests, hits);
+    }
+
+    private static List<String> read(Path path) throws IOException {
+        List<String> trace = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while (null != (line = reader.readLine())) {
+                line = line.trim();
+                if (!line.isEmpty()) {
+                    trace.add(line);
+                }
+            }
+        }
+        return trace;
+    }
+
+    @Getter
+    @AllArgsConstructor(access = AccessLevel.PACKAGE)
+    public static final class Result {
+        private final String name;
+        private final long requests;
+        private final long hits;
+
+        public double hitRatio() {
+            return requests == 0 ? 0D : (double) hits / requests;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s requests=%d hits=%d hitRatio=%.2f%%", name, requests, hits, hitRatio() * 100);
+        }
+    }
+
+    /**
+     * 把非线程安全的LruCache适配成Cache，只用于单线程重放
+     */
+    private static final class MapCache<K, V> implements Cache<K, V> {
+        private final Map<K, V> map;
+
+        MapCache(Map<K, V> map) {
+            this.map = map;
+        }
+
+        @Override
+        public V get(K key) {
+            return map.get(key);
+        }
+
+        @Override
+        public V put(K key, V value) {
+            return map.put(key, value);
+        }
+
+        @Override
+        public V remove(K key) {
+            return map.remove(key);
+        }
+
+        @Override
+        public int size() {
+            return map.size();
+        }
+
+        @Override
+        public void clear() {
+            map.clear();
+        }
+
+        @Override
+        public void cleanUp() {
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package l.y.z.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-18 11:35 <br>
+ * <p>
+ * W-TinyLFU：新结点先进入占容量1%的窗口区（LRU），从窗口区溢出的结点作为候选者，
+ * 与主区中最先被淘汰的结点比较{@link FrequencySketch}估算出的访问频率，频率低的一方被淘汰。
+ * <p>
+ * 主区是分段LRU：试用区（20%）与保护区（80%）。试用区中的结点再次被访问则晋升到保护区，
+ * 保护区满时最久未被访问的结点降级回试用区。
+ * <p>
+ * 一次性扫描产生的大量新key频率很低，进不了主区，因此不会冲掉热点数据。
+ * </p>
+ */
+public class WindowTinyLfuPolicy<K, V> implements EvictionPolicy<K, V> {
+
+    private static final int WINDOW = 0;
+    private static final int PROBATION = 1;
+    private static final int PROTECTED = 2;
+
+    private final int maximum;
+    private final int maxWindow;
+    private final int maxProtected;
+
+    private final AccessOrderDeque<K, V> window = new AccessOrderDeque<>();
+    private final AccessOrderDeque<K, V> probation = new AccessOrderDeque<>();
+    private final AccessOrderDeque<K, V> protectedQueue = new AccessOrderDeque<>();
+    private final FrequencySketch sketch;
+
+    /**
+     * 最近一次从窗口区溢出、尚未与主区比较过的结点
+     */
+    private Node<K, V> candidate;
+
+    public WindowTinyLfuPolicy(int maximum) {
+        this(maximum, 0.01D);
+    }
+
+    /**
+     * @param windowPercent 窗口区占总容量的比例，取值(0, 1)
+     */
+    public WindowTinyLfuPolicy(int maximum, double windowPercent) {
+        if (maximum <= 0) {
+            throw new IllegalArgumentException("maximum must be positive: " + maximum);
+        }
+        if (windowPercent <= 0 || windowPercent >= 1) {
+            throw new IllegalArgumentException("windowPercent must be in (0, 1): " + windowPercent);
+        }
+        this.maximum = maximum;
+        this.maxWindow = Math.max(1, (int) (maximum * windowPercent));
+        this.maxProtected = (int) ((maximum - maxWindow) * 0.8D);
+        this.sketch = new FrequencySketch(maximum);
+    }
+
+    @Override
+    public int maximum() {
+        return maximum;
+    }
+
+    @Override
+    public int size() {
+        return window.size() + probation.size() + protectedQueue.size();
+    }
+
+    @Override
+    public void onAdd(Node<K, V> node) {
+        sketch.increment(node.getKey());
+        node.queueType = WINDOW;
+        window.addLast(node);
+        while (window.size() > maxWindow) {
+            Node<K, V> overflow = window.pollFirst();
+            overflow.queueType = PROBATION;
+            probation.addLast(overflow);
+            candidate = overflow;
+        }
+    }
+
+    @Override
+    public void onAccess(Node<K, V> node) {
+        sketch.increment(node.getKey());
+        switch (node.queueType) {
+            case WINDOW:
+                window.moveToLast(node);
+                break;
+            case PROBATION:
+                probation.remove(node);
+                node.queueType = PROTECTED;
+                protectedQueue.addLast(node);
+                if (candidate == node) {
+                    candidate = null;
+                }
+                while (protectedQueue.size() > maxProtected) {
+                    Node<K, V> demoted = protectedQueue.pollFirst();
+                    demoted.queueType = PROBATION;
+                    probation.addLast(demoted);
+                }
+                break;
+            default:
+                protectedQueue.moveToLast(node);
+                break;
+        }
+    }
+
+    @Override
+    public void onRemove(Node<K, V> node) {
+        queueOf(node).remove(node);
+        if (candidate == node) {
+            candidate = null;
+        }
+    }
+
+    @Override
+    public Node<K, V> victim() {
+        Node<K, V> victim = probation.peekFirst();
+        if (victim == null) {
+            victim = protectedQueue.peekFirst();
+        }
+        if (victim == null) {
+            victim = window.peekFirst();
+        }
+
+        Node<K, V> evict = victim;
+        if (candidate != null && candidate != victim
+                && sketch.frequency(candidate.getKey()) <= sketch.frequency(victim.getKey())) {
+            // 候选者的访问频率不高于受害者，淘汰候选者
+            evict = candidate;
+        }
+        candidate = null;
+        queueOf(evict).remove(evict);
+        return evict;
+    }
+
+    @Override
+    public void forEach(Consumer<Node<K, V>> action) {
+        probation.forEach(action);
+        window.forEach(action);
+        protectedQueue.forEach(action);
+    }
+
+    private AccessOrderDeque<K, V> queueOf(Node<K, V> node) {
+        switch (node.queueType) {
+            case WINDOW:
+                return window;
+            case PROBATION:
+                return probation;
+            default:
+                return protectedQueue;
+        }
+    }
+}
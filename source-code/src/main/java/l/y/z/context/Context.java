@@ -0,0 +1,155 @@
+package l.y.z.context;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-20 13:15 <br>
+ * <p>
+ * 不可变的上下文：按{@link ContextKey}的下标存放值的数组。
+ * <p>
+ * 与每个值一个ThreadLocal相比：
+ * <ul>
+ *     <li>取值是数组下标访问；当前上下文保存在{@link ContextThread}的字段里，其它线程也只有一个ThreadLocal，
+ *     不论有多少个key，每个线程的ThreadLocalMap中最多一个entry</li>
+ *     <li>值只在{@link #attach()}到{@link Scope#close()}之间有效，close恢复之前的上下文，
+ *     回到根上下文时ThreadLocal直接remove，线程池中的线程执行下一个任务时不会读到上一个任务留下的值</li>
+ *     <li>上下文不可变，{@link #with(ContextKey, Object)}返回新的上下文，
+ *     提交任务时捕获的上下文可以安全地在另一个线程中attach，见{@link #wrap(Runnable)}与{@link ContextExecutorService}</li>
+ * </ul>
+ * 上下文属于执行任务的线程。虚拟线程可能在不同的载体线程上挂起、恢复，因此上下文不能放在载体线程上，
+ * 虚拟线程走ThreadLocal兜底，JDK保证虚拟线程的ThreadLocal属于虚拟线程本身。
+ * </p>
+ */
+@Slf4j
+public final class Context {
+
+    public static final Context ROOT = new Context(new Object[0]);
+
+    /**
+     * 非{@link ContextThread}的线程保存当前上下文的位置
+     */
+    private static final ThreadLocal<Context> FALLBACK = new ThreadLocal<>();
+
+    private final Object[] values;
+
+    private Context(Object[] values) {
+        this.values = values;
+    }
+
+    /**
+     * 当前线程的上下文，没有attach过时返回{@link #ROOT}
+     */
+    public static Context current() {
+        Thread thread = Thread.currentThread();
+        Context context = thread instanceof ContextThread ? ((ContextThread) thread).context : FALLBACK.get();
+        return context == null ? ROOT : context;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(ContextKey<T> key) {
+        int index = key.index;
+        return index < values.length ? (T) values[index] : null;
+    }
+
+    /**
+     * 返回一个新的上下文，key绑定为value，value为null时等于解除绑定；本上下文不变
+     */
+    public <T> Context with(ContextKey<T> key, T value) {
+        int index = key.index;
+        if (index < values.length && values[index] == value) {
+            return this;
+        }
+        if (index >= values.length && value == null) {
+            return this;
+        }
+        // 一次扩到已分配的key数，之后绑定其它key不需要再扩容
+        Object[] copy = Arrays.copyOf(values, Math.max(values.length, Math.max(index + 1, ContextKey.allocated())));
+        copy[index] = value;
+        return new Context(copy);
+    }
+
+    /**
+     * 把本上下文设为当前线程的上下文，直到返回的{@link Scope}关闭
+     */
+    public Scope attach() {
+        Context previous = swap(this);
+        Thread owner = Thread.currentThread();
+        return new Scope() {
+            private boolean closed;
+
+            @Override
+            public void close() {
+                // 先检查线程：其它线程的close不能把scope标记为已关闭，否则owner之后的close什么也不做，上下文泄漏
+                if (Thread.currentThread() != owner) {
+                    throw new IllegalStateException("scope must be closed by the thread that attached it");
+                }
+                if (closed) {
+                    return;
+                }
+                Context current = swap(previous);
+                closed = true;
+                if (current != Context.this) {
+                    // 内层的Scope没有关闭，仍然恢复到外层，避免泄漏到下一个任务
+                    log.warn("scopes closed out of order, current context was not the attached one");
+                }
+            }
+        };
+    }
+
+    /**
+     * 以本上下文执行task，执行完恢复之前的上下文
+     */
+    public void run(Runnable task) {
+        try (Scope ignored = attach()) {
+            task.run();
+        }
+    }
+
+    public <V> V call(Callable<V> task) throws Exception {
+        try (Scope ignored = attach()) {
+            return task.call();
+        }
+    }
+
+    /**
+     * 捕获当前线程的上下文，返回的task在任意线程执行时都使用捕获的上下文
+     */
+    public static Runnable wrap(Runnable task) {
+        Context context = current();
+        return () -> context.run(task);
+    }
+
+    public static <V> Callable<V> wrap(Callable<V> task) {
+        Context context = current();
+        return () -> context.call(task);
+    }
+
+    /**
+     * 设置当前线程的上下文，返回之前的上下文
+     */
+    private static Context swap(Context context) {
+        Thread thread = Thread.currentThread();
+        if (thread instanceof ContextThread) {
+            ContextThread contextThread = (ContextThread) thread;
+            Context previous = contextThread.context;
+            contextThread.context = context == ROOT ? null : context;
+            return previous == null ? ROOT : previous;
+        }
+        Context previous = FALLBACK.get();
+        if (context == ROOT) {
+            FALLBACK.remove();
+        } else {
+            FALLBACK.set(context);
+        }
+        return previous == null ? ROOT : previous;
+    }
+
+    @Override
+    public String toString() {
+        return "Context" + Arrays.toString(values);
+    }
+}
@@ -0,0 +1,57 @@
+package l.y.z.context;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-20 13:30 <br>
+ * <p>
+ * 传播{@link Context}的线程池：提交任务时捕获提交线程的上下文，执行任务时attach，执行完恢复工作线程原来的上下文。
+ * <p>
+ * submit、invokeAll、invokeAny都经过{@link #execute(Runnable)}，在提交线程中捕获上下文。
+ * 被包装的线程池用{@link ContextThreadFactory}创建线程时，工作线程读写上下文不经过ThreadLocal；
+ * 包装JDK 21的Executors.newVirtualThreadPerTaskExecutor()时，每个任务在自己的虚拟线程上attach，同样有效。
+ * </p>
+ */
+public class ContextExecutorService extends AbstractExecutorService {
+
+    private final ExecutorService delegate;
+
+    public ContextExecutorService(ExecutorService delegate) {
+        this.delegate = Objects.requireNonNull(delegate);
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        delegate.execute(Context.wrap(command));
+    }
+
+    @Override
+    public void shutdown() {
+        delegate.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        return delegate.shutdownNow();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return delegate.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return delegate.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return delegate.awaitTermination(timeout, unit);
+    }
+}
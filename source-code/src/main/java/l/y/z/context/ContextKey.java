@@ -0,0 +1,58 @@
+package l.y.z.context;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-20 13:00 <br>
+ * <p>
+ * {@link Context}中一个值的key，创建时分配一个全局唯一的下标，取值就是一次数组下标访问，不需要哈希。
+ * <p>
+ * 下标不回收，key应当像ThreadLocal一样定义为static final常量，不要按请求创建。
+ * </p>
+ */
+public final class ContextKey<T> {
+
+    private static final AtomicInteger NEXT_INDEX = new AtomicInteger();
+
+    private final String name;
+    final int index;
+
+    private ContextKey(String name) {
+        this.name = Objects.requireNonNull(name);
+        this.index = NEXT_INDEX.getAndIncrement();
+    }
+
+    public static <T> ContextKey<T> named(String name) {
+        return new ContextKey<>(name);
+    }
+
+    /**
+     * 当前线程上下文中的值，没有绑定时返回null
+     */
+    public T get() {
+        return Context.current().get(this);
+    }
+
+    public T getOrDefault(T defaultValue) {
+        T value = get();
+        return value == null ? defaultValue : value;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 已分配的下标数，即上下文数组的最大长度
+     */
+    static int allocated() {
+        return NEXT_INDEX.get();
+    }
+
+    @Override
+    public String toString() {
+        return name + "#" + index;
+    }
+}
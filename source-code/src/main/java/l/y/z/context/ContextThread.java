@@ -0,0 +1,25 @@
+package l.y.z.context;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-20 13:10 <br>
+ * <p>
+ * 在字段中直接保存当前{@link Context}的线程，读写上下文不经过ThreadLocalMap。
+ * 由{@link ContextThreadFactory}创建，其它线程（包括JDK 21的虚拟线程，不能继承）使用ThreadLocal兜底
+ * </p>
+ */
+public class ContextThread extends Thread {
+
+    /**
+     * 只由本线程读写
+     */
+    Context context;
+
+    public ContextThread(Runnable target, String name) {
+        super(target, name);
+    }
+
+    public ContextThread(ThreadGroup group, Runnable target, String name) {
+        super(group, target, name);
+    }
+}
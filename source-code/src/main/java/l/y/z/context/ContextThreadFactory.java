@@ -0,0 +1,37 @@
+package l.y.z.context;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-20 13:10 <br>
+ * <p>
+ * 创建{@link ContextThread}的线程工厂，线程名为prefix-序号，用于线程池：
+ * <pre>
+ *     new ContextExecutorService(Executors.newFixedThreadPool(n, new ContextThreadFactory("worker")))
+ * </pre>
+ * </p>
+ */
+public class ContextThreadFactory implements ThreadFactory {
+
+    private final String prefix;
+    private final boolean daemon;
+    private final AtomicInteger sequence = new AtomicInteger();
+
+    public ContextThreadFactory(String prefix) {
+        this(prefix, false);
+    }
+
+    public ContextThreadFactory(String prefix, boolean daemon) {
+        this.prefix = prefix;
+        this.daemon = daemon;
+    }
+
+    @Override
+    public Thread newThread(Runnable r) {
+        Thread thread = new ContextThread(r, prefix + "-" + sequence.incrementAndGet());
+        thread.setDaemon(daemon);
+        return thread;
+    }
+}
@@ -0,0 +1,15 @@
+package l.y.z.context;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-20 13:05 <br>
+ * <p>
+ * {@link Context#attach()}的返回值，close时恢复attach之前的上下文，配合try-with-resources使用
+ * </p>
+ */
+@FunctionalInterface
+public interface Scope extends AutoCloseable {
+
+    @Override
+    void close();
+}
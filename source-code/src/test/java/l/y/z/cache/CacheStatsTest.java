@@ -0,0 +1,101 @@
+package l.y.z.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-18 17:40 <br>
+ * <p></p>
+ */
+@Slf4j
+public class CacheStatsTest {
+
+    @Test
+    public void concurrentLruCache() {
+        AtomicLong nanos = new AtomicLong();
+        ConcurrentLruCache<Integer, Integer> cache = CacheBuilder.<Integer, Integer>newBuilder()
+                .maxKeyCount(4)
+                .expireAfterWrite(1, TimeUnit.MINUTES)
+                .ticker(nanos::get)
+                .recordStats()
+                .build();
+        for (int i = 0; i < 6; i++) {
+            cache.put(i, i);
+        }
+        cache.put(5, 55);
+        cache.get(5);
+        cache.get(0);
+        cache.remove(4);
+        nanos.addAndGet(TimeUnit.MINUTES.toNanos(2));
+        cache.get(5);
+        cache.cleanUp();
+
+        CacheStats stats = cache.stats();
+        log.info("stats: {}", stats);
+        assertEquals(1, stats.getHitCount());
+        assertEquals(2, stats.getMissCount());
+        assertEquals(2, stats.getEvictionCount());
+        assertEquals(1, stats.getReplacedCount());
+        assertEquals(1, stats.getExplicitRemovalCount());
+        assertEquals(3, stats.getExpiredCount());
+        assertEquals(0, stats.getWeight());
+    }
+
+    @Test
+    public void disabled() {
+        ConcurrentLruCache<Integer, Integer> cache = new ConcurrentLruCache<>(4);
+        cache.put(1, 1);
+        cache.get(1);
+        CacheStats stats = cache.stats();
+        assertEquals(0, stats.getHitCount());
+        assertEquals(1, stats.getWeight());
+    }
+
+    @Test
+    public void offHeapCache() {
+        OffHeapCache cache = new OffHeapCache(1 << 16, 1, true);
+        byte[] value = new byte[100];
+        for (int i = 0; i < 1000; i++) {
+            cache.put(new byte[]{(byte) i, (byte) (i >> 8)}, value);
+        }
+        cache.get(new byte[]{0, 0});
+        cache.get(new byte[]{(byte) 999, (byte) (999 >> 8)});
+        CacheStats stats = cache.stats();
+        log.info("stats: {}", stats);
+        assertEquals(1, stats.getHitCount());
+        assertEquals(1, stats.getMissCount());
+        assertEquals(1000 - cache.size(), stats.getEvictionCount());
+        assertEquals(cache.usedBytes(), stats.getWeight());
+    }
+
+    @Test
+    public void jmx() throws Exception {
+        ConcurrentLruCache<Integer, Integer> cache = CacheBuilder.<Integer, Integer>newBuilder()
+                .maxKeyCount(4)
+                .recordStats()
+                .build();
+        cache.put(1, 1);
+        cache.get(1);
+        cache.get(2);
+
+        ObjectName objectName = CacheMXBeans.register("users", cache);
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            assertEquals(1L, server.getAttribute(objectName, "HitCount"));
+            assertEquals(1L, server.getAttribute(objectName, "MissCount"));
+            assertEquals(0.5D, (Double) server.getAttribute(objectName, "HitRate"), 0D);
+            assertEquals(1L, server.getAttribute(objectName, "Weight"));
+        } finally {
+            CacheMXBeans.unregister("users");
+        }
+    }
+}
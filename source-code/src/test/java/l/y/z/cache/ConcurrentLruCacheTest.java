@@ -0,0 +1,139 @@
+package l.y.z.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-18 10:20 <br>
+ * <p></p>
+ */
+@Slf4j
+public class ConcurrentLruCacheTest {
+
+    @Test
+    public void test() {
+        int maxKeyCount = 16;
+        ConcurrentLruCache<String, String> cache = new ConcurrentLruCache<>(maxKeyCount);
+
+        for (int i = 0; i < maxKeyCount << 1; i++) {
+            String key = i + "";
+            assertNull(cache.put(key, key));
+        }
+
+        // 按 16 - 31 顺序的共16个key
+        log.info("coldest: {}", cache.coldest(maxKeyCount));
+        assertEquals(keys(16, 31), new ArrayList<>(cache.coldest(maxKeyCount).keySet()));
+
+        assertEquals("16", cache.get("16"));
+        assertNull(cache.get("0"));
+
+        // 按 17 - 31, 16 顺序的共16个key
+        List<String> expected = keys(17, 31);
+        expected.add("16");
+        assertEquals(expected, new ArrayList<>(cache.coldest(maxKeyCount).keySet()));
+
+        assertEquals("17", cache.put("17", "1717"));
+
+        // 按 18 - 31, 16, 17 顺序的共16个key
+        expected = keys(18, 31);
+        expected.add("16");
+        expected.add("17");
+        assertEquals(expected, new ArrayList<>(cache.coldest(maxKeyCount).keySet()));
+        assertEquals(maxKeyCount, cache.size());
+
+        assertEquals("1717", cache.remove("17"));
+        assertEquals(maxKeyCount - 1, cache.size());
+    }
+
+    @Test
+    public void concurrent() throws Exception {
+        int maxKeyCount = 1024;
+        ConcurrentLruCache<Integer, Integer> cache = new ConcurrentLruCache<>(maxKeyCount);
+        int nThreads = Runtime.getRuntime().availableProcessors() << 1;
+        ExecutorService executorService = Executors.newFixedThreadPool(nThreads);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < nThreads; t++) {
+            futures.add(executorService.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < 100_000; i++) {
+                    int key = random.nextInt(maxKeyCount << 2);
+                    int op = random.nextInt(10);
+                    if (op < 7) {
+                        Integer value = cache.get(key);
+                        assertTrue(value == null || value == key);
+                    } else if (op < 9) {
+                        cache.put(key, key);
+                    } else {
+                        cache.remove(key);
+                    }
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executorService.shutdown();
+
+        cache.cleanUp();
+        log.info("size: {}", cache.size());
+        assertTrue(cache.size() <= maxKeyCount);
+        // 访问顺序链表与哈希表中的结点一一对应
+        assertEquals(cache.size(), cache.coldest(Integer.MAX_VALUE).size());
+    }
+
+    @Test
+    public void builderDoesNotShareDefaultPolicy() {
+        CacheBuilder<String, String> builder = CacheBuilder.<String, String>newBuilder().maxKeyCount(2);
+        ConcurrentLruCache<String, String> first = builder.build();
+        ConcurrentLruCache<String, String> second = builder.build();
+        first.put("a", "a");
+        first.put("b", "b");
+        second.put("c", "c");
+        second.put("d", "d");
+        second.put("e", "e");
+
+        // 两个缓存各自淘汰，second的写入不会淘汰first中的结点
+        assertEquals(keys("a", "b"), new ArrayList<>(first.coldest(2).keySet()));
+        assertEquals(keys("d", "e"), new ArrayList<>(second.coldest(2).keySet()));
+    }
+
+    @Test
+    public void builderRejectsMaxKeyCountWithPolicy() {
+        try {
+            CacheBuilder.<String, String>newBuilder().maxKeyCount(16).evictionPolicy(new LruPolicy<>(8));
+            fail();
+        } catch (IllegalStateException e) {
+            log.info("{}", e.getMessage());
+        }
+        try {
+            CacheBuilder.<String, String>newBuilder().evictionPolicy(new LruPolicy<>(8)).maxKeyCount(16);
+            fail();
+        } catch (IllegalStateException e) {
+            log.info("{}", e.getMessage());
+        }
+    }
+
+    private static List<String> keys(String... keys) {
+        return Arrays.asList(keys);
+    }
+
+    private static List<String> keys(int from, int to) {
+        return IntStream.rangeClosed(from, to).mapToObj(String::valueOf).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,128 @@
+package l.y.z.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-18 14:30 <br>
+ * <p></p>
+ */
+@Slf4j
+public class ExpirationTest {
+
+    private final AtomicLong nanos = new AtomicLong(System.nanoTime());
+    private final Ticker ticker = nanos::get;
+
+    @Test
+    public void expireAfterWrite() {
+        ConcurrentLruCache<String, String> cache = CacheBuilder.<String, String>newBuilder()
+                .maxKeyCount(16)
+                .expireAfterWrite(10, TimeUnit.SECONDS)
+                .ticker(ticker)
+                .build();
+        cache.put("a", "a");
+        advance(5, TimeUnit.SECONDS);
+        assertEquals("a", cache.get("a"));
+
+        // 读操作不影响写入后的过期时间
+        advance(6, TimeUnit.SECONDS);
+        assertNull(cache.get("a"));
+        cache.cleanUp();
+        assertEquals(0, cache.size());
+
+        // 更新会重新计算过期时间
+        cache.put("b", "b");
+        advance(8, TimeUnit.SECONDS);
+        cache.put("b", "bb");
+        advance(8, TimeUnit.SECONDS);
+        assertEquals("bb", cache.get("b"));
+    }
+
+    @Test
+    public void expireAfterAccess() {
+        ConcurrentLruCache<String, String> cache = CacheBuilder.<String, String>newBuilder()
+                .maxKeyCount(16)
+                .expireAfterAccess(10, TimeUnit.SECONDS)
+                .ticker(ticker)
+                .build();
+        cache.put("a", "a");
+        for (int i = 0; i < 5; i++) {
+            advance(6, TimeUnit.SECONDS);
+            assertEquals("a", cache.get("a"));
+            cache.cleanUp();
+        }
+        advance(11, TimeUnit.SECONDS);
+        assertNull(cache.get("a"));
+        assertNull(cache.remove("a"));
+    }
+
+    @Test
+    public void perEntryTtl() {
+        ConcurrentLruCache<String, String> cache = CacheBuilder.<String, String>newBuilder()
+                .maxKeyCount(16)
+                .expireAfterWrite(1, TimeUnit.HOURS)
+                .ticker(ticker)
+                .build();
+        cache.put("short", "short", 1, TimeUnit.MINUTES);
+        cache.put("long", "long");
+        advance(2, TimeUnit.MINUTES);
+        assertNull(cache.get("short"));
+        assertEquals("long", cache.get("long"));
+        advance(1, TimeUnit.HOURS);
+        assertNull(cache.get("long"));
+    }
+
+    @Test
+    public void amortizedCleanUp() {
+        int count = 10_000;
+        ConcurrentLruCache<Integer, Integer> cache = CacheBuilder.<Integer, Integer>newBuilder()
+                .maxKeyCount(count << 1)
+                .expireAfterWrite(7, TimeUnit.DAYS)
+                .ticker(ticker)
+                .build();
+        // 过期时间分布在1秒到4天之间，覆盖时间轮的每一层
+        Random random = new Random(3);
+        long[] ttl = new long[count];
+        long start = nanos.get();
+        for (int i = 0; i < count; i++) {
+            ttl[i] = TimeUnit.SECONDS.toNanos(1 + random.nextInt(4 * 24 * 3600));
+            cache.put(i, i, ttl[i], TimeUnit.NANOSECONDS);
+        }
+
+        int steps = 0;
+        while (nanos.get() - start < TimeUnit.DAYS.toNanos(4) + TimeUnit.HOURS.toNanos(2)) {
+            advance(10, TimeUnit.MINUTES);
+            // 写操作顺带清理过期结点，不需要调用cleanUp
+            cache.put(-1, -1);
+            if (++steps % 50 == 0) {
+                long elapsed = nanos.get() - start;
+                int alive = 0;
+                for (int i = 0; i < count; i++) {
+                    Integer value = cache.get(i);
+                    if (ttl[i] > elapsed) {
+                        assertEquals(Integer.valueOf(i), value);
+                        alive++;
+                    } else {
+                        assertNull(value);
+                    }
+                }
+                assertTrue("size: " + cache.size() + ", alive: " + alive, cache.size() - 1 <= alive + count / 100);
+            }
+        }
+        log.info("steps: {}, size: {}", steps, cache.size());
+        assertEquals(1, cache.size());
+    }
+
+    private void advance(long duration, TimeUnit unit) {
+        nanos.addAndGet(unit.toNanos(duration));
+    }
+}
@@ -0,0 +1,45 @@
+package l.y.z.cache;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-18 12:30 <br>
+ * <p></p>
+ */
+public class FrequencySketchTest {
+
+    @Test
+    public void increment() {
+        FrequencySketch sketch = new FrequencySketch(512);
+        for (int i = 0; i < 10; i++) {
+            sketch.increment("hot");
+        }
+        assertEquals(10, sketch.frequency("hot"));
+        assertEquals(0, sketch.frequency("cold"));
+
+        // 计数上限为15
+        for (int i = 0; i < 20; i++) {
+            sketch.increment("hot");
+        }
+        assertEquals(15, sketch.frequency("hot"));
+    }
+
+    @Test
+    public void aging() {
+        int maximum = 64;
+        FrequencySketch sketch = new FrequencySketch(maximum);
+        for (int i = 0; i < 8; i++) {
+            sketch.increment("hot");
+        }
+        // 样本数达到10倍容量后所有计数器减半
+        for (int i = 0; i < maximum * 10; i++) {
+            sketch.increment(i);
+        }
+        int frequency = sketch.frequency("hot");
+        assertTrue("frequency: " + frequency, frequency <= 4);
+    }
+}
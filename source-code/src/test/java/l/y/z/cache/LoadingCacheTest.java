@@ -0,0 +1,197 @@
+package l.y.z.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-18 19:05 <br>
+ * <p></p>
+ */
+@Slf4j
+public class LoadingCacheTest {
+
+    private final AtomicLong nanos = new AtomicLong(System.nanoTime());
+    private final Ticker ticker = nanos::get;
+
+    @Test
+    public void coalesce() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        LoadingCache<String, String> cache = CacheBuilder.<String, String>newBuilder()
+                .maxKeyCount(16)
+                .build(key -> {
+                    loads.incrementAndGet();
+                    loading.await();
+                    return key.toUpperCase();
+                });
+
+        int nThreads = 16;
+        ExecutorService executorService = Executors.newFixedThreadPool(nThreads);
+        List<Future<String>> futures = new ArrayList<>();
+        for (int i = 0; i < nThreads; i++) {
+            futures.add(executorService.submit(() -> cache.get("a")));
+        }
+        TimeUnit.MILLISECONDS.sleep(100);
+        loading.countDown();
+        for (Future<String> future : futures) {
+            assertEquals("A", future.get());
+        }
+        executorService.shutdown();
+        assertEquals(1, loads.get());
+        assertEquals("A", cache.get("a"));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void getAll() {
+        List<Set<? extends Integer>> batches = new ArrayList<>();
+        LoadingCache<Integer, String> cache = CacheBuilder.<Integer, String>newBuilder()
+                .maxKeyCount(16)
+                .build(new CacheLoader<Integer, String>() {
+                    @Override
+                    public String load(Integer key) {
+                        throw new UnsupportedOperationException();
+                    }
+
+                    @Override
+                    public Map<Integer, String> loadAll(Set<? extends Integer> keys) {
+                        batches.add(keys);
+                        Map<Integer, String> result = new HashMap<>();
+                        // 负数不存在
+                        keys.stream().filter(k -> k >= 0).forEach(k -> result.put(k, String.valueOf(k)));
+                        return result;
+                    }
+                });
+        cache.put(1, "one");
+
+        Map<Integer, String> result = cache.getAll(Arrays.asList(3, 1, 2, -1, 3));
+        assertEquals(Arrays.asList(3, 1, 2), new ArrayList<>(result.keySet()));
+        assertEquals("one", result.get(1));
+        assertEquals(1, batches.size());
+        assertEquals(3, batches.get(0).size());
+
+        // 不存在的key不缓存
+        cache.getAll(Arrays.asList(1, 2, 3, -1));
+        assertEquals(2, batches.size());
+        assertEquals(1, batches.get(1).size());
+    }
+
+    @Test
+    public void refreshAfterWrite() {
+        AtomicInteger version = new AtomicInteger();
+        LoadingCache<String, String> cache = CacheBuilder.<String, String>newBuilder()
+                .maxKeyCount(16)
+                .expireAfterWrite(10, TimeUnit.SECONDS)
+                .refreshAfterWrite(5, TimeUnit.SECONDS)
+                .executor(Runnable::run)
+                .ticker(ticker)
+                .build(key -> key + version.incrementAndGet());
+        assertEquals("a1", cache.get("a"));
+
+        advance(3, TimeUnit.SECONDS);
+        assertEquals("a1", cache.get("a"));
+
+        // 超过refreshAfterWrite，本次返回旧值并触发刷新
+        advance(3, TimeUnit.SECONDS);
+        assertEquals("a1", cache.get("a"));
+        assertEquals("a2", cache.get("a"));
+
+        // 刷新重新计算了过期时间
+        advance(8, TimeUnit.SECONDS);
+        assertEquals("a2", cache.getIfPresent("a"));
+        assertEquals("a3", cache.get("a"));
+    }
+
+    @Test
+    public void refreshFailureKeepsOldValue() {
+        AtomicInteger calls = new AtomicInteger();
+        LoadingCache<String, String> cache = CacheBuilder.<String, String>newBuilder()
+                .maxKeyCount(16)
+                .executor(Runnable::run)
+                .ticker(ticker)
+                .build(key -> {
+                    if (calls.incrementAndGet() > 1) {
+                        throw new IllegalStateException("backend down");
+                    }
+                    return key;
+                });
+        assertEquals("a", cache.get("a"));
+        assertTrue(cache.refresh("a").isCompletedExceptionally());
+        assertEquals("a", cache.get("a"));
+    }
+
+    @Test
+    public void failureIsNotCached() {
+        AtomicInteger calls = new AtomicInteger();
+        LoadingCache<String, String> cache = CacheBuilder.<String, String>newBuilder()
+                .maxKeyCount(16)
+                .recordStats()
+                .build(key -> {
+                    if (calls.incrementAndGet() == 1) {
+                        throw new IllegalStateException("backend down");
+                    }
+                    return key;
+                });
+        try {
+            cache.get("a");
+            fail();
+        } catch (IllegalStateException e) {
+            log.info("{}", e.getMessage());
+        }
+        assertNull(cache.getIfPresent("a"));
+        assertEquals("a", cache.get("a"));
+
+        CacheStats stats = cache.stats();
+        log.info("{}", stats);
+        assertEquals(1, stats.getLoadSuccessCount());
+        assertEquals(1, stats.getLoadFailureCount());
+        assertEquals(3, stats.getMissCount());
+    }
+
+    @Test
+    public void removeDuringLoad() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch removed = new CountDownLatch(1);
+        LoadingCache<String, String> cache = CacheBuilder.<String, String>newBuilder()
+                .maxKeyCount(16)
+                .build(key -> {
+                    loading.countDown();
+                    removed.await();
+                    return "stale";
+                });
+        ExecutorService executorService = Executors.newSingleThreadExecutor();
+        Future<String> future = executorService.submit(() -> cache.get("a"));
+        loading.await();
+        cache.remove("a");
+        removed.countDown();
+
+        // 等待的线程拿到加载结果，但结果不写入缓存
+        assertEquals("stale", future.get());
+        assertNull(cache.getIfPresent("a"));
+        executorService.shutdown();
+    }
+
+    private void advance(long duration, TimeUnit unit) {
+        nanos.addAndGet(unit.toNanos(duration));
+    }
+}
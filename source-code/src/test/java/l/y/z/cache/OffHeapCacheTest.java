@@ -0,0 +1,144 @@
+package l.y.z.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-18 16:30 <br>
+ * <p></p>
+ */
+@Slf4j
+public class OffHeapCacheTest {
+
+    @Test
+    public void test() {
+        OffHeapCache cache = new OffHeapCache(1 << 20, 1);
+        assertNull(cache.put(bytes("a"), bytes("1")));
+        assertArrayEquals(bytes("1"), cache.get(bytes("a")));
+        assertArrayEquals(bytes("1"), cache.put(bytes("a"), bytes("11")));
+        assertArrayEquals(bytes("11"), cache.get(bytes("a")));
+        assertNull(cache.get(bytes("b")));
+        assertEquals(1, cache.size());
+        assertArrayEquals(bytes("11"), cache.remove(bytes("a")));
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.usedBytes());
+    }
+
+    @Test
+    public void capacityInBytes() {
+        long capacity = 4L << 20;
+        OffHeapCache cache = new OffHeapCache(capacity, 4);
+        byte[] value = new byte[1000];
+        int count = 20_000;
+        for (int i = 0; i < count; i++) {
+            Arrays.fill(value, (byte) i);
+            cache.put(key(i), value);
+            assertTrue(cache.usedBytes() <= cache.capacityBytes());
+        }
+        log.info("size: {}, usedBytes: {}, capacityBytes: {}", cache.size(), cache.usedBytes(), cache.capacityBytes());
+        assertTrue(cache.size() < count);
+        assertTrue(cache.size() > 2000);
+
+        // 最近写入的都在，最早写入的已被淘汰
+        for (int i = count - 1000; i < count; i++) {
+            byte[] v = cache.get(key(i));
+            assertNotNull(v);
+            assertEquals((byte) i, v[999]);
+        }
+        assertNull(cache.get(key(0)));
+    }
+
+    @Test
+    public void lru() {
+        // 单段、单页，key与value大小相同，都落在同一个slab class
+        OffHeapCache cache = new OffHeapCache(1 << 16, 1);
+        byte[] value = new byte[100];
+        int i = 0;
+        while (cache.size() == i) {
+            cache.put(key(i++), value);
+            // 保持key(0)一直是最近被访问的
+            assertNotNull(cache.get(key(0)));
+        }
+        assertNotNull(cache.get(key(0)));
+        assertNull(cache.get(key(1)));
+    }
+
+    @Test
+    public void reassignPage() {
+        OffHeapCache cache = new OffHeapCache(4 << 20, 1);
+        // 先用小结点占满所有页
+        for (int i = 0; i < 200_000; i++) {
+            cache.put(key(i), new byte[16]);
+        }
+        // 再写入大结点，需要从小结点的class腾出页
+        byte[] large = new byte[100_000];
+        for (int i = 0; i < 10; i++) {
+            cache.put(key(-i), large);
+            assertNotNull(cache.get(key(-i)));
+        }
+        assertTrue(cache.usedBytes() <= cache.capacityBytes());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void tooLarge() {
+        OffHeapCache cache = new OffHeapCache(1 << 20, 1);
+        cache.put(bytes("a"), new byte[cache.maxEntryBytes() + 1]);
+    }
+
+    @Test
+    public void concurrent() throws Exception {
+        OffHeapCache cache = new OffHeapCache(8 << 20);
+        int nThreads = Runtime.getRuntime().availableProcessors() << 1;
+        ExecutorService executorService = Executors.newFixedThreadPool(nThreads);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < nThreads; t++) {
+            futures.add(executorService.submit(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < 50_000; i++) {
+                    int k = random.nextInt(100_000);
+                    if (random.nextInt(4) == 0) {
+                        cache.put(key(k), value(k, 1 + random.nextInt(512)));
+                    } else {
+                        byte[] v = cache.get(key(k));
+                        assertTrue(v == null || Arrays.equals(v, value(k, v.length)));
+                    }
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executorService.shutdown();
+        assertTrue(cache.usedBytes() <= cache.capacityBytes());
+    }
+
+    private static byte[] key(int i) {
+        return bytes("key-" + i);
+    }
+
+    private static byte[] value(int k, int length) {
+        byte[] value = new byte[length];
+        Arrays.fill(value, (byte) k);
+        return value;
+    }
+
+    private static byte[] bytes(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+}
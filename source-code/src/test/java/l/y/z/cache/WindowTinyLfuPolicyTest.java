@@ -0,0 +1,68 @@
+package l.y.z.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-18 12:42 <br>
+ * <p></p>
+ */
+@Slf4j
+public class WindowTinyLfuPolicyTest {
+
+    @Test
+    public void maxKeyCount() {
+        int maxKeyCount = 100;
+        ConcurrentLruCache<Integer, Integer> cache = new ConcurrentLruCache<>(new WindowTinyLfuPolicy<>(maxKeyCount));
+        for (int i = 0; i < 10_000; i++) {
+            cache.put(i, i);
+            assertTrue(cache.size() <= maxKeyCount);
+        }
+        assertEquals(maxKeyCount, cache.size());
+        assertEquals(maxKeyCount, cache.coldest(Integer.MAX_VALUE).size());
+    }
+
+    @Test
+    public void scanResistance() {
+        int maxKeyCount = 500;
+        Map<String, TraceReplayer.Result> results = TraceReplayer.compare(maxKeyCount, scanPollutedTrace());
+        results.values().forEach(result -> log.info("{}", result));
+
+        TraceReplayer.Result lru = results.get("LruCache");
+        TraceReplayer.Result concurrentLru = results.get("ConcurrentLruCache(LRU)");
+        TraceReplayer.Result tinyLfu = results.get("ConcurrentLruCache(W-TinyLFU)");
+        assertNotNull(tinyLfu);
+
+        // 单线程下两种LRU的行为完全一致
+        assertEquals(lru.getHits(), concurrentLru.getHits());
+        assertTrue(tinyLfu.hitRatio() > lru.hitRatio() + 0.1D);
+    }
+
+    /**
+     * 400个热点key反复被访问，其间穿插一次性扫描的大量新key
+     */
+    private static List<Integer> scanPollutedTrace() {
+        Random random = new Random(7);
+        List<Integer> trace = new ArrayList<>();
+        int scanKey = 1_000_000;
+        for (int round = 0; round < 50; round++) {
+            for (int i = 0; i < 2_000; i++) {
+                trace.add(random.nextInt(400));
+            }
+            for (int i = 0; i < 1_000; i++) {
+                trace.add(scanKey++);
+            }
+        }
+        return trace;
+    }
+}
@@ -0,0 +1,143 @@
+package l.y.z.context;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-20 13:40 <br>
+ * <p>
+ * 对应{@link l.y.z.ThreadLocalTest}：线程池中的线程执行下一个任务时，不会读到上一个任务绑定的值
+ * </p>
+ */
+@Slf4j
+public class ContextTest {
+
+    private static final ContextKey<String> USER = ContextKey.named("user");
+    private static final ContextKey<Integer> TENANT = ContextKey.named("tenant");
+
+    @Test
+    public void nestedScopes() {
+        assertSame(Context.ROOT, Context.current());
+        Context outer = Context.current().with(USER, "a");
+        try (Scope ignored = outer.attach()) {
+            assertEquals("a", USER.get());
+            assertNull(TENANT.get());
+            try (Scope inner = Context.current().with(TENANT, 1).with(USER, "b").attach()) {
+                assertEquals("b", USER.get());
+                assertEquals(Integer.valueOf(1), TENANT.get());
+            }
+            assertEquals("a", USER.get());
+            assertNull(TENANT.get());
+        }
+        assertSame(Context.ROOT, Context.current());
+        assertEquals("none", USER.getOrDefault("none"));
+    }
+
+    @Test
+    public void immutable() {
+        Context a = Context.ROOT.with(USER, "a");
+        Context b = a.with(USER, "b");
+        Context c = b.with(USER, null);
+        assertEquals("a", a.get(USER));
+        assertEquals("b", b.get(USER));
+        assertNull(c.get(USER));
+        assertSame(a, a.with(USER, "a"));
+        assertSame(Context.ROOT, Context.ROOT.with(TENANT, null));
+    }
+
+    @Test
+    public void outOfOrderClose() {
+        Scope outer = Context.ROOT.with(USER, "a").attach();
+        Context.current().with(USER, "b").attach();
+        // 内层没有关闭，关闭外层仍然回到attach之前
+        outer.close();
+        assertSame(Context.ROOT, Context.current());
+    }
+
+    @Test
+    public void closeFromOtherThread() throws Exception {
+        Scope scope = Context.ROOT.with(USER, "a").attach();
+        Throwable[] thrown = new Throwable[1];
+        Thread other = new Thread(() -> {
+            try {
+                scope.close();
+            } catch (Throwable e) {
+                thrown[0] = e;
+            }
+        });
+        other.start();
+        other.join();
+        assertTrue(thrown[0] instanceof IllegalStateException);
+        assertEquals("a", USER.get());
+        // 其它线程的close没有把scope标记为已关闭，owner关闭时仍然恢复之前的上下文
+        scope.close();
+        assertSame(Context.ROOT, Context.current());
+    }
+
+    @Test
+    public void contextThreadPool() throws Exception {
+        propagateAndClear(Executors.newFixedThreadPool(2, new ContextThreadFactory("context")));
+    }
+
+    @Test
+    public void plainThreadPool() throws Exception {
+        propagateAndClear(Executors.newFixedThreadPool(2));
+    }
+
+    @Test
+    public void wrap() throws Exception {
+        Runnable[] wrapped = new Runnable[1];
+        String[] seen = new String[1];
+        Context.ROOT.with(USER, "a").run(() -> wrapped[0] = Context.wrap(() -> {
+            seen[0] = USER.get();
+        }));
+
+        Thread thread = new Thread(wrapped[0]);
+        thread.start();
+        thread.join();
+        assertEquals("a", seen[0]);
+
+        // 在调用线程中执行完也恢复原来的上下文
+        Context.ROOT.with(USER, "b").run(() -> {
+            wrapped[0].run();
+            assertEquals("b", USER.get());
+        });
+    }
+
+    private void propagateAndClear(ExecutorService pool) throws Exception {
+        ExecutorService executorService = new ContextExecutorService(pool);
+        List<Future<String>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            Context context = Context.ROOT.with(USER, "user-" + i).with(TENANT, i);
+            futures.add(context.call(() -> executorService.submit(() -> USER.get() + "/" + TENANT.get())));
+            // 没有绑定值的任务在同一批线程上执行，读不到上一个任务的值
+            futures.add(executorService.submit(() -> USER.get() + "/" + TENANT.get()));
+        }
+        for (int i = 0; i < 8; i++) {
+            assertEquals("user-" + i + "/" + i, futures.get(i << 1).get());
+            assertEquals("null/null", futures.get((i << 1) + 1).get());
+        }
+
+        Callable<String> task = USER::get;
+        List<Future<String>> all = Context.ROOT.with(USER, "all").call(() -> executorService.invokeAll(Arrays.asList(task, task)));
+        for (Future<String> future : all) {
+            assertEquals("all", future.get());
+        }
+        executorService.shutdown();
+        log.info("{}", all.get(0).get());
+    }
+}
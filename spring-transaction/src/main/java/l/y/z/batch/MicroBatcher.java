@@ -0,0 +1,159 @@
+package l.y.z.batch;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-20 17:00 <br>
+ * <p>
+ * 把并发的单个请求合并为批量请求：一个窗口内提交的key合并为一次batchLoader调用。
+ * <p>
+ * 窗口从第一个请求到达时开始，windowNanos后或攒够maxBatchSize个不同的key时结束，
+ * 批量调用在executor中执行。同一批次中重复的key只加载一次。
+ * <p>
+ * executor可能在提交时阻塞（例如{@link l.y.z.executor.LimitedExecutorService}许可耗尽时）：
+ * 攒满的批次由提交线程交给executor，阻塞时提交方被限速；
+ * 到期的批次由定时线程交给单独的dispatcher线程，再由它交给executor，定时线程不会阻塞，之后的窗口仍然按时结束。
+ * batchLoader返回的map中没有的key，对应的future以null完成；batchLoader抛出异常时，本批次所有future以该异常结束。
+ * <p>
+ * 单个请求因此多了最多一个窗口的延迟，换来的是数据库上的语句数从每个请求一条降为每个批次一条。
+ * </p>
+ */
+@Slf4j
+public class MicroBatcher<K, V> implements AutoCloseable {
+
+    private final String name;
+    private final Function<List<K>, Map<K, V>> batchLoader;
+    private final Executor executor;
+    private final int maxBatchSize;
+    private final long windowNanos;
+    private final ScheduledExecutorService timer;
+    private final ExecutorService dispatcher;
+
+    /**
+     * 当前窗口中的请求，由this保护
+     */
+    private Map<K, List<CompletableFuture<V>>> pending = new LinkedHashMap<>();
+    private boolean closed;
+
+    public MicroBatcher(String name, Function<List<K>, Map<K, V>> batchLoader, Executor executor,
+                        int maxBatchSize, long window, TimeUnit unit) {
+        if (maxBatchSize <= 0 || window <= 0) {
+            throw new IllegalArgumentException("maxBatchSize and window must be positive");
+        }
+        this.name = name;
+        this.batchLoader = Objects.requireNonNull(batchLoader);
+        this.executor = Objects.requireNonNull(executor);
+        this.maxBatchSize = maxBatchSize;
+        this.windowNanos = unit.toNanos(window);
+        this.timer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, name + "-batcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.dispatcher = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, name + "-dispatcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public CompletableFuture<V> submit(K key) {
+        Objects.requireNonNull(key);
+        CompletableFuture<V> future = new CompletableFuture<>();
+        Map<K, List<CompletableFuture<V>>> full = null;
+        synchronized (this) {
+            if (closed) {
+                throw new RejectedExecutionException(name + " batcher is closed");
+            }
+            if (pending.isEmpty()) {
+                Map<K, List<CompletableFuture<V>>> window = pending;
+                timer.schedule(() -> flush(window), windowNanos, TimeUnit.NANOSECONDS);
+            }
+            pending.computeIfAbsent(key, k -> new ArrayList<>(1)).add(future);
+            if (pending.size() >= maxBatchSize) {
+                full = pending;
+                pending = new LinkedHashMap<>();
+            }
+        }
+        if (full != null) {
+            dispatch(full);
+        }
+        return future;
+    }
+
+    /**
+     * 立即提交当前窗口中的请求，不再接受新的请求
+     */
+    @Override
+    public void close() {
+        Map<K, List<CompletableFuture<V>>> rest;
+        synchronized (this) {
+            closed = true;
+            rest = pending;
+            pending = new LinkedHashMap<>();
+        }
+        if (!rest.isEmpty()) {
+            dispatch(rest);
+        }
+        timer.shutdown();
+        // 已经交给dispatcher的批次仍会提交
+        dispatcher.shutdown();
+    }
+
+    /**
+     * 定时器到期时，窗口可能已经因攒满而被提交，此时pending已经是另一个窗口
+     */
+    private void flush(Map<K, List<CompletableFuture<V>>> window) {
+        synchronized (this) {
+            if (pending != window) {
+                return;
+            }
+            pending = new LinkedHashMap<>();
+        }
+        try {
+            dispatcher.execute(() -> dispatch(window));
+        } catch (RejectedExecutionException e) {
+            // 与close()并发，dispatcher已关闭，在定时线程中提交
+            dispatch(window);
+        }
+    }
+
+    private void dispatch(Map<K, List<CompletableFuture<V>>> batch) {
+        try {
+            executor.execute(() -> load(batch));
+        } catch (RejectedExecutionException e) {
+            batch.values().forEach(futures -> futures.forEach(f -> f.completeExceptionally(e)));
+        }
+    }
+
+    private void load(Map<K, List<CompletableFuture<V>>> batch) {
+        Map<K, V> loaded;
+        try {
+            loaded = batchLoader.apply(Collections.unmodifiableList(new ArrayList<>(batch.keySet())));
+        } catch (Throwable e) {
+            log.warn("{} batch of {} failed", name, batch.size(), e);
+            batch.values().forEach(futures -> futures.forEach(f -> f.completeExceptionally(e)));
+            return;
+        }
+        batch.forEach((key, futures) -> {
+            V value = loaded == null ? null : loaded.get(key);
+            futures.forEach(f -> f.complete(value));
+        });
+    }
+}
@@ -0,0 +1,243 @@
+package l.y.z.dao;
+
+import l.y.z.cache.CacheBuilder;
+import l.y.z.cache.CacheLoader;
+import l.y.z.cache.CacheStats;
+import l.y.z.cache.LoadingCache;
+import l.y.z.entity.User;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-20 19:00 <br>
+ * <p>
+ * UserDao的读穿透缓存，按id与手机号各一个{@link LoadingCache}，作为@Primary的UserDao注入到业务代码中，
+ * MyBatis生成的mapper（bean名userDao）作为delegate。
+ * <p>
+ * 不存在的手机号（与id）缓存为{@link #ABSENT}，重复查询不存在的手机号不会每次都打到数据库。
+ * <p>
+ * 与事务的一致性：
+ * <ul>
+ *     <li>写操作只在事务提交之后（{@link org.springframework.transaction.support.TransactionSynchronization#afterCommit()}）
+ *     失效对应的缓存，回滚的insert不会影响缓存；不在事务中时写完立即失效</li>
+ *     <li>写过user表的事务中，后续的读不经过缓存，直接查询delegate：既能读到本事务未提交的写入，
+ *     也不会把未提交的数据加载进缓存</li>
+ *     <li>其它线程的加载与失效并发时，{@link LoadingCache#remove(Object)}会丢弃正在进行的加载的结果，
+ *     提交前加载到的旧值（包括{@link #ABSENT}）不会在失效之后写入缓存</li>
+ * </ul>
+ * 失效而不是直接写入新值：insert只回填了id，create_time等列由数据库生成，下一次读取时加载完整的行。
+ * 其它进程的写入只能等过期，多实例部署时应调小expire-after-write。
+ * 缓存中的User是共享的，返回给调用方的是副本。
+ * </p>
+ */
+@Slf4j
+@Primary
+@Component
+public class CachedUserDao implements UserDao {
+
+    /**
+     * 不存在的用户，只在缓存内部使用
+     */
+    private static final User ABSENT = new User();
+
+    private final UserDao delegate;
+    private final LoadingCache<Integer, User> byId;
+    private final LoadingCache<String, User> byMobile;
+
+    public CachedUserDao(@Qualifier("userDao") UserDao delegate,
+                         @Value("${user-cache.max-key-count:100000}") int maxKeyCount,
+                         @Value("${user-cache.expire-after-write-seconds:600}") long expireAfterWriteSeconds) {
+        this.delegate = delegate;
+        this.byId = CacheBuilder.<Integer, User>newBuilder()
+                .maxKeyCount(maxKeyCount)
+                .expireAfterWrite(expireAfterWriteSeconds, TimeUnit.SECONDS)
+                .recordStats()
+                .build(id -> orAbsent(delegate.select(id)));
+        this.byMobile = CacheBuilder.<String, User>newBuilder()
+                .maxKeyCount(maxKeyCount)
+                .expireAfterWrite(expireAfterWriteSeconds, TimeUnit.SECONDS)
+                .recordStats()
+                .build(new CacheLoader<String, User>() {
+                    @Override
+                    public User load(String mobile) {
+                        return orAbsent(delegate.selectByMobile(mobile));
+                    }
+
+                    @Override
+                    public Map<String, User> loadAll(Set<? extends String> mobiles) {
+                        Map<String, User> result = new HashMap<>(mobiles.size() << 1);
+                        for (User user : delegate.selectByMobiles(new ArrayList<>(mobiles))) {
+                            result.put(user.getMobile(), user);
+                        }
+                        for (String mobile : mobiles) {
+                            result.putIfAbsent(mobile, ABSENT);
+                        }
+                        return result;
+                    }
+                });
+    }
+
+    @Override
+    public User select(Integer id) {
+        if (writtenInTransaction()) {
+            return delegate.select(id);
+        }
+        return copy(byId.get(id));
+    }
+
+    @Override
+    public User selectByMobile(String mobile) {
+        if (writtenInTransaction()) {
+            return delegate.selectByMobile(mobile);
+        }
+        return copy(byMobile.get(mobile));
+    }
+
+    @Override
+    public Integer insert(User user) {
+        Integer inserted = delegate.insert(user);
+        invalidateAfterCommit(singletonIds(user), singletonMobiles(user));
+        return inserted;
+    }
+
+    @Override
+    public int insertBatch(List<User> users) {
+        int inserted = delegate.insertBatch(users);
+        Set<Integer> ids = new HashSet<>();
+        Set<String> mobiles = new HashSet<>();
+        for (User user : users) {
+            if (user.getId() != null) {
+                ids.add(user.getId());
+            }
+            mobiles.add(user.getMobile());
+        }
+        invalidateAfterCommit(ids, mobiles);
+        return inserted;
+    }
+
+    @Override
+    public List<User> selectByMobileChunk(Collection<String> mobiles) {
+        return delegate.selectByMobileChunk(mobiles);
+    }
+
+    /**
+     * 命中的手机号直接返回，未命中的合并为IN查询
+     */
+    @Override
+    public List<User> selectByMobiles(Collection<String> mobiles) {
+        if (writtenInTransaction()) {
+            return delegate.selectByMobiles(mobiles);
+        }
+        List<User> result = new ArrayList<>(mobiles.size());
+        for (User user : byMobile.getAll(mobiles).values()) {
+            if (user != ABSENT) {
+                result.add(copy(user));
+            }
+        }
+        return result;
+    }
+
+    public CacheStats byIdStats() {
+        return byId.stats();
+    }
+
+    public CacheStats byMobileStats() {
+        return byMobile.stats();
+    }
+
+    /**
+     * 当前事务是否已经写过user表
+     */
+    private boolean writtenInTransaction() {
+        return TransactionSynchronizationManager.isSynchronizationActive()
+                && TransactionSynchronizationManager.hasResource(this);
+    }
+
+    private void invalidateAfterCommit(Set<Integer> ids, Set<String> mobiles) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate(ids, mobiles);
+            return;
+        }
+        // 每个事务只注册一次，本事务的所有写操作在提交后一起失效
+        PendingInvalidation pending = (PendingInvalidation) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingInvalidation();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.ids.addAll(ids);
+        pending.mobiles.addAll(mobiles);
+    }
+
+    private void invalidate(Collection<Integer> ids, Collection<String> mobiles) {
+        ids.forEach(byId::remove);
+        mobiles.forEach(byMobile::remove);
+    }
+
+    private static Set<Integer> singletonIds(User user) {
+        Set<Integer> ids = new HashSet<>(2);
+        if (user.getId() != null) {
+            ids.add(user.getId());
+        }
+        return ids;
+    }
+
+    private static Set<String> singletonMobiles(User user) {
+        Set<String> mobiles = new HashSet<>(2);
+        mobiles.add(user.getMobile());
+        return mobiles;
+    }
+
+    private static User orAbsent(User user) {
+        return user == null ? ABSENT : user;
+    }
+
+    private static User copy(User user) {
+        if (user == null || user == ABSENT) {
+            return null;
+        }
+        User copy = new User();
+        copy.setId(user.getId());
+        copy.setMobile(user.getMobile());
+        copy.setPassword(user.getPassword());
+        copy.setSalt(user.getSalt());
+        copy.setCreateTime(user.getCreateTime());
+        copy.setUpdateTime(user.getUpdateTime());
+        return copy;
+    }
+
+    /**
+     * 一个事务中待失效的key，提交后失效，提交或回滚后解绑
+     */
+    private class PendingInvalidation extends TransactionSynchronizationAdapter {
+
+        private final Set<Integer> ids = new HashSet<>();
+        private final Set<String> mobiles = new HashSet<>();
+
+        @Override
+        public void afterCommit() {
+            invalidate(ids, mobiles);
+            log.debug("invalidate users after commit, ids: {}, mobiles: {}", ids, mobiles);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(CachedUserDao.this);
+        }
+    }
+}
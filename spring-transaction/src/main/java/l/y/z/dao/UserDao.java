@@ -3,10 +3,23 @@ package l.y.z.dao;
 import l.y.z.entity.User;
 import org.apache.ibatis.annotations.Insert;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Options;
+import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Select;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
 @Mapper
 public interface UserDao {
+
+    /**
+     * IN列表与多行insert每条语句的最大元素数，避免语句过长与数据库的参数个数限制
+     */
+    int CHUNK_SIZE = 500;
+
     @Select("select * from user where id = #{id};")
     User select(Integer id);
 
@@ -14,6 +27,42 @@ public interface UserDao {
     User selectByMobile(String mobile);
 
     @Insert("insert ignore into user(mobile,password,salt) values(#{mobile},#{password},#{salt});")
+    @Options(useGeneratedKeys = true, keyProperty = "id", keyColumn = "id")
     Integer insert(User user);
 
+    /**
+     * 多行insert ignore，返回插入的行数。
+     * 所有行都插入成功时，生成的id按顺序回填到users中；有行因唯一键冲突被忽略时，
+     * 数据库只返回插入成功的行的id，回填的id与users对不上，调用方应当丢弃回填的id重新查询，见UserService#saveAll
+     */
+    @Insert("<script>" +
+            "insert ignore into user(mobile,password,salt) values " +
+            "<foreach collection='users' item='u' separator=','>(#{u.mobile},#{u.password},#{u.salt})</foreach>" +
+            "</script>")
+    @Options(useGeneratedKeys = true, keyProperty = "users.id", keyColumn = "id")
+    int insertBatch(@Param("users") List<User> users);
+
+    @Select("<script>" +
+            "select * from user where mobile in " +
+            "<foreach collection='mobiles' item='m' open='(' separator=',' close=')'>#{m}</foreach>" +
+            "</script>")
+    List<User> selectByMobileChunk(@Param("mobiles") Collection<String> mobiles);
+
+    /**
+     * 按手机号批量查询，每{@value #CHUNK_SIZE}个手机号一条IN查询，不存在的手机号不在结果中
+     */
+    default List<User> selectByMobiles(Collection<String> mobiles) {
+        if (mobiles.isEmpty()) {
+            return Collections.emptyList();
+        }
+        if (mobiles.size() <= CHUNK_SIZE) {
+            return selectByMobileChunk(mobiles);
+        }
+        List<String> all = new ArrayList<>(mobiles);
+        List<User> result = new ArrayList<>(all.size());
+        for (int from = 0; from < all.size(); from += CHUNK_SIZE) {
+            result.addAll(selectByMobileChunk(all.subList(from, Math.min(from + CHUNK_SIZE, all.size()))));
+        }
+        return result;
+    }
 }
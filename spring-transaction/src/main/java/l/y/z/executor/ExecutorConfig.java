@@ -0,0 +1,35 @@
+package l.y.z.executor;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-20 15:30 <br>
+ * <p>
+ * 业务代码注入的ExecutorService，线程数或并发数默认与Hikari连接池的maximum-pool-size相同：
+ * 任务基本都在做阻塞的JDBC调用，多于连接数的线程只会在连接池上排队
+ * </p>
+ */
+@Configuration
+@EnableConfigurationProperties(ExecutorProperties.class)
+public class ExecutorConfig {
+
+    /**
+     * 非Hikari连接池时的默认值，与Hikari的默认maximum-pool-size相同
+     */
+    private static final int DEFAULT_CONNECTION_POOL_SIZE = 10;
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService executorService(ExecutorProperties properties, DataSource dataSource) {
+        int connectionPoolSize = dataSource instanceof HikariDataSource
+                ? ((HikariDataSource) dataSource).getMaximumPoolSize()
+                : DEFAULT_CONNECTION_POOL_SIZE;
+        return ExecutorFactory.create(properties, connectionPoolSize);
+    }
+}
@@ -0,0 +1,115 @@
+package l.y.z.executor;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-20 15:20 <br>
+ * <p>
+ * 按{@link ExecutorProperties}创建ExecutorService。
+ * <p>
+ * 项目按Java 8编译，虚拟线程的API通过反射查找：运行在JDK 21及以上时使用
+ * Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(prefix, 0).factory())；
+ * 更低的JDK上退化为每个任务一个平台线程（可复用的缓存线程池），仍然受信号量限制。
+ * </p>
+ */
+@Slf4j
+public final class ExecutorFactory {
+
+    /**
+     * (prefix, start) -&gt; Thread.ofVirtual().name(prefix, start).factory()，当前JDK不支持虚拟线程时为null
+     */
+    private static final MethodHandle VIRTUAL_THREAD_FACTORY;
+
+    /**
+     * (ThreadFactory) -&gt; Executors.newThreadPerTaskExecutor(factory)
+     */
+    private static final MethodHandle THREAD_PER_TASK_EXECUTOR;
+
+    static {
+        MethodHandle threadFactory = null;
+        MethodHandle perTaskExecutor = null;
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder$OfVirtual");
+            MethodHandle ofVirtual = lookup.findStatic(Thread.class, "ofVirtual", MethodType.methodType(builderClass));
+            MethodHandle name = lookup.findVirtual(builderClass, "name", MethodType.methodType(builderClass, String.class, long.class));
+            MethodHandle factory = lookup.findVirtual(builderClass, "factory", MethodType.methodType(ThreadFactory.class));
+            threadFactory = MethodHandles.filterReturnValue(MethodHandles.collectArguments(name, 0, ofVirtual), factory);
+            perTaskExecutor = lookup.findStatic(Executors.class, "newThreadPerTaskExecutor",
+                    MethodType.methodType(ExecutorService.class, ThreadFactory.class));
+        } catch (ReflectiveOperationException e) {
+            threadFactory = null;
+            perTaskExecutor = null;
+        }
+        VIRTUAL_THREAD_FACTORY = threadFactory;
+        THREAD_PER_TASK_EXECUTOR = perTaskExecutor;
+    }
+
+    private ExecutorFactory() {
+    }
+
+    /**
+     * @param connectionPoolSize 连接池的最大连接数，poolSize、maxConcurrency未配置时使用
+     */
+    public static ExecutorService create(ExecutorProperties properties, int connectionPoolSize) {
+        String prefix = properties.getThreadNamePrefix();
+        switch (properties.getMode()) {
+            case FIXED:
+                int poolSize = properties.getPoolSize() > 0 ? properties.getPoolSize() : connectionPoolSize;
+                log.info("executor mode: FIXED, {} threads", poolSize);
+                return Executors.newFixedThreadPool(poolSize, new NamedThreadFactory(prefix));
+            case VIRTUAL:
+                int maxConcurrency = properties.getMaxConcurrency() > 0 ? properties.getMaxConcurrency() : connectionPoolSize;
+                ExecutorService perTask = newVirtualThreadPerTaskExecutor(prefix);
+                if (perTask == null) {
+                    log.warn("virtual threads are not supported by java {}, fall back to platform threads", System.getProperty("java.version"));
+                    perTask = Executors.newCachedThreadPool(new NamedThreadFactory(prefix));
+                }
+                log.info("executor mode: VIRTUAL, max concurrency {}", maxConcurrency);
+                return new LimitedExecutorService(perTask, maxConcurrency);
+            default:
+                throw new IllegalArgumentException(String.valueOf(properties.getMode()));
+        }
+    }
+
+    public static boolean isVirtualThreadSupported() {
+        return VIRTUAL_THREAD_FACTORY != null;
+    }
+
+    private static ExecutorService newVirtualThreadPerTaskExecutor(String prefix) {
+        if (VIRTUAL_THREAD_FACTORY == null) {
+            return null;
+        }
+        try {
+            ThreadFactory factory = (ThreadFactory) VIRTUAL_THREAD_FACTORY.invoke(prefix + "-", 0L);
+            return (ExecutorService) THREAD_PER_TASK_EXECUTOR.invoke(factory);
+        } catch (Throwable e) {
+            log.warn("create virtual thread executor failed", e);
+            return null;
+        }
+    }
+
+    private static class NamedThreadFactory implements ThreadFactory {
+
+        private final String prefix;
+        private final AtomicInteger sequence = new AtomicInteger();
+
+        NamedThreadFactory(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable r) {
+            return new Thread(r, prefix + "-" + sequence.getAndIncrement());
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package l.y.z.executor;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-20 15:00 <br>
+ * <p>注入到业务代码中的ExecutorService的执行方式</p>
+ */
+public enum ExecutorMode {
+
+    /**
+     * 固定大小的平台线程池，每个阻塞的JDBC调用占用一个线程
+     */
+    FIXED,
+
+    /**
+     * 每个任务一个虚拟线程，并发数由信号量限制。JDK 21以下没有虚拟线程，退化为每个任务一个平台线程
+     */
+    VIRTUAL
+}
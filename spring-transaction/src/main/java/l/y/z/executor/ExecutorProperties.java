@@ -0,0 +1,34 @@
+package l.y.z.executor;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-20 15:00 <br>
+ * <p>
+ * executor.*配置，见application.yml
+ * </p>
+ */
+@Data
+@ConfigurationProperties(prefix = "executor")
+public class ExecutorProperties {
+
+    private ExecutorMode mode = ExecutorMode.FIXED;
+
+    /**
+     * FIXED模式的线程数，&lt;= 0时与连接池的最大连接数相同
+     */
+    private int poolSize;
+
+    /**
+     * VIRTUAL模式同时执行的最大任务数，&lt;= 0时与连接池的最大连接数相同，
+     * 超出的任务在提交时等待，不会有多于连接数的线程去抢连接
+     */
+    private int maxConcurrency;
+
+    /**
+     * 线程名前缀
+     */
+    private String threadNamePrefix = "biz";
+}
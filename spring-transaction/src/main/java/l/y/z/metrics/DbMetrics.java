@@ -0,0 +1,146 @@
+package l.y.z.metrics;
+
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedOperation;
+import org.springframework.jmx.export.annotation.ManagedResource;
+
+import java.util.Map;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-20 23:30 <br>
+ * <p>
+ * 数据库访问指标的汇总，以MBean l.y.z:type=DbMetrics导出，用jconsole/jmc或任何JMX客户端查看：
+ * 连接池的活跃、空闲、等待线程数，获取连接与占用连接的耗时，每条mapper语句与每个事务方法的耗时分位数。
+ * <p>
+ * {@link #getAverageConnectionsInUse()}由Little定律得到：平均占用的连接数 = 连接被占用的总时长 / 观察时长。
+ * 连接池大小应在它的基础上留出余量，并结合获取连接的高分位与等待线程数判断是否偏小
+ * </p>
+ */
+@ManagedResource(objectName = "l.y.z:type=DbMetrics", description = "connection pool, statement and transaction latency")
+public class DbMetrics {
+
+    private final PoolMetrics pool = new PoolMetrics();
+    private final LatencyRegistry statements = new LatencyRegistry();
+    private final LatencyRegistry transactions = new LatencyRegistry();
+
+    /**
+     * 观察的起点，reset时更新
+     */
+    private volatile long since = System.nanoTime();
+
+    public PoolMetrics getPool() {
+        return pool;
+    }
+
+    public LatencyRegistry getStatements() {
+        return statements;
+    }
+
+    public LatencyRegistry getTransactions() {
+        return transactions;
+    }
+
+    @ManagedAttribute(description = "connections in use")
+    public int getActiveConnections() {
+        return pool.getActiveConnections();
+    }
+
+    @ManagedAttribute(description = "idle connections")
+    public int getIdleConnections() {
+        return pool.getIdleConnections();
+    }
+
+    @ManagedAttribute(description = "all connections in the pool")
+    public int getTotalConnections() {
+        return pool.getTotalConnections();
+    }
+
+    @ManagedAttribute(description = "threads waiting for a connection")
+    public int getPendingThreads() {
+        return pool.getPendingThreads();
+    }
+
+    @ManagedAttribute(description = "maximum-pool-size")
+    public int getMaxConnections() {
+        return pool.getMaxConnections();
+    }
+
+    @ManagedAttribute(description = "minimum-idle")
+    public int getMinConnections() {
+        return pool.getMinConnections();
+    }
+
+    @ManagedAttribute(description = "getConnection calls that timed out")
+    public long getConnectionTimeouts() {
+        return pool.getTimeouts();
+    }
+
+    @ManagedAttribute(description = "time waiting for a connection")
+    public String getConnectionAcquire() {
+        return pool.acquire().toString();
+    }
+
+    @ManagedAttribute(description = "time a connection is borrowed")
+    public String getConnectionUsage() {
+        return pool.usage().toString();
+    }
+
+    @ManagedAttribute(description = "average connections in use since start or reset, by Little's law")
+    public double getAverageConnectionsInUse() {
+        long elapsed = System.nanoTime() - since;
+        return elapsed <= 0 ? 0 : (double) pool.usage().getTotalNanos() / elapsed;
+    }
+
+    @ManagedAttribute(description = "latency per mapper statement")
+    public String[] getStatementLatencies() {
+        return lines(statements.snapshot());
+    }
+
+    @ManagedAttribute(description = "latency per @Transactional method")
+    public String[] getTransactionLatencies() {
+        return lines(transactions.snapshot());
+    }
+
+    @ManagedOperation(description = "clear all histograms and restart the observation window")
+    public void reset() {
+        pool.reset();
+        statements.reset();
+        transactions.reset();
+        since = System.nanoTime();
+    }
+
+    @ManagedOperation(description = "all metrics as text")
+    public String report() {
+        StringBuilder report = new StringBuilder();
+        report.append("pool ").append(pool.getPoolName())
+                .append(": active=").append(getActiveConnections())
+                .append(" idle=").append(getIdleConnections())
+                .append(" total=").append(getTotalConnections())
+                .append(" pending=").append(getPendingThreads())
+                .append(" max=").append(getMaxConnections())
+                .append(" min=").append(getMinConnections())
+                .append(" timeouts=").append(getConnectionTimeouts())
+                .append(String.format(" averageInUse=%.2f", getAverageConnectionsInUse())).append('\n');
+        report.append("acquire: ").append(getConnectionAcquire()).append('\n');
+        report.append("usage: ").append(getConnectionUsage()).append('\n');
+        report.append("statements:\n");
+        for (String line : getStatementLatencies()) {
+            report.append("  ").append(line).append('\n');
+        }
+        report.append("transactions:\n");
+        for (String line : getTransactionLatencies()) {
+            report.append("  ").append(line).append('\n');
+        }
+        return report.toString();
+    }
+
+    private static String[] lines(Map<String, LatencyHistogram.Snapshot> snapshots) {
+        String[] lines = new String[snapshots.size()];
+        int i = 0;
+        for (Map.Entry<String, LatencyHistogram.Snapshot> entry : snapshots.entrySet()) {
+            lines[i++] = entry.getKey() + " " + entry.getValue();
+        }
+        return lines;
+    }
+}
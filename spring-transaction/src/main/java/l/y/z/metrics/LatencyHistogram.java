@@ -0,0 +1,152 @@
+package l.y.z.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-20 23:00 <br>
+ * <p>
+ * 纳秒延迟直方图，桶的划分与HdrHistogram相同：小于{@value #SUB_BUCKET_COUNT}的值每个值一个桶，
+ * 之后每个2的幂区间等分为{@value #HALF_SUB_BUCKET_COUNT}个桶，相对误差不超过1/64（约1.6%）。
+ * 上限为2^{@value #MAX_VALUE_BITS}纳秒（约18分钟），更大的值计入最后一个桶。
+ * <p>
+ * 记录只有一次数组下标计算和几个原子加，不加锁、不分配对象，可以在每条SQL上调用；
+ * 读取时遍历所有桶，{@link #snapshot()}不阻塞记录，但与并发的记录之间不是原子的，count与各分位数可能差几个样本。
+ * </p>
+ */
+public class LatencyHistogram {
+
+    static final int SUB_BUCKET_BITS = 7;
+    static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    static final int HALF_SUB_BUCKET_COUNT = SUB_BUCKET_COUNT >> 1;
+    static final int MAX_VALUE_BITS = 40;
+    static final long MAX_VALUE = (1L << MAX_VALUE_BITS) - 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(index(MAX_VALUE) + 1);
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    public void record(long nanos) {
+        long value = nanos < 0 ? 0 : Math.min(nanos, MAX_VALUE);
+        counts.incrementAndGet(index(value));
+        totalNanos.add(value);
+        long current;
+        while (value > (current = max.get()) && !max.compareAndSet(current, value)) {
+            // 其它线程更新了max，重新比较
+        }
+    }
+
+    public void record(long duration, TimeUnit unit) {
+        record(unit.toNanos(duration));
+    }
+
+    /**
+     * 清空所有桶，与并发的记录之间不是原子的，只用于开始一轮新的观察
+     */
+    public void reset() {
+        for (int i = 0; i < counts.length(); i++) {
+            counts.set(i, 0);
+        }
+        totalNanos.reset();
+        max.set(0);
+    }
+
+    public Snapshot snapshot() {
+        long[] copy = new long[counts.length()];
+        long count = 0;
+        for (int i = 0; i < copy.length; i++) {
+            copy[i] = counts.get(i);
+            count += copy[i];
+        }
+        return new Snapshot(copy, count, totalNanos.sum(), max.get());
+    }
+
+    static int index(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        // value >>> shift落在[64, 128)
+        int shift = 63 - Long.numberOfLeadingZeros(value) - (SUB_BUCKET_BITS - 1);
+        return (shift + 1) * HALF_SUB_BUCKET_COUNT + (int) (value >>> shift) - HALF_SUB_BUCKET_COUNT;
+    }
+
+    /**
+     * 桶中最大的值
+     */
+    static long highestEquivalentValue(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = index / HALF_SUB_BUCKET_COUNT - 1;
+        long subBucket = index % HALF_SUB_BUCKET_COUNT + HALF_SUB_BUCKET_COUNT;
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+    /**
+     * 某一时刻的只读副本
+     */
+    public static class Snapshot {
+
+        private final long[] counts;
+        private final long count;
+        private final long totalNanos;
+        private final long max;
+
+        Snapshot(long[] counts, long count, long totalNanos, long max) {
+            this.counts = counts;
+            this.count = count;
+            this.totalNanos = totalNanos;
+            this.max = max;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        public long getMaxNanos() {
+            return max;
+        }
+
+        public double getMeanNanos() {
+            return count == 0 ? 0 : (double) totalNanos / count;
+        }
+
+        /**
+         * 不小于percentile%样本的最小值（所在桶的上界，不超过max），没有样本时为0
+         *
+         * @param percentile 0~100
+         */
+        public long valueAtPercentile(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(Math.min(percentile, 100) / 100 * count));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return Math.min(highestEquivalentValue(i), max);
+                }
+            }
+            return max;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("count=%d mean=%.1fus p50=%.1fus p90=%.1fus p99=%.1fus p999=%.1fus max=%.1fus",
+                    count, getMeanNanos() / 1000, micros(valueAtPercentile(50)), micros(valueAtPercentile(90)),
+                    micros(valueAtPercentile(99)), micros(valueAtPercentile(99.9)), micros(max));
+        }
+
+        private static double micros(long nanos) {
+            return nanos / 1000.0;
+        }
+    }
+}
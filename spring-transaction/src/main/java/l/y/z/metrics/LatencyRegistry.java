@@ -0,0 +1,40 @@
+package l.y.z.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-20 23:10 <br>
+ * <p>
+ * 按名称（mapper语句id、事务方法名）分组的{@link LatencyHistogram}，名称只增不减。
+ * 已存在的名称只有一次{@link ConcurrentHashMap#get(Object)}，不进入computeIfAbsent的锁
+ * </p>
+ */
+public class LatencyRegistry {
+
+    private final ConcurrentHashMap<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+
+    public LatencyHistogram histogram(String name) {
+        LatencyHistogram histogram = histograms.get(name);
+        return histogram != null ? histogram : histograms.computeIfAbsent(name, k -> new LatencyHistogram());
+    }
+
+    public void record(String name, long nanos) {
+        histogram(name).record(nanos);
+    }
+
+    /**
+     * 按名称排序的快照
+     */
+    public Map<String, LatencyHistogram.Snapshot> snapshot() {
+        Map<String, LatencyHistogram.Snapshot> result = new TreeMap<>();
+        histograms.forEach((name, histogram) -> result.put(name, histogram.snapshot()));
+        return result;
+    }
+
+    public void reset() {
+        histograms.values().forEach(LatencyHistogram::reset);
+    }
+}
@@ -0,0 +1,54 @@
+package l.y.z.metrics;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-20 23:35 <br>
+ * <p>
+ * db-metrics.enabled=false时关闭。MyBatis的自动配置会把容器中的{@link org.apache.ibatis.plugin.Interceptor}加入SqlSessionFactory
+ * </p>
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "db-metrics", name = "enabled", matchIfMissing = true)
+public class MetricsConfig {
+
+    @Bean
+    public DbMetrics dbMetrics() {
+        return new DbMetrics();
+    }
+
+    @Bean
+    public StatementMetricsInterceptor statementMetricsInterceptor(DbMetrics dbMetrics) {
+        return new StatementMetricsInterceptor(dbMetrics.getStatements());
+    }
+
+    @Bean
+    public TransactionMetricsAspect transactionMetricsAspect(DbMetrics dbMetrics) {
+        return new TransactionMetricsAspect(dbMetrics.getTransactions());
+    }
+
+    /**
+     * 在Hikari连接池上挂接{@link PoolMetrics}，已经配置了MetricRegistry或MetricsTrackerFactory时不覆盖
+     */
+    @Bean
+    public static BeanPostProcessor poolMetricsPostProcessor(ObjectProvider<DbMetrics> dbMetrics) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource) {
+                    HikariDataSource dataSource = (HikariDataSource) bean;
+                    if (dataSource.getMetricRegistry() == null && dataSource.getMetricsTrackerFactory() == null) {
+                        dataSource.setMetricsTrackerFactory(dbMetrics.getObject().getPool());
+                    }
+                }
+                return bean;
+            }
+        };
+    }
+}
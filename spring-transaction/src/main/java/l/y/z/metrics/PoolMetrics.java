@@ -0,0 +1,119 @@
+package l.y.z.metrics;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-20 23:20 <br>
+ * <p>
+ * Hikari连接池的指标，通过{@link com.zaxxer.hikari.HikariDataSource#setMetricsTrackerFactory(MetricsTrackerFactory)}接入，
+ * 不依赖Dropwizard或Micrometer：
+ * <ul>
+ *     <li>acquire：getConnection等待连接的耗时，池不够用时首先在这里的高分位上体现</li>
+ *     <li>usage：连接从借出到归还的耗时，即每次借用占用连接的时长</li>
+ *     <li>create：新建物理连接的耗时</li>
+ *     <li>timeouts：等待超过connection-timeout的次数</li>
+ * </ul>
+ * 活跃、空闲、等待线程数取自Hikari的{@link PoolStats}，Hikari最多每秒刷新一次。
+ * 一个应用只有一个连接池，多次调用{@link #create(String, PoolStats)}时以最后一个池为准
+ * </p>
+ */
+public class PoolMetrics implements MetricsTrackerFactory {
+
+    private final LatencyHistogram acquire = new LatencyHistogram();
+    private final LatencyHistogram usage = new LatencyHistogram();
+    private final LatencyHistogram create = new LatencyHistogram();
+    private final LongAdder timeouts = new LongAdder();
+
+    private volatile String poolName;
+    private volatile PoolStats poolStats;
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        this.poolName = poolName;
+        this.poolStats = poolStats;
+        return new IMetricsTracker() {
+            @Override
+            public void recordConnectionCreatedMillis(long connectionCreatedMillis) {
+                create.record(connectionCreatedMillis, TimeUnit.MILLISECONDS);
+            }
+
+            @Override
+            public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+                acquire.record(elapsedAcquiredNanos);
+            }
+
+            @Override
+            public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+                usage.record(elapsedBorrowedMillis, TimeUnit.MILLISECONDS);
+            }
+
+            @Override
+            public void recordConnectionTimeout() {
+                timeouts.increment();
+            }
+        };
+    }
+
+    public String getPoolName() {
+        return poolName;
+    }
+
+    public LatencyHistogram.Snapshot acquire() {
+        return acquire.snapshot();
+    }
+
+    public LatencyHistogram.Snapshot usage() {
+        return usage.snapshot();
+    }
+
+    public LatencyHistogram.Snapshot create() {
+        return create.snapshot();
+    }
+
+    public long getTimeouts() {
+        return timeouts.sum();
+    }
+
+    public int getActiveConnections() {
+        PoolStats stats = poolStats;
+        return stats == null ? 0 : stats.getActiveConnections();
+    }
+
+    public int getIdleConnections() {
+        PoolStats stats = poolStats;
+        return stats == null ? 0 : stats.getIdleConnections();
+    }
+
+    public int getTotalConnections() {
+        PoolStats stats = poolStats;
+        return stats == null ? 0 : stats.getTotalConnections();
+    }
+
+    public int getPendingThreads() {
+        PoolStats stats = poolStats;
+        return stats == null ? 0 : stats.getPendingThreads();
+    }
+
+    public int getMaxConnections() {
+        PoolStats stats = poolStats;
+        return stats == null ? 0 : stats.getMaxConnections();
+    }
+
+    public int getMinConnections() {
+        PoolStats stats = poolStats;
+        return stats == null ? 0 : stats.getMinConnections();
+    }
+
+    public void reset() {
+        acquire.reset();
+        usage.reset();
+        create.reset();
+        timeouts.reset();
+    }
+}
@@ -0,0 +1,62 @@
+package l.y.z.metrics;
+
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Plugin;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+
+import java.util.Properties;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-20 23:15 <br>
+ * <p>
+ * 按mapper语句id（如l.y.z.dao.UserDao.insertBatch）记录每次执行的耗时，失败的执行也记录。
+ * <p>
+ * 拦截的是{@link Executor}，耗时包括MyBatis组装参数、映射结果；
+ * 不在事务中执行时还包括从连接池获取连接的等待，这部分单独记录在{@link PoolMetrics}中。
+ * 两个query签名都拦截：{@code CachingExecutor}的4参数query在内部调用被代理对象的6参数query，不会记录两次
+ * </p>
+ */
+@Intercepts({
+        @Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class}),
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class, BoundSql.class})
+})
+public class StatementMetricsInterceptor implements Interceptor {
+
+    private final LatencyRegistry statements;
+
+    public StatementMetricsInterceptor(LatencyRegistry statements) {
+        this.statements = statements;
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        MappedStatement statement = (MappedStatement) invocation.getArgs()[0];
+        long start = System.nanoTime();
+        try {
+            return invocation.proceed();
+        } finally {
+            statements.record(statement.getId(), System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public Object plugin(Object target) {
+        return target instanceof Executor ? Plugin.wrap(target, this) : target;
+    }
+
+    @Override
+    public void setProperties(Properties properties) {
+    }
+}
@@ -0,0 +1,58 @@
+package l.y.z.metrics;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-20 23:25 <br>
+ * <p>
+ * 记录{@code @Transactional}方法（方法或类上有注解）的耗时，按"类名.方法名"分组，回滚的也记录。
+ * <p>
+ * 优先级最高，包在事务拦截器外面，耗时包括获取连接、begin与commit/rollback，
+ * 也就是事务方法占用一个连接的时长。{@code TransactionTemplate}中执行的事务不经过这里
+ * </p>
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class TransactionMetricsAspect {
+
+    private final LatencyRegistry transactions;
+
+    /**
+     * 避免每次调用都拼接名称
+     */
+    private final ConcurrentHashMap<Method, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+
+    public TransactionMetricsAspect(LatencyRegistry transactions) {
+        this.transactions = transactions;
+    }
+
+    @Around("@annotation(org.springframework.transaction.annotation.Transactional)"
+            + " || @within(org.springframework.transaction.annotation.Transactional)")
+    public Object record(ProceedingJoinPoint joinPoint) throws Throwable {
+        long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            histogram((MethodSignature) joinPoint.getSignature()).record(System.nanoTime() - start);
+        }
+    }
+
+    private LatencyHistogram histogram(MethodSignature signature) {
+        Method method = signature.getMethod();
+        LatencyHistogram histogram = histograms.get(method);
+        if (histogram == null) {
+            histogram = histograms.computeIfAbsent(method, m ->
+                    transactions.histogram(signature.getDeclaringType().getSimpleName() + "." + m.getName()));
+        }
+        return histogram;
+    }
+}
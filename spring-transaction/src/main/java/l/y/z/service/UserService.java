@@ -1,24 +1,65 @@
 package l.y.z.service;
 
+import l.y.z.batch.MicroBatcher;
 import l.y.z.dao.UserDao;
 import l.y.z.entity.User;
+import l.y.z.writebehind.UserWriteBehind;
 import lombok.extern.slf4j.Slf4j;
-import org.mybatis.spring.mapper.MapperFactoryBean;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DeadlockLoserDataAccessException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Service
 public class UserService {
 
+    /**
+     * 合并窗口与每批的最大手机号数
+     */
+    private static final long BATCH_WINDOW_MILLIS = 2;
+    private static final int MAX_BATCH_SIZE = 256;
+
     @Autowired
     private ExecutorService executorService;
     @Autowired
     private UserDao userDao;
 
+    /**
+     * user.write-behind.enabled=true时才有
+     */
+    @Autowired(required = false)
+    private UserWriteBehind writeBehind;
+
+    private MicroBatcher<String, User> getOrCreateBatcher;
+
+    @PostConstruct
+    public void init() {
+        getOrCreateBatcher = new MicroBatcher<>("user", this::getOrCreateAll, executorService,
+                MAX_BATCH_SIZE, BATCH_WINDOW_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        getOrCreateBatcher.close();
+    }
+
     @Transactional
     public void test() {
 
@@ -32,4 +73,116 @@ public class UserService {
         log.info("user: {}", user);
     }
 
+    /**
+     * 创建用户，手机号已存在时忽略。
+     * 启用了写后队列时只追加日志、放入队列，不等待落库，此时user的id不回填
+     */
+    public void create(User user) {
+        if (writeBehind != null) {
+            writeBehind.submit(user);
+        } else {
+            userDao.insert(user);
+        }
+    }
+
+    /**
+     * 按手机号查询用户，先查写后队列中未落库的用户（id为null），保证读到自己刚创建的用户
+     */
+    public User findByMobile(String mobile) {
+        if (writeBehind != null) {
+            User user = writeBehind.getPending(mobile);
+            if (user != null) {
+                return user;
+            }
+        }
+        return userDao.selectByMobile(mobile);
+    }
+
+    /**
+     * 按手机号查询用户，不存在时创建。
+     * 并发的调用在{@value #BATCH_WINDOW_MILLIS}ms的窗口内合并，每批只有一条多行insert ignore与一条IN查询
+     */
+    public CompletableFuture<User> getOrCreate(String mobile) {
+        return getOrCreateBatcher.submit(mobile);
+    }
+
+    /**
+     * 批量保存，手机号已存在的用户不覆盖，回填已存在用户的id。
+     * 每{@value UserDao#CHUNK_SIZE}个用户一条insert ignore；有冲突时再按手机号查询一次，取回冲突用户的id。
+     * 每条insert中的行按手机号排序、去重，并发的批量插入按同样的顺序获取唯一键上的锁，不会互相死锁
+     */
+    @Transactional
+    public List<User> saveAll(List<User> users) {
+        for (int from = 0; from < users.size(); from += UserDao.CHUNK_SIZE) {
+            List<User> chunk = users.subList(from, Math.min(from + UserDao.CHUNK_SIZE, users.size()));
+            int inserted = userDao.insertBatch(sortedByMobile(chunk));
+            // 有重复的手机号时inserted小于chunk.size()，重复的用户同样需要按手机号取回id
+            if (inserted == chunk.size()) {
+                continue;
+            }
+            // 被忽略的行没有生成id，数据库返回的id与chunk对不上，按手机号重新取
+            Map<String, User> persisted = byMobile(userDao.selectByMobiles(mobiles(chunk)));
+            for (User user : chunk) {
+                User existing = persisted.get(user.getMobile());
+                user.setId(existing == null ? null : existing.getId());
+            }
+        }
+        return users;
+    }
+
+    public List<User> findByMobiles(Collection<String> mobiles) {
+        return userDao.selectByMobiles(mobiles);
+    }
+
+    /**
+     * 一批手机号一条insert ignore，按手机号排序，与saveAll相同，并发的批次按同样的顺序加锁。
+     * 不在事务中，单条语句因锁等待超时或被选为死锁的牺牲者失败时，整条语句已回滚，重试一次
+     */
+    private Map<String, User> getOrCreateAll(List<String> mobiles) {
+        List<User> users = new ArrayList<>(mobiles.size());
+        for (String mobile : new TreeSet<>(mobiles)) {
+            User user = new User();
+            user.setMobile(mobile);
+            users.add(user);
+        }
+        int inserted;
+        try {
+            inserted = userDao.insertBatch(users);
+        } catch (CannotAcquireLockException | DeadlockLoserDataAccessException e) {
+            log.warn("insert batch of {} failed, retry once: {}", users.size(), e.getMessage());
+            users.forEach(user -> user.setId(null));
+            inserted = userDao.insertBatch(users);
+        }
+        if (inserted == users.size()) {
+            return byMobile(users);
+        }
+        return byMobile(userDao.selectByMobiles(mobiles));
+    }
+
+    /**
+     * 按手机号排序，重复的手机号只保留第一个用户
+     */
+    private static List<User> sortedByMobile(List<User> users) {
+        Map<String, User> sorted = new TreeMap<>();
+        for (User user : users) {
+            sorted.putIfAbsent(user.getMobile(), user);
+        }
+        return new ArrayList<>(sorted.values());
+    }
+
+    private static Set<String> mobiles(List<User> users) {
+        Set<String> mobiles = new LinkedHashSet<>(users.size() << 1);
+        for (User user : users) {
+            mobiles.add(user.getMobile());
+        }
+        return mobiles;
+    }
+
+    private static Map<String, User> byMobile(List<User> users) {
+        Map<String, User> result = new HashMap<>(users.size() << 1);
+        for (User user : users) {
+            result.put(user.getMobile(), user);
+        }
+        return result;
+    }
 }
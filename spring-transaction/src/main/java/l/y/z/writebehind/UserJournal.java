@@ -0,0 +1,324 @@
+package l.y.z.writebehind;
+
+import l.y.z.entity.User;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-20 21:00 <br>
+ * <p>
+ * 写后队列的追加日志：接受一个写入之前先追加一行，进程崩溃重启后重放日志中的写入。
+ * <p>
+ * 每行一个用户，mobile、password、salt三个字段以tab分隔，每个字段为空串（null）或"="加Base64编码的值；
+ * 最后一行没有换行符时视为写到一半崩溃，{@link #replay()}时丢弃并从文件中截掉，之后的追加从完整的行之后开始。
+ * <p>
+ * 每条记录对应一个{@link Entry}，落库后通过{@link #flushed(Collection)}标记。
+ * 多个线程并发提交时落库的顺序与追加的顺序不一定相同，日志只记录"该偏移之前的记录都已落库"：
+ * <ul>
+ *     <li>所有记录都已落库时截断为空文件</li>
+ *     <li>已落库的前缀超过compactThresholdBytes时压缩：把未落库的尾部写到新文件，再原子地替换原文件</li>
+ * </ul>
+ * 队列一直不空时日志的长度也不超过compactThresholdBytes加上未落库的记录，重启时多重放的已落库记录同样有上限；
+ * insert ignore按手机号是幂等的，重放已经落库的行没有影响。
+ * <p>
+ * fsync为false时只保证进程崩溃不丢数据（数据已在操作系统的页缓存中），为true时每次追加、截断、压缩都force到磁盘。
+ * </p>
+ */
+@Slf4j
+public class UserJournal implements Closeable {
+
+    static final long DEFAULT_COMPACT_THRESHOLD_BYTES = 1 << 20;
+
+    private static final Base64.Encoder ENCODER = Base64.getEncoder();
+    private static final Base64.Decoder DECODER = Base64.getDecoder();
+
+    private final Path path;
+    private final boolean fsync;
+    private final long compactThresholdBytes;
+
+    // 以下字段由this保护
+
+    private FileChannel channel;
+
+    /**
+     * 文件长度
+     */
+    private long size;
+
+    /**
+     * 该偏移之前的记录都已落库
+     */
+    private long flushedOffset;
+
+    /**
+     * 按追加顺序排列、在flushedOffset之后的记录，其中可能有已落库但排在未落库记录之后的
+     */
+    private final ArrayDeque<Entry> entries = new ArrayDeque<>();
+
+    /**
+     * 已追加还未落库的记录数
+     */
+    private long unflushed;
+
+    public UserJournal(Path path, boolean fsync) {
+        this(path, fsync, DEFAULT_COMPACT_THRESHOLD_BYTES);
+    }
+
+    public UserJournal(Path path, boolean fsync, long compactThresholdBytes) {
+        this.path = path;
+        this.fsync = fsync;
+        this.compactThresholdBytes = compactThresholdBytes;
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            this.channel = open(path);
+            this.size = channel.size();
+        } catch (IOException e) {
+            throw new UncheckedIOException("open journal " + path + " failed", e);
+        }
+    }
+
+    /**
+     * 读取日志中的所有完整的行，用于启动时重放，在第一次{@link #append(User)}之前调用。
+     * 写到一半的最后一行被截掉
+     */
+    public synchronized List<Entry> replay() {
+        List<Entry> replayed = new ArrayList<>();
+        try {
+            byte[] content = Files.readAllBytes(path);
+            int start = 0;
+            for (int i = 0; i < content.length; i++) {
+                if (content[i] != '\n') {
+                    continue;
+                }
+                User user = decode(new String(content, start, i - start, StandardCharsets.UTF_8));
+                start = i + 1;
+                if (user != null) {
+                    Entry entry = new Entry(user, start);
+                    entries.addLast(entry);
+                    replayed.add(entry);
+                }
+            }
+            if (start < content.length) {
+                log.warn("discard torn journal record: {}", new String(content, start, content.length - start, StandardCharsets.UTF_8));
+                channel.truncate(start);
+                if (fsync) {
+                    channel.force(false);
+                }
+            }
+            size = start;
+        } catch (IOException e) {
+            throw new UncheckedIOException("read journal " + path + " failed", e);
+        }
+        unflushed += replayed.size();
+        if (entries.isEmpty()) {
+            // 只有不能解析的行
+            flushedOffset = size;
+            truncateOrCompact();
+        }
+        return replayed;
+    }
+
+    public synchronized Entry append(User user) {
+        byte[] record = (encode(user) + "\n").getBytes(StandardCharsets.UTF_8);
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(record);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            if (fsync) {
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("append journal " + path + " failed", e);
+        }
+        size += record.length;
+        Entry entry = new Entry(user, size);
+        entries.addLast(entry);
+        unflushed++;
+        return entry;
+    }
+
+    /**
+     * 这些记录已经落库，推进已落库的前缀，必要时截断或压缩日志
+     */
+    public synchronized void flushed(Collection<Entry> batch) {
+        for (Entry entry : batch) {
+            if (!entry.flushed) {
+                entry.flushed = true;
+                unflushed--;
+            }
+        }
+        Entry head;
+        while ((head = entries.peekFirst()) != null && head.flushed) {
+            entries.pollFirst();
+            flushedOffset = head.end;
+        }
+        if (entries.isEmpty()) {
+            flushedOffset = size;
+        }
+        truncateOrCompact();
+    }
+
+    public synchronized long unflushed() {
+        return unflushed;
+    }
+
+    /**
+     * 当前文件长度
+     */
+    public synchronized long size() {
+        return size;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.close();
+    }
+
+    private void truncateOrCompact() {
+        if (flushedOffset == 0) {
+            return;
+        }
+        if (flushedOffset == size) {
+            try {
+                channel.truncate(0);
+                if (fsync) {
+                    channel.force(false);
+                }
+                size = 0;
+                flushedOffset = 0;
+            } catch (IOException e) {
+                // 截断失败只会导致下次启动多重放一些已经落库的行
+                log.warn("truncate journal {} failed", path, e);
+            }
+        } else if (flushedOffset >= compactThresholdBytes) {
+            compact();
+        }
+    }
+
+    /**
+     * 把未落库的尾部写到临时文件，原子地替换原文件。替换之前崩溃时原文件完整，替换之后新文件完整
+     */
+    private void compact() {
+        Path compacted = path.resolveSibling(path.getFileName() + ".compact");
+        FileChannel target = null;
+        try {
+            target = FileChannel.open(compacted, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+            try (FileChannel source = FileChannel.open(path, StandardOpenOption.READ)) {
+                long position = flushedOffset;
+                while (position < size) {
+                    position += source.transferTo(position, size - position, target);
+                }
+            }
+            if (fsync) {
+                target.force(false);
+            }
+            target.close();
+            Files.move(compacted, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("compact journal {} failed", path, e);
+            try {
+                if (target != null) {
+                    target.close();
+                }
+                Files.deleteIfExists(compacted);
+            } catch (IOException ignored) {
+                // 下次压缩时覆盖
+            }
+            return;
+        }
+        try {
+            channel.close();
+            channel = open(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException("reopen journal " + path + " failed", e);
+        }
+        for (Entry entry : entries) {
+            entry.end -= flushedOffset;
+        }
+        size -= flushedOffset;
+        flushedOffset = 0;
+    }
+
+    private static FileChannel open(Path path) throws IOException {
+        return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    static String encode(User user) {
+        return field(user.getMobile()) + '\t' + field(user.getPassword()) + '\t' + field(user.getSalt());
+    }
+
+    static User decode(String line) {
+        String[] fields = line.split("\t", -1);
+        if (fields.length != 3) {
+            log.warn("discard malformed journal record: {}", line);
+            return null;
+        }
+        try {
+            User user = new User();
+            user.setMobile(value(fields[0]));
+            user.setPassword(value(fields[1]));
+            user.setSalt(value(fields[2]));
+            return user.getMobile() == null ? null : user;
+        } catch (IllegalArgumentException e) {
+            log.warn("discard malformed journal record: {}", line);
+            return null;
+        }
+    }
+
+    private static String field(String value) {
+        return value == null ? "" : "=" + ENCODER.encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String value(String field) {
+        if (field.isEmpty()) {
+            return null;
+        }
+        if (field.charAt(0) != '=') {
+            throw new IllegalArgumentException(field);
+        }
+        return new String(DECODER.decode(field.substring(1)), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 日志中的一条记录
+     */
+    public static final class Entry {
+
+        private final User user;
+
+        /**
+         * 记录结束（换行符之后）的文件偏移，由日志的锁保护
+         */
+        private long end;
+        private boolean flushed;
+
+        Entry(User user, long end) {
+            this.user = user;
+            this.end = end;
+        }
+
+        public User getUser() {
+            return user;
+        }
+    }
+}
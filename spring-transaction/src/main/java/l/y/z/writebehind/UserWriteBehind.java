@@ -0,0 +1,315 @@
+package l.y.z.writebehind;
+
+import l.y.z.dao.UserDao;
+import l.y.z.entity.User;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-20 21:20 <br>
+ * <p>
+ * 用户创建的写后队列：{@link #submit(User)}追加日志、放入队列后立即返回，
+ * 由executor中的一个落库任务按batchSize分批，每批一个事务、一条多行insert ignore。
+ * 注册高峰时事务与数据库连接的占用从每个用户一次降为每批一次。
+ * <p>
+ * <ul>
+ *     <li>有界：容量由信号量控制，队列满时submit最多等待offerTimeoutMillis，超时抛出{@link RejectedExecutionException}</li>
+ *     <li>崩溃恢复：接受写入之前先追加到{@link UserJournal}，启动时{@link #recover()}同步重放日志</li>
+ *     <li>读自己的写：未落库的用户可以通过{@link #getPending(String)}查到，落库的事务提交之后才从pending中移除，
+ *     移除之前UserDao的缓存已经在afterCommit中失效，读方不会在两者之间漏掉这个用户</li>
+ *     <li>落库失败时间隔retryBackoffMillis重试同一批；重试maxRetries次后仍失败，把这一批拆成两半分别落库，
+ *     直到找出单独失败的一行。这一行因数据不合法（{@link DataIntegrityViolationException}）失败时追加到死信日志deadLetter，
+ *     视为已落库，队列中其余的写入继续落库；其他原因（如数据库不可用）的失败继续重试，直到成功或{@link #close()}，
+ *     关闭时未落库的写入留在日志中</li>
+ *     <li>不合法的数据在{@link #submit(User)}时按表结构检查，尽量不进入队列</li>
+ * </ul>
+ * 同一个手机号在落库之前重复提交时，与insert ignore一致，保留第一次提交的用户。
+ * </p>
+ */
+@Slf4j
+public class UserWriteBehind implements Closeable {
+
+    /**
+     * 与表结构中的列长度一致
+     */
+    static final int MAX_MOBILE_LENGTH = 11;
+    static final int MAX_PASSWORD_LENGTH = 64;
+    static final int MAX_SALT_LENGTH = 32;
+
+    private final UserDao userDao;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor executor;
+    private final WriteBehindProperties properties;
+    private final UserJournal journal;
+
+    private final Semaphore capacity;
+    private final Queue<UserJournal.Entry> queue = new ConcurrentLinkedQueue<>();
+    private final ConcurrentHashMap<String, User> pending = new ConcurrentHashMap<>();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private volatile boolean closed;
+
+    public UserWriteBehind(UserDao userDao, TransactionTemplate transactionTemplate, Executor executor, WriteBehindProperties properties) {
+        this.userDao = userDao;
+        this.transactionTemplate = transactionTemplate;
+        this.executor = executor;
+        this.properties = properties;
+        this.capacity = new Semaphore(properties.getCapacity());
+        this.journal = new UserJournal(Paths.get(properties.getJournal()), properties.isFsync(),
+                properties.getCompactThresholdBytes());
+    }
+
+    /**
+     * 重放日志中上次未落库的写入，同步落库，在接受新的写入之前调用
+     */
+    public void recover() {
+        List<UserJournal.Entry> entries = journal.replay();
+        if (entries.isEmpty()) {
+            return;
+        }
+        log.info("recover {} users from journal {}", entries.size(), properties.getJournal());
+        for (int from = 0; from < entries.size(); from += properties.getBatchSize()) {
+            write(entries.subList(from, Math.min(from + properties.getBatchSize(), entries.size())), true);
+        }
+    }
+
+    /**
+     * 接受一个用户，追加日志后返回，不等待落库
+     *
+     * @throws IllegalArgumentException    字段超出表结构中的列长度
+     * @throws RejectedExecutionException 队列满且等待超时，或已关闭
+     */
+    public void submit(User user) {
+        Objects.requireNonNull(user.getMobile());
+        checkLength("mobile", user.getMobile(), MAX_MOBILE_LENGTH);
+        checkLength("password", user.getPassword(), MAX_PASSWORD_LENGTH);
+        checkLength("salt", user.getSalt(), MAX_SALT_LENGTH);
+        if (closed) {
+            throw new RejectedExecutionException("write-behind queue is closed");
+        }
+        try {
+            if (!capacity.tryAcquire(properties.getOfferTimeoutMillis(), TimeUnit.MILLISECONDS)) {
+                throw new RejectedExecutionException("write-behind queue is full, capacity " + properties.getCapacity());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("interrupted while waiting for the write-behind queue", e);
+        }
+        User copy = copy(user);
+        UserJournal.Entry entry;
+        try {
+            entry = journal.append(copy);
+        } catch (RuntimeException e) {
+            capacity.release();
+            throw e;
+        }
+        pending.putIfAbsent(copy.getMobile(), copy);
+        queue.add(entry);
+        scheduleDrain();
+    }
+
+    /**
+     * 已提交还未落库的用户，id为null
+     */
+    public User getPending(String mobile) {
+        User user = pending.get(mobile);
+        return user == null ? null : copy(user);
+    }
+
+    public int pendingCount() {
+        return properties.getCapacity() - capacity.availablePermits();
+    }
+
+    /**
+     * 等待当前所有写入落库
+     *
+     * @return 超时前是否全部落库
+     */
+    public boolean awaitFlushed(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (pendingCount() > 0) {
+            if (System.nanoTime() >= deadline) {
+                return false;
+            }
+            TimeUnit.MILLISECONDS.sleep(1);
+        }
+        return true;
+    }
+
+    /**
+     * 不再接受新的写入，等待已接受的写入落库，最多等待10秒
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        try {
+            if (!awaitFlushed(10, TimeUnit.SECONDS)) {
+                log.warn("{} users are not flushed, they will be recovered from the journal", pendingCount());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        journal.close();
+    }
+
+    private void scheduleDrain() {
+        if (!draining.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            draining.set(false);
+            // 已经在日志与队列中，下一次submit或重启时落库
+            log.warn("schedule write-behind flush failed", e);
+        }
+    }
+
+    private void drain() {
+        try {
+            List<UserJournal.Entry> batch = new ArrayList<>(properties.getBatchSize());
+            while (true) {
+                batch.clear();
+                UserJournal.Entry entry;
+                while (batch.size() < properties.getBatchSize() && (entry = queue.poll()) != null) {
+                    batch.add(entry);
+                }
+                if (batch.isEmpty() || !write(batch, false)) {
+                    return;
+                }
+            }
+        } finally {
+            draining.set(false);
+            // 释放标志之前放入队列的写入可能没有触发新的落库任务
+            if (!queue.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+    }
+
+    /**
+     * 落库一批，失败时重试，重试maxRetries次后拆成两半分别落库，单独一行因数据不合法失败时移到死信日志
+     *
+     * @param recovering 启动时重放日志：不占用队列容量，单独一行因其他原因失败时抛出异常，不无限重试
+     * @return 是否落库成功，关闭后仍失败时返回false，未落库的部分留在日志中
+     */
+    private boolean write(List<UserJournal.Entry> batch, boolean recovering) {
+        List<User> users = users(batch);
+        for (int retries = 0; ; retries++) {
+            try {
+                transactionTemplate.execute(status -> userDao.insertBatch(users));
+                break;
+            } catch (RuntimeException e) {
+                if (closed) {
+                    log.error("flush {} users failed on close", batch.size(), e);
+                    return false;
+                }
+                if (retries >= properties.getMaxRetries()) {
+                    if (batch.size() > 1) {
+                        int half = batch.size() >>> 1;
+                        log.warn("flush {} users failed after {} retries, split into {} and {}",
+                                batch.size(), retries, half, batch.size() - half, e);
+                        return write(batch.subList(0, half), recovering)
+                                && write(batch.subList(half, batch.size()), recovering);
+                    }
+                    if (e instanceof DataIntegrityViolationException) {
+                        deadLetter(batch.get(0), e);
+                        break;
+                    }
+                    if (recovering) {
+                        throw e;
+                    }
+                }
+                log.warn("flush {} users failed, retry in {} ms", batch.size(), properties.getRetryBackoffMillis(), e);
+                try {
+                    TimeUnit.MILLISECONDS.sleep(properties.getRetryBackoffMillis());
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+        }
+        if (!recovering) {
+            // 事务已提交，UserDao的缓存已失效
+            for (User user : users) {
+                pending.remove(user.getMobile(), user);
+            }
+            capacity.release(batch.size());
+        }
+        journal.flushed(batch);
+        return true;
+    }
+
+    /**
+     * 与日志的格式相同，修复数据后可以作为日志重放。写死信日志失败时，记录只留在错误日志中
+     */
+    private void deadLetter(UserJournal.Entry entry, RuntimeException cause) {
+        String record = UserJournal.encode(entry.getUser());
+        log.error("move user {} to dead letter {}: {}", entry.getUser().getMobile(), properties.getDeadLetter(), record, cause);
+        Path path = Paths.get(properties.getDeadLetter());
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND)) {
+                ByteBuffer buffer = ByteBuffer.wrap((record + "\n").getBytes(StandardCharsets.UTF_8));
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                if (properties.isFsync()) {
+                    channel.force(false);
+                }
+            }
+        } catch (IOException e) {
+            log.error("append dead letter {} failed: {}", path, record, e);
+        }
+    }
+
+    private static void checkLength(String field, String value, int max) {
+        if (value != null && value.length() > max) {
+            throw new IllegalArgumentException(field + " is longer than " + max + ": " + value.length());
+        }
+    }
+
+    private static List<User> users(List<UserJournal.Entry> entries) {
+        List<User> users = new ArrayList<>(entries.size());
+        for (UserJournal.Entry entry : entries) {
+            users.add(entry.getUser());
+        }
+        return users;
+    }
+
+    private static User copy(User user) {
+        User copy = new User();
+        copy.setId(user.getId());
+        copy.setMobile(user.getMobile());
+        copy.setPassword(user.getPassword());
+        copy.setSalt(user.getSalt());
+        copy.setCreateTime(user.getCreateTime());
+        copy.setUpdateTime(user.getUpdateTime());
+        return copy;
+    }
+}
@@ -0,0 +1,29 @@
+package l.y.z.writebehind;
+
+import l.y.z.dao.UserDao;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-20 21:40 <br>
+ * <p>
+ * user.write-behind.enabled=true时启用写后队列，落库任务在注入的ExecutorService中执行
+ * </p>
+ */
+@Configuration
+@EnableConfigurationProperties(WriteBehindProperties.class)
+public class WriteBehindConfig {
+
+    @Bean(initMethod = "recover", destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "user.write-behind", name = "enabled", havingValue = "true")
+    public UserWriteBehind userWriteBehind(UserDao userDao, TransactionTemplate transactionTemplate,
+                                           ExecutorService executorService, WriteBehindProperties properties) {
+        return new UserWriteBehind(userDao, transactionTemplate, executorService, properties);
+    }
+}
@@ -0,0 +1,63 @@
+package l.y.z.writebehind;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-20 21:00 <br>
+ * <p>
+ * user.write-behind.*配置，见application.yml
+ * </p>
+ */
+@Data
+@ConfigurationProperties(prefix = "user.write-behind")
+public class WriteBehindProperties {
+
+    private boolean enabled;
+
+    /**
+     * 队列容量，队列满时提交方等待
+     */
+    private int capacity = 10_000;
+
+    /**
+     * 队列满时最多等待的毫秒数，超时抛出{@link java.util.concurrent.RejectedExecutionException}
+     */
+    private long offerTimeoutMillis = 1_000;
+
+    /**
+     * 每个事务最多插入的行数
+     */
+    private int batchSize = 500;
+
+    /**
+     * 追加日志的路径
+     */
+    private String journal = "user-write-behind.journal";
+
+    /**
+     * 日志中已落库的前缀超过这个字节数时压缩，队列一直不空时日志也不会无限增长
+     */
+    private long compactThresholdBytes = UserJournal.DEFAULT_COMPACT_THRESHOLD_BYTES;
+
+    /**
+     * 每次追加是否force到磁盘
+     */
+    private boolean fsync;
+
+    /**
+     * 落库失败后重试的间隔毫秒数
+     */
+    private long retryBackoffMillis = 1_000;
+
+    /**
+     * 一批重试这么多次仍失败时拆成两半分别落库，找出不合法的行
+     */
+    private int maxRetries = 3;
+
+    /**
+     * 不合法、无法落库的用户追加到这个文件，格式与日志相同
+     */
+    private String deadLetter = "user-write-behind.dead";
+}
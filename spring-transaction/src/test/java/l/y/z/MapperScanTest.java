@@ -0,0 +1,48 @@
+package l.y.z;
+
+import l.y.z.dao.UserDao;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mybatis.spring.mapper.MapperFactoryBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-21 14:00 <br>
+ * <p>
+ * 只有l.y.z.dao下标注了@Mapper的接口注册为mapper，
+ * 依赖的source-code模块中的接口（缓存、上下文）与测试中的接口不应被扫描进来
+ * </p>
+ */
+@SpringBootTest
+@ActiveProfiles("h2")
+@RunWith(SpringRunner.class)
+public class MapperScanTest {
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Test
+    public void onlyDaoMappers() {
+        Set<Class<?>> mappers = new HashSet<>();
+        for (MapperFactoryBean<?> factoryBean : applicationContext.getBeansOfType(MapperFactoryBean.class).values()) {
+            mappers.add(factoryBean.getMapperInterface());
+        }
+        for (Class<?> mapper : mappers) {
+            String name = mapper.getName();
+            assertTrue(name, !name.startsWith("l.y.z.cache.") && !name.startsWith("l.y.z.context."));
+        }
+        assertEquals(1, mappers.size());
+        assertTrue(mappers.contains(UserDao.class));
+    }
+}
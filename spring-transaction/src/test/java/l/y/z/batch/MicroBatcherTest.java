@@ -0,0 +1,99 @@
+package l.y.z.batch;
+
+import l.y.z.executor.LimitedExecutorService;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-21 17:00 <br>
+ * <p>
+ * executor许可耗尽时，定时线程不阻塞，后续窗口仍按时结束
+ * </p>
+ */
+public class MicroBatcherTest {
+
+    @Test
+    public void timerNotBlockedByExecutor() throws Exception {
+        LimitedExecutorService executor = new LimitedExecutorService(Executors.newCachedThreadPool(), 1);
+        CountDownLatch release = new CountDownLatch(1);
+        // 占住唯一的许可
+        executor.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        List<List<String>> batches = Collections.synchronizedList(new ArrayList<>());
+        Function<List<String>, Map<String, String>> loader = keys -> {
+            batches.add(keys);
+            return keys.stream().collect(Collectors.toMap(k -> k, String::toUpperCase));
+        };
+        MicroBatcher<String, String> batcher = new MicroBatcher<>("test", loader, executor, 100, 5, TimeUnit.MILLISECONDS);
+
+        CompletableFuture<String> a = batcher.submit("a");
+        // 第一个窗口到期后，等待许可的是dispatcher而不是定时线程
+        assertEquals("test-dispatcher", awaitBlockedOnSemaphore().getName());
+
+        // 第二个窗口同样按时结束，之后的请求开始新的窗口，而不是并入卡住的窗口
+        CompletableFuture<String> b = batcher.submit("b");
+        TimeUnit.MILLISECONDS.sleep(50);
+        CompletableFuture<String> c = batcher.submit("c");
+        TimeUnit.MILLISECONDS.sleep(50);
+        assertFalse(blockedOnSemaphore(thread("test-batcher")));
+
+        release.countDown();
+        assertEquals("A", a.get(10, TimeUnit.SECONDS));
+        assertEquals("B", b.get(10, TimeUnit.SECONDS));
+        assertEquals("C", c.get(10, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList(Collections.singletonList("a"), Collections.singletonList("b"),
+                Collections.singletonList("c")), batches);
+
+        batcher.close();
+        executor.shutdown();
+    }
+
+    private static Thread awaitBlockedOnSemaphore() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (System.nanoTime() < deadline) {
+            for (Thread thread : Thread.getAllStackTraces().keySet()) {
+                if (thread.getName().startsWith("test-") && blockedOnSemaphore(thread)) {
+                    return thread;
+                }
+            }
+            TimeUnit.MILLISECONDS.sleep(1);
+        }
+        throw new AssertionError("no batcher thread waiting for a permit");
+    }
+
+    private static boolean blockedOnSemaphore(Thread thread) {
+        if (thread.getState() != Thread.State.WAITING) {
+            return false;
+        }
+        return Arrays.stream(thread.getStackTrace())
+                .anyMatch(e -> e.getClassName().startsWith("java.util.concurrent.Semaphore"));
+    }
+
+    private static Thread thread(String name) {
+        return Thread.getAllStackTraces().keySet().stream()
+                .filter(t -> t.getName().equals(name))
+                .findFirst()
+                .orElse(null);
+    }
+}
@@ -0,0 +1,127 @@
+package l.y.z.dao;
+
+import l.y.z.cache.CacheStats;
+import l.y.z.entity.User;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-20 19:30 <br>
+ * <p>
+ * 内嵌H2上的读穿透缓存：不存在的手机号的缓存、提交后失效、回滚的写入不可见
+ * </p>
+ */
+@Slf4j
+@SpringBootTest
+@ActiveProfiles("h2")
+@RunWith(SpringRunner.class)
+public class CachedUserDaoTest {
+
+    @Autowired
+    private UserDao userDao;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    public void injectedAsPrimary() {
+        assertTrue(userDao instanceof CachedUserDao);
+    }
+
+    @Test
+    public void negativeCaching() {
+        CachedUserDao cached = (CachedUserDao) userDao;
+        CacheStats before = cached.byMobileStats();
+        for (int i = 0; i < 10; i++) {
+            assertNull(userDao.selectByMobile("16000000000"));
+        }
+        CacheStats after = cached.byMobileStats();
+        // 只有第一次查询了数据库
+        assertEquals(1, after.getLoadSuccessCount() - before.getLoadSuccessCount());
+        assertEquals(9, after.getHitCount() - before.getHitCount());
+
+        // 不在事务中的insert立即失效
+        User user = user("16000000000");
+        assertEquals(Integer.valueOf(1), userDao.insert(user));
+        User found = userDao.selectByMobile("16000000000");
+        assertEquals(user.getId(), found.getId());
+        assertEquals(found, userDao.select(user.getId()));
+        // 返回的是副本
+        assertNotSame(found, userDao.selectByMobile("16000000000"));
+    }
+
+    @Test
+    public void rollbackIsNotVisible() {
+        assertNull(userDao.selectByMobile("16000000001"));
+        transactionTemplate.execute(status -> {
+            User user = user("16000000001");
+            userDao.insert(user);
+            // 本事务写过user表，读取绕过缓存，能读到未提交的行
+            assertNotNull(userDao.selectByMobile("16000000001"));
+            assertNotNull(userDao.select(user.getId()));
+            status.setRollbackOnly();
+            return null;
+        });
+        assertNull(userDao.selectByMobile("16000000001"));
+        CachedUserDao cached = (CachedUserDao) userDao;
+        log.info("by mobile: {}", cached.byMobileStats());
+    }
+
+    @Test
+    public void invalidateAfterCommit() throws Exception {
+        assertNull(userDao.selectByMobile("16000000002"));
+        transactionTemplate.execute(status -> {
+            userDao.insert(user("16000000002"));
+            try {
+                // 提交前，其它线程读到的仍是缓存中的"不存在"
+                assertNull(CompletableFuture.supplyAsync(() -> userDao.selectByMobile("16000000002")).get());
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+            return null;
+        });
+        assertNotNull(CompletableFuture.supplyAsync(() -> userDao.selectByMobile("16000000002")).get());
+    }
+
+    @Test
+    public void selectByMobilesMergesMisses() {
+        User a = user("16000000010");
+        User b = user("16000000011");
+        userDao.insertBatch(Arrays.asList(a, b));
+        assertEquals(a.getId(), userDao.selectByMobile("16000000010").getId());
+
+        CachedUserDao cached = (CachedUserDao) userDao;
+        CacheStats before = cached.byMobileStats();
+        List<User> users = userDao.selectByMobiles(Arrays.asList("16000000010", "16000000011", "16000000012"));
+        assertEquals(2, users.size());
+        CacheStats after = cached.byMobileStats();
+        // 1个命中，2个未命中合并为一次加载
+        assertEquals(1, after.getHitCount() - before.getHitCount());
+        assertEquals(1, after.getLoadSuccessCount() - before.getLoadSuccessCount());
+
+        assertEquals(2, userDao.selectByMobiles(Arrays.asList("16000000010", "16000000011", "16000000012")).size());
+        assertEquals(after.getLoadSuccessCount(), cached.byMobileStats().getLoadSuccessCount());
+    }
+
+    private static User user(String mobile) {
+        User user = new User();
+        user.setMobile(mobile);
+        return user;
+    }
+}
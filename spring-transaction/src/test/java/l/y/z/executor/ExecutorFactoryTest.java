@@ -0,0 +1,106 @@
+package l.y.z.executor;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-21 15:00 <br>
+ * <p>
+ * 不依赖时间的检查：信号量限制并发数，不同JDK上创建的线程池
+ * </p>
+ */
+public class ExecutorFactoryTest {
+
+    @Test
+    public void limitNeverExceeded() throws Exception {
+        int permits = 3;
+        int tasks = 10;
+        LimitedExecutorService executor = new LimitedExecutorService(Executors.newCachedThreadPool(), permits);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        AtomicInteger submitted = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(permits);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(tasks);
+
+        Thread submitter = new Thread(() -> {
+            for (int i = 0; i < tasks; i++) {
+                executor.execute(() -> {
+                    peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    started.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    running.decrementAndGet();
+                    finished.countDown();
+                });
+                submitted.incrementAndGet();
+            }
+        });
+        submitter.start();
+        started.await();
+        // 许可用完，提交线程阻塞在第permits + 1个任务上
+        while (submitter.getState() != Thread.State.WAITING) {
+            Thread.yield();
+        }
+        assertEquals(permits, submitted.get());
+        assertEquals(permits, executor.getActiveCount());
+
+        release.countDown();
+        finished.await();
+        submitter.join();
+        assertEquals(tasks, submitted.get());
+        assertEquals(permits, peak.get());
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void fixedPoolSizedByConnections() {
+        ExecutorProperties properties = new ExecutorProperties();
+        ExecutorService executor = ExecutorFactory.create(properties, 7);
+        assertEquals(7, ((ThreadPoolExecutor) executor).getCorePoolSize());
+        executor.shutdown();
+
+        properties.setPoolSize(3);
+        executor = ExecutorFactory.create(properties, 7);
+        assertEquals(3, ((ThreadPoolExecutor) executor).getCorePoolSize());
+        executor.shutdown();
+    }
+
+    @Test
+    public void virtualFallsBackBeforeJava21() throws Exception {
+        ExecutorProperties properties = new ExecutorProperties();
+        properties.setMode(ExecutorMode.VIRTUAL);
+        LimitedExecutorService executor = (LimitedExecutorService) ExecutorFactory.create(properties, 5);
+        assertEquals(5, executor.getMaxConcurrency());
+        if (System.getProperty("java.specification.version").startsWith("1.")) {
+            assertFalse(ExecutorFactory.isVirtualThreadSupported());
+        }
+        if (ExecutorFactory.isVirtualThreadSupported()) {
+            assertFalse(executor.getDelegate() instanceof ThreadPoolExecutor);
+        } else {
+            // 缓存线程池：没有核心线程，线程数不设上限，由信号量限制
+            ThreadPoolExecutor delegate = (ThreadPoolExecutor) executor.getDelegate();
+            assertEquals(0, delegate.getCorePoolSize());
+            assertEquals(Integer.MAX_VALUE, delegate.getMaximumPoolSize());
+        }
+        String[] name = new String[1];
+        executor.submit(() -> name[0] = Thread.currentThread().getName()).get();
+        assertTrue(name[0], name[0].startsWith("biz-"));
+        executor.shutdown();
+    }
+}
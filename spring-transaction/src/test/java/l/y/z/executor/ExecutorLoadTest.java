@@ -0,0 +1,122 @@
+package l.y.z.executor;
+
+import l.y.z.dao.UserDao;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-20 15:40 <br>
+ * <p>
+ * 内嵌H2上的负载测试：每个任务先执行一次2ms的sleep_millis模拟数据库往返，再经UserDao查询一次，
+ * 比较FIXED与VIRTUAL两种模式的吞吐量与从提交到完成的延迟分位数，并检查同时执行的任务数不超过连接数。
+ * 耗时且结果与机器有关，默认不执行，用 mvn test -Pload-test 执行；确定性的检查见{@link ExecutorFactoryTest}
+ * </p>
+ */
+@Slf4j
+@SpringBootTest
+@ActiveProfiles("h2")
+@RunWith(SpringRunner.class)
+public class ExecutorLoadTest {
+
+    private static final int CONNECTIONS = 200;
+    private static final int CLIENTS = 400;
+    private static final int REQUESTS_PER_CLIENT = 20;
+
+    @Autowired
+    private UserDao userDao;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private ExecutorService executorService;
+
+    @Test
+    public void injected() {
+        // application.yml中默认是FIXED模式，没有配置线程数，与连接池大小相同
+        assertEquals(CONNECTIONS, ((ThreadPoolExecutor) executorService).getCorePoolSize());
+    }
+
+    @Test
+    public void fixed() throws Exception {
+        ExecutorProperties properties = new ExecutorProperties();
+        properties.setMode(ExecutorMode.FIXED);
+        run(properties);
+    }
+
+    @Test
+    public void virtual() throws Exception {
+        ExecutorProperties properties = new ExecutorProperties();
+        properties.setMode(ExecutorMode.VIRTUAL);
+        run(properties);
+    }
+
+    private void run(ExecutorProperties properties) throws Exception {
+        ExecutorService executor = ExecutorFactory.create(properties, CONNECTIONS);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        long[] latencies = new long[CLIENTS * REQUESTS_PER_CLIENT];
+
+        // 闭环：CLIENTS个客户端线程各自提交任务并等待完成，客户端数多于连接数
+        Thread[] clients = new Thread[CLIENTS];
+        long start = System.nanoTime();
+        for (int c = 0; c < CLIENTS; c++) {
+            int client = c;
+            clients[c] = new Thread(() -> {
+                for (int r = 0; r < REQUESTS_PER_CLIENT; r++) {
+                    int index = client * REQUESTS_PER_CLIENT + r;
+                    long submitted = System.nanoTime();
+                    try {
+                        executor.submit(() -> {
+                            peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                            try {
+                                jdbcTemplate.execute("call sleep_millis(2)");
+                                userDao.selectByMobile(String.valueOf(10_000_000_000L + index));
+                            } finally {
+                                running.decrementAndGet();
+                            }
+                        }).get();
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                    latencies[index] = System.nanoTime() - submitted;
+                }
+            }, "client-" + c);
+            clients[c].start();
+        }
+        for (Thread client : clients) {
+            client.join();
+        }
+        long elapsed = System.nanoTime() - start;
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        int total = latencies.length;
+        Arrays.sort(latencies);
+        log.info("{}{}: {} tasks in {} ms, {} tasks/s, latency p50 {} ms, p99 {} ms, max {} ms, peak concurrency {}",
+                properties.getMode(),
+                properties.getMode() == ExecutorMode.VIRTUAL && !ExecutorFactory.isVirtualThreadSupported() ? "(platform threads)" : "",
+                total, TimeUnit.NANOSECONDS.toMillis(elapsed), total * TimeUnit.SECONDS.toNanos(1) / elapsed,
+                millis(latencies[total / 2]), millis(latencies[total * 99 / 100]), millis(latencies[total - 1]), peak.get());
+        assertTrue(latencies[0] > 0);
+        assertTrue(peak.get() <= CONNECTIONS);
+    }
+
+    private static String millis(long nanos) {
+        return String.format("%.2f", nanos / 1e6);
+    }
+}
@@ -0,0 +1,89 @@
+package l.y.z.metrics;
+
+import l.y.z.entity.User;
+import l.y.z.service.UserService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-20 23:45 <br>
+ * <p>
+ * 内嵌H2上执行批量保存与查询，检查语句、事务、连接池的指标以及JMX导出。
+ * 测试上下文默认关闭JMX，这里显式打开
+ * </p>
+ */
+@Slf4j
+@SpringBootTest(properties = "spring.jmx.enabled=true")
+@ActiveProfiles("h2")
+@RunWith(SpringRunner.class)
+public class DbMetricsTest {
+
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private DbMetrics dbMetrics;
+
+    @Test
+    public void recorded() throws Exception {
+        List<User> users = new ArrayList<>();
+        List<String> mobiles = new ArrayList<>();
+        for (int i = 0; i < 700; i++) {
+            User user = new User();
+            user.setMobile(String.valueOf(16_000_000_000L + i));
+            users.add(user);
+            mobiles.add(user.getMobile());
+        }
+        long savesBefore = count(dbMetrics.getTransactions().snapshot(), "UserService.saveAll");
+        long insertsBefore = count(dbMetrics.getStatements().snapshot(), "l.y.z.dao.UserDao.insertBatch");
+        userService.saveAll(users);
+        assertEquals(700, userService.findByMobiles(mobiles).size());
+        log.info("\n{}", dbMetrics.report());
+
+        // 700个用户分两个chunk
+        assertEquals(insertsBefore + 2, count(dbMetrics.getStatements().snapshot(), "l.y.z.dao.UserDao.insertBatch"));
+        assertTrue(count(dbMetrics.getStatements().snapshot(), "l.y.z.dao.UserDao.selectByMobileChunk") >= 1);
+        assertEquals(savesBefore + 1, count(dbMetrics.getTransactions().snapshot(), "UserService.saveAll"));
+        // findByMobiles不是事务方法
+        assertFalse(dbMetrics.getTransactions().snapshot().containsKey("UserService.findByMobiles"));
+
+        PoolMetrics pool = dbMetrics.getPool();
+        assertTrue(pool.acquire().getCount() > 0);
+        assertTrue(pool.usage().getCount() > 0);
+        assertEquals(200, dbMetrics.getMaxConnections());
+        assertEquals(20, dbMetrics.getMinConnections());
+        assertTrue(dbMetrics.getAverageConnectionsInUse() >= 0);
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        Set<ObjectName> names = server.queryNames(new ObjectName("l.y.z:type=DbMetrics,*"), null);
+        assertFalse(names.isEmpty());
+        boolean found = false;
+        for (ObjectName name : names) {
+            found |= Integer.valueOf(200).equals(server.getAttribute(name, "MaxConnections"))
+                    && ((String[]) server.getAttribute(name, "StatementLatencies")).length > 0;
+        }
+        assertTrue(found);
+    }
+
+    private static long count(Map<String, LatencyHistogram.Snapshot> snapshots, String name) {
+        LatencyHistogram.Snapshot snapshot = snapshots.get(name);
+        return snapshot == null ? 0 : snapshot.getCount();
+    }
+}
@@ -0,0 +1,87 @@
+package l.y.z.metrics;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-20 23:40 <br>
+ * <p></p>
+ */
+public class LatencyHistogramTest {
+
+    @Test
+    public void buckets() {
+        // 桶的下标连续，每个值都落在自己的桶内
+        long previous = -1;
+        for (int index = 0; index <= LatencyHistogram.index(LatencyHistogram.MAX_VALUE); index++) {
+            long high = LatencyHistogram.highestEquivalentValue(index);
+            assertEquals(index, LatencyHistogram.index(previous + 1));
+            assertEquals(index, LatencyHistogram.index(high));
+            assertTrue(high - previous - 1 <= high / 64);
+            previous = high;
+        }
+        assertEquals(LatencyHistogram.MAX_VALUE, previous);
+    }
+
+    @Test
+    public void percentiles() {
+        Random random = new Random(7);
+        LatencyHistogram histogram = new LatencyHistogram();
+        long[] values = new long[100_000];
+        for (int i = 0; i < values.length; i++) {
+            // 对数分布，1us~1s
+            values[i] = (long) Math.pow(10, 3 + random.nextDouble() * 6);
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(values.length, snapshot.getCount());
+        assertEquals(values[values.length - 1], snapshot.getMaxNanos());
+        for (double percentile : new double[]{1, 50, 90, 99, 99.9, 100}) {
+            long exact = values[(int) Math.ceil(percentile / 100 * values.length) - 1];
+            long approximate = snapshot.valueAtPercentile(percentile);
+            assertTrue(percentile + ": " + exact + " " + approximate,
+                    approximate >= exact && approximate - exact <= exact / 64);
+        }
+        assertEquals(0, new LatencyHistogram().snapshot().valueAtPercentile(99));
+
+        histogram.reset();
+        assertEquals(0, histogram.snapshot().getCount());
+        assertEquals(0, histogram.snapshot().getMaxNanos());
+    }
+
+    @Test
+    public void concurrentRecording() throws Exception {
+        LatencyHistogram histogram = new LatencyHistogram();
+        int threads = 8;
+        int perThread = 100_000;
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int offset = t;
+            futures.add(executorService.submit(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    histogram.record(1000 + (i + offset) % 1000);
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executorService.shutdown();
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(threads * perThread, snapshot.getCount());
+        assertEquals(1999, snapshot.getMaxNanos());
+    }
+}
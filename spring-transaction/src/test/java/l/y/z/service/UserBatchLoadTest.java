@@ -0,0 +1,113 @@
+package l.y.z.service;
+
+import l.y.z.dao.UserDao;
+import l.y.z.entity.User;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-20 17:30 <br>
+ * <p>
+ * 内嵌H2上对比单个处理与经MicroBatcher合并处理的耗时：100个客户端各请求20个手机号，每两个客户端请求同一批。
+ * 耗时且结果与机器有关，默认不执行，用 mvn test -Pload-test 执行；确定性的检查见{@link UserBatchTest}
+ * </p>
+ */
+@Slf4j
+@SpringBootTest
+@ActiveProfiles("h2")
+@RunWith(SpringRunner.class)
+public class UserBatchLoadTest {
+
+    private static final int CLIENTS = 100;
+    private static final int REQUESTS_PER_CLIENT = 20;
+
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private UserDao userDao;
+
+    @Test
+    public void getOrCreateMergesRequests() throws Exception {
+        // 单个处理：每个请求一条insert ignore，冲突时再一条select
+        long single = run(mobile -> {
+            User user = user(mobile);
+            if (userDao.insert(user) == 0) {
+                user = userDao.selectByMobile(mobile);
+            }
+            return user.getId();
+        }, 14_000_000_000L);
+
+        // 合并处理：同样的请求经MicroBatcher合并
+        long batched = run(mobile -> userService.getOrCreate(mobile).get().getId(), 15_000_000_000L);
+        log.info("{} requests from {} clients: single {} ms, batched {} ms",
+                CLIENTS * REQUESTS_PER_CLIENT, CLIENTS, TimeUnit.NANOSECONDS.toMillis(single), TimeUnit.NANOSECONDS.toMillis(batched));
+    }
+
+    /**
+     * CLIENTS个客户端并发调用getOrCreate，每两个客户端请求同一批手机号，同一个手机号必须得到同一个id
+     *
+     * @return 耗时，纳秒
+     */
+    private long run(Request request, long base) throws Exception {
+        Map<String, Integer>[] results = new Map[CLIENTS];
+        List<CompletableFuture<Void>> clients = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int c = 0; c < CLIENTS; c++) {
+            int client = c;
+            results[c] = new HashMap<>();
+            clients.add(CompletableFuture.runAsync(() -> {
+                for (int r = 0; r < REQUESTS_PER_CLIENT; r++) {
+                    String mobile = String.valueOf(base + (client >> 1) * REQUESTS_PER_CLIENT + r);
+                    try {
+                        results[client].put(mobile, request.getOrCreate(mobile));
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+            }, runnable -> new Thread(runnable, "client-" + client).start()));
+        }
+        for (CompletableFuture<Void> client : clients) {
+            client.get();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        Set<Integer> ids = new HashSet<>();
+        for (int c = 0; c < CLIENTS; c += 2) {
+            assertEquals(results[c], results[c + 1]);
+            for (Integer id : results[c].values()) {
+                assertNotNull(id);
+                ids.add(id);
+            }
+        }
+        assertEquals(CLIENTS / 2 * REQUESTS_PER_CLIENT, ids.size());
+        return elapsed;
+    }
+
+    private static User user(String mobile) {
+        User user = new User();
+        user.setMobile(mobile);
+        return user;
+    }
+
+    private interface Request {
+        Integer getOrCreate(String mobile) throws Exception;
+    }
+}
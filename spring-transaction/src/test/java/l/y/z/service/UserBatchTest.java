@@ -0,0 +1,212 @@
+package l.y.z.service;
+
+import l.y.z.dao.UserDao;
+import l.y.z.entity.User;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-20 17:30 <br>
+ * <p>
+ * 内嵌H2（MySQL模式）上的批量插入、批量查询与请求合并。
+ * 每个测试用不同号段的手机号，测试之间不互相影响。耗时的对比见{@link UserBatchLoadTest}
+ * </p>
+ */
+@SpringBootTest
+@ActiveProfiles("h2")
+@RunWith(SpringRunner.class)
+public class UserBatchTest {
+
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private UserDao userDao;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    public void saveAllResolvesConflicts() {
+        User existing = user("13000000007");
+        userDao.insert(existing);
+        assertNotNull(existing.getId());
+
+        // 跨3个chunk，包含已存在的手机号与列表内重复的手机号
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 1200; i++) {
+            users.add(user(String.valueOf(13_000_000_000L + i)));
+        }
+        users.add(user("13000000010"));
+        userService.saveAll(users);
+
+        Set<Integer> ids = new HashSet<>();
+        for (User user : users) {
+            assertNotNull(user.getMobile(), user.getId());
+            ids.add(user.getId());
+        }
+        assertEquals(1200, ids.size());
+        assertEquals(existing.getId(), users.get(7).getId());
+        assertEquals(users.get(10).getId(), users.get(1200).getId());
+
+        List<String> mobiles = new ArrayList<>();
+        for (User user : users) {
+            mobiles.add(user.getMobile());
+        }
+        mobiles.add("13999999999");
+        // 重复的手机号只返回一次
+        assertEquals(1200, userService.findByMobiles(mobiles).size());
+        assertNull(userDao.selectByMobile("13999999999"));
+    }
+
+    @Test
+    public void saveAllInsertsInMobileOrder() {
+        List<User> users = new ArrayList<>();
+        for (int i = 9; i >= 0; i--) {
+            users.add(user(String.valueOf(13_100_000_000L + i)));
+        }
+        userService.saveAll(users);
+        // 自增id的顺序即插入的顺序
+        for (int i = 1; i < users.size(); i++) {
+            assertTrue(users.get(i).getId() < users.get(i - 1).getId());
+        }
+    }
+
+    /**
+     * 每对客户端请求同一批手机号，一个升序一个降序，同一个手机号必须得到同一个id
+     */
+    @Test
+    public void getOrCreateMergesRequests() throws Exception {
+        int pairs = 4;
+        int count = 50;
+        Map<String, Integer>[] results = new Map[pairs * 2];
+        List<CompletableFuture<Void>> clients = new ArrayList<>();
+        for (int c = 0; c < pairs * 2; c++) {
+            int client = c;
+            results[c] = new ConcurrentHashMap<>();
+            clients.add(CompletableFuture.runAsync(() -> {
+                for (int r = 0; r < count; r++) {
+                    int i = (client & 1) == 0 ? r : count - 1 - r;
+                    String mobile = String.valueOf(13_200_000_000L + (client >> 1) * count + i);
+                    results[client].put(mobile, userService.getOrCreate(mobile).thenApply(User::getId).join());
+                }
+            }, runnable -> new Thread(runnable, "client-" + client).start()));
+        }
+        for (CompletableFuture<Void> client : clients) {
+            client.get(30, TimeUnit.SECONDS);
+        }
+        Set<Integer> ids = new HashSet<>();
+        for (int c = 0; c < pairs * 2; c += 2) {
+            assertEquals(results[c], results[c + 1]);
+            ids.addAll(results[c].values());
+        }
+        assertEquals(pairs * count, ids.size());
+    }
+
+    /**
+     * 另一个事务按手机号顺序插入a、b，插入a之后暂停。批次中的手机号是b、a：
+     * 不排序时批次先锁住b再等a，事务随后等b，互相等待；排序后批次先等a，不持有b，事务插入b后提交，批次随后完成
+     */
+    @Test
+    public void getOrCreateLocksInMobileOrder() throws Exception {
+        String a = "13400000001";
+        String b = "13400000002";
+        CountDownLatch aLocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        CompletableFuture<Void> holder = CompletableFuture.runAsync(() -> transaction.execute(status -> {
+            userDao.insertBatch(Collections.singletonList(user(a)));
+            aLocked.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return userDao.insertBatch(Collections.singletonList(user(b)));
+        }));
+        aLocked.await();
+
+        AtomicInteger attempts = new AtomicInteger();
+        UserService service = new UserService();
+        ReflectionTestUtils.setField(service, "userDao", countInsertBatch(attempts, 0));
+        CompletableFuture<Map<String, User>> batch = CompletableFuture.supplyAsync(() ->
+                ReflectionTestUtils.invokeMethod(service, "getOrCreateAll", Arrays.asList(b, a)));
+        // 等批次开始等待锁
+        TimeUnit.MILLISECONDS.sleep(200);
+        release.countDown();
+
+        holder.get(5, TimeUnit.SECONDS);
+        Map<String, User> users = batch.get(5, TimeUnit.SECONDS);
+        // 没有锁超时，也没有重试
+        assertEquals(1, attempts.get());
+        assertEquals(userDao.selectByMobile(a).getId(), users.get(a).getId());
+        assertEquals(userDao.selectByMobile(b).getId(), users.get(b).getId());
+    }
+
+    /**
+     * 锁等待超时时重试一次
+     */
+    @Test
+    public void getOrCreateRetriesLockTimeout() {
+        AtomicInteger attempts = new AtomicInteger();
+        UserService service = new UserService();
+        ReflectionTestUtils.setField(service, "userDao", countInsertBatch(attempts, 1));
+        Map<String, User> users = ReflectionTestUtils.invokeMethod(service, "getOrCreateAll",
+                Arrays.asList("13300000002", "13300000001"));
+
+        assertEquals(2, attempts.get());
+        assertEquals(2, users.size());
+        assertEquals(users.get("13300000001").getId(), userDao.selectByMobile("13300000001").getId());
+        assertEquals(users.get("13300000002").getId(), userDao.selectByMobile("13300000002").getId());
+    }
+
+    /**
+     * 统计insertBatch的调用次数，第failures次及之前的调用抛出锁超时，其他调用交给真正的UserDao
+     */
+    private UserDao countInsertBatch(AtomicInteger attempts, int failures) {
+        return (UserDao) Proxy.newProxyInstance(UserDao.class.getClassLoader(), new Class[]{UserDao.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("insertBatch") && attempts.incrementAndGet() <= failures) {
+                        throw new CannotAcquireLockException("Timeout trying to lock table");
+                    }
+                    try {
+                        return method.invoke(userDao, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+
+    private static User user(String mobile) {
+        User user = new User();
+        user.setMobile(mobile);
+        return user;
+    }
+}
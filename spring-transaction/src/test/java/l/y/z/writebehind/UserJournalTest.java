@@ -0,0 +1,161 @@
+package l.y.z.writebehind;
+
+import l.y.z.entity.User;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-20 22:00 <br>
+ * <p>
+ * 追加日志的读写、写到一半的记录、持续负载下的压缩，以及写后队列满时的背压，不需要数据库
+ * </p>
+ */
+public class UserJournalTest {
+
+    @Test
+    public void replay() throws Exception {
+        Path path = Files.createTempFile("user", ".journal");
+        try (UserJournal journal = new UserJournal(path, true)) {
+            journal.append(user("17000000000", "p\twith tab", null));
+            journal.append(user("17000000001", null, "salt"));
+            assertEquals(2, journal.unflushed());
+        }
+        // 崩溃时写到一半的记录
+        Files.write(path, "=MTcwMDAwMDAwMDI=\t".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+        try (UserJournal journal = new UserJournal(path, false)) {
+            List<UserJournal.Entry> entries = journal.replay();
+            assertEquals(2, entries.size());
+            User first = entries.get(0).getUser();
+            User second = entries.get(1).getUser();
+            assertEquals("17000000000", first.getMobile());
+            assertEquals("p\twith tab", first.getPassword());
+            assertNull(first.getSalt());
+            assertNull(second.getPassword());
+            assertEquals("salt", second.getSalt());
+
+            // 全部落库后截断
+            journal.flushed(entries);
+            assertEquals(0, Files.size(path));
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    public void tornRecordIsTruncated() throws Exception {
+        Path path = Files.createTempFile("user", ".journal");
+        try (UserJournal journal = new UserJournal(path, false)) {
+            journal.append(user("17000000020", null, null));
+        }
+        long complete = Files.size(path);
+        Files.write(path, "=MTcwMDAwMDAw".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+        // 恢复后没有落库就又追加了一条，追加的记录不能接在写到一半的记录后面
+        try (UserJournal journal = new UserJournal(path, false)) {
+            assertEquals(1, journal.replay().size());
+            assertEquals(complete, Files.size(path));
+            journal.append(user("17000000021", null, null));
+        }
+        try (UserJournal journal = new UserJournal(path, false)) {
+            List<UserJournal.Entry> entries = journal.replay();
+            assertEquals(2, entries.size());
+            assertEquals("17000000020", entries.get(0).getUser().getMobile());
+            assertEquals("17000000021", entries.get(1).getUser().getMobile());
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    public void compactUnderSteadyLoad() throws Exception {
+        Path path = Files.createTempFile("user", ".journal");
+        long threshold = 1024;
+        int inFlight = 8;
+        Deque<UserJournal.Entry> queued = new ArrayDeque<>();
+        long maxSize = 0;
+        try (UserJournal journal = new UserJournal(path, false, threshold)) {
+            // 队列中始终有inFlight条未落库的记录，落库的顺序与追加的顺序不同
+            for (int i = 0; i < 2000; i++) {
+                queued.addLast(journal.append(user(String.valueOf(17_100_000_000L + i), null, null)));
+                if (queued.size() > inFlight) {
+                    UserJournal.Entry older = queued.pollFirst();
+                    UserJournal.Entry newer = queued.pollFirst();
+                    journal.flushed(Collections.singletonList(newer));
+                    journal.flushed(Collections.singletonList(older));
+                }
+                maxSize = Math.max(maxSize, Files.size(path));
+            }
+            assertEquals(queued.size(), journal.unflushed());
+        }
+        long record = UserJournal.encode(user("17100000000", null, null)).length() + 1;
+        assertTrue(String.valueOf(maxSize), maxSize <= threshold + (inFlight + 1) * record);
+
+        // 重放的只有未落库的记录和不超过threshold的已落库前缀
+        try (UserJournal journal = new UserJournal(path, false, threshold)) {
+            List<UserJournal.Entry> entries = journal.replay();
+            assertTrue(entries.size() >= queued.size());
+            assertTrue(entries.size() <= queued.size() + threshold / record + 1);
+            List<String> mobiles = new ArrayList<>();
+            for (UserJournal.Entry entry : entries) {
+                mobiles.add(entry.getUser().getMobile());
+            }
+            for (UserJournal.Entry entry : queued) {
+                assertTrue(mobiles.contains(entry.getUser().getMobile()));
+            }
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    public void backpressure() throws Exception {
+        Path path = Files.createTempFile("user", ".journal");
+        WriteBehindProperties properties = new WriteBehindProperties();
+        properties.setCapacity(2);
+        properties.setOfferTimeoutMillis(50);
+        properties.setJournal(path.toString());
+        // 落库任务永远不执行，队列只进不出
+        UserWriteBehind writeBehind = new UserWriteBehind(null, null, command -> {
+        }, properties);
+        writeBehind.submit(user("17000000010", null, null));
+        writeBehind.submit(user("17000000011", null, null));
+        long start = System.nanoTime();
+        try {
+            writeBehind.submit(user("17000000012", null, null));
+            fail();
+        } catch (RejectedExecutionException e) {
+            assertTrue(System.nanoTime() - start >= 50_000_000L);
+        }
+        assertEquals(2, writeBehind.pendingCount());
+        assertEquals("17000000011", writeBehind.getPending("17000000011").getMobile());
+        assertNull(writeBehind.getPending("17000000012"));
+        // 接受的两条都在日志中
+        assertEquals(2, Files.readAllLines(path).size());
+        Files.delete(path);
+    }
+
+    private static User user(String mobile, String password, String salt) {
+        User user = new User();
+        user.setMobile(mobile);
+        user.setPassword(password);
+        user.setSalt(salt);
+        return user;
+    }
+}
@@ -0,0 +1,170 @@
+package l.y.z.writebehind;
+
+import l.y.z.dao.UserDao;
+import l.y.z.entity.User;
+import l.y.z.service.UserService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-20 22:10 <br>
+ * <p>
+ * 内嵌H2上的写后队列：启动时重放上次留下的日志，读自己的写，注册高峰时全部落库，不合法的行移到死信日志
+ * </p>
+ */
+@Slf4j
+@SpringBootTest(properties = {
+        "user.write-behind.enabled=true",
+        "user.write-behind.journal=target/write-behind-test.journal",
+        "user.write-behind.batch-size=100",
+        "user.write-behind.retry-backoff-millis=10",
+        "user.write-behind.max-retries=1",
+        "user.write-behind.dead-letter=target/write-behind-test.dead"
+})
+@ActiveProfiles("h2")
+@RunWith(SpringRunner.class)
+public class WriteBehindTest {
+
+    private static final Path JOURNAL = Paths.get("target/write-behind-test.journal");
+    private static final Path DEAD_LETTER = Paths.get("target/write-behind-test.dead");
+
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private UserDao userDao;
+    @Autowired
+    private UserWriteBehind writeBehind;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * 模拟上次进程崩溃时留下的日志，Spring上下文启动时重放
+     */
+    @BeforeClass
+    public static void leaveJournal() throws Exception {
+        Files.createDirectories(JOURNAL.getParent());
+        Files.deleteIfExists(JOURNAL);
+        Files.deleteIfExists(DEAD_LETTER);
+        try (UserJournal journal = new UserJournal(JOURNAL, false)) {
+            User user = new User();
+            user.setMobile("18000000000");
+            journal.append(user);
+        }
+    }
+
+    @Test
+    public void recovered() {
+        assertNotNull(userDao.selectByMobile("18000000000").getId());
+    }
+
+    @Test
+    public void readYourWrites() throws Exception {
+        User user = new User();
+        user.setMobile("18000000001");
+        userService.create(user);
+        // 落库前后都能读到
+        assertEquals("18000000001", userService.findByMobile("18000000001").getMobile());
+        assertTrue(writeBehind.awaitFlushed(5, TimeUnit.SECONDS));
+        assertNull(writeBehind.getPending("18000000001"));
+        assertNotNull(userService.findByMobile("18000000001").getId());
+        assertEquals(0, Files.size(JOURNAL));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectLongMobile() {
+        User user = new User();
+        user.setMobile("182000000000");
+        writeBehind.submit(user);
+    }
+
+    /**
+     * 表结构允许、但数据库拒绝的一行：拆批找出这一行移到死信日志，同一批中的其他行与之后的写入照常落库
+     */
+    @Test
+    public void badRowMovedToDeadLetter() throws Exception {
+        String bad = "18200000005";
+        jdbcTemplate.execute("alter table user add constraint ck_write_behind_test check (mobile <> '" + bad + "')");
+        try {
+            for (int i = 0; i < 10; i++) {
+                User user = new User();
+                user.setMobile(String.valueOf(18_200_000_000L + i));
+                userService.create(user);
+            }
+            assertTrue(writeBehind.awaitFlushed(10, TimeUnit.SECONDS));
+        } finally {
+            jdbcTemplate.execute("alter table user drop constraint ck_write_behind_test");
+        }
+
+        for (int i = 0; i < 10; i++) {
+            String mobile = String.valueOf(18_200_000_000L + i);
+            assertEquals(mobile, !mobile.equals(bad), userDao.selectByMobile(mobile) != null);
+        }
+        assertNull(writeBehind.getPending(bad));
+        assertEquals(0, Files.size(JOURNAL));
+        List<String> deadLetters = Files.readAllLines(DEAD_LETTER);
+        assertEquals(1, deadLetters.size());
+        assertEquals(bad, UserJournal.decode(deadLetters.get(0)).getMobile());
+
+        // 队列没有卡住
+        User user = new User();
+        user.setMobile("18200000010");
+        userService.create(user);
+        assertTrue(writeBehind.awaitFlushed(5, TimeUnit.SECONDS));
+        assertNotNull(userDao.selectByMobile("18200000010"));
+    }
+
+    @Test
+    public void burst() throws Exception {
+        int clients = 50;
+        int perClient = 40;
+        long start = System.nanoTime();
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int c = 0; c < clients; c++) {
+            int client = c;
+            futures.add(CompletableFuture.runAsync(() -> {
+                for (int i = 0; i < perClient; i++) {
+                    String mobile = String.valueOf(18_100_000_000L + client * perClient + i);
+                    User user = new User();
+                    user.setMobile(mobile);
+                    userService.create(user);
+                    assertNotNull(userService.findByMobile(mobile));
+                }
+            }, runnable -> new Thread(runnable, "client-" + client).start()));
+        }
+        for (CompletableFuture<Void> future : futures) {
+            future.get();
+        }
+        long accepted = System.nanoTime() - start;
+        assertTrue(writeBehind.awaitFlushed(30, TimeUnit.SECONDS));
+        long flushed = System.nanoTime() - start;
+        log.info("{} users accepted in {} ms, flushed in {} ms",
+                clients * perClient, TimeUnit.NANOSECONDS.toMillis(accepted), TimeUnit.NANOSECONDS.toMillis(flushed));
+
+        List<String> mobiles = new ArrayList<>();
+        for (int i = 0; i < clients * perClient; i++) {
+            mobiles.add(String.valueOf(18_100_000_000L + i));
+        }
+        assertEquals(clients * perClient, userService.findByMobiles(mobiles).size());
+    }
+}
@@ -0,0 +1,13 @@
+create table if not exists user
+(
+    id          int auto_increment primary key,
+    mobile      varchar(11) not null,
+    password    varchar(64),
+    salt        varchar(32),
+    create_time timestamp default current_timestamp,
+    update_time timestamp default current_timestamp,
+    constraint uk_mobile unique (mobile)
+);
+
+-- 模拟数据库的网络往返与执行时间：select sleep_millis(2)
+create alias if not exists sleep_millis for "java.lang.Thread.sleep";
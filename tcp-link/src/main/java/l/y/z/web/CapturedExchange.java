@@ -0,0 +1,47 @@
+package l.y.z.web;
+
+import org.springframework.http.HttpHeaders;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-21 09:05 <br>
+ * <p>
+ * 一次请求的头部快照，只有被抽中的请求才创建
+ * </p>
+ */
+public class CapturedExchange {
+
+    private final long timestamp;
+    private final String method;
+    private final String path;
+    private final HttpHeaders requestHeaders;
+    private final HttpHeaders responseHeaders;
+
+    public CapturedExchange(long timestamp, String method, String path, HttpHeaders requestHeaders, HttpHeaders responseHeaders) {
+        this.timestamp = timestamp;
+        this.method = method;
+        this.path = path;
+        this.requestHeaders = requestHeaders;
+        this.responseHeaders = responseHeaders;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public HttpHeaders getRequestHeaders() {
+        return requestHeaders;
+    }
+
+    public HttpHeaders getResponseHeaders() {
+        return responseHeaders;
+    }
+}
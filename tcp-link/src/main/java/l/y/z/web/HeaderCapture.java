@@ -0,0 +1,143 @@
+package l.y.z.web;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-21 09:10 <br>
+ * <p>
+ * servlet与reactive两个版本的TcpController共用的头部记录。
+ * <p>
+ * 调用方先调用{@link #shouldCapture()}，返回true时才去遍历、拷贝头部并调用{@link #capture(CapturedExchange)}，
+ * 没有被抽中的请求不遍历头部、不格式化字符串、不分配对象。
+ * 抽样用{@link ThreadLocalRandom}，未抽中的请求不写任何共享变量；
+ * 抽中的请求在环形缓冲区中占一个槽，只有一次getAndIncrement，新记录覆盖最旧的记录。
+ * <p>
+ * 日志与/tcp/headers对其他客户端可见，携带凭证的头部（{@link #SENSITIVE_HEADERS}）在记录之前把值替换为{@link #REDACTED}
+ * </p>
+ */
+@Slf4j
+public class HeaderCapture {
+
+    static final List<String> SENSITIVE_HEADERS = Collections.unmodifiableList(Arrays.asList(
+            HttpHeaders.AUTHORIZATION, HttpHeaders.PROXY_AUTHORIZATION, HttpHeaders.COOKIE, HttpHeaders.SET_COOKIE));
+    static final String REDACTED = "******";
+
+    private final HeaderCaptureMode mode;
+    private final int sampleRate;
+    private final AtomicReferenceArray<CapturedExchange> ring;
+    private final int mask;
+    private final AtomicLong sequence = new AtomicLong();
+
+    public HeaderCapture(HeaderCaptureProperties properties) {
+        if (properties.getSampleRate() < 1) {
+            throw new IllegalArgumentException("sampleRate must be positive: " + properties.getSampleRate());
+        }
+        if (properties.getCapacity() < 1) {
+            throw new IllegalArgumentException("capacity must be positive: " + properties.getCapacity());
+        }
+        this.mode = properties.getMode();
+        this.sampleRate = properties.getSampleRate();
+        int capacity = Integer.highestOneBit(properties.getCapacity() - 1) << 1;
+        this.ring = new AtomicReferenceArray<>(Math.max(capacity, 1));
+        this.mask = ring.length() - 1;
+    }
+
+    public HeaderCaptureMode getMode() {
+        return mode;
+    }
+
+    public boolean shouldCapture() {
+        switch (mode) {
+            case LOG:
+                return true;
+            case SAMPLE:
+                return sampleRate == 1 || ThreadLocalRandom.current().nextInt(sampleRate) == 0;
+            default:
+                return false;
+        }
+    }
+
+    public void capture(CapturedExchange exchange) {
+        exchange = redact(exchange);
+        if (mode == HeaderCaptureMode.LOG) {
+            log(exchange);
+            return;
+        }
+        ring.lazySet((int) (sequence.getAndIncrement() & mask), exchange);
+    }
+
+    /**
+     * 环形缓冲区中的记录，从旧到新；与并发的写入之间不加锁，正在被覆盖的槽可能读到新记录
+     */
+    public List<CapturedExchange> recent() {
+        long end = sequence.get();
+        long start = Math.max(0, end - ring.length());
+        List<CapturedExchange> result = new ArrayList<>((int) (end - start));
+        for (long i = start; i < end; i++) {
+            CapturedExchange exchange = ring.get((int) (i & mask));
+            if (exchange != null) {
+                result.add(exchange);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 被记录的请求总数，包括已经被覆盖的
+     */
+    public long capturedCount() {
+        return sequence.get();
+    }
+
+    private static CapturedExchange redact(CapturedExchange exchange) {
+        HttpHeaders requestHeaders = redact(exchange.getRequestHeaders());
+        HttpHeaders responseHeaders = redact(exchange.getResponseHeaders());
+        if (requestHeaders == exchange.getRequestHeaders() && responseHeaders == exchange.getResponseHeaders()) {
+            return exchange;
+        }
+        return new CapturedExchange(exchange.getTimestamp(), exchange.getMethod(), exchange.getPath(),
+                requestHeaders, responseHeaders);
+    }
+
+    /**
+     * 没有携带凭证的头部时返回原对象；否则返回替换后的拷贝，不修改原对象（响应头可能是只读的，也可能还要发给客户端）
+     */
+    private static HttpHeaders redact(HttpHeaders headers) {
+        HttpHeaders copy = null;
+        for (String name : SENSITIVE_HEADERS) {
+            List<String> values = headers.get(name);
+            if (values == null) {
+                continue;
+            }
+            if (copy == null) {
+                copy = new HttpHeaders();
+                copy.putAll(headers);
+            }
+            copy.put(name, Collections.nCopies(values.size(), REDACTED));
+        }
+        return copy == null ? headers : copy;
+    }
+
+    private static void log(CapturedExchange exchange) {
+        log(exchange.getRequestHeaders(), "request header --->> {}: {}");
+        log(exchange.getResponseHeaders(), "response header --->> {}: {}");
+    }
+
+    private static void log(HttpHeaders headers, String format) {
+        headers.forEach((key, values) -> {
+            for (String value : values) {
+                log.info(format, key, value);
+            }
+        });
+    }
+}
@@ -0,0 +1,20 @@
+package l.y.z.web;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-21 09:15 <br>
+ * <p></p>
+ */
+@Configuration
+@EnableConfigurationProperties(HeaderCaptureProperties.class)
+public class HeaderCaptureConfig {
+
+    @Bean
+    public HeaderCapture headerCapture(HeaderCaptureProperties properties) {
+        return new HeaderCapture(properties);
+    }
+}
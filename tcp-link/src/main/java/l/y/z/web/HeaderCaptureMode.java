@@ -0,0 +1,26 @@
+package l.y.z.web;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-21 09:00 <br>
+ * <p>
+ * 请求、响应头的记录方式
+ * </p>
+ */
+public enum HeaderCaptureMode {
+
+    /**
+     * 每个请求的每个头部都打一行INFO日志，便于观察connection等头部对TCP连接的影响，请求量大时日志成为瓶颈
+     */
+    LOG,
+
+    /**
+     * 按sample-rate抽样，抽中的请求把头部拷贝进环形缓冲区，不打日志，通过/tcp/headers查看最近的记录
+     */
+    SAMPLE,
+
+    /**
+     * 不记录
+     */
+    OFF
+}
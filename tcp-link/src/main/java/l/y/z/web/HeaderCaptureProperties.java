@@ -0,0 +1,28 @@
+package l.y.z.web;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-21 09:00 <br>
+ * <p>
+ * tcp.header-capture.*配置，见application.yml
+ * </p>
+ */
+@Data
+@ConfigurationProperties(prefix = "tcp.header-capture")
+public class HeaderCaptureProperties {
+
+    private HeaderCaptureMode mode = HeaderCaptureMode.LOG;
+
+    /**
+     * SAMPLE模式下平均每多少个请求记录一个，1表示每个请求都记录
+     */
+    private int sampleRate = 1000;
+
+    /**
+     * 环形缓冲区保留的记录数，向上取整为2的幂
+     */
+    private int capacity = 256;
+}
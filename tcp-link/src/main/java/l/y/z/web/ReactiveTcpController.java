@@ -0,0 +1,55 @@
+package l.y.z.web;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-21 09:20 <br>
+ * <p>
+ * {@link TcpController}的WebFlux版本，运行在Netty上，以spring.main.web-application-type=reactive启动
+ * （或激活reactive profile）时替代servlet版本。
+ * <p>
+ * 处理过程不阻塞：请求头已经由Netty解析好，在event loop线程中直接返回响应；
+ * 被抽中时拷贝一份头部，Netty的头部对象在请求结束后会被复用
+ * </p>
+ */
+@RestController
+@RequestMapping("tcp")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveTcpController {
+
+    @Autowired
+    private HeaderCapture headerCapture;
+
+    @RequestMapping
+    public Mono<ResponseEntity<Integer>> test(ServerHttpRequest request) {
+        ResponseEntity<Integer> response = ResponseEntity
+                .status(200)
+                .build();
+        if (headerCapture.shouldCapture()) {
+            HttpHeaders requestHeaders = new HttpHeaders();
+            requestHeaders.putAll(request.getHeaders());
+            headerCapture.capture(new CapturedExchange(System.currentTimeMillis(), request.getMethodValue(),
+                    request.getPath().value(), requestHeaders, response.getHeaders()));
+        }
+        return Mono.just(response);
+    }
+
+    /**
+     * SAMPLE模式下最近被抽中的请求
+     */
+    @GetMapping("headers")
+    public Mono<List<CapturedExchange>> headers() {
+        return Mono.just(headerCapture.recent());
+    }
+}
@@ -1,42 +1,63 @@
 package l.y.z.web;
 
-import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import javax.servlet.http.HttpServletRequest;
 import java.util.Enumeration;
+import java.util.List;
 
 /**
  * author: liuyazong <br>
  * datetime: 2019-01-12 10:52 <br>
- * <p></p>
+ * <p>
+ * 头部的记录方式见{@link HeaderCaptureMode}，reactive版本见{@link ReactiveTcpController}
+ * </p>
  */
-@Slf4j
 @RestController
 @RequestMapping("tcp")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class TcpController {
 
+    @Autowired
+    private HeaderCapture headerCapture;
+
     @RequestMapping
     public ResponseEntity<Integer> test(HttpServletRequest request) {
+        ResponseEntity<Integer> response = ResponseEntity
+                .status(200)
+//                .header(HttpHeaders.CONNECTION, "close")
+                .build();
+        if (headerCapture.shouldCapture()) {
+            headerCapture.capture(new CapturedExchange(System.currentTimeMillis(), request.getMethod(),
+                    request.getRequestURI(), requestHeaders(request), response.getHeaders()));
+        }
+        return response;
+    }
 
+    /**
+     * SAMPLE模式下最近被抽中的请求
+     */
+    @GetMapping("headers")
+    public List<CapturedExchange> headers() {
+        return headerCapture.recent();
+    }
+
+    private static HttpHeaders requestHeaders(HttpServletRequest request) {
+        HttpHeaders result = new HttpHeaders();
         Enumeration<String> headerNames = request.getHeaderNames();
         while (headerNames.hasMoreElements()) {
             String nextElement = headerNames.nextElement();
             Enumeration<String> headers = request.getHeaders(nextElement);
             while (headers.hasMoreElements()) {
-                log.info("request header --->> {}: {}", nextElement, headers.nextElement());
+                result.add(nextElement, headers.nextElement());
             }
         }
-        ResponseEntity<Integer> response = ResponseEntity
-                .status(200)
-//                .header(HttpHeaders.CONNECTION, "close")
-                .build();
-        HttpHeaders headers = response.getHeaders();
-        headers.forEach((key, value) -> log.info("response header --->> {}: {}", key, value));
-        return response;
+        return result;
     }
-
 }
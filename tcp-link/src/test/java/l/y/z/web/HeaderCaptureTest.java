@@ -0,0 +1,96 @@
+package l.y.z.web;
+
+import org.junit.Test;
+import org.springframework.http.HttpHeaders;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-21 09:30 <br>
+ * <p></p>
+ */
+public class HeaderCaptureTest {
+
+    @Test
+    public void ringKeepsLatest() {
+        HeaderCapture capture = new HeaderCapture(properties(HeaderCaptureMode.SAMPLE, 1, 5));
+        for (int i = 0; i < 20; i++) {
+            assertTrue(capture.shouldCapture());
+            capture.capture(exchange("/tcp/" + i));
+        }
+        // 容量向上取整为8
+        List<CapturedExchange> recent = capture.recent();
+        assertEquals(8, recent.size());
+        assertEquals("/tcp/12", recent.get(0).getPath());
+        assertEquals("/tcp/19", recent.get(7).getPath());
+        assertEquals(20, capture.capturedCount());
+    }
+
+    @Test
+    public void sampling() {
+        HeaderCapture capture = new HeaderCapture(properties(HeaderCaptureMode.SAMPLE, 100, 16));
+        int sampled = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (capture.shouldCapture()) {
+                sampled++;
+            }
+        }
+        assertTrue(String.valueOf(sampled), sampled > 700 && sampled < 1300);
+    }
+
+    @Test
+    public void modes() {
+        assertTrue(new HeaderCapture(properties(HeaderCaptureMode.LOG, 1000, 16)).shouldCapture());
+        HeaderCapture log = new HeaderCapture(properties(HeaderCaptureMode.LOG, 1, 16));
+        log.capture(exchange("/tcp"));
+        // LOG模式只打日志，不进环形缓冲区
+        assertTrue(log.recent().isEmpty());
+        assertFalse(new HeaderCapture(properties(HeaderCaptureMode.OFF, 1, 16)).shouldCapture());
+    }
+
+    @Test
+    public void redactsCredentials() {
+        HeaderCapture capture = new HeaderCapture(properties(HeaderCaptureMode.SAMPLE, 1, 16));
+        HttpHeaders request = new HttpHeaders();
+        request.add("authorization", "Bearer secret");
+        request.add(HttpHeaders.PROXY_AUTHORIZATION, "Basic c2VjcmV0");
+        request.add(HttpHeaders.COOKIE, "SESSION=secret");
+        request.add(HttpHeaders.USER_AGENT, "curl");
+        HttpHeaders response = new HttpHeaders();
+        response.add(HttpHeaders.SET_COOKIE, "SESSION=secret");
+        response.add(HttpHeaders.SET_COOKIE, "TOKEN=secret");
+        response = HttpHeaders.readOnlyHttpHeaders(response);
+        capture.capture(new CapturedExchange(System.currentTimeMillis(), "GET", "/tcp", request, response));
+
+        CapturedExchange captured = capture.recent().get(0);
+        assertEquals(Collections.singletonList(HeaderCapture.REDACTED), captured.getRequestHeaders().get(HttpHeaders.AUTHORIZATION));
+        assertEquals(Collections.singletonList(HeaderCapture.REDACTED), captured.getRequestHeaders().get(HttpHeaders.PROXY_AUTHORIZATION));
+        assertEquals(Collections.singletonList(HeaderCapture.REDACTED), captured.getRequestHeaders().get(HttpHeaders.COOKIE));
+        assertEquals("curl", captured.getRequestHeaders().getFirst(HttpHeaders.USER_AGENT));
+        assertEquals(Arrays.asList(HeaderCapture.REDACTED, HeaderCapture.REDACTED), captured.getResponseHeaders().get(HttpHeaders.SET_COOKIE));
+        // 原对象不变
+        assertEquals("Bearer secret", request.getFirst(HttpHeaders.AUTHORIZATION));
+        assertEquals("SESSION=secret", response.getFirst(HttpHeaders.SET_COOKIE));
+    }
+
+    private static HeaderCaptureProperties properties(HeaderCaptureMode mode, int sampleRate, int capacity) {
+        HeaderCaptureProperties properties = new HeaderCaptureProperties();
+        properties.setMode(mode);
+        properties.setSampleRate(sampleRate);
+        properties.setCapacity(capacity);
+        return properties;
+    }
+
+    private static CapturedExchange exchange(String path) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(HttpHeaders.CONNECTION, "keep-alive");
+        return new CapturedExchange(System.currentTimeMillis(), "GET", path, headers, HttpHeaders.EMPTY);
+    }
+}
@@ -0,0 +1,208 @@
+package l.y.z.web;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-21 09:40 <br>
+ * <p>
+ * 闭环HTTP压测：每个客户端线程一条keep-alive连接，收到响应后立即发下一个请求。
+ * <p>
+ * 直接在Socket上读写固定的GET请求，只解析状态行、content-length和chunked结束标记，
+ * 客户端本身几乎没有开销，在与服务端共用CPU的机器上测到的差别主要来自服务端
+ * </p>
+ */
+class HttpLoad {
+
+    private final String host;
+    private final int port;
+    private final byte[] request;
+
+    HttpLoad(String host, int port, String path) {
+        this.host = host;
+        this.port = port;
+        this.request = ("GET " + path + " HTTP/1.1\r\n"
+                + "Host: " + host + ":" + port + "\r\n"
+                + "User-Agent: http-load\r\n"
+                + "Accept: */*\r\n"
+                + "Accept-Encoding: gzip, deflate\r\n"
+                + "Accept-Language: zh-CN,zh;q=0.9,en;q=0.8\r\n"
+                + "Cache-Control: no-cache\r\n"
+                + "\r\n").getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * 先预热warmup，再压测duration，返回压测阶段的结果
+     */
+    Result run(int clients, long warmup, long duration, TimeUnit unit) throws InterruptedException {
+        long warmupEnd = System.nanoTime() + unit.toNanos(warmup);
+        long end = warmupEnd + unit.toNanos(duration);
+        List<long[]> latencies = new ArrayList<>();
+        int[] counts = new int[clients];
+        int[] errors = new int[clients];
+        CountDownLatch done = new CountDownLatch(clients);
+        for (int c = 0; c < clients; c++) {
+            int client = c;
+            long[] buffer = new long[1 << 18];
+            latencies.add(buffer);
+            Thread thread = new Thread(() -> {
+                try {
+                    // 服务端关闭连接（如Tomcat默认每条连接100个请求）后重新建立
+                    while (System.nanoTime() < end) {
+                        try (Socket socket = new Socket()) {
+                            socket.setTcpNoDelay(true);
+                            socket.connect(new InetSocketAddress(host, port));
+                            OutputStream out = socket.getOutputStream();
+                            InputStream in = new BufferedInputStream(socket.getInputStream());
+                            boolean keepAlive = true;
+                            long now;
+                            while (keepAlive && (now = System.nanoTime()) < end) {
+                                out.write(request);
+                                out.flush();
+                                Response response = readResponse(in);
+                                long latency = System.nanoTime() - now;
+                                keepAlive = !response.close;
+                                if (now < warmupEnd) {
+                                    continue;
+                                }
+                                if (response.status != 200) {
+                                    errors[client]++;
+                                } else if (counts[client] < buffer.length) {
+                                    buffer[counts[client]++] = latency;
+                                }
+                            }
+                        }
+                    }
+                } catch (IOException | RuntimeException e) {
+                    errors[client]++;
+                } finally {
+                    done.countDown();
+                }
+            }, "http-load-" + c);
+            thread.start();
+        }
+        done.await();
+
+        int total = 0;
+        int errorCount = 0;
+        for (int c = 0; c < clients; c++) {
+            total += counts[c];
+            errorCount += errors[c];
+        }
+        long[] all = new long[total];
+        int offset = 0;
+        for (int c = 0; c < clients; c++) {
+            System.arraycopy(latencies.get(c), 0, all, offset, counts[c]);
+            offset += counts[c];
+        }
+        Arrays.sort(all);
+        return new Result(total, errorCount, unit.toNanos(duration), all);
+    }
+
+    /**
+     * 读完一个响应
+     */
+    private static Response readResponse(InputStream in) throws IOException {
+        String statusLine = readLine(in);
+        int status = Integer.parseInt(statusLine.substring(9, 12));
+        long contentLength = -1;
+        boolean chunked = false;
+        boolean close = false;
+        String line;
+        while (!(line = readLine(in)).isEmpty()) {
+            String lower = line.toLowerCase(Locale.ROOT);
+            if (lower.startsWith("content-length:")) {
+                contentLength = Long.parseLong(lower.substring(15).trim());
+            } else if (lower.startsWith("transfer-encoding:") && lower.contains("chunked")) {
+                chunked = true;
+            } else if (lower.startsWith("connection:") && lower.contains("close")) {
+                close = true;
+            }
+        }
+        if (chunked) {
+            long size;
+            while ((size = Long.parseLong(readLine(in).trim(), 16)) > 0) {
+                skip(in, size + 2);
+            }
+            // 没有trailer，只有结束的空行
+            readLine(in);
+        } else if (contentLength > 0) {
+            skip(in, contentLength);
+        }
+        return new Response(status, close);
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        StringBuilder line = new StringBuilder();
+        int b;
+        while ((b = in.read()) != '\n') {
+            if (b < 0) {
+                throw new IOException("connection closed");
+            }
+            if (b != '\r') {
+                line.append((char) b);
+            }
+        }
+        return line.toString();
+    }
+
+    private static void skip(InputStream in, long n) throws IOException {
+        while (n > 0) {
+            long skipped = in.skip(n);
+            if (skipped <= 0) {
+                throw new IOException("connection closed");
+            }
+            n -= skipped;
+        }
+    }
+
+    private static class Response {
+
+        final int status;
+        final boolean close;
+
+        Response(int status, boolean close) {
+            this.status = status;
+            this.close = close;
+        }
+    }
+
+    static class Result {
+
+        final int requests;
+        final int errors;
+        final long durationNanos;
+        final long[] sortedLatencies;
+
+        Result(int requests, int errors, long durationNanos, long[] sortedLatencies) {
+            this.requests = requests;
+            this.errors = errors;
+            this.durationNanos = durationNanos;
+            this.sortedLatencies = sortedLatencies;
+        }
+
+        double requestsPerSecond() {
+            return requests * 1e9 / durationNanos;
+        }
+
+        double percentileMillis(double percentile) {
+            if (sortedLatencies.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile / 100 * sortedLatencies.length) - 1;
+            return sortedLatencies[Math.max(index, 0)] / 1e6;
+        }
+    }
+}
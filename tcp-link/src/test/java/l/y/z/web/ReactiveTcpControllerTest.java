@@ -0,0 +1,44 @@
+package l.y.z.web;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-21 16:10 <br>
+ * <p>
+ * reactive profile下由Netty上的{@link ReactiveTcpController}处理
+ * </p>
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "tcp.header-capture.mode=sample",
+        "tcp.header-capture.sample-rate=1"
+})
+@ActiveProfiles("reactive")
+@RunWith(SpringRunner.class)
+public class ReactiveTcpControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Test
+    public void sampledHeaders() {
+        webTestClient.get().uri("/tcp").header("X-Trace", "reactive-1")
+                .exchange()
+                .expectStatus().isOk();
+
+        webTestClient.get().uri("/tcp/headers")
+                .exchange()
+                .expectStatus().isOk()
+                // ReactorNetty客户端发出的头部名是小写的
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].path").isEqualTo("/tcp")
+                .jsonPath("$[0].requestHeaders.x-trace[0]").isEqualTo("reactive-1");
+    }
+}
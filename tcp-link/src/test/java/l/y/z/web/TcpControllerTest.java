@@ -0,0 +1,60 @@
+package l.y.z.web;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-21 16:00 <br>
+ * <p>
+ * servlet版本，每个请求都抽中时/tcp/headers返回刚才的请求头
+ * </p>
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "tcp.header-capture.mode=sample",
+        "tcp.header-capture.sample-rate=1"
+})
+@RunWith(SpringRunner.class)
+public class TcpControllerTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    public void sampledHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("X-Trace", "servlet-1");
+        headers.add(HttpHeaders.AUTHORIZATION, "Bearer secret");
+        headers.add(HttpHeaders.COOKIE, "SESSION=secret");
+        ResponseEntity<String> response = restTemplate.exchange("/tcp", HttpMethod.GET, new HttpEntity<>(headers), String.class);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+
+        List<Map<String, Object>> captured = restTemplate.exchange("/tcp/headers", HttpMethod.GET, null,
+                new ParameterizedTypeReference<List<Map<String, Object>>>() {
+                }).getBody();
+        assertEquals(1, captured.size());
+        assertEquals("/tcp", captured.get(0).get("path"));
+        String requestHeaders = String.valueOf(captured.get(0).get("requestHeaders"));
+        assertTrue(requestHeaders, requestHeaders.contains("servlet-1"));
+        // 凭证不对外暴露
+        assertFalse(requestHeaders, requestHeaders.contains("secret"));
+        assertTrue(requestHeaders, requestHeaders.contains(HeaderCapture.REDACTED));
+    }
+}
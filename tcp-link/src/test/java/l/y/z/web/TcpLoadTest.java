@@ -0,0 +1,70 @@
+package l.y.z.web;
+
+import l.y.z.TcpApp;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * author: liuyazong <br>
+ * datetime: 2026-10-21 10:00 <br>
+ * <p>
+ * 对比/tcp在三种配置下的吞吐量与延迟：Tomcat + 逐行日志（原来的行为）、Tomcat + 抽样记录、Netty + 抽样记录。
+ * 每种配置单独启动一个应用，随机端口，{@link HttpLoad}闭环压测。
+ * 逐行打印的头部日志由logback-test.xml写到target/header-capture.log。
+ * 耗时且结果与机器有关，默认不执行，用 mvn test -Pload-test 执行；功能上的检查见{@link TcpControllerTest}、{@link ReactiveTcpControllerTest}
+ * </p>
+ */
+@Slf4j
+public class TcpLoadTest {
+
+    private static final int CLIENTS = 16;
+    private static final long WARMUP_SECONDS = 2;
+    private static final long DURATION_SECONDS = 4;
+
+    @Test
+    public void compare() throws Exception {
+        Map<String, HttpLoad.Result> results = new LinkedHashMap<>();
+        results.put("servlet-log", load(WebApplicationType.SERVLET, HeaderCaptureMode.LOG));
+        results.put("servlet-sample", load(WebApplicationType.SERVLET, HeaderCaptureMode.SAMPLE));
+        results.put("reactive-sample", load(WebApplicationType.REACTIVE, HeaderCaptureMode.SAMPLE));
+        results.forEach((name, result) -> log.info("{}: {} clients, {} requests/s, p50 {} ms, p99 {} ms, p999 {} ms, errors {}",
+                name, CLIENTS, String.format("%.0f", result.requestsPerSecond()),
+                String.format("%.3f", result.percentileMillis(50)), String.format("%.3f", result.percentileMillis(99)),
+                String.format("%.3f", result.percentileMillis(99.9)), result.errors));
+        for (HttpLoad.Result result : results.values()) {
+            assertEquals(0, result.errors);
+            assertTrue(result.requests > 0);
+        }
+    }
+
+    private HttpLoad.Result load(WebApplicationType type, HeaderCaptureMode mode) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(TcpApp.class)
+                .web(type)
+                .run("--server.port=0",
+                        "--tcp.header-capture.mode=" + mode,
+                        "--tcp.header-capture.sample-rate=100",
+                        "--logging.level.org.springframework=warn")) {
+            int port = Integer.parseInt(context.getEnvironment().getProperty("local.server.port"));
+            HttpLoad.Result result = new HttpLoad("127.0.0.1", port, "/tcp")
+                    .run(CLIENTS, WARMUP_SECONDS, DURATION_SECONDS, TimeUnit.SECONDS);
+            HeaderCapture headerCapture = context.getBean(HeaderCapture.class);
+            if (mode == HeaderCaptureMode.SAMPLE) {
+                // 约1%的请求被记录
+                assertTrue(headerCapture.capturedCount() > 0);
+                assertTrue(headerCapture.capturedCount() < result.requests / 10);
+                assertEquals("http-load", headerCapture.recent().get(0).getRequestHeaders().getFirst("User-Agent"));
+            }
+            return result;
+        }
+    }
+}